@@ -0,0 +1,95 @@
+package frc.robot.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import frc.robot.auto.control.RioPathController;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryCSVParser;
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.AngleUnit;
+import harkerrobolib.util.Conversions.PositionUnit;
+import harkerrobolib.util.Conversions.SpeedUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the math run on every control loop iteration: one step of FollowPathRio (sampling
+ * the trajectory and calculating the setpoints) and the unit conversions it relies on.
+ * @author agent
+ * @version 10/18/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControlBenchmark
+{
+    /**
+     * The period (s) of the simulated control loop.
+     */
+    private static final double PERIOD = 0.01;
+
+    private TrajectoryBuffer left;
+    private TrajectoryBuffer right;
+    private RioPathController controller;
+    private double time;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+        TrajectoryCSVParser parser = new TrajectoryCSVParser();
+        parser.parse(new File("paths/scalerighttest_left_detailed.csv"));
+        left = TrajectoryBuffer.fromParser(parser);
+        parser.parse(new File("paths/scalerighttest_right_detailed.csv"));
+        right = TrajectoryBuffer.fromParser(parser);
+        controller = new RioPathController();
+    }
+
+    /**
+     * Runs one step of the path, advancing through it and starting over once it is complete.
+     */
+    @Benchmark
+    public double followPathRioStep()
+    {
+        time += PERIOD;
+        if (time > left.getDuration())
+        {
+            time = 0;
+            controller.reset();
+        }
+        int li = left.getIndexAtTime(time);
+        double lf = left.getFraction(li, time);
+        int ri = right.getIndexAtTime(time);
+        double rf = right.getFraction(ri, time);
+        controller.calculate(left.interpolate(Column.POSITION, li, lf), left.interpolate(Column.VELOCITY, li, lf),
+                right.interpolate(Column.POSITION, ri, rf), right.interpolate(Column.VELOCITY, ri, rf),
+                left.interpolateHeading(li, lf), 0, PERIOD);
+        return controller.getLeftSetpoint() + controller.getRightSetpoint();
+    }
+
+    @Benchmark
+    public void conversions (Blackhole bh)
+    {
+        bh.consume(Conversions.convertPosition(PositionUnit.FEET, time, PositionUnit.ENCODER_UNITS));
+        bh.consume(Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, time, SpeedUnit.ENCODER_UNITS));
+        bh.consume(Conversions.convertAngle(AngleUnit.RADIANS, time, AngleUnit.PIGEON_UNITS));
+        bh.consume(Conversions.convertAngle(AngleUnit.PIGEON_UNITS, time, AngleUnit.DEGREES));
+    }
+}
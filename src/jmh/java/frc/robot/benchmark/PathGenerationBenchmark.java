@@ -0,0 +1,53 @@
+package frc.robot.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import frc.robot.auto.trajectory.PathCompiler;
+import frc.robot.auto.trajectory.TrajectoryCache;
+import harkerrobolib.auto.Path;
+import jaci.pathfinder.Trajectory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks generating the left and right trajectories of each path in the paths package, as
+ * the robot would have to without a compiled trajectory.
+ * @author agent
+ * @version 10/18/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathGenerationBenchmark
+{
+    @Param({"BaselinePath", "LeftToLeftScaleSide"})
+    public String pathName;
+
+    private Path path;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException
+    {
+        path = (Path) Class.forName(PathCompiler.PATH_PACKAGE + "." + pathName).getConstructor().newInstance();
+    }
+
+    @Benchmark
+    public Trajectory[] generate()
+    {
+        return TrajectoryCache.generate(path.getWaypoints(), path.getFitMethod(), path.getDt(),
+                path.getVelMax(), path.getAccelMax(), path.getJerkMax(), path.getWheelBase());
+    }
+}
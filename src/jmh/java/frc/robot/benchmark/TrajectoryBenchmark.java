@@ -0,0 +1,156 @@
+package frc.robot.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import frc.robot.RobotMap.CAN_IDs;
+import frc.robot.auto.trajectory.TalonTrajectory;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryCSVParser;
+import frc.robot.auto.trajectory.TrajectoryFile;
+import frc.robot.hardware.MotorController;
+import frc.robot.hardware.StubMotorController;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.Trajectory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks loading trajectories and preparing them for the Talons: parsing the CSVs, mapping
+ * the binary files, reversing and offsetting, converting into Talon units and pushing the points
+ * to a (stubbed) controller. Pathfinder's own CSV reader is measured on the same file as the
+ * baseline for the parser; it needs Pathfinder's desktop native library to be loadable.
+ * @author agent
+ * @version 10/18/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrajectoryBenchmark
+{
+    /**
+     * The trajectory to be loaded, as the CSV path without the _left_detailed.csv or
+     * _right_detailed.csv suffix (relative to the project directory).
+     */
+    @Param({"paths/scalerighttest", "paths/Test/simplepathtest/simplepathtest"})
+    public String path;
+
+    private File leftFile;
+    private File binaryFile;
+    private byte[] leftBytes;
+    private TrajectoryCSVParser parser;
+    private TrajectoryBuffer left;
+    private TrajectoryBuffer right;
+    private TalonTrajectory compiled;
+    private MotorController controller;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+        leftFile = new File(path + "_left_detailed.csv");
+        File rightFile = new File(path + "_right_detailed.csv");
+        leftBytes = Files.readAllBytes(leftFile.toPath());
+        parser = new TrajectoryCSVParser();
+        parser.parse(leftFile);
+        left = TrajectoryBuffer.fromParser(parser);
+        TrajectoryCSVParser rightParser = new TrajectoryCSVParser();
+        rightParser.parse(rightFile);
+        right = TrajectoryBuffer.fromParser(rightParser);
+
+        binaryFile = File.createTempFile("benchmark", TrajectoryFile.EXTENSION);
+        binaryFile.deleteOnExit();
+        TrajectoryFile.write(binaryFile, 0, left.toTrajectory());
+
+        compiled = TalonTrajectory.compile(right, left, Drivetrain.MOTION_PROFILE_PID, Drivetrain.ANGLE_PID);
+        controller = new StubMotorController(CAN_IDs.RIGHT_CIM_TALON);
+    }
+
+    @Benchmark
+    public TrajectoryBuffer parseCsvFile() throws IOException
+    {
+        parser.parse(leftFile);
+        return TrajectoryBuffer.fromParser(parser);
+    }
+
+    /**
+     * Parses the CSV into a Pathfinder Trajectory, for comparison with pathfinderReadFromCsv.
+     */
+    @Benchmark
+    public Trajectory parseCsvToTrajectory() throws IOException
+    {
+        parser.parse(leftFile);
+        return parser.toTrajectory();
+    }
+
+    /**
+     * The baseline: Pathfinder's reader, which the robot used before the parser.
+     */
+    @Benchmark
+    public Trajectory pathfinderReadFromCsv()
+    {
+        return Pathfinder.readFromCSV(leftFile);
+    }
+
+    @Benchmark
+    public int parseCsvBytes() throws IOException
+    {
+        return parser.parse(leftBytes, leftBytes.length);
+    }
+
+    @Benchmark
+    public TrajectoryBuffer mapBinary() throws IOException
+    {
+        return TrajectoryBuffer.fromMapped(TrajectoryFile.map(binaryFile)[0]);
+    }
+
+    /**
+     * Reverses the trajectory twice, so that every invocation starts from the same points.
+     */
+    @Benchmark
+    public TrajectoryBuffer reverse()
+    {
+        return left.reverse().reverse();
+    }
+
+    @Benchmark
+    public TrajectoryBuffer offsetHeading()
+    {
+        return left.offsetHeading(Math.PI / 2);
+    }
+
+    @Benchmark
+    public TalonTrajectory compileArc()
+    {
+        return TalonTrajectory.compile(right, left, Drivetrain.MOTION_PROFILE_PID, Drivetrain.ANGLE_PID);
+    }
+
+    @Benchmark
+    public TalonTrajectory compileStraight()
+    {
+        return TalonTrajectory.compile(right, null, Drivetrain.MOTION_PROFILE_PID, TalonTrajectory.NO_AUXILIARY);
+    }
+
+    @Benchmark
+    public void push()
+    {
+        compiled.pushTo(controller);
+    }
+}
@@ -1,6 +1,7 @@
 package frc.robot;
 
 import harkerrobolib.auto.SequentialCommandGroup;
+import frc.robot.commands.elevator.AwaitElevatorConfiguration;
 import frc.robot.commands.elevator.MoveElevatorMotionMagic;
 import frc.robot.commands.elevator.ZeroElevator;
 import frc.robot.commands.intake.IntakeOuttakeIndefinite;
@@ -10,6 +11,7 @@ import frc.robot.commands.intake.ToggleSolenoid;
 import frc.robot.subsystems.Elevator;
 import frc.robot.subsystems.Pneumatics.SolenoidDirection;
 import frc.robot.subsystems.Pneumatics.SolenoidType;
+import frc.robot.util.SensorSnapshot;
 
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
@@ -85,16 +87,18 @@ public class OI
         HSDPadButton rightDPadOperator = new HSDPadButton (operatorGamepad, 90);
         
         CommandGroup compressRaise = new CommandGroup();
+        // the condition reads the elevator position once, so it must not be read before the elevator is zeroed
+        compressRaise.addSequential(new AwaitElevatorConfiguration());
     	compressRaise.addSequential(new ConditionalCommand(new MoveElevatorMotionMagic(Elevator.RAISE_HEIGHT)) {
 
 			@Override
 			protected boolean condition() {
-                Elevator.getInstance().getBottomRightTalon().configSelectedFeedbackSensor
-                (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
-                System.out.println(Elevator.getInstance().getBottomRightTalon().getSelectedSensorPosition(0));
+                Elevator.getInstance().getMaster().configSelectedFeedbackSensor
+                (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+                double position = SensorSnapshot.getInstance().get(SensorSnapshot.Signal.ELEVATOR_POSITION);
+                System.out.println(position);
                 
-                return Elevator.getInstance().getBottomRightTalon().getSelectedSensorPosition(0) < 
-						Elevator.RAISE_HEIGHT;
+                return position < Elevator.RAISE_HEIGHT;
 			}
     		
     	});
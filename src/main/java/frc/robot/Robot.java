@@ -31,12 +31,17 @@ import frc.robot.subsystems.Drivetrain;
 import frc.robot.subsystems.Elevator;
 import frc.robot.subsystems.Intake;
 import frc.robot.subsystems.Pneumatics;
+import frc.robot.util.CanBusMonitor;
+import frc.robot.util.Clock;
+import frc.robot.util.SensorSnapshot;
+import frc.robot.util.SignalLogger;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.Telemetry;
 
 import com.ctre.phoenix.motorcontrol.NeutralMode; 
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.TimedRobot;
-import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
@@ -87,6 +92,17 @@ public class Robot extends TimedRobot
     private SendableChooser<AutoMode> LLL;  
     
     private String gameData = "";
+
+    /**
+     * The dashboard values published every loop.
+     */
+    private final Telemetry.Slot leftOutputSlot = Telemetry.getSlot("Left Motor Output");
+    private final Telemetry.Slot rightOutputSlot = Telemetry.getSlot("Right Motor Output");
+    private final Telemetry.Slot leftErrorSlot = Telemetry.getSlot("Left Error");
+    private final Telemetry.Slot rightErrorSlot = Telemetry.getSlot("Right Error");
+    private final Telemetry.Slot elevatorHeightSlot = Telemetry.getSlot("Elevator Height");
+    private final Telemetry.Slot elevatorSpeedSlot = Telemetry.getSlot("Elevator Speed");
+    private final Telemetry.Slot elevatorEncoderSlot = Telemetry.getSlot("el encoder");
     
     private Subsystem[] subsystems;
 
@@ -106,8 +122,8 @@ public class Robot extends TimedRobot
         el = Elevator.getInstance();
         oi = OI.getInstance();
 
-        FollowPathRio.setDefaultLeftTalon(Robot.dt.getLeftMaster());
-        FollowPathRio.setDefaultRightTalon(Robot.dt.getRightMaster());
+        FollowPathRio.setDefaultLeftTalon(Robot.dt.getHardware().getLeft());
+        FollowPathRio.setDefaultRightTalon(Robot.dt.getHardware().getRight());
         
         subsystems = new Subsystem[] {dt, el, intake, Intake.pn};
     
@@ -119,6 +135,7 @@ public class Robot extends TimedRobot
         loc_chooser.addObject ("Right", Location.RIGHT);
 
         SmartDashboard.putData("Robot Location", loc_chooser);
+        Telemetry.start();
         
         dt.talonInitTeleop();
         el.talonInit();
@@ -134,17 +151,18 @@ public class Robot extends TimedRobot
      */
     public void disabledInit() 
     { 
+        SignalLogger.stop();
         // NeutralMode nm;
-        // if (Robot.dt.getLeftMaster().getMotorOutputPercent() > Drivetrain.NOMINAL_OUTPUT_LEFT * 1.5
-        //         && Robot.dt.getRightMaster().getMotorOutputPercent() > Drivetrain.NOMINAL_OUTPUT_RIGHT * 1.5)
+        // if (Robot.dt.getHardware().getLeft().getMotorOutputPercent() > Drivetrain.NOMINAL_OUTPUT_LEFT * 1.5
+        //         && Robot.dt.getHardware().getRight().getMotorOutputPercent() > Drivetrain.NOMINAL_OUTPUT_RIGHT * 1.5)
         // {
         //     nm = NeutralMode.Brake;
         // }
         // else
         //     nm = NeutralMode.Coast;
         
-        // Robot.dt.getLeftMaster().setNeutralMode(nm);
-        // Robot.dt.getRightMaster().setNeutralMode(nm);
+        // Robot.dt.getHardware().getLeft().setNeutralMode(nm);
+        // Robot.dt.getHardware().getRight().setNeutralMode(nm);
         // Robot.dt.getLeftFollower().setNeutralMode(nm);
         // Robot.dt.getRightFollower().setNeutralMode(nm);
     }
@@ -152,14 +170,19 @@ public class Robot extends TimedRobot
     /**
      * Called periodically while the robot is disabled.
      */
-    public void disabledPeriodic() { Scheduler.getInstance().run(); }
+    public void disabledPeriodic()
+    {
+        SensorSnapshot.getInstance().sample();
+        Scheduler.getInstance().run();
+    }
 
     /**
      * Initializes the autonomous period of the robot.
      */
     public void autonomousInit()
     {
-        startTime = Timer.getFPGATimestamp();
+        startTime = Clock.getTimestamp();
+        SignalLogger.start();
         gameData = DriverStation.getInstance().getGameSpecificMessage();
         //(m_autonomousCommand = new AutonomousCommand (location, subsystems, DriverStation.getInstance().getGameSpecificMessage())).start();
         location = loc_chooser.getSelected();
@@ -194,13 +217,15 @@ public class Robot extends TimedRobot
         	(m_autonomousCommand = new AutonomousCommand (location, subsystems, newData)).start();
         }*/
 
+        SensorSnapshot snapshot = SensorSnapshot.getInstance();
+        snapshot.sample();
         Scheduler.getInstance().run();
 
-        SmartDashboard.putNumber("Left Motor Output", Robot.dt.getLeftMaster().getMotorOutputPercent());
-        SmartDashboard.putNumber("Right Motor Output", Robot.dt.getRightMaster().getMotorOutputPercent());
+        leftOutputSlot.set(snapshot.get(SensorSnapshot.Signal.LEFT_OUTPUT));
+        rightOutputSlot.set(snapshot.get(SensorSnapshot.Signal.RIGHT_OUTPUT));
 
-        SmartDashboard.putNumber("Left Error", Robot.dt.getLeftMaster().getClosedLoopError(RobotMap.PRIMARY_PID_INDEX));
-        SmartDashboard.putNumber("Right Error", Robot.dt.getRightMaster().getClosedLoopError(RobotMap.PRIMARY_PID_INDEX));
+        leftErrorSlot.set(snapshot.get(SensorSnapshot.Signal.LEFT_ERROR));
+        rightErrorSlot.set(snapshot.get(SensorSnapshot.Signal.RIGHT_ERROR));
 
         Robot.dt.printSensorPositions(RobotMap.PRIMARY_PID_INDEX);
     }
@@ -210,6 +235,9 @@ public class Robot extends TimedRobot
      */
     public void teleopInit()
     {
+        // keep logging into the autonomous file if the match continues
+        if (!SignalLogger.isLogging())
+            SignalLogger.start();
         // stops autonomous command when teleop begins
         if (m_autonomousCommand != null)
         {
@@ -223,17 +251,20 @@ public class Robot extends TimedRobot
      */
     public void teleopPeriodic() 
     {
+          SensorSnapshot snapshot = SensorSnapshot.getInstance();
+          snapshot.sample();
           Scheduler.getInstance().run();
-          SmartDashboard.putNumber("Elevator Height", Robot.el.getBottomRightTalon().getSelectedSensorPosition(0));
-          SmartDashboard.putNumber("Elevator Speed", Robot.el.getBottomRightTalon().getSelectedSensorVelocity(0));
-          //SmartDashboard.putNumber("Elevator Height", Elevator.getInstance().getBottomRightTalon().getSelectedSensorPosition(0));
+          elevatorHeightSlot.set(snapshot.get(SensorSnapshot.Signal.ELEVATOR_POSITION));
+          elevatorSpeedSlot.set(snapshot.get(SensorSnapshot.Signal.ELEVATOR_VELOCITY));
+          //SmartDashboard.putNumber("Elevator Height", Elevator.getInstance().getMaster().getSelectedSensorPosition(0));
     }
 
     @Override
     public void robotPeriodic() {
+        StatusFrameManager.getInstance().update(isDisabled());
+        CanBusMonitor.getInstance().update();
         SmartDashboard.updateValues();
-        SmartDashboard.putData("Robot Location", loc_chooser);
-        SmartDashboard.putNumber("el encoder", Robot.el.getBottomRightTalon().getSelectedSensorPosition());
+        elevatorEncoderSlot.set(SensorSnapshot.getInstance().get(SensorSnapshot.Signal.ELEVATOR_POSITION));
     }
     
     /**
@@ -242,6 +273,6 @@ public class Robot extends TimedRobot
      */
     public static double getCurrentTimeMs()
     {
-        return 1000 * (Timer.getFPGATimestamp() - startTime);
+        return 1000 * (Clock.getTimestamp() - startTime);
     }
 }
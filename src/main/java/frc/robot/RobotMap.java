@@ -44,6 +44,11 @@ public class RobotMap {
      */
     public static double NOMINAL_BATTERY_VOLTAGE = 11.0; 
     
+    /**
+     * The directory on the RoboRio to which signal logs are written.
+     */
+    public static final String LOG_DIRECTORY = "/home/lvuser/logs";
+    
     /**
      * A wrapper class to house all CAN IDs.
      * @author Finn Frankis
@@ -220,4 +225,30 @@ public class RobotMap {
      * The maximum (and default) frame period for a Talon status frame.
      */
     public static final int MAX_TALON_FRAME_PERIOD_MS = 160;
+
+    /**
+     * The status frame period for sensor feedback while a closed loop depends on it.
+     */
+    public static final int FAST_FEEDBACK_FRAME_PERIOD_MS = 3;
+
+    /**
+     * The status frame period for values read once per robot loop.
+     */
+    public static final int LOOP_FRAME_PERIOD_MS = 20;
+
+    /**
+     * The status frame period for values read while the robot is disabled.
+     */
+    public static final int DISABLED_FRAME_PERIOD_MS = 100;
+
+    /**
+     * The period at which each Talon and Victor is sent its output (ms), which is left at its default.
+     */
+    public static final int CONTROL_FRAME_PERIOD_MS = 10;
+
+    /**
+     * The largest share of the CAN bus which the expected traffic should take, leaving room for
+     * configuration writes and retransmissions.
+     */
+    public static final double MAX_CAN_UTILIZATION = 0.8;
 }
@@ -0,0 +1,332 @@
+package frc.robot.auto.control;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import frc.robot.auto.trajectory.TalonTrajectory;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryCSVParser;
+import frc.robot.auto.trajectory.TrajectoryCache;
+import frc.robot.auto.trajectory.TrajectoryFile;
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.SignalLog;
+import frc.robot.util.SignalLogger;
+import frc.robot.util.SignalLogger.Signal;
+import harkerrobolib.auto.Path;
+import harkerrobolib.util.Conversions;
+
+/**
+ * Replays signal logs through the path-following math on the desktop. Every control update
+ * recorded by FollowPathRio is fed back through RioPathController with the logged path time and
+ * heading, and the setpoints it calculates are compared against those logged; the Talon points
+ * FollowPath would have pushed for the same point are calculated alongside. Logs are replayed
+ * in parallel, one per core.
+ * <pre>
+ * usage: LogReplay [-csv] [-trajectory &lt;left trajectory&gt; &lt;right trajectory&gt;] &lt;log file or directory&gt;...
+ * </pre>
+ * Each record is replayed against the path recorded for it in its log's path table, which is
+ * regenerated from the path's class; a path whose parameters have changed since the log was
+ * written is skipped rather than compared against the wrong trajectory. With -trajectory, every
+ * record is instead replayed against the given files, as is needed for logs written before the
+ * path table. With -csv, every update is also written to a CSV next to its log.
+ * @author agent
+ * @version 10/18/26
+ */
+public class LogReplay implements Callable<String>
+{
+    /**
+     * The trajectories of every path resolved so far, by identity, shared by the logs being replayed.
+     */
+    private static final Map<String, Route> routes = new ConcurrentHashMap<String, Route>();
+
+    private final File logFile;
+    private final Route fixedRoute;
+    private final boolean writeCsv;
+
+    /**
+     * Represents the trajectories of one path, as followed by FollowPathRio and as FollowPath
+     * would have pushed them to the Talon.
+     * @author agent
+     * @version 10/18/26
+     */
+    public static class Route
+    {
+        private final String name;
+        private final TrajectoryBuffer leftPath;
+        private final TrajectoryBuffer rightPath;
+        private final TalonTrajectory talonPath;
+
+        /**
+         * Constructs a new Route.
+         * @param name the name of the path, for the summary
+         * @param leftPath the left trajectory
+         * @param rightPath the right trajectory
+         */
+        public Route (String name, TrajectoryBuffer leftPath, TrajectoryBuffer rightPath)
+        {
+            this.name = name;
+            this.leftPath = leftPath;
+            this.rightPath = rightPath;
+            talonPath = TalonTrajectory.compile(rightPath, leftPath, Drivetrain.MOTION_PROFILE_PID, Drivetrain.ANGLE_PID);
+        }
+    }
+
+    /**
+     * Constructs a new LogReplay for a single log.
+     * @param logFile the log to be replayed
+     * @param fixedRoute the trajectories to replay every record against, or null to use the path
+     *        recorded for each record in the log
+     * @param writeCsv whether or not to write every update to a CSV
+     */
+    public LogReplay (File logFile, Route fixedRoute, boolean writeCsv)
+    {
+        this.logFile = logFile;
+        this.fixedRoute = fixedRoute;
+        this.writeCsv = writeCsv;
+    }
+
+    public static void main (String[] args) throws Exception
+    {
+        int first = 0;
+        boolean writeCsv = args.length > first && args[first].equals("-csv");
+        if (writeCsv)
+            first++;
+        Route fixedRoute = null;
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+        if (args.length > first + 2 && args[first].equals("-trajectory"))
+        {
+            fixedRoute = new Route(new File(args[first + 1]).getName(), readTrajectory(new File(args[first + 1])),
+                    readTrajectory(new File(args[first + 2])));
+            first += 3;
+        }
+        if (args.length - first < 1)
+        {
+            System.out.println("usage: LogReplay [-csv] [-trajectory <left trajectory> <right trajectory>] <log file or directory>...");
+            return;
+        }
+
+        List<File> logs = new ArrayList<File>();
+        for (int i = first; i < args.length; i++)
+            findLogs(new File(args[i]), logs);
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        for (File log : logs)
+            results.add(pool.submit(new LogReplay(log, fixedRoute, writeCsv)));
+        for (int i = 0; i < logs.size(); i++)
+        {
+            try
+            {
+                System.out.println(results.get(i).get());
+            }
+            catch (ExecutionException e)
+            {
+                System.out.println(logs.get(i) + ": " + e.getCause());
+            }
+        }
+        pool.shutdown();
+        System.out.printf("Replayed %d logs in %.1f ms%n", logs.size(), (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void findLogs (File file, List<File> logs)
+    {
+        if (file.isDirectory())
+        {
+            File[] children = file.listFiles();
+            if (children != null)
+                for (File child : children)
+                    findLogs(child, logs);
+        }
+        else if (file.getName().endsWith(SignalLogger.EXTENSION))
+            logs.add(file);
+    }
+
+    /**
+     * Reads a trajectory from its binary twin if one exists, or else from the CSV.
+     */
+    private static TrajectoryBuffer readTrajectory (File file) throws IOException
+    {
+        File binary = TrajectoryFile.getBinaryTwin(file);
+        if (binary.isFile())
+            return TrajectoryBuffer.fromMapped(TrajectoryFile.map(binary)[0]);
+        TrajectoryCSVParser parser = new TrajectoryCSVParser();
+        parser.parse(file);
+        return TrajectoryBuffer.fromParser(parser);
+    }
+
+    /**
+     * Finds the trajectories of a path from its identity, regenerating them from its class.
+     * @param identity the identity recorded by SignalLogger.setPath()
+     * @return the trajectories
+     * @throws IOException if the class cannot be constructed or its parameters have changed
+     */
+    public static Route resolve (String identity) throws IOException
+    {
+        Route route = routes.get(identity);
+        if (route != null)
+            return route;
+        int separator = identity.lastIndexOf('@');
+        String className = separator < 0 ? identity : identity.substring(0, separator);
+        Path path;
+        try
+        {
+            path = Class.forName(className).asSubclass(Path.class).getConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | ClassCastException e)
+        {
+            throw new IOException("could not construct path " + className + ": " + e);
+        }
+        if (separator >= 0 && !identity.equals(TrajectoryCache.getIdentity(path)))
+            throw new IOException("path " + className + " has changed since the log was written (now "
+                    + TrajectoryCache.getIdentity(path) + ", logged " + identity + ")");
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        route = new Route(name, TrajectoryBuffer.getLeft(path), TrajectoryBuffer.getRight(path));
+        routes.put(identity, route);
+        return route;
+    }
+
+    /**
+     * Finds the trajectories a record was following.
+     * @return the route, or null if the record's path is unknown or cannot be resolved
+     */
+    private Route getRoute (SignalLog log, float[] pathId, int record, Map<Integer, Route> resolved, List<String> problems)
+    {
+        if (fixedRoute != null)
+            return fixedRoute;
+        int id = pathId == null ? -1 : (int) pathId[record];
+        if (resolved.containsKey(id))
+            return resolved.get(id);
+        Route route = null;
+        String identity = log.getPath(id);
+        if (identity != null)
+        {
+            try
+            {
+                route = resolve(identity);
+            }
+            catch (IOException e)
+            {
+                problems.add(e.getMessage());
+            }
+        }
+        resolved.put(id, route);
+        return route;
+    }
+
+    /**
+     * Replays a single log.
+     * @return a summary of the differences between the logged and replayed setpoints
+     */
+    public String call() throws IOException
+    {
+        SignalLog log = SignalLog.read(logFile);
+        float[] pathTime = log.getSignal(Signal.PATH_TIME);
+        float[] measuredAngle = log.getSignal(Signal.MEASURED_ANGLE);
+        float[] loggedLeft = log.getSignal(Signal.LEFT_SETPOINT);
+        float[] loggedRight = log.getSignal(Signal.RIGHT_SETPOINT);
+        float[] pathId = log.getSignal(Signal.PATH_ID);
+        if (pathTime == null || measuredAngle == null || loggedLeft == null || loggedRight == null)
+            throw new IOException("log does not contain the path follower signals");
+        if (pathId == null && fixedRoute == null)
+            throw new IOException("log does not record its paths; replay it with -trajectory");
+
+        PrintWriter csv = null;
+        if (writeCsv)
+        {
+            csv = new PrintWriter(new FileWriter(new File(logFile.getPath() + ".replay.csv")));
+            csv.println("time,path,path time,point,logged left,logged right,replayed left,replayed right,"
+                    + "left feed forward,right feed forward,talon position,talon velocity,talon heading");
+        }
+
+        RioPathController controller = new RioPathController();
+        Map<Integer, Route> resolved = new HashMap<Integer, Route>();
+        List<String> problems = new ArrayList<String>();
+        List<String> followed = new ArrayList<String>();
+        Route prevRoute = null;
+        double period = 1.0 / log.getRate();
+        double prevTime = -1;
+        int updates = 0;
+        int skipped = 0;
+        double maxError = 0;
+        double sumSquaredError = 0;
+        for (int r = 0; r < log.length(); r++)
+        {
+            double t = pathTime[r];
+            // a repeated time means the logger sampled twice between control updates
+            if (t == prevTime)
+                continue;
+            Route route = getRoute(log, pathId, r, resolved, problems);
+            if (route == null)
+            {
+                prevTime = t;
+                skipped++;
+                continue;
+            }
+            if (route != prevRoute)
+            {
+                if (!followed.contains(route.name))
+                    followed.add(route.name);
+                prevRoute = route;
+                prevTime = -1;
+            }
+            TrajectoryBuffer leftPath = route.leftPath;
+            TrajectoryBuffer rightPath = route.rightPath;
+            if (t < prevTime || prevTime < 0)
+            {
+                controller.reset();
+                prevTime = t - period;
+            }
+            double dt = t - prevTime;
+            prevTime = t;
+            if (dt <= 0)
+                continue;
+
+            int li = leftPath.getIndexAtTime(t);
+            double lf = leftPath.getFraction(li, t);
+            int ri = rightPath.getIndexAtTime(t);
+            double rf = rightPath.getFraction(ri, t);
+            controller.calculate(leftPath.interpolate(Column.POSITION, li, lf), leftPath.interpolate(Column.VELOCITY, li, lf),
+                    rightPath.interpolate(Column.POSITION, ri, rf), rightPath.interpolate(Column.VELOCITY, ri, rf),
+                    leftPath.interpolateHeading(li, lf), measuredAngle[r], dt);
+
+            double leftError = controller.getLeftSetpoint() - loggedLeft[r];
+            double rightError = controller.getRightSetpoint() - loggedRight[r];
+            maxError = Math.max(maxError, Math.max(Math.abs(leftError), Math.abs(rightError)));
+            sumSquaredError += leftError * leftError + rightError * rightError;
+            updates++;
+
+            if (csv != null)
+            {
+                TalonTrajectory talonPath = route.talonPath;
+                int ti = Math.min(ri, talonPath.length() - 1);
+                csv.printf("%.6f,%s,%.6f,%d,%.3f,%.3f,%.3f,%.3f,%.5f,%.5f,%.3f,%.3f,%.3f%n", log.getTime(r), route.name, t, li,
+                        loggedLeft[r], loggedRight[r], controller.getLeftSetpoint(), controller.getRightSetpoint(),
+                        controller.getLeftFeedForward(), controller.getRightFeedForward(),
+                        talonPath.getPosition(ti), talonPath.getVelocity(ti), talonPath.getAuxiliaryPos(ti));
+            }
+        }
+        if (csv != null)
+            csv.close();
+
+        double rms = updates == 0 ? 0 : Math.sqrt(sumSquaredError / (2 * updates));
+        String summary = String.format("%s: %d records, %d updates on %s, %d skipped, setpoint difference rms %.2f max %.2f (encoder units)",
+                logFile.getName(), log.length(), updates, followed, skipped, rms, maxError);
+        for (String problem : problems)
+            summary += "\n    " + problem;
+        return summary;
+    }
+}
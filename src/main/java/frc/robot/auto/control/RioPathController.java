@@ -0,0 +1,129 @@
+package frc.robot.auto.control;
+
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.AngleUnit;
+import harkerrobolib.util.Conversions.PositionUnit;
+
+/**
+ * Calculates the drivetrain setpoints for following a path on the RoboRio: a position setpoint
+ * for each side corrected by a PID loop on heading, plus a velocity feed-forward. Holds only the
+ * state of the heading loop and touches no hardware, so the same math runs on the robot and
+ * when replaying logs.
+ * @author agent
+ * @version 10/18/26
+ */
+public class RioPathController
+{
+    private final double angleKP;
+    private final double angleKI;
+    private final double angleKD;
+    private final double angleKF;
+
+    private double angleErrorAccum;
+    private double angleErrorPrev;
+    private boolean hasRunOnce;
+
+    private double angleSetpoint;
+    private double leftSetpoint;
+    private double rightSetpoint;
+    private double leftFeedForward;
+    private double rightFeedForward;
+
+    /**
+     * Constructs a new RioPathController with the heading gains in Drivetrain.Pigeon.
+     */
+    public RioPathController()
+    {
+        this(Drivetrain.Pigeon.MOT_PROF_KP, Drivetrain.Pigeon.MOT_PROF_KI, Drivetrain.Pigeon.MOT_PROF_KD,
+                Drivetrain.Pigeon.MOT_PROF_KF);
+    }
+
+    /**
+     * Constructs a new RioPathController.
+     * @param angleKP the P constant for the heading loop (ft per degree)
+     * @param angleKI the I constant for the heading loop (ft per degree-second)
+     * @param angleKD the D constant for the heading loop (ft per degree/s)
+     * @param angleKF the share of the difference in side velocities added to each side's feed-forward
+     */
+    public RioPathController (double angleKP, double angleKI, double angleKD, double angleKF)
+    {
+        this.angleKP = angleKP;
+        this.angleKI = angleKI;
+        this.angleKD = angleKD;
+        this.angleKF = angleKF;
+        reset();
+    }
+
+    /**
+     * Clears the state of the heading loop, as at the start of a path.
+     */
+    public void reset()
+    {
+        angleErrorAccum = 0;
+        angleErrorPrev = -1;
+        hasRunOnce = false;
+    }
+
+    /**
+     * Calculates the setpoints for a single point on the path.
+     * @param leftPosition the position of the left side on the path (ft)
+     * @param leftVelocity the velocity of the left side on the path (ft/s)
+     * @param rightPosition the position of the right side on the path (ft)
+     * @param rightVelocity the velocity of the right side on the path (ft/s)
+     * @param heading the heading on the path (rad)
+     * @param measuredAngle the measured heading (Pigeon units)
+     * @param dt the time since the previous calculation (s)
+     */
+    public void calculate (double leftPosition, double leftVelocity, double rightPosition, double rightVelocity,
+            double heading, double measuredAngle, double dt)
+    {
+        angleSetpoint = Conversions.convertAngle(AngleUnit.RADIANS, heading, AngleUnit.DEGREES);
+        double angle = Conversions.convertAngle(AngleUnit.PIGEON_UNITS, measuredAngle, AngleUnit.DEGREES);
+        double angleErrorCurrent = angleSetpoint - angle;
+
+        angleErrorAccum += angleErrorCurrent * dt;
+        double gyroFactor = angleErrorCurrent * angleKP + angleErrorAccum * angleKI +
+                (!hasRunOnce ? 0 : angleErrorCurrent - angleErrorPrev) / dt * angleKD;
+        angleErrorPrev = angleErrorCurrent;
+        hasRunOnce = true;
+
+        double velocityDifference = (leftVelocity - rightVelocity) * angleKF;
+
+        leftFeedForward = leftVelocity * Drivetrain.MOTION_PROF_KF_LEFT + velocityDifference;
+        rightFeedForward = rightVelocity * Drivetrain.MOTION_PROF_KF_RIGHT - velocityDifference;
+
+        leftSetpoint = Conversions.convertPosition(PositionUnit.FEET, leftPosition + gyroFactor, PositionUnit.ENCODER_UNITS);
+        rightSetpoint = Conversions.convertPosition(PositionUnit.FEET, rightPosition - gyroFactor, PositionUnit.ENCODER_UNITS);
+    }
+
+    /**
+     * Gets the heading setpoint from the last calculation.
+     * @return the heading setpoint (degrees)
+     */
+    public double getAngleSetpoint() { return angleSetpoint; }
+
+    /**
+     * Gets the left position setpoint from the last calculation.
+     * @return the left setpoint (encoder units)
+     */
+    public double getLeftSetpoint() { return leftSetpoint; }
+
+    /**
+     * Gets the right position setpoint from the last calculation.
+     * @return the right setpoint (encoder units)
+     */
+    public double getRightSetpoint() { return rightSetpoint; }
+
+    /**
+     * Gets the left arbitrary feed-forward from the last calculation.
+     * @return the left feed-forward (% output)
+     */
+    public double getLeftFeedForward() { return leftFeedForward; }
+
+    /**
+     * Gets the right arbitrary feed-forward from the last calculation.
+     * @return the right feed-forward (% output)
+     */
+    public double getRightFeedForward() { return rightFeedForward; }
+}
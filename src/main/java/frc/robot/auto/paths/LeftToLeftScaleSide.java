@@ -2,7 +2,8 @@ package frc.robot.auto.paths;
 
 import java.util.Arrays;
 
-import harkerrobolib.auto.Path;
+import frc.robot.auto.trajectory.CachedPath;
+
 import jaci.pathfinder.Trajectory.FitMethod;
 import jaci.pathfinder.Waypoint;
 
@@ -11,7 +12,7 @@ import jaci.pathfinder.Waypoint;
  * @author Finn Frankis
  * @version 10/6/18
  */
-public class LeftToLeftScaleSide extends Path {
+public class LeftToLeftScaleSide extends CachedPath {
 	public LeftToLeftScaleSide () {
 		super (
 				new Waypoint[] {new Waypoint(1.64, 13.0, 0.0), 
@@ -0,0 +1,140 @@
+package frc.robot.auto.trajectory;
+
+import java.util.Map;
+
+import frc.robot.util.Telemetry;
+
+import harkerrobolib.auto.Path;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.FitMethod;
+import jaci.pathfinder.Waypoint;
+
+/**
+ * Represents a path whose trajectories are read from the precompiled trajectory cache,
+ * only falling back to generating them on the robot if no cached copy matches its parameters.
+ * @author agent
+ * @version 10/18/26
+ */
+public abstract class CachedPath extends Path
+{
+    /**
+     * Counts the paths generated on the robot because the cache held no copy of them, which
+     * means the deployed trajectories are out of date.
+     */
+    private static final Telemetry.Slot cacheMissSlot = Telemetry.getSlot("Trajectory Cache Misses");
+
+    private TrajectoryBuffer leftBuffer;
+    private TrajectoryBuffer rightBuffer;
+
+    /**
+     * The Pathfinder copies of the trajectories, created only if requested.
+     */
+    private Trajectory leftPath;
+    private Trajectory rightPath;
+
+    /**
+     * The key under which this path is stored in the cache.
+     */
+    private long cacheKey;
+
+    /**
+     * Whether or not this path's trajectories were read from the cache.
+     */
+    private boolean loadedFromCache;
+
+    /**
+     * Constructs a new CachedPath.
+     * @param waypoints the waypoints through which the path passes
+     * @param fitMethod the spline fit method
+     * @param dt the time between points (s)
+     * @param velMax the maximum velocity (ft/s)
+     * @param accelMax the maximum acceleration (ft/s^2)
+     * @param jerkMax the maximum jerk (ft/s^3)
+     * @param wheelBase the wheelbase width (ft)
+     */
+    @SuppressWarnings("unchecked")
+    public CachedPath (Waypoint[] waypoints, FitMethod fitMethod, double dt, double velMax,
+            double accelMax, double jerkMax, double wheelBase)
+    {
+        // the segment map constructor performs no generation
+        super (new Map[0], new Map[0]);
+        setWaypoints(waypoints);
+        setFitMethod(fitMethod);
+        setDt(dt);
+        setVelMax(velMax);
+        setAccelMax(accelMax);
+        setJerkMax(jerkMax);
+        setWheelBase(wheelBase);
+
+        cacheKey = TrajectoryCache.computeKey(waypoints, fitMethod, dt, velMax, accelMax, jerkMax, wheelBase);
+        TrajectoryBuffer[] buffers = TrajectoryCache.load(cacheKey);
+        loadedFromCache = buffers != null;
+        if (loadedFromCache)
+        {
+            leftBuffer = buffers[0];
+            rightBuffer = buffers[1];
+        }
+        else
+        {
+            synchronized (cacheMissSlot)
+            {
+                cacheMissSlot.set(cacheMissSlot.get() + 1);
+            }
+            Trajectory[] trajectories = TrajectoryCache.generate(waypoints, fitMethod, dt, velMax, accelMax, jerkMax, wheelBase);
+            leftBuffer = TrajectoryBuffer.fromTrajectory(trajectories[0]);
+            rightBuffer = TrajectoryBuffer.fromTrajectory(trajectories[1]);
+        }
+    }
+
+    @Override
+    public Trajectory getLeftPath()
+    {
+        if (leftPath == null)
+            leftPath = leftBuffer.toTrajectory();
+        return leftPath;
+    }
+
+    @Override
+    public Trajectory getRightPath()
+    {
+        if (rightPath == null)
+            rightPath = rightBuffer.toTrajectory();
+        return rightPath;
+    }
+
+    /**
+     * Gets the left trajectory of this path.
+     * @return the left trajectory
+     */
+    public TrajectoryBuffer getLeftBuffer()
+    {
+        return leftBuffer;
+    }
+
+    /**
+     * Gets the right trajectory of this path.
+     * @return the right trajectory
+     */
+    public TrajectoryBuffer getRightBuffer()
+    {
+        return rightBuffer;
+    }
+
+    /**
+     * Gets the key under which this path is stored in the cache.
+     * @return the cache key
+     */
+    public long getCacheKey()
+    {
+        return cacheKey;
+    }
+
+    /**
+     * Determines whether this path's trajectories were read from the cache.
+     * @return true if the path was cached; false if it had to be generated
+     */
+    public boolean isLoadedFromCache()
+    {
+        return loadedFromCache;
+    }
+}
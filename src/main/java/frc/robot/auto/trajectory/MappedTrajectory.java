@@ -0,0 +1,105 @@
+package frc.robot.auto.trajectory;
+
+import java.nio.ByteBuffer;
+
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.Segment;
+
+/**
+ * Represents a read-only view of a single trajectory inside a memory-mapped trajectory
+ * file. Points are read directly out of the mapped file rather than being copied.
+ * @author agent
+ * @version 10/18/26
+ */
+public class MappedTrajectory
+{
+    private final ByteBuffer buf;
+    private final int base;
+    private final int length;
+
+    /**
+     * Constructs a new MappedTrajectory.
+     * @param buf the (little-endian) buffer holding the whole file
+     * @param base the byte offset of the first column
+     * @param length the number of points in the trajectory
+     */
+    MappedTrajectory (ByteBuffer buf, int base, int length)
+    {
+        this.buf = buf;
+        this.base = base;
+        this.length = length;
+    }
+
+    /**
+     * Gets the number of points in this trajectory.
+     * @return the number of points
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Gets a single value from this trajectory.
+     * @param column the column to be read
+     * @param index the index of the point
+     * @return the value
+     */
+    public double get (Column column, int index)
+    {
+        return get(column.ordinal(), index);
+    }
+
+    private double get (int column, int index)
+    {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Point " + index + " of " + length);
+        return buf.getDouble(base + (column * length + index) * Double.BYTES);
+    }
+
+    public double getDt (int index) { return get(Column.DT.ordinal(), index); }
+
+    public double getX (int index) { return get(Column.X.ordinal(), index); }
+
+    public double getY (int index) { return get(Column.Y.ordinal(), index); }
+
+    public double getPosition (int index) { return get(Column.POSITION.ordinal(), index); }
+
+    public double getVelocity (int index) { return get(Column.VELOCITY.ordinal(), index); }
+
+    public double getAcceleration (int index) { return get(Column.ACCELERATION.ordinal(), index); }
+
+    public double getJerk (int index) { return get(Column.JERK.ordinal(), index); }
+
+    public double getHeading (int index) { return get(Column.HEADING.ordinal(), index); }
+
+    /**
+     * Copies an entire column out of this trajectory.
+     * @param column the column to be copied
+     * @param dest the array into which the column should be copied (at least length() long)
+     */
+    public void copyColumn (Column column, double[] dest)
+    {
+        ByteBuffer view = buf.duplicate().order(TrajectoryFile.ORDER);
+        view.position(base + column.ordinal() * length * Double.BYTES);
+        view.asDoubleBuffer().get(dest, 0, length);
+    }
+
+    /**
+     * Converts this trajectory into a Pathfinder trajectory, for code which still
+     * requires one.
+     * @return a new trajectory holding a copy of every point
+     */
+    public Trajectory toTrajectory()
+    {
+        Segment[] segments = new Segment[length];
+        for (int i = 0; i < length; i++)
+        {
+            segments[i] = new Segment(getDt(i), getX(i), getY(i), getPosition(i),
+                    getVelocity(i), getAcceleration(i), getJerk(i), getHeading(i));
+        }
+        return new Trajectory(segments);
+    }
+}
@@ -0,0 +1,220 @@
+package frc.robot.auto.trajectory;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import frc.robot.RobotMap;
+import frc.robot.hardware.MotorController;
+import frc.robot.util.RealTimeLoop;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+
+/**
+ * Moves motion profile points from the top-level buffer into the Talon for every registered
+ * controller on a single real-time loop, shared by every path, which runs only while any
+ * controller is registered. Tracks the bottom buffer depth and underruns of each controller; the
+ * loop records its own timing.
+ * @author agent
+ * @version 10/18/26
+ */
+public class MotionProfileBufferService implements Runnable
+{
+    /**
+     * The time between buffer processing runs (ns), half of the period of a single trajectory point.
+     */
+    public static final long PERIOD_NANOS = RobotMap.TIME_PER_TRAJECTORY_POINT_MS * 1000000L / 2;
+
+    /**
+     * The current instance of this service.
+     */
+    private static MotionProfileBufferService service = null;
+
+    /**
+     * Every controller whose buffer is being processed.
+     */
+    private final CopyOnWriteArrayList<BufferedController> controllers;
+
+    private final RealTimeLoop loop;
+
+    private volatile int failures;
+
+    /**
+     * Represents a controller registered with the service, along with its buffer statistics.
+     * @author agent
+     * @version 10/18/26
+     */
+    public static class BufferedController
+    {
+        private final MotorController controller;
+        private final MotionProfileStatus status;
+
+        /**
+         * The number of times this controller has been registered without being unregistered.
+         */
+        private int registrations;
+
+        private volatile int bottomBufferCount;
+        private volatile int minBottomBufferCount;
+        private volatile int underruns;
+        private volatile int failures;
+        private boolean wasUnderrun;
+
+        private BufferedController (MotorController controller)
+        {
+            this.controller = controller;
+            status = new MotionProfileStatus();
+            resetStatistics();
+        }
+
+        private void process()
+        {
+            controller.processMotionProfileBuffer();
+            controller.getMotionProfileStatus(status);
+            bottomBufferCount = status.btmBufferCnt;
+            if (status.activePointValid && status.btmBufferCnt < minBottomBufferCount)
+                minBottomBufferCount = status.btmBufferCnt;
+            if (status.isUnderrun && !wasUnderrun)
+                underruns++;
+            wasUnderrun = status.isUnderrun;
+        }
+
+        /**
+         * Resets the minimum bottom buffer count and the underrun count.
+         */
+        public void resetStatistics()
+        {
+            minBottomBufferCount = Integer.MAX_VALUE;
+            underruns = 0;
+        }
+
+        public MotorController getController() { return controller; }
+
+        /**
+         * Gets the number of points in the Talon's bottom buffer as of the last run.
+         * @return the bottom buffer count
+         */
+        public int getBottomBufferCount() { return bottomBufferCount; }
+
+        /**
+         * Gets the lowest bottom buffer count seen while a profile was executing.
+         * @return the minimum bottom buffer count, or Integer.MAX_VALUE if none has been seen
+         */
+        public int getMinBottomBufferCount() { return minBottomBufferCount; }
+
+        /**
+         * Gets the number of times the controller has entered an underrun.
+         * @return the number of underruns
+         */
+        public int getUnderruns() { return underruns; }
+
+        /**
+         * Gets the number of runs in which processing this controller threw an exception.
+         * @return the number of failed runs
+         */
+        public int getFailures() { return failures; }
+    }
+
+    private MotionProfileBufferService()
+    {
+        controllers = new CopyOnWriteArrayList<BufferedController>();
+        loop = new RealTimeLoop("MotionProfileBufferService", this, PERIOD_NANOS / 1e9);
+    }
+
+    /**
+     * Gets the instance of this singleton service, returning a new one if one has not yet been created.
+     * @return this service instance
+     */
+    public static synchronized MotionProfileBufferService getInstance()
+    {
+        if (service == null) service = new MotionProfileBufferService();
+        return service;
+    }
+
+    /**
+     * Begins processing a controller's buffer, starting the loop if necessary. A controller
+     * may be registered more than once and is processed until unregistered as many times.
+     * @param controller the controller to be registered
+     * @return the statistics for the controller
+     */
+    public synchronized BufferedController register (MotorController controller)
+    {
+        BufferedController entry = find(controller);
+        if (entry == null)
+        {
+            entry = new BufferedController(controller);
+            controllers.add(entry);
+        }
+        entry.registrations++;
+        loop.start();
+        return entry;
+    }
+
+    /**
+     * Stops processing a controller's buffer once every registration has been undone, stopping
+     * the loop once no controller is left.
+     * @param controller the controller to be unregistered
+     */
+    public synchronized void unregister (MotorController controller)
+    {
+        BufferedController entry = find(controller);
+        if (entry != null && --entry.registrations <= 0)
+        {
+            controllers.remove(entry);
+            if (controllers.isEmpty())
+                loop.stop();
+        }
+    }
+
+    /**
+     * Gets the statistics for a registered controller.
+     * @param controller the controller
+     * @return the statistics, or null if the controller is not registered
+     */
+    public BufferedController find (MotorController controller)
+    {
+        for (BufferedController entry : controllers)
+        {
+            if (entry.controller.equals(controller))
+                return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Processes every registered buffer once, as the loop does every period. An exception from
+     * one controller is logged and counted, and does not stop the others.
+     */
+    public void run()
+    {
+        for (BufferedController entry : controllers)
+        {
+            try
+            {
+                entry.process();
+            }
+            catch (RuntimeException e)
+            {
+                entry.failures++;
+                failures++;
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Gets the loop processing the buffers, along with its period and execution time histograms.
+     * @return the loop
+     */
+    public RealTimeLoop getLoop()
+    {
+        return loop;
+    }
+
+    /**
+     * Gets the number of times processing any controller has thrown an exception.
+     * @return the number of failures
+     */
+    public int getFailures()
+    {
+        return failures;
+    }
+}
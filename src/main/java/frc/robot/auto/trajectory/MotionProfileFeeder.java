@@ -0,0 +1,270 @@
+package frc.robot.auto.trajectory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import frc.robot.RobotMap;
+import frc.robot.hardware.MotorController;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+
+/**
+ * Streams a compiled trajectory into a controller's top-level buffer a bounded chunk at a
+ * time, only pushing as many points as the buffer has room for. Runs on a shared background
+ * thread so that long paths never stall the main robot loop while they are buffered.
+ * @author agent
+ * @version 10/18/26
+ */
+public class MotionProfileFeeder implements Runnable
+{
+    /**
+     * The largest number of points pushed to a controller in a single fill.
+     */
+    public static final int MAX_POINTS_PER_FILL = 64;
+
+    /**
+     * The time between fills (ms), half of the period of a single trajectory point.
+     */
+    public static final long FILL_PERIOD_MS = Math.max(1, RobotMap.TIME_PER_TRAJECTORY_POINT_MS / 2);
+
+    /**
+     * The smoothing factor applied to the measured fill rate.
+     */
+    private static final double FILL_RATE_SMOOTHING = 0.2;
+
+    /**
+     * The thread shared by every feeder.
+     */
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+    {
+        public Thread newThread (Runnable r)
+        {
+            Thread thread = new Thread(r, "MotionProfileFeeder");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final TalonTrajectory trajectory;
+    private final MotorController controller;
+    private final int maxPointsPerFill;
+    private final MotionProfileStatus status;
+
+    private ScheduledFuture<?> future;
+
+    /**
+     * The index of the next point to be pushed.
+     */
+    private volatile int nextPoint;
+
+    private volatile int topBufferCount;
+    private volatile int bottomBufferCount;
+
+    /**
+     * The smoothed number of points pushed per second.
+     */
+    private volatile double fillRate;
+
+    /**
+     * The longest time taken by a single fill (s).
+     */
+    private volatile double maxFillTime;
+
+    /**
+     * The number of fills which have thrown, and the exception thrown by the most recent of them.
+     */
+    private volatile int failures;
+    private volatile RuntimeException lastFailure;
+
+    private long startNanos;
+    private long prevFillNanos;
+
+    /**
+     * Constructs a new MotionProfileFeeder.
+     * @param trajectory the trajectory to be streamed
+     * @param controller the controller to which the trajectory should be streamed
+     */
+    public MotionProfileFeeder (TalonTrajectory trajectory, MotorController controller)
+    {
+        this(trajectory, controller, MAX_POINTS_PER_FILL);
+    }
+
+    /**
+     * Constructs a new MotionProfileFeeder.
+     * @param trajectory the trajectory to be streamed
+     * @param controller the controller to which the trajectory should be streamed
+     * @param maxPointsPerFill the largest number of points pushed in a single fill
+     */
+    public MotionProfileFeeder (TalonTrajectory trajectory, MotorController controller, int maxPointsPerFill)
+    {
+        this.trajectory = trajectory;
+        this.controller = controller;
+        this.maxPointsPerFill = maxPointsPerFill;
+        status = new MotionProfileStatus();
+    }
+
+    /**
+     * Begins streaming points on the background thread; does nothing if already started.
+     */
+    public synchronized void start()
+    {
+        if (future != null)
+            return;
+        controller.configMotionProfileTrajectoryPeriod(RobotMap.TIME_PER_TRAJECTORY_POINT_MS, RobotMap.TIMEOUT);
+        startNanos = prevFillNanos = System.nanoTime();
+        future = executor.scheduleAtFixedRate(this, 0, FILL_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops streaming points, leaving any already pushed in the controller.
+     */
+    public synchronized void stop()
+    {
+        if (future != null)
+        {
+            future.cancel(false);
+            future = null;
+        }
+    }
+
+    /**
+     * Tops up the controller's buffer with as many points as it has room for, up to the
+     * maximum per fill. Called periodically by the background thread. An exception is logged and
+     * recorded rather than thrown, since the executor would otherwise silently cancel every
+     * later fill; the next fill tries again.
+     */
+    public void run()
+    {
+        try
+        {
+            fill();
+        }
+        catch (RuntimeException e)
+        {
+            failures++;
+            lastFailure = e;
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Pushes a single chunk of points and updates the fill statistics.
+     */
+    private void fill()
+    {
+        long start = System.nanoTime();
+        controller.getMotionProfileStatus(status);
+        topBufferCount = status.topBufferCnt;
+        bottomBufferCount = status.btmBufferCnt;
+        if (status.isUnderrun)
+            controller.clearMotionProfileHasUnderrun(RobotMap.TIMEOUT);
+
+        int next = nextPoint;
+        int count = Math.min(Math.min(status.topBufferRem, maxPointsPerFill), trajectory.length() - next);
+        if (count > 0)
+            nextPoint = trajectory.pushTo(controller, next, next + count);
+
+        long end = System.nanoTime();
+        double rate = count / ((end - prevFillNanos) / 1e9);
+        fillRate = fillRate == 0 ? rate : fillRate + FILL_RATE_SMOOTHING * (rate - fillRate);
+        prevFillNanos = end;
+        maxFillTime = Math.max(maxFillTime, (end - start) / 1e9);
+
+        if (isComplete())
+            stop();
+    }
+
+    /**
+     * Determines whether every point has been pushed to the controller.
+     * @return true if streaming is complete; false otherwise
+     */
+    public boolean isComplete()
+    {
+        return nextPoint >= trajectory.length();
+    }
+
+    /**
+     * Determines whether streaming has been started.
+     * @return true if start() has been called; false otherwise
+     */
+    public synchronized boolean isStarted()
+    {
+        return startNanos != 0;
+    }
+
+    /**
+     * Gets the number of points which have been pushed to the controller.
+     * @return the number of points pushed
+     */
+    public int getPointsPushed()
+    {
+        return nextPoint;
+    }
+
+    /**
+     * Gets the number of points in the controller's top-level buffer as of the last fill.
+     * @return the top buffer count
+     */
+    public int getTopBufferCount()
+    {
+        return topBufferCount;
+    }
+
+    /**
+     * Gets the number of points in the controller's bottom (Talon) buffer as of the last fill.
+     * @return the bottom buffer count
+     */
+    public int getBottomBufferCount()
+    {
+        return bottomBufferCount;
+    }
+
+    /**
+     * Gets the smoothed rate at which points are being pushed.
+     * @return the fill rate (points/s)
+     */
+    public double getFillRate()
+    {
+        return fillRate;
+    }
+
+    /**
+     * Gets the average rate at which points have been pushed since streaming began.
+     * @return the average fill rate (points/s)
+     */
+    public double getAverageFillRate()
+    {
+        double elapsed = (prevFillNanos - startNanos) / 1e9;
+        return elapsed > 0 ? nextPoint / elapsed : 0;
+    }
+
+    /**
+     * Gets the longest time taken by a single fill.
+     * @return the maximum fill time (s)
+     */
+    public double getMaxFillTime()
+    {
+        return maxFillTime;
+    }
+
+    /**
+     * Gets the number of fills which have thrown an exception.
+     * @return the number of failed fills
+     */
+    public int getFailures()
+    {
+        return failures;
+    }
+
+    /**
+     * Gets the exception thrown by the most recent failed fill.
+     * @return the exception, or null if no fill has failed
+     */
+    public RuntimeException getLastFailure()
+    {
+        return lastFailure;
+    }
+}
@@ -0,0 +1,79 @@
+package frc.robot.auto.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+import harkerrobolib.auto.Path;
+import jaci.pathfinder.Trajectory;
+
+/**
+ * Compiles every Path subclass in the paths package into the trajectory cache at build
+ * time, so that the robot only reads the finished trajectories. Run through the
+ * compileTrajectories Gradle task.
+ * @author agent
+ * @version 10/18/26
+ */
+public class PathCompiler
+{
+    /**
+     * The package scanned for paths to compile.
+     */
+    public static final String PATH_PACKAGE = "frc.robot.auto.paths";
+
+    /**
+     * Compiles all paths.
+     * @param args the compiled classes directory followed by the output directory
+     */
+    public static void main (String[] args) throws IOException, ReflectiveOperationException
+    {
+        if (args.length < 2)
+        {
+            System.out.println("Usage: PathCompiler <classes directory> <output directory>");
+            System.exit(1);
+        }
+        File packageDir = new File(args[0], PATH_PACKAGE.replace('.', File.separatorChar));
+        File outputDir = new File(args[1]);
+        TrajectoryCache.setDirectory(outputDir);
+
+        Set<File> compiled = new HashSet<File>();
+        File[] classFiles = packageDir.listFiles();
+        if (classFiles == null)
+        {
+            System.out.println("No compiled paths found in " + packageDir);
+            System.exit(1);
+        }
+        for (File classFile : classFiles)
+        {
+            String name = classFile.getName();
+            if (!name.endsWith(".class") || name.contains("$"))
+                continue;
+            Class<?> c = Class.forName(PATH_PACKAGE + "." + name.substring(0, name.length() - ".class".length()));
+            if (!Path.class.isAssignableFrom(c) || Modifier.isAbstract(c.getModifiers()))
+                continue;
+
+            long start = System.nanoTime();
+            Path path = (Path) c.getConstructor().newInstance();
+            long key = TrajectoryCache.computeKey(path);
+            // regenerate rather than trusting an artifact which may have been read back in
+            Trajectory[] trajectories = TrajectoryCache.generate(path.getWaypoints(), path.getFitMethod(),
+                    path.getDt(), path.getVelMax(), path.getAccelMax(), path.getJerkMax(), path.getWheelBase());
+            compiled.add(TrajectoryCache.store(key, trajectories[0], trajectories[1]));
+            System.out.printf("%-28s -> %016x (%d points, %.1f ms)%n", c.getSimpleName(), key,
+                    trajectories[0].length(), (System.nanoTime() - start) / 1e6);
+        }
+
+        // remove artifacts left behind by paths which have since changed
+        File[] existing = outputDir.listFiles();
+        if (existing != null)
+        {
+            for (File f : existing)
+            {
+                if (f.getName().endsWith(TrajectoryFile.EXTENSION) && !compiled.contains(f))
+                    f.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package frc.robot.auto.trajectory;
+
+import frc.robot.RobotMap;
+import frc.robot.hardware.MotorController;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+
+import com.ctre.phoenix.motion.TrajectoryPoint;
+
+/**
+ * Represents a trajectory which has already been converted into the units and points
+ * the Talon expects (position in encoder ticks, velocity in ticks per 100ms with the
+ * static friction ramp applied, and heading in Pigeon units), so that it can be pushed
+ * to a controller with no math and no allocation.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TalonTrajectory
+{
+    /**
+     * The PID slot used for an auxiliary position that should be ignored.
+     */
+    public static final int NO_AUXILIARY = -1;
+
+    private final int length;
+    private final double[] position;
+    private final double[] velocity;
+    private final double[] auxiliaryPos;
+    private final int primarySlot;
+    private final int auxiliarySlot;
+
+    /**
+     * The point reused for every push.
+     */
+    private final TrajectoryPoint point = new TrajectoryPoint();
+
+    private TalonTrajectory (int length, int primarySlot, int auxiliarySlot)
+    {
+        this.length = length;
+        this.primarySlot = primarySlot;
+        this.auxiliarySlot = auxiliarySlot;
+        position = new double[length];
+        velocity = new double[length];
+        auxiliaryPos = auxiliarySlot == NO_AUXILIARY ? null : new double[length];
+    }
+
+    /**
+     * Converts a trajectory into Talon units.
+     * @param t the trajectory to be converted
+     * @param averageWith the trajectory whose position and velocity should be averaged with
+     * this one (the left side of an arc) or null if the trajectory is followed on its own
+     * @param primarySlot the PID slot for the primary (position) loop
+     * @param auxiliarySlot the PID slot for the auxiliary (heading) loop, or NO_AUXILIARY
+     * @return the converted trajectory
+     */
+    public static TalonTrajectory compile (TrajectoryBuffer t, TrajectoryBuffer averageWith, int primarySlot, int auxiliarySlot)
+    {
+        int length = t.length();
+        if (averageWith != null)
+            length = Math.min(length, averageWith.length());
+        TalonTrajectory compiled = new TalonTrajectory(length, primarySlot, auxiliarySlot);
+
+        double ticksPerFoot = Conversions.INCHES_PER_FOOT // convert to inches
+                / (Drivetrain.WHEELDIAMETER * Math.PI) // convert to revolutions
+                * Conversions.TICKS_PER_REV; // convert revolutions to encoder units
+        double pigeonUnitsPerRadian = Conversions.PIGEON_UNITS_PER_ROTATION / Conversions.RADIANS_PER_ROTATION;
+        double velocityAddStep = Drivetrain.MOT_PROF_ADD_TO_VEL_INIT
+                * (RobotMap.TIME_PER_TRAJECTORY_POINT_MS / Drivetrain.TIME_TO_OVERCOME_S_FRICTION_MS);
+
+        double velocityAddFactor = Drivetrain.MOT_PROF_ADD_TO_VEL_INIT;
+        for (int i = 0; i < length; i++)
+        {
+            double pos = t.getPosition(i);
+            double vel = t.getVelocity(i);
+            if (averageWith != null)
+            {
+                pos = (pos + averageWith.getPosition(i)) / 2;
+                vel = (vel + averageWith.getVelocity(i)) / 2;
+            }
+            if (auxiliarySlot != NO_AUXILIARY)
+                compiled.auxiliaryPos[i] = t.getHeading(i) * pigeonUnitsPerRadian;
+
+            // ramp down a boost to the velocity to overcome static friction at the start
+            if (length > 1 && i == 0 && vel == 0)
+                vel += Math.signum(t.getVelocity(i + 1)) * velocityAddFactor;
+            else
+                vel += Math.signum(vel) * velocityAddFactor;
+            velocityAddFactor = Math.max(0, velocityAddFactor - velocityAddStep);
+
+            compiled.position[i] = pos * ticksPerFoot;
+            compiled.velocity[i] = vel / 10.0 * ticksPerFoot; // convert to ticks per 100ms
+        }
+        return compiled;
+    }
+
+    /**
+     * Pushes every point of this trajectory to a controller's top-level buffer.
+     * @param controller the controller to which the points should be pushed
+     */
+    public void pushTo (MotorController controller)
+    {
+        pushTo(controller, 0, length);
+    }
+
+    /**
+     * Pushes a range of points of this trajectory to a controller's top-level buffer.
+     * @param controller the controller to which the points should be pushed
+     * @param start the index of the first point to be pushed
+     * @param end the index just past the last point to be pushed
+     * @return the index of the next point to be pushed
+     */
+    public int pushTo (MotorController controller, int start, int end)
+    {
+        TrajectoryPoint tp = point;
+        tp.profileSlotSelect0 = primarySlot;
+        tp.profileSlotSelect1 = auxiliarySlot == NO_AUXILIARY ? 0 : auxiliarySlot;
+        tp.auxiliaryPos = 0;
+        tp.zeroPos = false;
+        end = Math.min(end, length);
+        for (int i = start; i < end; i++)
+        {
+            tp.position = position[i];
+            tp.velocity = velocity[i];
+            if (auxiliaryPos != null)
+                tp.auxiliaryPos = auxiliaryPos[i];
+            tp.isLastPoint = i == length - 1;
+            controller.pushMotionProfileTrajectory(tp); // the point is copied, so it can be reused
+        }
+        return end;
+    }
+
+    /**
+     * Gets the number of points in this trajectory.
+     * @return the number of points
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Gets the position of a point.
+     * @param i the index of the point
+     * @return the position (encoder ticks)
+     */
+    public double getPosition (int i)
+    {
+        return position[i];
+    }
+
+    /**
+     * Gets the velocity of a point, including the static friction ramp.
+     * @param i the index of the point
+     * @return the velocity (encoder ticks per 100ms)
+     */
+    public double getVelocity (int i)
+    {
+        return velocity[i];
+    }
+
+    /**
+     * Gets the auxiliary (heading) position of a point.
+     * @param i the index of the point
+     * @return the heading (Pigeon units), or 0 if this trajectory has no auxiliary loop
+     */
+    public double getAuxiliaryPos (int i)
+    {
+        return auxiliaryPos == null ? 0 : auxiliaryPos[i];
+    }
+}
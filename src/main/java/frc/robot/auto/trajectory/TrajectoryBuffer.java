@@ -0,0 +1,382 @@
+package frc.robot.auto.trajectory;
+
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+
+import harkerrobolib.auto.Path;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.Segment;
+
+/**
+ * Represents a trajectory as one primitive array per column rather than one Segment
+ * object per point, so that followers read contiguous memory with no pointer chasing
+ * or per-point object overhead.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TrajectoryBuffer
+{
+    private final int length;
+    private final double[][] columns;
+
+    /**
+     * The time (s) at which each point begins, or null if every point has the same dt.
+     */
+    private double[] startTimes;
+
+    /**
+     * The duration of every point (s), if all points have the same dt.
+     */
+    private double uniformDt;
+
+    /**
+     * Constructs a new TrajectoryBuffer with every value zeroed.
+     * @param length the number of points
+     */
+    public TrajectoryBuffer (int length)
+    {
+        this.length = length;
+        columns = new double[Column.COUNT][length];
+    }
+
+    /**
+     * Copies a Pathfinder trajectory into a new buffer.
+     * @param t the trajectory to be copied
+     * @return the new buffer
+     */
+    public static TrajectoryBuffer fromTrajectory (Trajectory t)
+    {
+        Segment[] segs = t.segments;
+        TrajectoryBuffer buf = new TrajectoryBuffer(segs.length);
+        double[][] c = buf.columns;
+        for (int i = 0; i < segs.length; i++)
+        {
+            Segment s = segs[i];
+            c[0][i] = s.dt;
+            c[1][i] = s.x;
+            c[2][i] = s.y;
+            c[3][i] = s.position;
+            c[4][i] = s.velocity;
+            c[5][i] = s.acceleration;
+            c[6][i] = s.jerk;
+            c[7][i] = s.heading;
+        }
+        buf.updateTiming();
+        return buf;
+    }
+
+    /**
+     * Copies a memory-mapped trajectory into a new buffer, one column at a time.
+     * @param t the trajectory to be copied
+     * @return the new buffer
+     */
+    public static TrajectoryBuffer fromMapped (MappedTrajectory t)
+    {
+        TrajectoryBuffer buf = new TrajectoryBuffer(t.length());
+        for (Column c : Column.values())
+            t.copyColumn(c, buf.columns[c.ordinal()]);
+        buf.updateTiming();
+        return buf;
+    }
+
+    /**
+     * Copies the trajectory most recently read by a parser into a new buffer.
+     * @param parser the parser
+     * @return the new buffer
+     */
+    public static TrajectoryBuffer fromParser (TrajectoryCSVParser parser)
+    {
+        TrajectoryBuffer buf = new TrajectoryBuffer(parser.length());
+        for (Column c : Column.values())
+            System.arraycopy(parser.getColumn(c), 0, buf.columns[c.ordinal()], 0, buf.length);
+        buf.updateTiming();
+        return buf;
+    }
+
+    /**
+     * Joins several trajectories end to end into a new buffer. Positions are not adjusted,
+     * so each part should already begin where the previous one ends.
+     * @param parts the trajectories to be joined, in order
+     * @return the new buffer
+     */
+    public static TrajectoryBuffer concat (TrajectoryBuffer... parts)
+    {
+        int total = 0;
+        for (TrajectoryBuffer part : parts)
+            total += part.length;
+        TrajectoryBuffer buf = new TrajectoryBuffer(total);
+        int offset = 0;
+        for (TrajectoryBuffer part : parts)
+        {
+            for (int c = 0; c < Column.COUNT; c++)
+                System.arraycopy(part.columns[c], 0, buf.columns[c], offset, part.length);
+            offset += part.length;
+        }
+        buf.updateTiming();
+        return buf;
+    }
+
+    /**
+     * Gets the left trajectory of a path as a buffer, without going through Segment
+     * objects if the path was precompiled.
+     * @param path the path
+     * @return the left trajectory
+     */
+    public static TrajectoryBuffer getLeft (Path path)
+    {
+        if (path instanceof CachedPath)
+            return ((CachedPath) path).getLeftBuffer();
+        return fromTrajectory(path.getLeftPath());
+    }
+
+    /**
+     * Gets the right trajectory of a path as a buffer, without going through Segment
+     * objects if the path was precompiled.
+     * @param path the path
+     * @return the right trajectory
+     */
+    public static TrajectoryBuffer getRight (Path path)
+    {
+        if (path instanceof CachedPath)
+            return ((CachedPath) path).getRightBuffer();
+        return fromTrajectory(path.getRightPath());
+    }
+
+    /**
+     * Recomputes the start time of every point; called whenever dt changes.
+     */
+    private void updateTiming()
+    {
+        double[] dt = columns[Column.DT.ordinal()];
+        boolean uniform = true;
+        for (int i = 1; i < length && uniform; i++)
+            uniform = dt[i] == dt[0];
+        if (uniform)
+        {
+            uniformDt = length > 0 ? dt[0] : 0;
+            startTimes = null;
+        }
+        else
+        {
+            startTimes = new double[length + 1];
+            for (int i = 0; i < length; i++)
+                startTimes[i + 1] = startTimes[i] + dt[i];
+        }
+    }
+
+    /**
+     * Gets the number of points in this trajectory.
+     * @return the number of points
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    public double getDt (int i) { return columns[0][i]; }
+
+    public double getX (int i) { return columns[1][i]; }
+
+    public double getY (int i) { return columns[2][i]; }
+
+    public double getPosition (int i) { return columns[3][i]; }
+
+    public double getVelocity (int i) { return columns[4][i]; }
+
+    public double getAcceleration (int i) { return columns[5][i]; }
+
+    public double getJerk (int i) { return columns[6][i]; }
+
+    public double getHeading (int i) { return columns[7][i]; }
+
+    /**
+     * Gets a single value from this trajectory.
+     * @param column the column to be read
+     * @param i the index of the point
+     * @return the value
+     */
+    public double get (Column column, int i)
+    {
+        return columns[column.ordinal()][i];
+    }
+
+    /**
+     * Sets a single value in this trajectory.
+     * @param column the column to be written
+     * @param i the index of the point
+     * @param value the new value
+     */
+    public void set (Column column, int i, double value)
+    {
+        columns[column.ordinal()][i] = value;
+        if (column == Column.DT)
+            updateTiming();
+    }
+
+    /**
+     * Gets the time at which a point begins, relative to the start of the trajectory.
+     * @param i the index of the point (up to and including length())
+     * @return the start time (s)
+     */
+    public double getTime (int i)
+    {
+        return startTimes == null ? i * uniformDt : startTimes[i];
+    }
+
+    /**
+     * Gets the total time taken to follow this trajectory.
+     * @return the duration (s)
+     */
+    public double getDuration()
+    {
+        return getTime(length);
+    }
+
+    /**
+     * Gets the index of the point being followed at a given time.
+     * @param time the time since the start of the trajectory (s)
+     * @return the index of the point, clamped between 0 and length() - 1
+     */
+    public int getIndexAtTime (double time)
+    {
+        if (length == 0 || time <= 0)
+            return 0;
+        int index;
+        if (startTimes == null)
+            index = uniformDt > 0 ? (int) (time / uniformDt) : 0;
+        else
+        {
+            int low = 0;
+            int high = length;
+            while (high - low > 1)
+            {
+                int mid = (low + high) >>> 1;
+                if (startTimes[mid] <= time)
+                    low = mid;
+                else
+                    high = mid;
+            }
+            index = low;
+        }
+        return Math.min(index, length - 1);
+    }
+
+    /**
+     * Gets how far a given time lies between the start of a point and the start of the next.
+     * @param i the index of the point, as returned by getIndexAtTime
+     * @param time the time since the start of the trajectory (s)
+     * @return the fraction of the way to the next point, between 0 and 1
+     */
+    public double getFraction (int i, double time)
+    {
+        double dt = getTime(i + 1) - getTime(i);
+        if (dt <= 0)
+            return 0;
+        return Math.max(0, Math.min(1, (time - getTime(i)) / dt));
+    }
+
+    /**
+     * Linearly interpolates a value between a point and the next.
+     * @param column the column to be read
+     * @param i the index of the point
+     * @param fraction the fraction of the way to the next point (from getFraction)
+     * @return the interpolated value
+     */
+    public double interpolate (Column column, int i, double fraction)
+    {
+        double[] values = columns[column.ordinal()];
+        if (i + 1 >= length)
+            return values[i];
+        return values[i] + (values[i + 1] - values[i]) * fraction;
+    }
+
+    /**
+     * Interpolates the heading between a point and the next, taking the shorter way around
+     * if the heading wraps.
+     * @param i the index of the point
+     * @param fraction the fraction of the way to the next point (from getFraction)
+     * @return the interpolated heading (rad)
+     */
+    public double interpolateHeading (int i, double fraction)
+    {
+        double[] heading = columns[Column.HEADING.ordinal()];
+        if (i + 1 >= length)
+            return heading[i];
+        double difference = heading[i + 1] - heading[i];
+        difference -= 2 * Math.PI * Math.rint(difference / (2 * Math.PI));
+        return heading[i] + difference * fraction;
+    }
+
+    /**
+     * Reverses this trajectory in place so that it is followed backward from its end,
+     * negating velocity and measuring position back from the final point.
+     * @return this buffer
+     */
+    public TrajectoryBuffer reverse()
+    {
+        if (length == 0)
+            return this;
+        double[] position = columns[Column.POSITION.ordinal()];
+        double[] velocity = columns[Column.VELOCITY.ordinal()];
+        double endPosition = position[length - 1];
+        for (int i = 0; i < length; i++)
+        {
+            velocity[i] = -velocity[i];
+            position[i] -= endPosition;
+        }
+        for (double[] column : columns)
+        {
+            for (int i = 0, j = length - 1; i < j; i++, j--)
+            {
+                double temp = column[i];
+                column[i] = column[j];
+                column[j] = temp;
+            }
+        }
+        updateTiming();
+        return this;
+    }
+
+    /**
+     * Offsets every heading in place so that the trajectory begins at a given angle.
+     * @param startAngle the heading (rad) at which the trajectory should begin
+     * @return this buffer
+     */
+    public TrajectoryBuffer offsetHeading (double startAngle)
+    {
+        if (length == 0)
+            return this;
+        double[] heading = columns[Column.HEADING.ordinal()];
+        double offset = startAngle - heading[0];
+        for (int i = 0; i < length; i++)
+            heading[i] += offset;
+        return this;
+    }
+
+    /**
+     * Offsets every position in place, as when a trajectory continues on from another.
+     * @param offset the distance (ft) to be added to every position
+     * @return this buffer
+     */
+    public TrajectoryBuffer offsetPosition (double offset)
+    {
+        double[] position = columns[Column.POSITION.ordinal()];
+        for (int i = 0; i < length; i++)
+            position[i] += offset;
+        return this;
+    }
+
+    /**
+     * Copies this buffer into a Pathfinder trajectory, for code which still requires one.
+     * @return a new trajectory
+     */
+    public Trajectory toTrajectory()
+    {
+        Segment[] segments = new Segment[length];
+        for (int i = 0; i < length; i++)
+        {
+            segments[i] = new Segment(columns[0][i], columns[1][i], columns[2][i], columns[3][i],
+                    columns[4][i], columns[5][i], columns[6][i], columns[7][i]);
+        }
+        return new Trajectory(segments);
+    }
+}
@@ -0,0 +1,318 @@
+package frc.robot.auto.trajectory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.Segment;
+
+/**
+ * Parses CSV trajectories straight from bytes into primitive column arrays, without
+ * splitting lines into Strings or boxing values. Accepts both the detailed Pathfinder
+ * files (dt, x, y, position, velocity, acceleration, jerk, heading) and the three-column
+ * Talon files (position, velocity, duration in ms). A parser may be reused for any number
+ * of files; once its buffers are large enough it allocates nothing per file.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TrajectoryCSVParser
+{
+    /**
+     * The number of fields in each row of a detailed Pathfinder CSV.
+     */
+    public static final int DETAILED_FIELDS = 8;
+
+    /**
+     * The number of fields in each row of a Talon CSV.
+     */
+    public static final int TALON_FIELDS = 3;
+
+    /**
+     * The largest number of significant digits which can be held exactly in the mantissa.
+     */
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+    /**
+     * The largest mantissa which a double represents exactly (2^53).
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Every power of ten which a double represents exactly.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private byte[] bytes = new byte[16384];
+    private double[][] columns = new double[Column.COUNT][INITIAL_CAPACITY];
+    private final double[] row = new double[DETAILED_FIELDS];
+    private int length;
+
+    /**
+     * The value of the field most recently parsed.
+     */
+    private double value;
+
+    /**
+     * Parses a CSV trajectory file.
+     * @param file the file to be parsed
+     * @return the number of points read
+     * @throws IOException if the file could not be read or is not a trajectory
+     */
+    public int parse (File file) throws IOException
+    {
+        try (FileInputStream in = new FileInputStream(file))
+        {
+            return parse(in);
+        }
+        catch (IOException e)
+        {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a CSV trajectory from a stream.
+     * @param in the stream to be parsed (which is not closed)
+     * @return the number of points read
+     * @throws IOException if the stream could not be read or is not a trajectory
+     */
+    public int parse (InputStream in) throws IOException
+    {
+        int size = 0;
+        int read;
+        while ((read = in.read(bytes, size, bytes.length - size)) > 0)
+        {
+            size += read;
+            if (size == bytes.length)
+            {
+                byte[] larger = new byte[bytes.length * 2];
+                System.arraycopy(bytes, 0, larger, 0, size);
+                bytes = larger;
+            }
+        }
+        return parse(bytes, size);
+    }
+
+    /**
+     * Parses a CSV trajectory held in memory.
+     * @param buf the bytes of the file
+     * @param end the number of valid bytes
+     * @return the number of points read
+     * @throws IOException if the bytes are not a trajectory
+     */
+    public int parse (byte[] buf, int end) throws IOException
+    {
+        length = 0;
+        int fieldsPerRow = 0;
+        int pos = skipWhitespace(buf, 0, end);
+
+        // skip a header row
+        if (pos < end && !isNumberStart(buf[pos]))
+        {
+            while (pos < end && buf[pos] != '\n')
+                pos++;
+        }
+
+        while ((pos = skipWhitespace(buf, pos, end)) < end)
+        {
+            int field = 0;
+            while (true)
+            {
+                if (field == DETAILED_FIELDS)
+                    throw new IOException("Too many fields in row " + (length + 1));
+                pos = parseField(buf, pos, end);
+                row[field++] = value;
+                if (pos < end && buf[pos] == ',')
+                    pos++;
+                else if (pos == end || buf[pos] == '\n')
+                    break;
+                else
+                    throw new IOException("Unexpected character '" + (char) buf[pos] + "' in row " + (length + 1));
+            }
+
+            if (fieldsPerRow == 0)
+            {
+                if (field != DETAILED_FIELDS && field != TALON_FIELDS)
+                    throw new IOException("Unknown trajectory format with " + field + " fields");
+                fieldsPerRow = field;
+            }
+            else if (field != fieldsPerRow)
+                throw new IOException("Expected " + fieldsPerRow + " fields in row " + (length + 1) + " but found " + field);
+            addRow(fieldsPerRow);
+        }
+        return length;
+    }
+
+    private void addRow (int fields)
+    {
+        ensureCapacity(length + 1);
+        if (fields == DETAILED_FIELDS)
+        {
+            for (int i = 0; i < DETAILED_FIELDS; i++)
+                columns[i][length] = row[i];
+        }
+        else
+        {
+            for (int i = 0; i < Column.COUNT; i++)
+                columns[i][length] = 0;
+            columns[Column.POSITION.ordinal()][length] = row[0];
+            columns[Column.VELOCITY.ordinal()][length] = row[1];
+            columns[Column.DT.ordinal()][length] = row[2] / 1000;
+        }
+        length++;
+    }
+
+    /**
+     * Parses a single number into value.
+     * @return the position just past the number and any trailing spaces
+     */
+    private int parseField (byte[] buf, int pos, int end) throws IOException
+    {
+        while (pos < end && (buf[pos] == ' ' || buf[pos] == '\t'))
+            pos++;
+        int start = pos;
+        boolean negative = false;
+        if (pos < end && (buf[pos] == '-' || buf[pos] == '+'))
+            negative = buf[pos++] == '-';
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        boolean inexact = false;
+        int digit;
+        while (pos < end && (digit = buf[pos] - '0') >= 0 && digit <= 9)
+        {
+            if (significantDigits < MAX_SIGNIFICANT_DIGITS)
+            {
+                mantissa = mantissa * 10 + digit;
+                if (mantissa != 0)
+                    significantDigits++;
+            }
+            else
+            {
+                inexact = true;
+                exponent++;
+            }
+            hasDigits = true;
+            pos++;
+        }
+        if (pos < end && buf[pos] == '.')
+        {
+            pos++;
+            while (pos < end && (digit = buf[pos] - '0') >= 0 && digit <= 9)
+            {
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS)
+                {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0)
+                        significantDigits++;
+                    exponent--;
+                }
+                else
+                    inexact = true;
+                hasDigits = true;
+                pos++;
+            }
+        }
+        if (!hasDigits)
+            throw new IOException("Missing number in row " + (length + 1));
+        if (pos < end && (buf[pos] == 'e' || buf[pos] == 'E'))
+        {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < end && (buf[pos] == '-' || buf[pos] == '+'))
+                negativeExponent = buf[pos++] == '-';
+            int written = 0;
+            while (pos < end && (digit = buf[pos] - '0') >= 0 && digit <= 9)
+            {
+                written = Math.min(written * 10 + digit, 10000);
+                pos++;
+            }
+            exponent += negativeExponent ? -written : written;
+        }
+
+        if (!inexact && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22)
+        {
+            // both operands are exact, so a single operation rounds correctly
+            double v = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            value = negative ? -v : v;
+        }
+        else
+            value = Double.parseDouble(new String(buf, start, pos - start, StandardCharsets.US_ASCII));
+
+        while (pos < end && (buf[pos] == ' ' || buf[pos] == '\t' || buf[pos] == '\r'))
+            pos++;
+        return pos;
+    }
+
+    private static int skipWhitespace (byte[] buf, int pos, int end)
+    {
+        while (pos < end && (buf[pos] == ' ' || buf[pos] == '\t' || buf[pos] == '\r' || buf[pos] == '\n'))
+            pos++;
+        return pos;
+    }
+
+    private static boolean isNumberStart (byte b)
+    {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.';
+    }
+
+    private void ensureCapacity (int capacity)
+    {
+        if (capacity <= columns[0].length)
+            return;
+        int newCapacity = Math.max(capacity, columns[0].length * 2);
+        for (int i = 0; i < Column.COUNT; i++)
+        {
+            double[] larger = new double[newCapacity];
+            System.arraycopy(columns[i], 0, larger, 0, length);
+            columns[i] = larger;
+        }
+    }
+
+    /**
+     * Gets the number of points read by the last parse.
+     * @return the number of points
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Gets a column read by the last parse. The array is reused by later parses and
+     * only the first length() entries are valid.
+     * @param column the column
+     * @return the backing array for the column
+     */
+    public double[] getColumn (Column column)
+    {
+        return columns[column.ordinal()];
+    }
+
+    /**
+     * Copies the points read by the last parse into a Pathfinder trajectory.
+     * @return a new trajectory
+     */
+    public Trajectory toTrajectory()
+    {
+        Segment[] segments = new Segment[length];
+        for (int i = 0; i < length; i++)
+        {
+            segments[i] = new Segment(columns[0][i], columns[1][i], columns[2][i], columns[3][i],
+                    columns[4][i], columns[5][i], columns[6][i], columns[7][i]);
+        }
+        return new Trajectory(segments);
+    }
+}
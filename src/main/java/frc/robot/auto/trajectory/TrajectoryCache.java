@@ -0,0 +1,185 @@
+package frc.robot.auto.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import harkerrobolib.auto.Path;
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.PathfinderJNI;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.FitMethod;
+import jaci.pathfinder.Waypoint;
+
+/**
+ * Stores precompiled left/right trajectory pairs on disk, keyed by a hash of every
+ * parameter that goes into generating them, so that paths do not need to be
+ * regenerated on the roboRIO.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TrajectoryCache
+{
+    /**
+     * The name of the folder (inside the deploy directory) holding all cached trajectories.
+     */
+    public static final String CACHE_FOLDER = "trajectories";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The directory from which trajectories are read, or null if it should be found lazily.
+     */
+    private static File directory;
+
+    /**
+     * Sets the directory in which cached trajectories are stored.
+     * @param dir the new cache directory
+     */
+    public static void setDirectory (File dir)
+    {
+        directory = dir;
+    }
+
+    /**
+     * Gets the directory in which cached trajectories are stored, defaulting to the
+     * trajectory folder inside the deploy directory.
+     * @return the cache directory
+     */
+    public static File getDirectory()
+    {
+        if (directory == null)
+            directory = new File(Filesystem.getDeployDirectory(), CACHE_FOLDER);
+        return directory;
+    }
+
+    /**
+     * Computes the cache key for a given set of generation parameters.
+     * @param waypoints the waypoints through which the path passes
+     * @param fitMethod the spline fit method
+     * @param dt the time between points (s)
+     * @param velMax the maximum velocity (ft/s)
+     * @param accelMax the maximum acceleration (ft/s^2)
+     * @param jerkMax the maximum jerk (ft/s^3)
+     * @param wheelBase the wheelbase width (ft)
+     * @return a 64-bit hash of every parameter
+     */
+    public static long computeKey (Waypoint[] waypoints, FitMethod fitMethod, double dt,
+            double velMax, double accelMax, double jerkMax, double wheelBase)
+    {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, TrajectoryFile.VERSION);
+        hash = mix(hash, waypoints.length);
+        for (Waypoint w : waypoints)
+        {
+            hash = mix(hash, Double.doubleToLongBits(w.x));
+            hash = mix(hash, Double.doubleToLongBits(w.y));
+            hash = mix(hash, Double.doubleToLongBits(w.angle));
+        }
+        hash = mix(hash, fitMethod.ordinal());
+        hash = mix(hash, Path.SAMPLE_GENERATION);
+        hash = mix(hash, Double.doubleToLongBits(dt));
+        hash = mix(hash, Double.doubleToLongBits(velMax));
+        hash = mix(hash, Double.doubleToLongBits(accelMax));
+        hash = mix(hash, Double.doubleToLongBits(jerkMax));
+        return mix(hash, Double.doubleToLongBits(wheelBase));
+    }
+
+    /**
+     * Computes the cache key for an existing path.
+     * @param path the path whose parameters should be hashed
+     * @return a 64-bit hash of every parameter of the path
+     */
+    public static long computeKey (Path path)
+    {
+        return computeKey(path.getWaypoints(), path.getFitMethod(), path.getDt(),
+                path.getVelMax(), path.getAccelMax(), path.getJerkMax(), path.getWheelBase());
+    }
+
+    /**
+     * Gets a string identifying a path: the name of its class and its cache key, so that a path
+     * whose parameters have since changed can be told apart from the one which was followed.
+     * @param path the path
+     * @return the identity, as &lt;class name&gt;@&lt;cache key in hex&gt;
+     */
+    public static String getIdentity (Path path)
+    {
+        return path.getClass().getName() + "@" + String.format("%016x", computeKey(path));
+    }
+
+    /**
+     * Folds all eight bytes of a value into an FNV-1a hash.
+     */
+    private static long mix (long hash, long value)
+    {
+        for (int i = 0; i < Long.BYTES; i++)
+        {
+            hash ^= (value >>> (i * Byte.SIZE)) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the file in which the trajectory with the given key is stored.
+     * @param key the cache key
+     * @return the cache file (which may not exist)
+     */
+    public static File getFile (long key)
+    {
+        return new File(getDirectory(), String.format("%016x", key) + TrajectoryFile.EXTENSION);
+    }
+
+    /**
+     * Loads the left/right trajectories with the given key from the cache.
+     * @param key the cache key
+     * @return the left and right trajectories, or null if they are not cached
+     */
+    public static TrajectoryBuffer[] load (long key)
+    {
+        File file = getFile(key);
+        if (!file.isFile())
+            return null;
+        try
+        {
+            MappedTrajectory[] trajectories = TrajectoryFile.map(file, key);
+            if (trajectories.length != 2)
+                return null;
+            return new TrajectoryBuffer[] {TrajectoryBuffer.fromMapped(trajectories[0]),
+                    TrajectoryBuffer.fromMapped(trajectories[1])};
+        }
+        catch (IOException e)
+        {
+            System.out.println("Could not read cached trajectory " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a left/right trajectory pair into the cache.
+     * @param key the cache key
+     * @param left the left trajectory
+     * @param right the right trajectory
+     * @return the file to which the trajectories were written
+     * @throws IOException if the file could not be written
+     */
+    public static File store (long key, Trajectory left, Trajectory right) throws IOException
+    {
+        File file = getFile(key);
+        TrajectoryFile.write(file, key, left, right);
+        return file;
+    }
+
+    /**
+     * Generates a left/right trajectory pair exactly as the harkerrobolib Path constructor does.
+     * @return the left and right trajectories
+     */
+    public static Trajectory[] generate (Waypoint[] waypoints, FitMethod fitMethod, double dt,
+            double velMax, double accelMax, double jerkMax, double wheelBase)
+    {
+        Trajectory center = Pathfinder.generate(waypoints,
+                new Trajectory.Config(fitMethod, Path.SAMPLE_GENERATION, dt, velMax, accelMax, jerkMax));
+        return PathfinderJNI.modifyTrajectoryTank(center, wheelBase);
+    }
+}
@@ -0,0 +1,60 @@
+package frc.robot.auto.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts every CSV trajectory below a directory into a binary twin (the same file
+ * name with the binary trajectory extension) that can be memory-mapped on the robot.
+ * Handles both the detailed Pathfinder files and the three-column
+ * (position, velocity, duration in ms) Talon files.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TrajectoryConverter
+{
+    private static final TrajectoryCSVParser parser = new TrajectoryCSVParser();
+
+    /**
+     * Converts every CSV file below the given directories.
+     * @param args the directories (or files) to be converted; defaults to the paths folder
+     */
+    public static void main (String[] args) throws IOException
+    {
+        if (args.length == 0)
+            args = new String[] {"paths"};
+        int[] counts = new int[2];
+        long start = System.nanoTime();
+        for (String arg : args)
+            convertAll(new File(arg), counts);
+        System.out.printf("Converted %d files (%d skipped) in %.1f ms%n", counts[0], counts[1],
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void convertAll (File file, int[] counts) throws IOException
+    {
+        if (file.isDirectory())
+        {
+            File[] children = file.listFiles();
+            if (children != null)
+                for (File child : children)
+                    convertAll(child, counts);
+        }
+        else if (file.getName().endsWith(".csv"))
+        {
+            try
+            {
+                if (parser.parse(file) == 0)
+                    throw new IOException(file + ": no points");
+            }
+            catch (IOException e)
+            {
+                System.out.println("Skipping " + e.getMessage());
+                counts[1]++;
+                return;
+            }
+            TrajectoryFile.write(TrajectoryFile.getBinaryTwin(file), 0, parser.toTrajectory());
+            counts[0]++;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package frc.robot.auto.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.Segment;
+
+/**
+ * Reads and writes the fixed-width binary trajectory format. Every file holds a header
+ * followed by one or more trajectories, each stored as eight packed double columns
+ * (dt, x, y, position, velocity, acceleration, jerk, heading) so that a column can be
+ * read straight out of a memory-mapped file.
+ * <pre>
+ * header:     int magic, int version, long key, int trajectory count, int column count
+ * trajectory: int point count, int reserved, double[point count] per column
+ * </pre>
+ * All values are little-endian and every block begins on an 8-byte boundary.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TrajectoryFile
+{
+    /**
+     * The identifier written at the start of every trajectory file ("HTRJ").
+     */
+    public static final int MAGIC = 0x4854524A;
+
+    /**
+     * The version of the file layout; bumped whenever the layout changes.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The extension given to every binary trajectory file.
+     */
+    public static final String EXTENSION = ".traj";
+
+    /**
+     * The size of the file header (in bytes).
+     */
+    public static final int HEADER_BYTES = 24;
+
+    /**
+     * The size of the header before each trajectory (in bytes).
+     */
+    public static final int TRAJECTORY_HEADER_BYTES = 8;
+
+    /**
+     * The byte order in which all values are stored.
+     */
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Represents every column stored for a trajectory, in file order.
+     * @author agent
+     * @version 10/18/26
+     */
+    public enum Column
+    {
+        DT, X, Y, POSITION, VELOCITY, ACCELERATION, JERK, HEADING;
+
+        /**
+         * The number of columns stored per trajectory.
+         */
+        public static final int COUNT = values().length;
+    }
+
+    /**
+     * Gets the number of bytes needed to store a trajectory with a given number of points.
+     * @param length the number of points
+     * @return the size of the trajectory block
+     */
+    public static int getTrajectoryBytes (int length)
+    {
+        return TRAJECTORY_HEADER_BYTES + Column.COUNT * length * Double.BYTES;
+    }
+
+    /**
+     * Memory-maps a trajectory file without copying any of its points.
+     * @param file the file to be mapped
+     * @return a view of every trajectory in the file
+     * @throws IOException if the file could not be read or is not a valid trajectory file
+     */
+    public static MappedTrajectory[] map (File file) throws IOException
+    {
+        return map(file, 0);
+    }
+
+    /**
+     * Memory-maps a trajectory file without copying any of its points, first checking
+     * that it was written with the expected key.
+     * @param file the file to be mapped
+     * @param key the key which the file must have been written with (0 to accept any key)
+     * @return a view of every trajectory in the file
+     * @throws IOException if the file could not be read, is not a valid trajectory file
+     * or has a different key
+     */
+    public static MappedTrajectory[] map (File file, long key) throws IOException
+    {
+        ByteBuffer buf;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+        {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buf = mapped.order(ORDER);
+        }
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC)
+            throw new IOException(file + " is not a trajectory file");
+        if (buf.getInt(4) != VERSION)
+            throw new IOException(file + " has version " + buf.getInt(4) + ", expected " + VERSION);
+        if (buf.getInt(20) != Column.COUNT)
+            throw new IOException(file + " has " + buf.getInt(20) + " columns, expected " + Column.COUNT);
+        if (key != 0 && buf.getLong(8) != key)
+            throw new IOException(file + " has key " + Long.toHexString(buf.getLong(8)) + ", expected " + Long.toHexString(key));
+
+        MappedTrajectory[] trajectories = new MappedTrajectory[buf.getInt(16)];
+        int offset = HEADER_BYTES;
+        for (int i = 0; i < trajectories.length; i++)
+        {
+            int length = buf.getInt(offset);
+            if (length < 0 || offset + getTrajectoryBytes(length) > buf.capacity())
+                throw new IOException(file + " is truncated");
+            trajectories[i] = new MappedTrajectory(buf, offset + TRAJECTORY_HEADER_BYTES, length);
+            offset += getTrajectoryBytes(length);
+        }
+        return trajectories;
+    }
+
+    /**
+     * Writes one or more trajectories to a file.
+     * @param file the file to be written
+     * @param key the key stored in the header (0 if unused)
+     * @param trajectories the trajectories to be written
+     * @throws IOException if the file could not be written
+     */
+    public static void write (File file, long key, Trajectory... trajectories) throws IOException
+    {
+        int size = HEADER_BYTES;
+        for (Trajectory t : trajectories)
+            size += getTrajectoryBytes(t.segments.length);
+
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ORDER);
+        buf.putInt(MAGIC).putInt(VERSION).putLong(key).putInt(trajectories.length).putInt(Column.COUNT);
+        for (Trajectory t : trajectories)
+        {
+            Segment[] segments = t.segments;
+            buf.putInt(segments.length).putInt(0);
+            for (Segment s : segments) buf.putDouble(s.dt);
+            for (Segment s : segments) buf.putDouble(s.x);
+            for (Segment s : segments) buf.putDouble(s.y);
+            for (Segment s : segments) buf.putDouble(s.position);
+            for (Segment s : segments) buf.putDouble(s.velocity);
+            for (Segment s : segments) buf.putDouble(s.acceleration);
+            for (Segment s : segments) buf.putDouble(s.jerk);
+            for (Segment s : segments) buf.putDouble(s.heading);
+        }
+        buf.flip();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null)
+            parent.mkdirs();
+        // written beside the file and moved over it, so that a reader never maps a partial file
+        File temp = new File(parent, file.getName() + ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(temp, "rw"); FileChannel channel = raf.getChannel())
+        {
+            channel.truncate(0);
+            while (buf.hasRemaining())
+                channel.write(buf);
+            channel.force(true);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Determines whether the binary twin of a CSV trajectory exists and was written after the
+     * CSV was last changed.
+     * @param csvFile the CSV file
+     * @return true if the twin can be read in place of the CSV; false otherwise
+     */
+    public static boolean hasCurrentTwin (File csvFile)
+    {
+        File twin = getBinaryTwin(csvFile);
+        return twin.isFile() && twin.lastModified() >= csvFile.lastModified();
+    }
+
+    /**
+     * Gets the binary twin of a CSV trajectory file (the same path with the binary extension).
+     * @param csvFile the CSV file
+     * @return the binary file (which may not exist)
+     */
+    public static File getBinaryTwin (File csvFile)
+    {
+        String name = csvFile.getName();
+        int dot = name.lastIndexOf('.');
+        return new File(csvFile.getParentFile(), (dot < 0 ? name : name.substring(0, dot)) + EXTENSION);
+    }
+}
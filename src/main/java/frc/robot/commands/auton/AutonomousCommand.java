@@ -2,6 +2,7 @@ package frc.robot.commands.auton;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 
 import edu.wpi.first.wpilibj.command.Command;
 import harkerrobolib.auto.SequentialCommandGroup;
@@ -12,6 +13,9 @@ import frc.robot.RobotMap;
 import frc.robot.RobotMap.AutonomousConstants;
 import frc.robot.auto.modes.BaselineMotionProfile;
 import frc.robot.auto.paths.BaselinePath;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryCSVParser;
+import frc.robot.auto.trajectory.TrajectoryFile;
 import frc.robot.commands.auton.PauseUntilPathBegins.PauseType;
 import frc.robot.commands.drivetrain.*;
 import frc.robot.commands.elevator.InitializeElevator;
@@ -30,7 +34,6 @@ import frc.robot.subsystems.Pneumatics.SolenoidDirection;
 
 import edu.wpi.first.wpilibj.command.CommandGroup;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import jaci.pathfinder.Pathfinder;
 import jaci.pathfinder.Trajectory;
 
 /**
@@ -43,6 +46,11 @@ public class AutonomousCommand extends CommandGroup
     public enum AutonType {
         BASELINE, CENTER_SWITCH, ONE_CUBE_CENTER, ONE_CUBE_SIDE, LEFT_SWITCH, RIGHT_SWITCH;
     }
+
+    /**
+     * The parser used for every CSV trajectory without a binary twin.
+     */
+    private static final TrajectoryCSVParser csvParser = new TrajectoryCSVParser();
     
 
     /**
@@ -60,8 +68,8 @@ public class AutonomousCommand extends CommandGroup
 //        addSequential(new DriveWithVelocityTimed(0.8, 1.8));
 
 //        addSequential(new TurnToAngleTimed(0.22, Drivetrain.TurnDirection.LEFT));
-//        FollowPathRio.setDefaultLeftTalon(Robot.dt.getLeftMaster());
-//        FollowPathRio.setDefaultRightTalon(Robot.dt.getRightMaster());
+//        FollowPathRio.setDefaultLeftTalon(Robot.dt.getHardware().getLeft());
+//        FollowPathRio.setDefaultRightTalon(Robot.dt.getHardware().getRight());
         /*addSequential(new SequentialCommandGroup(new ZeroElevator(),
                 new MoveElevatorMotionMagic(Elevator.SWITCH_HEIGHT_AUTON),
                     new DriveWithVelocityTimed(0.4, 5.75)
@@ -300,23 +308,42 @@ public class AutonomousCommand extends CommandGroup
     }
     
     /**
-     * Reads in a trajectory (from Jaci's pathfinder) given the filename as a CSV.
+     * Reads in a trajectory as a primitive buffer given the filename of its CSV, copying
+     * it out of the binary twin if one is up to date. A CSV without one is converted as it is
+     * read, so that the next read of it is mapped.
      * @param filename the file name
-     * @return the Trajectory
+     * @return the trajectory buffer
      * @throws FileNotFoundException if the file is not successfully found
      */
-    public static Trajectory readTrajectory(String filename) throws FileNotFoundException
+    public static TrajectoryBuffer readTrajectoryBuffer(String filename) throws FileNotFoundException
     {
         File f = new File(filename);
-        if (f.exists() && f.isFile() && filename.endsWith(".csv"))
+        File binary = TrajectoryFile.getBinaryTwin(f);
+        if (TrajectoryFile.hasCurrentTwin(f))
         {
             try
             {
-                return Pathfinder.readFromCSV(f);
+                return TrajectoryBuffer.fromMapped(TrajectoryFile.map(binary)[0]);
             }
-            catch (Exception e)
+            catch (IOException e)
+            {
+                System.out.println("Falling back to CSV: " + e.getMessage());
+            }
+        }
+        if (f.exists() && f.isFile() && filename.endsWith(".csv"))
+        {
+            synchronized (csvParser)
             {
-                throw new FileNotFoundException("Pathfinder failed to read trajectory: " + filename);
+                try
+                {
+                    csvParser.parse(f);
+                    writeBinaryTwin(binary, csvParser.toTrajectory());
+                    return TrajectoryBuffer.fromParser(csvParser);
+                }
+                catch (IOException e)
+                {
+                    throw new FileNotFoundException("Failed to read trajectory: " + e.getMessage());
+                }
             }
         }
         else
@@ -324,7 +351,26 @@ public class AutonomousCommand extends CommandGroup
             throw new FileNotFoundException("Trajectory: " + filename + ", does not exist or is not a csv file");
         }
     }
-    
+
+    /**
+     * Writes the binary twin of a CSV trajectory which has just been parsed, so that the paths
+     * copied onto the robot as CSVs are only parsed on the first boot after they change. A
+     * directory which cannot be written leaves the CSV to be parsed again next time.
+     * @param binary the twin to be written
+     * @param trajectory the trajectory parsed from the CSV
+     */
+    private static void writeBinaryTwin(File binary, Trajectory trajectory)
+    {
+        try
+        {
+            TrajectoryFile.write(binary, 0, trajectory);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Could not convert trajectory: " + e.getMessage());
+        }
+    }
+
     /**
      * Sets up a motion profile arc path.
      * @param leftFileName the file name of the left path 
@@ -344,34 +390,59 @@ public class AutonomousCommand extends CommandGroup
         }
         else
         {
-            endAngleLeft = prevPath.getControllerTrajectory
-                    (Robot.dt.getLeftMaster()).segments[prevPath.getControllerTrajectory
-                                                       (Robot.dt.getLeftMaster()).segments.length-1].heading;
-            endAngleRight = prevPath.getControllerTrajectory
-                    (Robot.dt.getRightMaster()).segments[prevPath.getControllerTrajectory
-                                                       (Robot.dt.getLeftMaster()).segments.length-1].heading;                                                      
+            TrajectoryBuffer prevLeft = prevPath.getControllerTrajectory(Robot.dt.getHardware().getLeft());
+            TrajectoryBuffer prevRight = prevPath.getControllerTrajectory(Robot.dt.getHardware().getRight());
+            endAngleLeft = prevLeft.getHeading(prevLeft.length() - 1);
+            endAngleRight = prevRight.getHeading(prevRight.length() - 1);
         }
         
         FollowPathArc fpc = new FollowPathArc();
 
-        Trajectory leftPath1 = null;
-        Trajectory rightPath1 = null;
+        TrajectoryBuffer leftPath1 = null;
+        TrajectoryBuffer rightPath1 = null;
 
         try
         {
-            leftPath1 = readTrajectory(leftFileName);
-            rightPath1 = readTrajectory(rightFileName);
+            leftPath1 = readTrajectoryBuffer(leftFileName);
+            rightPath1 = readTrajectoryBuffer(rightFileName);
         }
         catch (Exception e)
         {
             e.printStackTrace();
             ;
         }
-        fpc.addProfile(leftPath1, Robot.dt.getLeftMaster(), reverse, endAngleLeft);
-        fpc.addProfile(rightPath1, Robot.dt.getRightMaster(), reverse, endAngleRight);
+        fpc.addProfile(leftPath1, Robot.dt.getHardware().getLeft(), reverse, endAngleLeft);
+        fpc.addProfile(rightPath1, Robot.dt.getHardware().getRight(), reverse, endAngleRight);
+        fpc.compileProfiles();
 
-        int numPoints = (leftPath1.segments.length + rightPath1.segments.length)/2;
+        int numPoints = (leftPath1.length() + rightPath1.length())/2;
         fpc.setTotalTime(numPoints * RobotMap.TIME_PER_TRAJECTORY_POINT_MS);
         return fpc;
     }
+
+    /**
+     * Sets up a series of motion profile arc paths to be followed as one continuous profile.
+     * @param leftFileNames the file names of the left paths, in order
+     * @param rightFileNames the file names of the right paths, in order
+     * @param reverse for each path, true to perform the trajectory in reverse order; false to perform it normally
+     * @param startAngle the heading (rad) at which the first path begins
+     * @return the new chained path command
+     */
+    public static ChainedPathFollower setupChainedPathFollower(String[] leftFileNames, String[] rightFileNames, 
+            boolean[] reverse, double startAngle)
+    {
+        ChainedPathFollower chain = new ChainedPathFollower(startAngle);
+        try
+        {
+            for (int i = 0; i < leftFileNames.length; i++)
+                chain.addSegment(readTrajectoryBuffer(leftFileNames[i]), readTrajectoryBuffer(rightFileNames[i]), reverse[i]);
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+        int numPoints = chain.getSegmentCount() == 0 ? 0 : chain.getControllerTrajectory(Robot.dt.getHardware().getRight()).length();
+        chain.setTotalTime(numPoints * RobotMap.TIME_PER_TRAJECTORY_POINT_MS);
+        return chain;
+    }
 }
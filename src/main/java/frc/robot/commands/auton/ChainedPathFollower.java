@@ -0,0 +1,202 @@
+package frc.robot.commands.auton;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.robot.Robot;
+import frc.robot.auto.trajectory.MotionProfileFeeder;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.hardware.MotorController;
+import frc.robot.util.Telemetry;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+
+import edu.wpi.first.wpilibj.command.Command;
+
+/**
+ * Follows several arc segments as one continuous motion profile, so that the robot flows from
+ * one segment into the next rather than holding, settling and rebuffering between paths. Each
+ * segment continues from the position and heading at which the previous one ends.
+ * @author agent
+ * @version 10/18/26
+ */
+public class ChainedPathFollower extends FollowPathArc
+{
+    private final List<TrajectoryBuffer> leftSegments;
+    private final List<TrajectoryBuffer> rightSegments;
+
+    /**
+     * The dashboard value for the index of the segment currently being followed.
+     */
+    private static final Telemetry.Slot currentSegmentSlot = Telemetry.getSlot("Chained Path Segment");
+
+    /**
+     * The index of the first point of each segment in the combined right profile, which is the
+     * one streamed and tracked by getExecutedPoints().
+     */
+    private final List<Integer> segmentStarts;
+
+    /**
+     * The commands to be started as each segment is reached, in the same order as the segments.
+     */
+    private final List<List<Command>> segmentCommands;
+
+    /**
+     * The heading (rad) at which the first segment begins.
+     */
+    private double startAngle;
+
+    /**
+     * The index of the segment currently being followed, or -1 if the profile has not begun.
+     */
+    private int currentSegment;
+
+    /**
+     * Constructs a new ChainedPathFollower.
+     * @param startAngle the heading (rad) at which the first segment should begin
+     */
+    public ChainedPathFollower(double startAngle)
+    {
+        leftSegments = new ArrayList<TrajectoryBuffer>();
+        rightSegments = new ArrayList<TrajectoryBuffer>();
+        segmentStarts = new ArrayList<Integer>();
+        segmentCommands = new ArrayList<List<Command>>();
+        this.startAngle = startAngle;
+        currentSegment = -1;
+    }
+
+    /**
+     * Adds a segment to the end of the chain.
+     * @param left the left trajectory of the segment
+     * @param right the right trajectory of the segment
+     * @param reversePath true if the segment should be followed backward; false otherwise
+     * @return this command, to allow segments to be added in series
+     */
+    public ChainedPathFollower addSegment (TrajectoryBuffer left, TrajectoryBuffer right, boolean reversePath)
+    {
+        if (reversePath)
+        {
+            left.reverse();
+            right.reverse();
+        }
+        if (leftSegments.isEmpty())
+        {
+            left.offsetHeading(startAngle);
+            right.offsetHeading(startAngle);
+            segmentStarts.add(0);
+        }
+        else
+        {
+            TrajectoryBuffer prevLeft = leftSegments.get(leftSegments.size() - 1);
+            TrajectoryBuffer prevRight = rightSegments.get(rightSegments.size() - 1);
+            continueFrom(left, prevLeft);
+            continueFrom(right, prevRight);
+            segmentStarts.add(segmentStarts.get(segmentStarts.size() - 1) + prevRight.length());
+        }
+        leftSegments.add(left);
+        rightSegments.add(right);
+        segmentCommands.add(new ArrayList<Command>());
+
+        // the combined profile is rebuilt (and recompiled) whenever a segment is added
+        TrajectoryBuffer combinedLeft = TrajectoryBuffer.concat(leftSegments.toArray(new TrajectoryBuffer[0]));
+        TrajectoryBuffer combinedRight = TrajectoryBuffer.concat(rightSegments.toArray(new TrajectoryBuffer[0]));
+        addProfile(combinedLeft, Robot.dt.getHardware().getLeft(), false, startAngle);
+        addProfile(combinedRight, Robot.dt.getHardware().getRight(), false, startAngle);
+        compileProfiles();
+        return this;
+    }
+
+    /**
+     * Offsets a segment so that it begins at the position and heading at which another ends.
+     * @param segment the segment to be offset
+     * @param prev the segment which comes before it
+     */
+    private static void continueFrom (TrajectoryBuffer segment, TrajectoryBuffer prev)
+    {
+        int last = prev.length() - 1;
+        if (last < 0 || segment.length() == 0)
+            return;
+        segment.offsetPosition(prev.getPosition(last) - segment.getPosition(0));
+        segment.offsetHeading(prev.getHeading(last));
+    }
+
+    /**
+     * Starts a command as soon as the profile reaches the beginning of a segment.
+     * @param segment the index of the segment
+     * @param command the command to be started
+     * @return this command, to allow events to be added in series
+     */
+    public ChainedPathFollower whenSegmentReached (int segment, Command command)
+    {
+        segmentCommands.get(segment).add(command);
+        return this;
+    }
+
+    @Override
+    public void initialize()
+    {
+        super.initialize();
+        currentSegment = -1;
+        currentSegmentSlot.set(currentSegment);
+    }
+
+    @Override
+    public void execute()
+    {
+        super.execute();
+        if (!isSetupComplete())
+            return;
+
+        int executed = getExecutedPoints();
+        while (currentSegment + 1 < segmentStarts.size() && segmentStarts.get(currentSegment + 1) <= executed)
+        {
+            currentSegment++;
+            currentSegmentSlot.set(currentSegment);
+            for (Command command : segmentCommands.get(currentSegment))
+                command.start();
+        }
+    }
+
+    /**
+     * Estimates the number of points which the Talon has finished executing, from the number
+     * pushed and the number still waiting in each buffer.
+     * @return the number of points executed
+     */
+    private int getExecutedPoints()
+    {
+        MotorController controller = Robot.dt.getHardware().getRight();
+        MotionProfileFeeder feeder = getControllerFeeder(controller);
+        MotionProfileStatus status = getControllerStatus(controller);
+        if (feeder == null || status == null)
+            return 0;
+        return Math.max(0, feeder.getPointsPushed() - status.topBufferCnt - status.btmBufferCnt);
+    }
+
+    /**
+     * Gets the index of the segment currently being followed.
+     * @return the current segment, or -1 if the profile has not begun
+     */
+    public int getCurrentSegment()
+    {
+        return currentSegment;
+    }
+
+    /**
+     * Gets the number of segments in the chain.
+     * @return the number of segments
+     */
+    public int getSegmentCount()
+    {
+        return segmentStarts.size();
+    }
+
+    /**
+     * Gets the time into the combined profile at which a segment begins.
+     * @param segment the index of the segment
+     * @return the start time (s)
+     */
+    public double getSegmentStartTime (int segment)
+    {
+        return getControllerTrajectory(Robot.dt.getHardware().getRight()).getTime(segmentStarts.get(segment));
+    }
+}
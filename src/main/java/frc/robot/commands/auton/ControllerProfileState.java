@@ -0,0 +1,96 @@
+package frc.robot.commands.auton;
+
+import frc.robot.auto.trajectory.MotionProfileFeeder;
+import frc.robot.auto.trajectory.TalonTrajectory;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.hardware.MotorController;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+
+/**
+ * Holds everything a path keeps for a single controller: its trajectory, the trajectory
+ * converted into Talon units, the feeder streaming it and the controller's latest motion
+ * profile status. The status object is allocated once and refilled on every update.
+ * @author agent
+ * @version 10/18/26
+ */
+public class ControllerProfileState
+{
+    private final MotorController controller;
+    private final TrajectoryBuffer trajectory;
+    private final MotionProfileStatus status;
+    private TalonTrajectory compiled;
+    private MotionProfileFeeder feeder;
+    private boolean loaded;
+
+    /**
+     * Constructs a new ControllerProfileState.
+     * @param controller the controller following the trajectory
+     * @param trajectory the trajectory to be followed
+     */
+    public ControllerProfileState (MotorController controller, TrajectoryBuffer trajectory)
+    {
+        this.controller = controller;
+        this.trajectory = trajectory;
+        status = new MotionProfileStatus();
+    }
+
+    /**
+     * Reads the controller's motion profile status into the held status object.
+     * @return the updated status
+     */
+    public MotionProfileStatus updateStatus()
+    {
+        controller.getMotionProfileStatus(status);
+        return status;
+    }
+
+    public MotorController getController()
+    {
+        return controller;
+    }
+
+    public TrajectoryBuffer getTrajectory()
+    {
+        return trajectory;
+    }
+
+    /**
+     * Gets the status from the most recent update.
+     * @return the status (zeroed if the status has never been updated)
+     */
+    public MotionProfileStatus getStatus()
+    {
+        return status;
+    }
+
+    public TalonTrajectory getCompiled()
+    {
+        return compiled;
+    }
+
+    public void setCompiled (TalonTrajectory compiled)
+    {
+        this.compiled = compiled;
+    }
+
+    public MotionProfileFeeder getFeeder()
+    {
+        return feeder;
+    }
+
+    public void setFeeder (MotionProfileFeeder feeder)
+    {
+        this.feeder = feeder;
+    }
+
+    public boolean isLoaded()
+    {
+        return loaded;
+    }
+
+    public void setLoaded (boolean loaded)
+    {
+        this.loaded = loaded;
+    }
+}
@@ -1,6 +1,7 @@
 package frc.robot.commands.auton;
 
-import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.Clock;
+
 import edu.wpi.first.wpilibj.command.Command;
 
 /**
@@ -26,7 +27,14 @@ public class Delay extends Command
     public Delay (double time)
     {
         delay = time;
-        startTime = Timer.getFPGATimestamp();
+    }
+
+    /**
+     * Initializes the command, starting the delay from the time at which it is run.
+     */
+    public void initialize()
+    {
+        startTime = Clock.getTimestamp();
     }
     
     /**
@@ -36,7 +44,7 @@ public class Delay extends Command
     @Override
     protected boolean isFinished()
     {
-        return Timer.getFPGATimestamp() - startTime >= delay;
+        return Clock.getTimestamp() - startTime >= delay;
     }
     
 }
@@ -1,33 +1,35 @@
 package frc.robot.commands.auton;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import frc.robot.Robot;
 import frc.robot.RobotMap;
+import frc.robot.auto.trajectory.MotionProfileBufferService;
+import frc.robot.auto.trajectory.MotionProfileFeeder;
+import frc.robot.auto.trajectory.TalonTrajectory;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.hardware.DriveHardware;
+import frc.robot.hardware.MotorController;
 import frc.robot.subsystems.Drivetrain;
-import frc.robot.subsystems.Drivetrain.Pigeon;
-import harkerrobolib.util.Conversions;
+import frc.robot.util.Clock;
+import frc.robot.util.SensorSnapshot;
+import frc.robot.util.SignalLogger;
+import frc.robot.util.SignalLogger.Signal;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
+import frc.robot.util.Telemetry;
 
 import com.ctre.phoenix.motion.MotionProfileStatus;
 import com.ctre.phoenix.motion.SetValueMotionProfile;
-import com.ctre.phoenix.motion.TrajectoryPoint;
-//import com.ctre.phoenix.motion.TrajectoryPoint.TrajectoryDuration;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.FollowerType;
-import com.ctre.phoenix.motorcontrol.IMotorController;
 import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
 import com.ctre.phoenix.motorcontrol.SensorTerm;
 
-import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-import jaci.pathfinder.Trajectory;
-import jaci.pathfinder.Trajectory.Segment;
 
 /**
  * A command to follow a unidirectional motion profile.
@@ -37,40 +39,66 @@ import jaci.pathfinder.Trajectory.Segment;
 public class FollowPath extends Command
 {
     /**
-     * The minimum required points to be buffered on the Talon level before the path can begin.
+     * The minimum required points to be buffered on the Talon level before the path can begin,
+     * covering the delay between checks of the buffer.
      */
-    private final int minPointsInController = 18;
+    public static final int MIN_START_POINTS = 3;
     
     /**
-     * The runnable command which sends points from the RoboRio buffer to the Talon buffer.
+     * The number of points which fit in the Talon's own (bottom) buffer.
      */
-    private ProcessBuffer p;
+    public static final int BOTTOM_BUFFER_CAPACITY = 128;
     
     /**
-     * The notifier calling the ProcessBuffer periodically.
+     * The fraction of the measured transfer rate assumed when deciding whether the path can begin.
      */
-    private Notifier notif;
-  
+    public static final double TRANSFER_RATE_SAFETY_FACTOR = 0.8;
+    
     /**
-     * The index of the trajectory in the controllers array.
+     * The time (s) at which this path was started, and at which points first began arriving
+     * in the Talon buffer.
      */
-    private final int TRAJ_INDEX = 0;
+    private double initializeTime;
+    private double bufferStartTime;
+    private int bufferStartCount;
     
     /**
-     * The index of the motion profile status in the controllers array.
+     * The time (s) between starting this path and enabling the profile.
      */
-    private final int STAT_INDEX = 1;
+    private double startLatency;
     
     /**
-     * The index of the boolean determing whether the trajectory has been loaded in the controllers array.
+     * Completes once the sensors have been zeroed for the start of the profile, or null if they
+     * have not yet been.
+     */
+    private CompletableFuture<Void> zeroed;
+    
+    /**
+     * The dashboard value for the difference between the encoders.
+     */
+    private static final Telemetry.Slot encoderDifferenceSlot = Telemetry.getSlot("Left Encoder - Right Encoder");
+    
+    /**
+     * The dashboard values for the start latency of the last path and the points buffered when it began.
+     */
+    private static final Telemetry.Slot startLatencySlot = Telemetry.getSlot("Path Start Latency");
+    private static final Telemetry.Slot startPointsSlot = Telemetry.getSlot("Path Start Buffered Points");
+    
+    /**
+     * Whether or not this path is registered with the buffer service.
+     */
+    private boolean registered;
+  
+    /**
+     * The state of every controller used in this path.
      */
-    private static final int TRAJ_LOADED_INDEX = 2;
+    private Map<MotorController, ControllerProfileState> controllers;
     
     /**
-     * The map containing all controllers used in this path and pointing to the relevant objects
-     * mentioned above.
+     * The states of the drivetrain masters, held directly so that execute() need not look them up.
      */
-    private Map<IMotorController, Object[]> controllers;
+    private ControllerProfileState leftState;
+    private ControllerProfileState rightState;
     
     /**
      * The current state of this path.
@@ -102,9 +130,7 @@ public class FollowPath extends Command
      */
     public FollowPath()
     {
-        p = new ProcessBuffer();
-        notif = new Notifier(p);
-        controllers = new HashMap<IMotorController, Object[]>();
+        controllers = new HashMap<MotorController, ControllerProfileState>();
         outerPort = -1;
         requires(Robot.dt);
         totalTime = -1;
@@ -116,9 +142,7 @@ public class FollowPath extends Command
      */
     public FollowPath(int outerPort)
     {
-        p = new ProcessBuffer();
-        notif = new Notifier(p);
-        controllers = new HashMap<IMotorController, Object[]>();
+        controllers = new HashMap<MotorController, ControllerProfileState>();
         this.outerPort = outerPort;
         resetSensors = true;
         requires(Robot.dt);
@@ -168,17 +192,29 @@ public class FollowPath extends Command
     }
     
     /**
-     * Initializes the command (called each time the command is started) by setting up sensors and the notifier.
+     * Initializes the command (called each time the command is started) by setting up sensors and 
+     * registering with the buffer service.
      */
     public void initialize()
     {
         ;
         ;
+        StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.MOTION_PROFILE);
         pathState = 0;
         totalTime = 0;
-        double period = RobotMap.TIME_PER_TRAJECTORY_POINT_MS / 1000 / 2;
-
-        notif.startPeriodic(period);
+        initializeTime = Clock.getTimestamp();
+        bufferStartTime = -1;
+        startLatency = -1;
+        zeroed = null;
+        if (!registered)
+        {
+            for (MotorController controller : controllers.keySet())
+            {
+                if (isStreamed(controller))
+                    MotionProfileBufferService.getInstance().register(controller);
+            }
+            registered = true;
+        }
         ;
         
         Robot.dt.setTalonSensorPhase(Drivetrain.LEFT_TALON_PHASE, 
@@ -197,44 +233,45 @@ public class FollowPath extends Command
             Robot.dt.configureMotionProfileAngleClosedLoop();
             if (resetSensors)
             {
-                Robot.dt.getLeftMaster().follow(Robot.dt.getRightMaster(), FollowerType.AuxOutput1);
-                Robot.dt.getLeftMaster().configAuxPIDPolarity(false);
+                DriveHardware hardware = Robot.dt.getHardware();
+                hardware.getLeft().follow(hardware.getRight(), FollowerType.AuxOutput1);
+                hardware.getLeft().configAuxPIDPolarity(false, RobotMap.TIMEOUT);
                 
-                Robot.dt.getRightMaster().selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
-                Robot.dt.getRightMaster().selectProfileSlot(Drivetrain.ANGLE_PID, RobotMap.AUXILIARY_PID_INDEX);
+                hardware.getRight().selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
+                hardware.getRight().selectProfileSlot(Drivetrain.ANGLE_PID, RobotMap.AUXILIARY_PID_INDEX);
                 
-                Robot.dt.getRightMaster().configRemoteFeedbackFilter(Robot.dt.getPigeon().getDeviceID(), 
+                hardware.getRight().configRemoteFeedbackFilter(hardware.getImu().getDeviceID(), 
                         RemoteSensorSource.Pigeon_Yaw, 
                         RobotMap.REMOTE_SLOT_0, 
                         RobotMap.TIMEOUT);
                 
-                Robot.dt.getRightMaster().configRemoteFeedbackFilter(Robot.dt.getLeftMaster().getDeviceID(), 
+                hardware.getRight().configRemoteFeedbackFilter(hardware.getLeft().getDeviceID(), 
                         RemoteSensorSource.TalonSRX_SelectedSensor, RobotMap.REMOTE_SLOT_1, RobotMap.TIMEOUT);
                 
     
-                Robot.dt.getRightMaster().configSensorTerm(SensorTerm.Sum0, FeedbackDevice.RemoteSensor1, RobotMap.TIMEOUT);
-                Robot.dt.getRightMaster().configSensorTerm(SensorTerm.Sum1, FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.TIMEOUT);
+                hardware.getRight().configSensorTerm(SensorTerm.Sum0, FeedbackDevice.RemoteSensor1, RobotMap.TIMEOUT);
+                hardware.getRight().configSensorTerm(SensorTerm.Sum1, FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.TIMEOUT);
                 
-                Robot.dt.getLeftMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+                hardware.getLeft().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
     
-                Robot.dt.getRightMaster().configSelectedFeedbackSensor(FeedbackDevice.SensorSum, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+                hardware.getRight().configSelectedFeedbackSensor(FeedbackDevice.SensorSum, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
                 
-                Robot.dt.getRightMaster().configSelectedFeedbackSensor(Drivetrain.Pigeon.REMOTE_SENSOR_SLOT, RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
+                hardware.getRight().configSelectedFeedbackSensor(Drivetrain.Pigeon.REMOTE_SENSOR_SLOT, RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
                 
                 ;
                 if (zeroAux)
                 {
-                    Robot.dt.getPigeon().setYaw(0);
+                    hardware.getImu().setYaw(0);
                 }
                 //;
-                Robot.dt.getRightMaster().configSelectedFeedbackCoefficient(0.5,
-                        RobotMap.PRIMARY_PID_INDEX); // set to average
+                hardware.getRight().configSelectedFeedbackCoefficient(0.5,
+                        RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT); // set to average
                 
     
-                Robot.dt.getRightMaster().configAllowableClosedloopError(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.ANGLE_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
+                hardware.getRight().configAllowableClosedloopError(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.ANGLE_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
                 
-                Robot.dt.getLeftMaster().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
-                Robot.dt.getRightMaster().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
+                hardware.getLeft().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
+                hardware.getRight().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
             }
             ;
         }
@@ -246,23 +283,23 @@ public class FollowPath extends Command
     public void execute()
     {
         //;
-        MotionProfileStatus motionStatus = new MotionProfileStatus();
-        IMotorController imc = Robot.dt.getRightMaster();
-        imc.getMotionProfileStatus(motionStatus);
-        controllers.get(imc)[STAT_INDEX] = motionStatus;
+        MotionProfileStatus status = rightState.updateStatus();
         //;
-        SmartDashboard.putNumber("Left Encoder - Right Encoder", Robot.dt.getLeftMaster().getSelectedSensorPosition(0) - Robot.dt.getRightMaster().getSelectedSensorPosition(0));
+        SignalLogger.set(Signal.PATH_STATE, pathState);
+        SensorSnapshot snapshot = SensorSnapshot.getInstance();
+        encoderDifferenceSlot.set(snapshot.get(SensorSnapshot.Signal.LEFT_POSITION)
+                - snapshot.get(SensorSnapshot.Signal.RIGHT_POSITION));
         switch(pathState)
         {
             // ready to begin loading trajectories
             case 0:
             {
-                IMotorController controller = Robot.dt.getRightMaster();
+                MotorController controller = rightState.getController();
                 controller.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Disable.value);
                 ;
-                if (!getControllerTrajectoryLoaded(controller))
+                if (!rightState.isLoaded())
                 {
-                    loadTrajectoryToTalon(getControllerTrajectory(controller), controller);
+                    loadTrajectoryToTalon(getCompiledTrajectory(controller), controller);
                 }
                 
                 pathState = 1;
@@ -272,26 +309,46 @@ public class FollowPath extends Command
             // ready to begin 
             case 1:
             {
-                // once enough points have been buffered, begin sequence
-                boolean allReady = getControllerStatus(Robot.dt.getRightMaster()).btmBufferCnt > minPointsInController;
+                // once enough points have been buffered that the Talon cannot run out, begin sequence
+                int bottomCount = status.btmBufferCnt;
+                double now = Clock.getTimestamp();
+                if (bufferStartTime < 0)
+                {
+                    bufferStartTime = now;
+                    bufferStartCount = bottomCount;
+                }
+                double transferRate = now > bufferStartTime ? (bottomCount - bufferStartCount) / (now - bufferStartTime) : 0;
+                int totalPoints = rightState.getCompiled().length();
+                boolean allReady = bottomCount >= totalPoints
+                        || (transferRate > 0 && bottomCount >= getRequiredStartPoints(bottomCount, totalPoints, transferRate));
                 //;
-                if (allReady)
+                if (allReady && zeroed == null)
                 {
-                  
-                    IMotorController controller = Robot.dt.getRightMaster();
+                    MotorController controller = rightState.getController();
                         
                     ;
                     controller.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Disable.value);
                     
-                    Robot.dt.getLeftMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
+                    DriveHardware hardware = Robot.dt.getHardware();
+                    hardware.getLeft().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
                     
-                    Robot.dt.getRightMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
-                    Robot.dt.getRightMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
+                    hardware.getRight().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+                    hardware.getRight().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
                     
-                    Robot.dt.getRightMaster().configSelectedFeedbackSensor(FeedbackDevice.SensorSum, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
-                    Robot.dt.getRightMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
-
-                    ;
+                    hardware.getRight().configSelectedFeedbackSensor(FeedbackDevice.SensorSum, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+                    hardware.getRight().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+                    
+                    // the zeroing (and any configuration still queued from initialize()) is sent in
+                    // the background; the profile is enabled once it has all arrived
+                    zeroed = Robot.dt.getConfigCompletion();
+                }
+                if (zeroed != null && zeroed.isDone())
+                {
+                    startLatency = now - initializeTime;
+                    startLatencySlot.set(startLatency);
+                    startPointsSlot.set(bottomCount);
+                    
+                    MotorController controller = rightState.getController();
                     controller.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Enable.value);
                         
                     pathState = 2;
@@ -304,9 +361,7 @@ public class FollowPath extends Command
             case 2:
             {
                 
-                IMotorController controller = Robot.dt.getRightMaster();
-                MotionProfileStatus status = new MotionProfileStatus();
-                controller.getMotionProfileStatus(status); 
+                MotorController controller = rightState.getController();
 
                 controller.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Enable.value);
                 //;
@@ -321,13 +376,34 @@ public class FollowPath extends Command
             }
             case 3:
             {
-                Robot.dt.getRightMaster().set(ControlMode.MotionProfileArc, SetValueMotionProfile.Hold.value);
+                rightState.getController().set(ControlMode.MotionProfileArc, SetValueMotionProfile.Hold.value);
                 ;
             }
             break;
         }
     }
     
+    /**
+     * Determines how many points must be in the Talon buffer before a profile can be enabled 
+     * without the Talon running out of points before the rest are transferred.
+     * @param bottomCount the number of points already in the Talon buffer
+     * @param totalPoints the number of points in the entire profile
+     * @param transferRate the measured rate at which points arrive in the Talon buffer (points/s)
+     * @return the required number of buffered points
+     */
+    public static int getRequiredStartPoints (int bottomCount, int totalPoints, double transferRate)
+    {
+        double consumeRate = 1000.0 / RobotMap.TIME_PER_TRAJECTORY_POINT_MS;
+        double rate = transferRate * TRANSFER_RATE_SAFETY_FACTOR;
+        if (rate >= consumeRate)
+            return MIN_START_POINTS;
+        // the points still to arrive take remaining / rate to transfer, over which the Talon consumes them faster
+        int remaining = Math.max(0, totalPoints - bottomCount);
+        double deficit = (consumeRate - rate) * remaining / rate;
+        // a full Talon buffer is the best that can be done
+        return Math.min(Math.min(totalPoints, BOTTOM_BUFFER_CAPACITY - 1), MIN_START_POINTS + (int) Math.ceil(deficit));
+    }
+    
     /**
      * Adds a controller and its trajectory to the map.
      * @param t the trajectory which this controller should follow
@@ -335,146 +411,53 @@ public class FollowPath extends Command
      * @param reversePath true if the path should be formed in reverse order; false otherwise
      * @param endAngle the angle at which this trajectory ends
      */
-    public void addProfile (Trajectory t, IMotorController controller, boolean reversePath, double endAngle)
+    public void addProfile (TrajectoryBuffer t, MotorController controller, boolean reversePath, double endAngle)
     {
         ;
         controller.changeMotionControlFramePeriod(Math.max(1, RobotMap.TIME_PER_TRAJECTORY_POINT_MS / 2));
         if (reversePath)
-            t = reverseTrajectory(t);
-        t = addAngleOffset(t, endAngle);
-        controllers.put(controller, new Object[] {t, null, false});
+            t.reverse();
+        t.offsetHeading(endAngle);
+        ControllerProfileState state = new ControllerProfileState(controller, t);
+        controllers.put(controller, state);
+        DriveHardware hardware = Robot.dt.getHardware();
+        if (controller.equals(hardware.getLeft()))
+            leftState = state;
+        else if (controller.equals(hardware.getRight()))
+            rightState = state;
+        // an arc averages with the left trajectory, so every compiled copy may now be stale
+        for (ControllerProfileState entry : controllers.values())
+            entry.setCompiled(null);
         ;
     }
-    
+
     /**
-     * Adds an offset angle to a given trajectory based on a previous path.
-     * @param t the trajectory which the offset will be added to
-     * @param endAngle the final angle of the previous path (to offset this one)
-     * @return the trajectory, after the offset has been added
+     * Converts every trajectory in the map into Talon units ahead of time, so that
+     * loading them onto the controllers is only a matter of pushing points.
      */
-    private Trajectory addAngleOffset(Trajectory t, double endAngle)
+    public void compileProfiles()
     {
-        Segment[] segs = t.segments;
-        double factorToAdd = endAngle - t.segments[0].heading;
-        ;
-        for (int i = 0; i < segs.length; i++)
-        {
-            segs[i].heading += factorToAdd;
-        }
-        ;
-        return t; 
+        for (MotorController controller : controllers.keySet())
+            getCompiledTrajectory(controller);
     }
 
     /**
-     * Loads a given set of trajectory points to a controller.
-     * @param t the trajectory to be loaded
+     * Begins streaming a given set of trajectory points to a controller in the background.
+     * @param t the compiled trajectory to be loaded
      * @param controller the controller onto which the points should be loaded
      */
-    public void loadTrajectoryToTalon(Trajectory t, IMotorController controller)
+    public void loadTrajectoryToTalon(TalonTrajectory t, MotorController controller)
     {
-        if (t != null)
+        if (t != null && !getControllerTrajectoryLoaded(controller))
         {
-            if (getControllerStatus(controller) != null && getControllerStatus(controller).isUnderrun)
-            {
-                controller.clearMotionProfileHasUnderrun(RobotMap.TIMEOUT);
-                ;
-            }
-            
-            if (!getControllerTrajectoryLoaded(controller))
-            {
-                controller.configMotionProfileTrajectoryPeriod(RobotMap.TIME_PER_TRAJECTORY_POINT_MS, RobotMap.TIMEOUT);
-                // constructs Talon-readable trajectory points out of each segment
-                Segment[] segs = t.segments;
-    
-                ;
-                double velocityAddFactor = Drivetrain.MOT_PROF_ADD_TO_VEL_INIT;
-                for (int i = 0; i < segs.length; i++)
-                {
-                    TrajectoryPoint tp = new TrajectoryPoint();
-                    tp.position = segs[i].position * Conversions.INCHES_PER_FOOT // convert to inches
-                            / (Drivetrain.WHEELDIAMETER * Math.PI) // convert to revolutions
-                            * Conversions.TICKS_PER_REV;; // convert revolutions to encoder units
-                    //
-                    tp.velocity = segs[i].velocity;// convert to ticks per 100ms
-                            // convert fps to encoder units
-    
-    
-                    
-                    //tp.timeDur = TrajectoryDuration.valueOf(0); // time to ADD to each point convert to correct units
-                    tp.profileSlotSelect0 = Drivetrain.MOTION_PROFILE_PID;
-                    
-                    if (outerPort >= 0) 
-                    {
-                        tp.profileSlotSelect1 = outerPort;
-                        tp.auxiliaryPos = segs[i].heading * Conversions.PIGEON_UNITS_PER_ROTATION/Conversions.RADIANS_PER_ROTATION;
-                        tp.position = (tp.position + 
-                                (getControllerTrajectory(Robot.dt.getLeftMaster()).segments[i].position * Conversions.INCHES_PER_FOOT // convert to inches
-                                / (Drivetrain.WHEELDIAMETER* Math.PI) // convert to revolutions
-                                * Conversions.TICKS_PER_REV))/2;
-                        tp.velocity = (tp.velocity + (getControllerTrajectory(Robot.dt.getLeftMaster()).segments[i].velocity)) / 2; // convert to ticks per 100ms)
-    
-    
-                    }
-                    if (segs.length > 1 && i == 0 && tp.velocity == 0)
-                    {
-                        tp.velocity += Math.signum(segs[i+1].velocity) * velocityAddFactor;
-                    }
-                    else
-                    {
-                        tp.velocity += Math.signum(tp.velocity) * velocityAddFactor;
-                    }
-                    //ramp down factor to add to velocity after each point
-                    velocityAddFactor -= 
-                            Drivetrain.MOT_PROF_ADD_TO_VEL_INIT 
-                            * (RobotMap.TIME_PER_TRAJECTORY_POINT_MS / Drivetrain.TIME_TO_OVERCOME_S_FRICTION_MS);
-                    velocityAddFactor = Math.max(0, velocityAddFactor);
-                    //tp.headingDeg = new Angle(AngleUnit.RADIANS, segs[i].heading).getDegrees(); // convert radians to degrees
-                    tp.velocity = tp.velocity / 10.0 // convert to feet per 100 ms
-                    * Conversions.INCHES_PER_FOOT // convert to inches per 100 ms
-                    / (Drivetrain.WHEELDIAMETER * Math.PI) // convert to revolutions per 100ms
-                    * Conversions.TICKS_PER_REV; 
-                    tp.zeroPos = false;
-    
-                    //;
-                    /*System.out.print("v: " + 
-                    Conversions.convertSpeed(SpeedUnit.ENCODER_UNITS, tp.velocity, SpeedUnit.FEET_PER_SECOND)
-                    + ", pos: " + 
-                    Conversions.convertPosition(PositionUnit.ENCODER_UNITS, tp.position, PositionUnit.FEET) + " ");*/
-                    if (i == 0)
-                        ;
-                    if (i == (segs.length-1))
-                    {
-                        tp.isLastPoint = true;
-                        ;
-                    }
-                    
-                    controller.pushMotionProfileTrajectory(tp); // push point to talon
-                }
-                setControllerTrajectoryLoaded(controller, true);
-            }
-            else
-                ;
-        }
-        else
-        {
-            ;
+            MotionProfileFeeder feeder = new MotionProfileFeeder(t, controller);
+            ControllerProfileState state = controllers.get(controller);
+            state.setFeeder(feeder);
+            feeder.start();
+            state.setLoaded(true);
         }
-        ;
     }
     
-    /**
-     * A class to periodically buffer the Talon points.
-     * @author Finn Frankis
-     * @version 6/20/18
-     */
-    class ProcessBuffer implements java.lang.Runnable {       
-        public void run()
-        {
-            Robot.dt.getRightMaster().processMotionProfileBuffer();
-        }
-        
-    }
-
     @Override
     /**
      * Determines whether the command has completed operation.
@@ -482,7 +465,7 @@ public class FollowPath extends Command
     protected boolean isFinished()
     {
         boolean isFinished = pathState == 3 &&
-                Math.abs(Robot.dt.getRightMaster().getClosedLoopError(RobotMap.PRIMARY_PID_INDEX)) < Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR;
+                Math.abs(SensorSnapshot.getInstance().get(SensorSnapshot.Signal.RIGHT_ERROR)) < Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR;
         return isFinished;
     }
     
@@ -528,21 +511,48 @@ public class FollowPath extends Command
      * To be called when the command is stopping (regardless of why it is forced to stop).
      */
     public void disable() {
-        ;
-        notif.stop();
+        StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.MOTION_PROFILE);
+        if (registered)
+        {
+            for (MotorController controller : controllers.keySet())
+            {
+                if (isStreamed(controller))
+                    MotionProfileBufferService.getInstance().unregister(controller);
+            }
+            registered = false;
+        }
+        for (ControllerProfileState entry : controllers.values())
+        {
+            if (entry.getFeeder() != null)
+                entry.getFeeder().stop();
+        }
 
-        Robot.dt.getRightMaster().set(ControlMode.MotionProfileArc, SetValueMotionProfile.Hold.value);
-        Robot.dt.getRightMaster().clearMotionProfileHasUnderrun(RobotMap.TIMEOUT);
+        MotorController right = Robot.dt.getHardware().getRight();
+        right.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Hold.value);
+        right.clearMotionProfileHasUnderrun(RobotMap.TIMEOUT);
+    }
+    
+    /**
+     * Determines whether points are streamed to a controller, so that its buffer must be processed
+     * by the buffer service. Both masters are streamed on a straight path. On an arc the left
+     * master follows the right master's auxiliary output, and its trajectory is only averaged
+     * into the right master's points, so it is never streamed.
+     * @param controller the controller to be checked
+     * @return true if the controller is streamed; false otherwise
+     */
+    protected boolean isStreamed (MotorController controller)
+    {
+        return outerPort < 0 || !controller.equals(Robot.dt.getHardware().getLeft());
     }
     
     /**
-     * Gets the controller status of a given controller in the map.
+     * Gets the controller status of a given controller in the map, as of the last execution.
      * @param controller the controller for which the status will be retrieved
      * @return the status of this controller
      */
-    private MotionProfileStatus getControllerStatus (IMotorController controller)
+    protected MotionProfileStatus getControllerStatus (MotorController controller)
     {
-        return (MotionProfileStatus) controllers.get(controller)[STAT_INDEX];
+        return controllers.get(controller).getStatus();
     }
     
     /**
@@ -550,9 +560,43 @@ public class FollowPath extends Command
      * @param controller the controller for which the status will be retrieved
      * @return the trajectory of this controller
      */
-    public Trajectory getControllerTrajectory (IMotorController controller)
+    public TrajectoryBuffer getControllerTrajectory (MotorController controller)
     {
-        return (Trajectory) controllers.get(controller)[TRAJ_INDEX];
+        return controllers.get(controller).getTrajectory();
+    }
+    
+    /**
+     * Gets the trajectory of a given controller in Talon units, converting it if this
+     * has not already been done.
+     * @param controller the controller for which the trajectory will be retrieved
+     * @return the compiled trajectory of this controller
+     */
+    public TalonTrajectory getCompiledTrajectory (MotorController controller)
+    {
+        ControllerProfileState entry = controllers.get(controller);
+        if (entry.getCompiled() == null && entry.getTrajectory() != null)
+        {
+            TrajectoryBuffer averageWith = null;
+            int auxiliarySlot = TalonTrajectory.NO_AUXILIARY;
+            if (outerPort >= 0)
+            {
+                averageWith = leftState.getTrajectory();
+                auxiliarySlot = outerPort;
+            }
+            entry.setCompiled(TalonTrajectory.compile(entry.getTrajectory(), averageWith,
+                    Drivetrain.MOTION_PROFILE_PID, auxiliarySlot));
+        }
+        return entry.getCompiled();
+    }
+    
+    /**
+     * Gets the feeder streaming a given controller's trajectory.
+     * @param controller the controller for which the feeder will be retrieved
+     * @return the feeder, or null if the trajectory has not begun loading
+     */
+    public MotionProfileFeeder getControllerFeeder (MotorController controller)
+    {
+        return controllers.get(controller).getFeeder();
     }
     
     /**
@@ -561,9 +605,9 @@ public class FollowPath extends Command
      * @param controller the controller to be checked
      * @return true if the controller trajectory has been loaded, false otherwise
      */
-    public boolean getControllerTrajectoryLoaded (IMotorController controller)
+    public boolean getControllerTrajectoryLoaded (MotorController controller)
     {
-        return (boolean) controllers.get(controller)[TRAJ_LOADED_INDEX];
+        return controllers.get(controller).isLoaded();
     }
     
     /**
@@ -571,32 +615,18 @@ public class FollowPath extends Command
      * @param controller the controller for which the trajectory has or hasn't been loaded
      * @param value the value to set the trajectory 
      */
-    public void setControllerTrajectoryLoaded (IMotorController controller, boolean value)
+    public void setControllerTrajectoryLoaded (MotorController controller, boolean value)
     {
-        controllers.get(controller)[TRAJ_LOADED_INDEX] = value;
+        controllers.get(controller).setLoaded(value);
     }
     
     /**
-     * Reverses a given trajectory (assists in creating backward paths).
-     * @param t the trajectory to reverse 
-     * @return the reversed trajectory
+     * Gets the time between starting this path and enabling its profile.
+     * @return the start latency (s), or -1 if the profile has not yet been enabled
      */
-    private Trajectory reverseTrajectory(Trajectory t)
-    {   
-        ;
-        for (Segment s : t.segments)
-        {
-            s.velocity *= -1;
-            s.position -= t.segments[t.segments.length - 1].position;
-        }
-        List<Segment> list = Arrays.asList(t.segments);
-        Collections.reverse(list);
-        
-        t.segments = (Segment[]) list.toArray();
-        
-        ;
-        return t;
-
+    public double getStartLatency()
+    {
+        return startLatency;
     }
     
     /**
@@ -1,49 +1,62 @@
 package frc.robot.commands.auton;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
 import frc.robot.RobotMap;
+import frc.robot.auto.control.RioPathController;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryCache;
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+import frc.robot.hardware.MotorController;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.Clock;
+import frc.robot.util.RealTimeLoop;
+import frc.robot.util.SignalLogger;
+import frc.robot.util.SignalLogger.Signal;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
+import frc.robot.util.Telemetry;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
-import edu.wpi.first.wpilibj.Notifier;
-import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import harkerrobolib.auto.Path;
-import harkerrobolib.util.Conversions;
-import harkerrobolib.util.Conversions.AngleUnit;
-import harkerrobolib.util.Conversions.PositionUnit;
-import jaci.pathfinder.Trajectory.Segment;
 
 public class FollowPathRio extends Command implements java.lang.Runnable {
-	private static TalonSRX defaultLeftTalon;
-	private static TalonSRX defaultRightTalon;
+	private static MotorController defaultLeftTalon;
+	private static MotorController defaultRightTalon;
 	
 	private boolean isFinished;
 	
 	private static final int PID_PRIMARY = 0;
 	private static final int PID_AUXILIARY = 1;
 	
-	private TalonSRX leftTalon;
-	private TalonSRX rightTalon;
+	private MotorController leftTalon;
+	private MotorController rightTalon;
 	private Path path;
 	
-	private Segment[] leftPath;
-	private Segment[] rightPath;
+	private TrajectoryBuffer leftPath;
+	private TrajectoryBuffer rightPath;
 	
-	private Notifier processPoints;
+	private RealTimeLoop controlLoop;
 	
 	private int currentPointIdx;
+	private double startTime;
 	private double prevTime;
-	private double angleErrorAccum;
-	private double angleErrorPrev;
-	private boolean hasRunOnce;
+	private double period;
+	private int numRuns;
+	// written by the control thread and read from others, so volatile to keep the doubles from tearing
+	private volatile double lateness;
+	private volatile double maxLateness;
+	private RioPathController controller;
 	private boolean shouldHold;
+	
+	// completes once the Talons have been configured; the loop does not start the path until then
+	private volatile CompletableFuture<Void> configured;
 
 	private double leftSetpoint;
 	private double rightSetpoint;
@@ -56,19 +69,49 @@ public class FollowPathRio extends Command implements java.lang.Runnable {
 	private int numValidRuns;
 
 	private static final int REQUIRED_VALID_RUNS = 10;
+
+	private static final Telemetry.Slot leftSetpointSlot = Telemetry.getSlot("Left Setpoint");
+	private static final Telemetry.Slot rightSetpointSlot = Telemetry.getSlot("Right Setpoint");
+
+	// the control loop's timing over the most recent path, in ms
+	private static final Telemetry.Slot periodSlot = Telemetry.getSlot("Rio Path Period 99th % (ms)");
+	private static final Telemetry.Slot executionSlot = Telemetry.getSlot("Rio Path Execution 99th % (ms)");
+	private static final Telemetry.Slot maxExecutionSlot = Telemetry.getSlot("Rio Path Max Execution (ms)");
+	private static final Telemetry.Slot overrunsSlot = Telemetry.getSlot("Rio Path Overruns");
+
+	// written only by the control thread and read by the scheduler thread under statusVersion, which
+	// is odd while a write is in progress
+	private volatile int statusVersion;
+	private volatile double publishedLeftSetpoint;
+	private volatile double publishedRightSetpoint;
+	private volatile boolean publishedHolding;
+
+	// the copy of the published status read by the scheduler thread
+	private double readLeftSetpoint;
+	private double readRightSetpoint;
+	private boolean readHolding;
 	
-	public FollowPathRio (Path path, TalonSRX leftTalon, TalonSRX rightTalon) {
+	public FollowPathRio (Path path, MotorController leftTalon, MotorController rightTalon) {
+		this(path, leftTalon, rightTalon, path.getDt());
+	}
+
+	/**
+	 * Constructs a new FollowPathRio which updates at a different rate than the path's dt;
+	 * setpoints are always looked up by elapsed time, so the two need not match.
+	 */
+	public FollowPathRio (Path path, MotorController leftTalon, MotorController rightTalon, double period) {
 		System.out.println("CONSTRUCTING");
+		this.period = period;
 		this.leftTalon = leftTalon;
-		this.leftPath = path.getLeftPath().segments;
+		this.leftPath = TrajectoryBuffer.getLeft(path);
 		this.rightTalon = rightTalon;
-		this.rightPath = path.getRightPath().segments;
+		this.rightPath = TrajectoryBuffer.getRight(path);
 		this.path = path;
 		
-		angleErrorPrev = -1;
+		controller = new RioPathController();
 		numValidRuns = 0;
 		
-		processPoints = new Notifier (this);
+		controlLoop = new RealTimeLoop ("FollowPathRio", this, period);
 	}
 	
 	public FollowPathRio (Path path) {
@@ -77,14 +120,20 @@ public class FollowPathRio extends Command implements java.lang.Runnable {
 	
 	public void initialize() {
 		System.out.println("INITIALIZING");
-		if (leftPath.length > 0 && rightPath.length > 0)
+		if (leftPath.length() > 0 && rightPath.length() > 0)
 		{
 			System.out.println("PATH LENGTH NOT ZERO");
+			StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.RIO_PROFILE);
+			SignalLogger.setPath(TrajectoryCache.getIdentity(path));
 
-			prevTime = Timer.getFPGATimestamp();
+			startTime = -1;
+			numRuns = 0;
+			configured = null;
+			controller.reset();
+			maxLateness = 0;
 
-			System.out.println(path.getDt());
-			processPoints.startPeriodic(path.getDt());
+			System.out.println(period);
+			controlLoop.start();
 
 			Robot.dt.setTalonSensorPhase(Drivetrain.LEFT_TALON_PHASE, 
                 Drivetrain.RIGHT_TALON_PHASE);
@@ -92,26 +141,27 @@ public class FollowPathRio extends Command implements java.lang.Runnable {
 			Robot.dt.configureMotionProfileDriveClosedLoop();
 			Robot.dt.configureMotionProfileAngleClosedLoop();
 			
-			Robot.dt.getLeftMaster().selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
-			Robot.dt.getRightMaster().selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
+			Robot.dt.getHardware().getLeft().selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
+			Robot.dt.getHardware().getRight().selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
 			
-			Robot.dt.getLeftMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
-			Robot.dt.getRightMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+			Robot.dt.getHardware().getLeft().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+			Robot.dt.getHardware().getRight().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
 
-			Robot.dt.getLeftMaster().configRemoteFeedbackFilter(Robot.dt.getPigeon().getDeviceID(), 
+			Robot.dt.getHardware().getLeft().configRemoteFeedbackFilter(Robot.dt.getHardware().getImu().getDeviceID(), 
 					RemoteSensorSource.Pigeon_Yaw, 
 					RobotMap.REMOTE_SLOT_0, 
 					RobotMap.TIMEOUT);
-			Robot.dt.getRightMaster().configRemoteFeedbackFilter(Robot.dt.getPigeon().getDeviceID(), 
+			Robot.dt.getHardware().getRight().configRemoteFeedbackFilter(Robot.dt.getHardware().getImu().getDeviceID(), 
 					RemoteSensorSource.Pigeon_Yaw, 
 					RobotMap.REMOTE_SLOT_0, 
 					RobotMap.TIMEOUT);
 
-			Robot.dt.getLeftMaster().configSelectedFeedbackSensor(Drivetrain.Pigeon.REMOTE_SENSOR_SLOT, RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
-			Robot.dt.getRightMaster().configSelectedFeedbackSensor(Drivetrain.Pigeon.REMOTE_SENSOR_SLOT, RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
+			Robot.dt.getHardware().getLeft().configSelectedFeedbackSensor(Drivetrain.Pigeon.REMOTE_SENSOR_SLOT, RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
+			Robot.dt.getHardware().getRight().configSelectedFeedbackSensor(Drivetrain.Pigeon.REMOTE_SENSOR_SLOT, RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
 
-			Robot.dt.getLeftMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
-			Robot.dt.getRightMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
+			Robot.dt.getHardware().getLeft().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+			Robot.dt.getHardware().getRight().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+			configured = Robot.dt.getConfigCompletion();
 	}
 		else
 			isFinished = true;
@@ -119,9 +169,12 @@ public class FollowPathRio extends Command implements java.lang.Runnable {
 	
 	@Override
 	protected boolean isFinished() {
-		if (shouldHold) {
-			leftPrevError = leftSetpoint - Robot.dt.getLeftMaster().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
-			rightPrevError = rightSetpoint - Robot.dt.getRightMaster().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
+		if (isFinished)
+			return true;
+		readStatus();
+		if (readHolding) {
+			leftPrevError = readLeftSetpoint - Robot.dt.getHardware().getLeft().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
+			rightPrevError = readRightSetpoint - Robot.dt.getHardware().getRight().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
 
 			if (Math.abs(leftPrevError) < Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR && Math.abs(rightPrevError) < Drivetrain.MOTION_PROFILE_ALLOWABLE_ERROR) 
 				numValidRuns++;
@@ -135,36 +188,47 @@ public class FollowPathRio extends Command implements java.lang.Runnable {
 	@Override
 	public void run() {
 		//System.out.println("RUNNING");
-		if (currentPointIdx >= leftPath.length || currentPointIdx >= rightPath.length) {
-			shouldHold = true;
+		CompletableFuture<Void> ready = configured;
+		if (ready == null || !ready.isDone())
+			return;
+		double now = Clock.getTimestamp();
+		if (startTime < 0) {
+			startTime = now;
+			prevTime = now - period;
 		}
+		double elapsed = now - startTime;
+		lateness = elapsed - numRuns * period;
+		maxLateness = Math.max(maxLateness, lateness);
+		numRuns++;
+
+		// send the final point once before holding
+		double duration = Math.min(leftPath.getDuration(), rightPath.getDuration());
+		boolean finalUpdate = elapsed >= duration;
+		if (finalUpdate)
+			elapsed = duration;
 		
 		if (!shouldHold) {
-			Segment leftPoint = leftPath[currentPointIdx];
-			Segment rightPoint = rightPath[currentPointIdx];
+			// look up the setpoint by elapsed time so that a late callback does not leave the robot behind
+			currentPointIdx = leftPath.getIndexAtTime(elapsed);
+			double leftFraction = leftPath.getFraction(currentPointIdx, elapsed);
+			int rightIdx = rightPath.getIndexAtTime(elapsed);
+			double rightFraction = rightPath.getFraction(rightIdx, elapsed);
 
-			double dt = Timer.getFPGATimestamp() - prevTime;
-			prevTime = Timer.getFPGATimestamp();
-			
-			double angleSetpoint = Conversions.convertAngle(AngleUnit.RADIANS, leftPath[currentPointIdx].heading, AngleUnit.DEGREES);
-			double angleError = Conversions.convertAngle(AngleUnit.PIGEON_UNITS, leftTalon.getSelectedSensorPosition(PID_AUXILIARY), AngleUnit.DEGREES);
-			double angleErrorCurrent = angleSetpoint - angleError;
-
-			angleErrorAccum += angleErrorCurrent * dt;
-			double gyroFactor = angleErrorCurrent * Drivetrain.Pigeon.MOT_PROF_KP + angleErrorAccum * Drivetrain.Pigeon.MOT_PROF_KI + 
-					(!hasRunOnce ? 0 : angleErrorCurrent - angleErrorPrev) / dt * Drivetrain.Pigeon.MOT_PROF_KD;
-			angleErrorPrev = angleErrorCurrent;
+			double leftPosition = leftPath.interpolate(Column.POSITION, currentPointIdx, leftFraction);
+			double leftVelocity = leftPath.interpolate(Column.VELOCITY, currentPointIdx, leftFraction);
+			double rightPosition = rightPath.interpolate(Column.POSITION, rightIdx, rightFraction);
+			double rightVelocity = rightPath.interpolate(Column.VELOCITY, rightIdx, rightFraction);
 
-			double velocityDifference = (leftPoint.velocity - rightPoint.velocity) * Drivetrain.Pigeon.MOT_PROF_KF;
-			
-			leftFeedForward = leftPoint.velocity * Drivetrain.MOTION_PROF_KF_LEFT + velocityDifference;
-			rightFeedForward = rightPoint.velocity * Drivetrain.MOTION_PROF_KF_RIGHT - velocityDifference;
+			double dt = now - prevTime;
+			prevTime = now;
 			
-			leftSetpoint = Conversions.convertPosition(PositionUnit.FEET, leftPoint.position + gyroFactor, PositionUnit.ENCODER_UNITS);
-			rightSetpoint = Conversions.convertPosition(PositionUnit.FEET, rightPoint.position - gyroFactor, PositionUnit.ENCODER_UNITS);
-
-			SmartDashboard.putNumber("Left Setpoint", leftSetpoint);
-			SmartDashboard.putNumber("Right Setpoint", rightSetpoint);
+			double measuredAngle = leftTalon.getSelectedSensorPosition(PID_AUXILIARY);
+			controller.calculate(leftPosition, leftVelocity, rightPosition, rightVelocity, 
+					leftPath.interpolateHeading(currentPointIdx, leftFraction), measuredAngle, dt);
+			leftSetpoint = controller.getLeftSetpoint();
+			rightSetpoint = controller.getRightSetpoint();
+			leftFeedForward = controller.getLeftFeedForward();
+			rightFeedForward = controller.getRightFeedForward();
 
 			leftTalon.set(ControlMode.Position, leftSetpoint, 
 			DemandType.ArbitraryFeedForward, 
@@ -172,27 +236,90 @@ public class FollowPathRio extends Command implements java.lang.Runnable {
 			rightTalon.set(ControlMode.Position, rightSetpoint, 
 			DemandType.ArbitraryFeedForward, 
 			rightFeedForward);
-
-			currentPointIdx++;
+			leftSetpointSlot.set(leftSetpoint);
+			rightSetpointSlot.set(rightSetpoint);
+			SignalLogger.set(Signal.LEFT_SETPOINT, leftSetpoint);
+			SignalLogger.set(Signal.RIGHT_SETPOINT, rightSetpoint);
+			SignalLogger.set(Signal.LEFT_FEED_FORWARD, leftFeedForward);
+			SignalLogger.set(Signal.RIGHT_FEED_FORWARD, rightFeedForward);
+			SignalLogger.set(Signal.ANGLE_SETPOINT, controller.getAngleSetpoint());
+			SignalLogger.set(Signal.MEASURED_ANGLE, measuredAngle);
+			SignalLogger.set(Signal.PATH_TIME, elapsed);
+			SignalLogger.set(Signal.PATH_POINT, currentPointIdx);
+			shouldHold = finalUpdate;
 		}
 		else {
 			leftTalon.set(ControlMode.Position, leftSetpoint);
 			rightTalon.set(ControlMode.Position, rightSetpoint);
 		}
-		hasRunOnce = true;
+		publishStatus();
+	}
+
+	/**
+	 * Publishes the setpoints and hold state for the scheduler thread without locking.
+	 */
+	private void publishStatus() {
+		int version = statusVersion;
+		statusVersion = version + 1;
+		publishedLeftSetpoint = leftSetpoint;
+		publishedRightSetpoint = rightSetpoint;
+		publishedHolding = shouldHold;
+		statusVersion = version + 2;
+	}
+
+	/**
+	 * Reads the status most recently published by the control thread, retrying if it was
+	 * being written at the same time.
+	 */
+	private void readStatus() {
+		int version;
+		do {
+			version = statusVersion;
+			readLeftSetpoint = publishedLeftSetpoint;
+			readRightSetpoint = publishedRightSetpoint;
+			readHolding = publishedHolding;
+		} while ((version & 1) != 0 || version != statusVersion);
+	}
+
+	/**
+	 * Gets the loop running this follower, along with its period and execution time histograms.
+	 */
+	public RealTimeLoop getControlLoop() {
+		return controlLoop;
 	}
 	
-	public static void setDefaultLeftTalon (TalonSRX defaultLeft) {
+	public static void setDefaultLeftTalon (MotorController defaultLeft) {
 		defaultLeftTalon = defaultLeft;
 	}
 	
-	public static void setDefaultRightTalon (TalonSRX defaultRight) {
+	public static void setDefaultRightTalon (MotorController defaultRight) {
 		defaultRightTalon = defaultRight;
 	}
 
+	/**
+	 * Gets how late the most recent update ran relative to when it was due.
+	 * @return the lateness (s), positive if the update ran late
+	 */
+	public double getLateness() {
+		return lateness;
+	}
+
+	/**
+	 * Gets the latest that any update has run relative to when it was due.
+	 * @return the maximum lateness (s)
+	 */
+	public double getMaxLateness() {
+		return maxLateness;
+	}
+
 	@Override
 	public void end () {
-		processPoints.stop();
+		controlLoop.stop();
+		StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.RIO_PROFILE);
+		periodSlot.set(controlLoop.getPeriodHistogram().getPercentile(0.99) * 1000);
+		executionSlot.set(controlLoop.getExecutionHistogram().getPercentile(0.99) * 1000);
+		maxExecutionSlot.set(controlLoop.getExecutionHistogram().getMax() * 1000);
+		overrunsSlot.set(controlLoop.getOverruns());
 	}
 
 }
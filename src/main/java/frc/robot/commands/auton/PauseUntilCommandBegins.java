@@ -1,6 +1,7 @@
 package frc.robot.commands.auton;
 
-import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.Clock;
+
 import edu.wpi.first.wpilibj.command.Command;
 
 /**
@@ -59,7 +60,7 @@ public class PauseUntilCommandBegins extends Command
     {
         if (!hasInitializedStartTime && c.isRunning())
         {
-            startTime = Timer.getFPGATimestamp();
+            startTime = Clock.getTimestamp();
             hasInitializedStartTime = true;
         }
     }
@@ -72,7 +73,7 @@ public class PauseUntilCommandBegins extends Command
     {
         // TODO Auto-generated method stub
         return hasInitializedStartTime &&
-                Timer.getFPGATimestamp() - startTime >= delay;
+                Clock.getTimestamp() - startTime >= delay;
     }
     
 }
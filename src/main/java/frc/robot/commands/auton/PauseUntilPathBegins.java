@@ -1,6 +1,7 @@
 package frc.robot.commands.auton;
 
-import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.Clock;
+
 import edu.wpi.first.wpilibj.command.Command;
 
 /**
@@ -135,7 +136,7 @@ public class PauseUntilPathBegins extends Command
             if (!hasInitializedStartTime && fpc.isSetupComplete())
             {
                 hasInitializedStartTime = true;
-                startTime = Timer.getFPGATimestamp();
+                startTime = Clock.getTimestamp();
                 ;
             }
         }
@@ -152,6 +153,6 @@ public class PauseUntilPathBegins extends Command
                 && hasInitializedModifiedDelay
                 && hasInitializedStartTime
                 && fpc.isSetupComplete() 
-                && Timer.getFPGATimestamp() - startTime >= modifiedDelay;
+                && Clock.getTimestamp() - startTime >= modifiedDelay;
     }
 }
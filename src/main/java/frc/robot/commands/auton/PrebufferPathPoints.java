@@ -3,11 +3,13 @@ package frc.robot.commands.auton;
 import java.util.HashMap;
 
 import frc.robot.Robot;
+import frc.robot.auto.trajectory.TalonTrajectory;
+import frc.robot.hardware.MotorController;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
-import com.ctre.phoenix.motorcontrol.IMotorController;
 
 import edu.wpi.first.wpilibj.command.Command;
-import jaci.pathfinder.Trajectory;
 
 /**
  * Prebuffers the points in a path to improve autonomous speed.
@@ -25,7 +27,7 @@ public class PrebufferPathPoints extends Command
      * The map containing all master (aka: not follower) controllers which should be 
      * prebuffered.
      */
-    private HashMap<IMotorController, Trajectory> masterControllers;
+    private HashMap<MotorController, TalonTrajectory> masterControllers;
    
     /**
      * Whether or not the prebuffering has completed.
@@ -39,21 +41,31 @@ public class PrebufferPathPoints extends Command
     public PrebufferPathPoints(FollowPath fpc)
     {
         this.fpc = fpc;
-        masterControllers = new HashMap<IMotorController, Trajectory>();
-        masterControllers.put(Robot.dt.getRightMaster(), fpc.getControllerTrajectory(Robot.dt.getRightMaster()));
+        masterControllers = new HashMap<MotorController, TalonTrajectory>();
+        masterControllers.put(Robot.dt.getHardware().getRight(), fpc.getCompiledTrajectory(Robot.dt.getHardware().getRight()));
         if (!(fpc instanceof FollowPathArc))
         {
-            masterControllers.put(Robot.dt.getLeftMaster(), fpc.getControllerTrajectory(Robot.dt.getLeftMaster()));
+            masterControllers.put(Robot.dt.getHardware().getLeft(), fpc.getCompiledTrajectory(Robot.dt.getHardware().getLeft()));
         }
     }
     
     /**
-     * Executes the command by pushing points to the RoboRio buffer.
+     * Initializes the command by requesting the motion profile status frames, since the points
+     * begin arriving in the Talon buffer before the path itself starts. The path releases them
+     * when it stops.
+     */
+    public void initialize()
+    {
+        StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.MOTION_PROFILE);
+    }
+    
+    /**
+     * Executes the command by starting to stream points to the RoboRio buffer in the background.
      */
     public void execute()
     {
         ;
-        for (IMotorController imc : masterControllers.keySet())
+        for (MotorController imc : masterControllers.keySet())
         {
             fpc.loadTrajectoryToTalon(masterControllers.get(imc), imc);
         }
@@ -62,14 +74,23 @@ public class PrebufferPathPoints extends Command
     }
     /**
      * Determines whether the command has finished.
-    *  @return true if all the points have been pushed to the RoboRio buffer
+    *  @return true if every trajectory has begun streaming to the RoboRio buffer
     */
     @Override
     protected boolean isFinished()
     {
         isFinished = true;
-        for (IMotorController imc : masterControllers.keySet())
+        for (MotorController imc : masterControllers.keySet())
             isFinished = isFinished && fpc.getControllerTrajectoryLoaded(imc);
         return isFinished;
     }
+    
+    /**
+     * Releases the motion profile status frames if the path will not be started after all.
+     */
+    @Override
+    protected void interrupted()
+    {
+        StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.MOTION_PROFILE);
+    }
 }
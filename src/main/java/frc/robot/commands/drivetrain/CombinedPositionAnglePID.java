@@ -1,8 +1,13 @@
 package frc.robot.commands.drivetrain;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.SensorSnapshot;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
 import harkerrobolib.util.Conversions;
 import harkerrobolib.util.Conversions.AngleUnit;
@@ -34,6 +39,11 @@ public class CombinedPositionAnglePID extends PositionCommand
      */
     private double angle;
     
+    /**
+     * Completes once the Talons have been configured for this closed loop.
+     */
+    private CompletableFuture<Void> configured;
+    
     /**
      * Constructs a new CombinedPositionAnglePID.
      * @param position the final position for the robot in feet
@@ -51,6 +61,7 @@ public class CombinedPositionAnglePID extends PositionCommand
      */
     public void initialize()
     {
+        StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.POSITION_ARC);
         initPosition();
         ;
         ;
@@ -58,7 +69,9 @@ public class CombinedPositionAnglePID extends PositionCommand
         ;
         ;
         //Robot.dt.getRightTalon().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
-        Robot.dt.getRightMaster().set(ControlMode.Position, position, DemandType.AuxPID, angle);
+        // the configuration is sent in the background; hold still until it has been
+        Robot.dt.getHardware().getRight().set(ControlMode.PercentOutput, 0);
+        configured = Robot.dt.getConfigCompletion();
     }
     
     /**
@@ -66,33 +79,32 @@ public class CombinedPositionAnglePID extends PositionCommand
      */
     private void initPosition()
     {   
-        Robot.dt.getLeftMaster().getSensorCollection().setQuadraturePosition(0, RobotMap.TIMEOUT);
-        Robot.dt.getRightMaster().getSensorCollection().setQuadraturePosition(0, RobotMap.TIMEOUT);
+        Robot.dt.zeroQuadraturePositions();
         
-        Robot.dt.getRightMaster().selectProfileSlot(Drivetrain.POS_PID, RobotMap.PRIMARY_PID_INDEX);
-        Robot.dt.getRightMaster().selectProfileSlot(Drivetrain.ANGLE_PID, RobotMap.AUXILIARY_PID_INDEX);
-        Robot.dt.getLeftMaster().follow(Robot.dt.getRightMaster(), FollowerType.AuxOutput1);
+        Robot.dt.getHardware().getRight().selectProfileSlot(Drivetrain.POS_PID, RobotMap.PRIMARY_PID_INDEX);
+        Robot.dt.getHardware().getRight().selectProfileSlot(Drivetrain.ANGLE_PID, RobotMap.AUXILIARY_PID_INDEX);
+        Robot.dt.getHardware().getLeft().follow(Robot.dt.getHardware().getRight(), FollowerType.AuxOutput1);
         
-        Robot.dt.getRightMaster().configRemoteFeedbackFilter(Robot.dt.getPigeon().getDeviceID(), 
+        Robot.dt.getHardware().getRight().configRemoteFeedbackFilter(Robot.dt.getHardware().getImu().getDeviceID(), 
                 RemoteSensorSource.Pigeon_Yaw, RobotMap.REMOTE_SLOT_0, RobotMap.TIMEOUT);
-        Robot.dt.getRightMaster().configRemoteFeedbackFilter(Robot.dt.getLeftMaster().getDeviceID(), 
+        Robot.dt.getHardware().getRight().configRemoteFeedbackFilter(Robot.dt.getHardware().getLeft().getDeviceID(), 
                 RemoteSensorSource.TalonSRX_SelectedSensor, RobotMap.REMOTE_SLOT_1, RobotMap.TIMEOUT);
 
         
-        Robot.dt.getLeftMaster().configSelectedFeedbackSensor(
+        Robot.dt.getHardware().getLeft().configSelectedFeedbackSensor(
                 FeedbackDevice.CTRE_MagEncoder_Relative, 
                 RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
         
-        Robot.dt.getRightMaster().configSensorTerm(SensorTerm.Sum0, FeedbackDevice.CTRE_MagEncoder_Relative);
-        Robot.dt.getRightMaster().configSensorTerm(SensorTerm.Sum1, FeedbackDevice.RemoteSensor1);
-        Robot.dt.getRightMaster().configSelectedFeedbackSensor(
+        Robot.dt.getHardware().getRight().configSensorTerm(SensorTerm.Sum0, FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.TIMEOUT);
+        Robot.dt.getHardware().getRight().configSensorTerm(SensorTerm.Sum1, FeedbackDevice.RemoteSensor1, RobotMap.TIMEOUT);
+        Robot.dt.getHardware().getRight().configSelectedFeedbackSensor(
                 FeedbackDevice.SensorSum, 
-                RobotMap.PRIMARY_PID_INDEX);
-        Robot.dt.getRightMaster().configSelectedFeedbackSensor(RemoteFeedbackDevice.RemoteSensor0, 
-                RobotMap.AUXILIARY_PID_INDEX);
+                RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        Robot.dt.getHardware().getRight().configSelectedFeedbackSensor(RemoteFeedbackDevice.RemoteSensor0, 
+                RobotMap.AUXILIARY_PID_INDEX, RobotMap.TIMEOUT);
         
-        Robot.dt.getLeftMaster().configSelectedFeedbackCoefficient(1, RobotMap.PRIMARY_PID_INDEX);
-        Robot.dt.getRightMaster().configSelectedFeedbackCoefficient(0.5, RobotMap.PRIMARY_PID_INDEX);
+        Robot.dt.getHardware().getLeft().configSelectedFeedbackCoefficient(1, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        Robot.dt.getHardware().getRight().configSelectedFeedbackCoefficient(0.5, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
         Robot.dt.setTalonSensorPhase(Drivetrain.LEFT_TALON_PHASE, Drivetrain.RIGHT_TALON_PHASE);
         
     }
@@ -102,12 +114,14 @@ public class CombinedPositionAnglePID extends PositionCommand
      */
     public void execute()
     {
+        if (!configured.isDone())
+            return;
         if (!passedMaxExecutes())
         {
             incrementNumExecutes();
         }
 
-        Robot.dt.getRightMaster().set(ControlMode.Position, position, DemandType.AuxPID, angle);
+        Robot.dt.getHardware().getRight().set(ControlMode.Position, position, DemandType.AuxPID, angle);
     }
     /**
     * Determines whether this command has finished.
@@ -116,9 +130,9 @@ public class CombinedPositionAnglePID extends PositionCommand
     @Override
     protected boolean isFinished()
     {
-        if (passedMaxExecutes())
+        if (configured.isDone() && passedMaxExecutes())
         {
-            return Math.abs(Robot.dt.getRightMaster().getClosedLoopError(RobotMap.PRIMARY_PID_INDEX))
+            return Math.abs(SensorSnapshot.getInstance().get(SensorSnapshot.Signal.RIGHT_ERROR))
                     < Drivetrain.POS_ALLOWABLE_ERROR;
         }
         //;
@@ -127,8 +141,9 @@ public class CombinedPositionAnglePID extends PositionCommand
     
     public void end()
     {
-        Robot.dt.getLeftMaster().set(ControlMode.PercentOutput, 0);
-        Robot.dt.getRightMaster().set(ControlMode.PercentOutput, 0);
+        Robot.dt.getHardware().getLeft().set(ControlMode.PercentOutput, 0);
+        Robot.dt.getHardware().getRight().set(ControlMode.PercentOutput, 0);
+        StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.POSITION_ARC);
         ;
         ;
         ;
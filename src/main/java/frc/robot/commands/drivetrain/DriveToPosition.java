@@ -1,8 +1,12 @@
 package frc.robot.commands.drivetrain;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
 import harkerrobolib.util.Conversions;
 import harkerrobolib.util.Conversions.PositionUnit;
@@ -22,6 +26,11 @@ public class DriveToPosition extends PositionCommand
      */
     private double position;
     
+    /**
+     * Completes once the Talons have been configured for this closed loop.
+     */
+    private CompletableFuture<Void> configured;
+    
     /**
      * Constructs a new DriveToPositionCommand.
      * @param position the final position for the robot in feet
@@ -38,10 +47,13 @@ public class DriveToPosition extends PositionCommand
      */
     public void initialize()
     {
+        StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.POSITION);
         initPosition();
         Robot.dt.setBothSensorPositions(0, RobotMap.PRIMARY_PID_INDEX);
-        Robot.dt.setBoth(ControlMode.Position, position);
         Robot.dt.resetTalonCoefficients(RobotMap.PRIMARY_PID_INDEX);
+        // the configuration is sent in the background; hold still until it has been
+        Robot.dt.setBoth(ControlMode.PercentOutput, 0);
+        configured = Robot.dt.getConfigCompletion();
     }
     
     /**
@@ -62,6 +74,8 @@ public class DriveToPosition extends PositionCommand
      */
     public void execute()
     {
+        if (!configured.isDone())
+            return;
         if (!passedMaxExecutes())
         {
             incrementNumExecutes();
@@ -75,7 +89,7 @@ public class DriveToPosition extends PositionCommand
     @Override
     protected boolean isFinished()
     {
-        if (passedMaxExecutes())
+        if (configured.isDone() && passedMaxExecutes())
         {
             return Robot.dt.isClosedLoopErrorWithin(RobotMap.PRIMARY_PID_INDEX, getAllowableError());
         }
@@ -85,7 +99,8 @@ public class DriveToPosition extends PositionCommand
     public void end()
     {
         System.out.println("Command finished");
-        Robot.dt.getLeftMaster().set(ControlMode.PercentOutput, 0);
-        Robot.dt.getRightMaster().set(ControlMode.PercentOutput, 0);
+        Robot.dt.getHardware().getLeft().set(ControlMode.PercentOutput, 0);
+        Robot.dt.getHardware().getRight().set(ControlMode.PercentOutput, 0);
+        StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.POSITION);
     }
 }
@@ -1,11 +1,15 @@
 package frc.robot.commands.drivetrain;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 import frc.robot.RobotMap.SafetyMode;
 import frc.robot.subsystems.Drivetrain;
 import frc.robot.subsystems.Elevator;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 import harkerrobolib.util.Conversions;
 import harkerrobolib.util.MathUtil;
 import harkerrobolib.util.Conversions.SpeedUnit;
@@ -30,6 +34,11 @@ public class DriveWithVelocity extends Command
      */
     private double deadband;
     
+    /**
+     * Completes once the Talons have been configured for the velocity loop.
+     */
+    private CompletableFuture<Void> configured;
+    
     /**
      * Creates a new DriveWithVelocityCommand object requiring the Drivetrain.
      * @param deadband the controller deadband, or the range for which any input is ignored
@@ -42,20 +51,22 @@ public class DriveWithVelocity extends Command
     
     public void initialize()
     {
-        Robot.el.getBottomRightTalon().configSelectedFeedbackSensor
-        (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
+        StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.VELOCITY);
+        Robot.el.getMaster().configSelectedFeedbackSensor
+        (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
 
         Robot.dt.selectProfileSlots(Drivetrain.VEL_PID, RobotMap.PRIMARY_PID_INDEX);
         
         Robot.dt.configureVelocityClosedLoop();
         
-        Robot.dt.getLeftMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
-        Robot.dt.getRightMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
+        Robot.dt.getHardware().getLeft().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        Robot.dt.getHardware().getRight().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
     
         Robot.dt.setTalonSensorPhase(Drivetrain.LEFT_TALON_PHASE, 
                 Drivetrain.RIGHT_TALON_PHASE);
         
         Robot.dt.resetTalonCoefficients(Drivetrain.VEL_PID);
+        configured = Robot.dt.getConfigCompletion();
     }
     /**
      * Executes the command to drive with a given velocity.
@@ -63,12 +74,18 @@ public class DriveWithVelocity extends Command
     @Override
     public void execute() 
     { 
+        // the configuration is sent in the background; hold still until it has been
+        if (!configured.isDone())
+        {
+            Robot.dt.setBoth(ControlMode.PercentOutput, 0);
+            return;
+        }
         OI oi = OI.getInstance();
         
         double leftX = (RobotMap.SAFETY_MODE == SafetyMode.SAFE ? DRIVETRAIN_OUTPUT_SAFETY_MULTIPLIER : 1.0) * MathUtil.mapJoystickOutput(oi.getDriverGamepad().getLeftX(), OI.BLACK_XBOX_DRIVE_DEADBAND);
         double leftY = (RobotMap.SAFETY_MODE == SafetyMode.SAFE ? DRIVETRAIN_OUTPUT_SAFETY_MULTIPLIER : 1.0) * MathUtil.mapJoystickOutput(oi.getDriverGamepad().getLeftY(), OI.BLACK_XBOX_DRIVE_DEADBAND);
 
-        // double elevatorPercent = (1.0 * Elevator.getInstance().getBottomRightTalon().getSelectedSensorPosition
+        // double elevatorPercent = (1.0 * Elevator.getInstance().getMaster().getSelectedSensorPosition
         // (RobotMap.PRIMARY_PID_INDEX)) / Elevator.SCALE_HIGH_HEIGHT;
         
         
@@ -93,15 +110,15 @@ public class DriveWithVelocity extends Command
                 SpeedUnit.ENCODER_UNITS);*/
         
         if (Math.abs(left) < 2e-6) {
-            Robot.dt.getLeftMaster().set(ControlMode.PercentOutput, 0);
+            Robot.dt.getHardware().getLeft().set(ControlMode.PercentOutput, 0);
         } else {
-            Robot.dt.getLeftMaster().set(ControlMode.Velocity, Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, left, SpeedUnit.ENCODER_UNITS));
+            Robot.dt.getHardware().getLeft().set(ControlMode.Velocity, Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, left, SpeedUnit.ENCODER_UNITS));
         }
 
         if (Math.abs(right) < 2e-6) {
-            Robot.dt.getRightMaster().set(ControlMode.PercentOutput, 0);
+            Robot.dt.getHardware().getRight().set(ControlMode.PercentOutput, 0);
         } else {
-            Robot.dt.getRightMaster().set(ControlMode.Velocity, Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, right, SpeedUnit.ENCODER_UNITS));
+            Robot.dt.getHardware().getRight().set(ControlMode.Velocity, Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, right, SpeedUnit.ENCODER_UNITS));
         }
     }
     
@@ -109,6 +126,14 @@ public class DriveWithVelocity extends Command
      * Determines whether the command has finished.
      */
     protected boolean isFinished() { return false; }
+    
+    /**
+     * Returns the drivetrain to its idle status frames when the command ends or is interrupted.
+     */
+    protected void end()
+    {
+        StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.VELOCITY);
+    }
 
     double map (double x, double in_min, double in_max, double out_min, double out_max) {
         return (x - in_min) * (out_max - out_min) / (in_max - in_min) + out_min;
@@ -25,14 +25,14 @@ public class DriveWithVelocityTimed extends TimedCommand {
     @Override
     public void execute() 
     {
-        Robot.dt.getLeftMaster().set(ControlMode.PercentOutput, speed);
-        Robot.dt.getRightMaster().set(ControlMode.PercentOutput, speed);
+        Robot.dt.getHardware().getLeft().set(ControlMode.PercentOutput, speed);
+        Robot.dt.getHardware().getRight().set(ControlMode.PercentOutput, speed);
     }
 
     @Override
     public void end()
     {
-        Robot.dt.getLeftMaster().set(ControlMode.Disabled, 0);
-        Robot.dt.getRightMaster().set(ControlMode.Disabled, 0);
+        Robot.dt.getHardware().getLeft().set(ControlMode.Disabled, 0);
+        Robot.dt.getHardware().getRight().set(ControlMode.Disabled, 0);
     }
 }
@@ -1,8 +1,8 @@
 package frc.robot.commands.drivetrain;
 
 import frc.robot.Robot;
-import frc.robot.RobotMap;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.SensorSnapshot;
 
 import edu.wpi.first.wpilibj.command.Command;
 
@@ -83,13 +83,12 @@ public abstract class PositionCommand extends Command
     }
     
     /**
-     * Gets the current position of the Talons.
+     * Gets the current position of the Talons, as sampled at the start of this loop.
      * @return the current Talon position
      */
     public double getCurrentPosition()
     {
-        return (Robot.dt.getRightMaster().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX) 
-                + Robot.dt.getLeftMaster().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX)) / 2;
+        return SensorSnapshot.getInstance().getDrivePosition();
     }
     
     /**
@@ -1,9 +1,14 @@
 package frc.robot.commands.drivetrain;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 import frc.robot.subsystems.Drivetrain;
 import frc.robot.subsystems.Drivetrain.Pigeon;
+import frc.robot.util.SensorSnapshot;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
@@ -61,6 +66,11 @@ public class TurnToAngle extends Command
      */
     private int errorSamples;
     
+    /**
+     * Completes once the Talons have been configured for this closed loop.
+     */
+    private CompletableFuture<Void> configured;
+    
     /**
      * Constructs a new TurnRobotToAngleCommand.
      * @param angle the final angle for the robot in degrees
@@ -103,6 +113,7 @@ public class TurnToAngle extends Command
      */
     public void initialize()
     {
+        StatusFrameManager.getInstance().request(Robot.dt, StatusFrameProfile.TURN);
         previousErrors = new double[errorSamples];
         for (int i = 0; i < errorSamples; i++)
             previousErrors[i] = angle;
@@ -122,10 +133,10 @@ public class TurnToAngle extends Command
         Robot.dt.resetTalonCoefficients(RobotMap.PRIMARY_PID_INDEX);
         Robot.dt.configureAngleClosedLoop();
         
-        Robot.dt.getLeftMaster().configRemoteFeedbackFilter(Robot.dt.getPigeon().getDeviceID(), 
+        Robot.dt.getHardware().getLeft().configRemoteFeedbackFilter(Robot.dt.getHardware().getImu().getDeviceID(), 
                 RemoteSensorSource.Pigeon_Yaw, 
                 RobotMap.REMOTE_SLOT_0, errorIndex);
-        Robot.dt.getRightMaster().configRemoteFeedbackFilter(Robot.dt.getPigeon().getDeviceID(), 
+        Robot.dt.getHardware().getRight().configRemoteFeedbackFilter(Robot.dt.getHardware().getImu().getDeviceID(), 
                 RemoteSensorSource.Pigeon_Yaw, 
                 RobotMap.REMOTE_SLOT_0, errorIndex);
         
@@ -137,8 +148,9 @@ public class TurnToAngle extends Command
         Robot.dt.setTalonSensorPhase(Drivetrain.Pigeon.LEFT_SENSOR_PHASE, 
                 Drivetrain.Pigeon.RIGHT_SENSOR_PHASE);
 
-        Robot.dt.setLeft(ControlMode.MotionMagic, -angle);
-        Robot.dt.setRight(ControlMode.MotionMagic, angle);
+        // the configuration is sent in the background; hold still until it has been
+        Robot.dt.setBoth(ControlMode.PercentOutput, 0);
+        configured = Robot.dt.getConfigCompletion();
     }
 
     /**
@@ -146,6 +158,10 @@ public class TurnToAngle extends Command
      */
     public void execute()
     {
+        if (!configured.isDone())
+            return;
+        Robot.dt.setLeft(ControlMode.MotionMagic, -angle);
+        Robot.dt.setRight(ControlMode.MotionMagic, angle);
         if (numExecutes >= 0 && numExecutes < maxExecutes)
             numExecutes++;
         else
@@ -167,8 +183,10 @@ public class TurnToAngle extends Command
         {
             return true; //end early
         }
+        if (!configured.isDone())
+            return false;
         
-        previousErrors[errorIndex] = Robot.dt.getRightMaster().getClosedLoopError(RobotMap.PRIMARY_PID_INDEX);
+        previousErrors[errorIndex] = SensorSnapshot.getInstance().get(SensorSnapshot.Signal.RIGHT_ERROR);
         errorIndex = (errorIndex + 1) % previousErrors.length;
         if (numExecutes == -1)
         {
@@ -187,7 +205,7 @@ public class TurnToAngle extends Command
      */
     public void end()
     {
-        ;
+        StatusFrameManager.getInstance().release(Robot.dt, StatusFrameProfile.TURN);
     }
     
 }
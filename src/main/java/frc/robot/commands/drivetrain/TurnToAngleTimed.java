@@ -26,15 +26,15 @@ public class TurnToAngleTimed extends TimedCommand {
     @Override
     public void execute() 
     {
-        Robot.dt.getLeftMaster().set(ControlMode.PercentOutput, ((direction == TurnDirection.RIGHT) ? 1 : -1));
-        Robot.dt.getRightMaster().set(ControlMode.PercentOutput, ((direction == TurnDirection.RIGHT) ? -1 : 1));
+        Robot.dt.getHardware().getLeft().set(ControlMode.PercentOutput, ((direction == TurnDirection.RIGHT) ? 1 : -1));
+        Robot.dt.getHardware().getRight().set(ControlMode.PercentOutput, ((direction == TurnDirection.RIGHT) ? -1 : 1));
         System.out.println("turn angle");
     }
 
     @Override
     public void end()
     {
-        Robot.dt.getLeftMaster().set(ControlMode.Disabled, 0);
-        Robot.dt.getRightMaster().set(ControlMode.Disabled, 0);
+        Robot.dt.getHardware().getLeft().set(ControlMode.Disabled, 0);
+        Robot.dt.getHardware().getRight().set(ControlMode.Disabled, 0);
     }
 }
\ No newline at end of file
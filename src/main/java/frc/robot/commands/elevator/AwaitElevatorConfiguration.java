@@ -0,0 +1,41 @@
+package frc.robot.commands.elevator;
+
+import java.util.concurrent.CompletableFuture;
+
+import frc.robot.Robot;
+
+import com.ctre.phoenix.ErrorCode;
+
+import edu.wpi.first.wpilibj.command.Command;
+
+/**
+ * Waits until every configuration write queued for the elevator, including the zeroing of its
+ * sensor, has been sent, so that a following command which decides from the elevator's position
+ * does not read the position from before it was zeroed.
+ * @author agent
+ * @version 10/18/26
+ */
+public class AwaitElevatorConfiguration extends Command
+{
+    /**
+     * Completes once the writes queued before this command started have been sent.
+     */
+    private CompletableFuture<ErrorCode> configured;
+
+    /**
+     * Initializes the command by finding the writes to wait for.
+     */
+    public void initialize()
+    {
+        configured = Robot.el.getConfigCompletion();
+    }
+
+    /**
+     * Determines whether the writes have been sent.
+     * @return true if the elevator has been configured; false otherwise
+     */
+    protected boolean isFinished()
+    {
+        return configured.isDone();
+    }
+}
@@ -1,10 +1,13 @@
 package frc.robot.commands.elevator;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 import frc.robot.subsystems.Elevator;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
 import edu.wpi.first.wpilibj.command.Command;
@@ -20,6 +23,11 @@ public class MoveElevatorMotionMagic extends Command
      * The intended position for the motion magic closed loop.
      */
     private double position;
+
+    /**
+     * Completes once the elevator has been configured (and zeroed, if it was being).
+     */
+    private CompletableFuture<ErrorCode> configured;
     
     /**
      * Creates a new MoveElevatorMotionMagic.
@@ -36,8 +44,9 @@ public class MoveElevatorMotionMagic extends Command
      */
     public void initialize()
     {  
-        Robot.el.getBottomRightTalon().configSelectedFeedbackSensor
-        (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
+        Robot.el.getMaster().configSelectedFeedbackSensor
+        (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        configured = Robot.el.getConfigCompletion();
         
         // Robot.el.moveElevatorMotionMagic(position);
         ;
@@ -59,7 +68,7 @@ public class MoveElevatorMotionMagic extends Command
     * @return true if the command has finished; false otherwise
     */
     protected boolean isFinished() {
-        return true;//Math.abs(Robot.el.getBottomRightTalon().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX) - position) <= 
+        return configured.isDone();//Math.abs(Robot.el.getMaster().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX) - position) <= 
                 //Elevator.POS_ALLOWABLE_ERROR;
     }
     
@@ -1,10 +1,13 @@
 package frc.robot.commands.elevator;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 import frc.robot.subsystems.Elevator;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
 import edu.wpi.first.wpilibj.command.Command;
@@ -21,6 +24,11 @@ public class MoveElevatorMotionMagicIndefinite extends Command
      */
     private double position;
 
+    /**
+     * Completes once the elevator has been configured (and zeroed, if it was being).
+     */
+    private CompletableFuture<ErrorCode> configured;
+
     /**
      * Creates a new MoveElevatorMotionMagic.
      * @param position the position to which the robot should be moved
@@ -36,8 +44,9 @@ public class MoveElevatorMotionMagicIndefinite extends Command
      */
     public void initialize()
     {
-        Robot.el.getBottomRightTalon().configSelectedFeedbackSensor
-                (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
+        Robot.el.getMaster().configSelectedFeedbackSensor
+                (FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        configured = Robot.el.getConfigCompletion();
 
         // Robot.el.moveElevatorMotionMagic(position);
         ;
@@ -56,7 +65,7 @@ public class MoveElevatorMotionMagicIndefinite extends Command
      * @return true if the command has finished; false otherwise
      */
     protected boolean isFinished() {
-        return true;
+        return configured.isDone();
     }
 
 }
@@ -1,8 +1,11 @@
 package frc.robot.commands.elevator;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
 import frc.robot.RobotMap;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
 import edu.wpi.first.wpilibj.command.Command;
@@ -20,6 +23,11 @@ public class MoveElevatorPosition extends Command
      */
     private double position;
     
+    /**
+     * Completes once the elevator has been configured (and zeroed, if it was being).
+     */
+    private CompletableFuture<ErrorCode> configured;
+    
     /**
      * Creates a new MoveElevatorPosition.
      * @param position the position to move to
@@ -34,7 +42,8 @@ public class MoveElevatorPosition extends Command
      */
     public void initialize()
     {
-        Robot.el.getBottomRightTalon().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
+        Robot.el.getMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        configured = Robot.el.getConfigCompletion();
     }
     
     /**
@@ -49,5 +58,5 @@ public class MoveElevatorPosition extends Command
      * 
      * @return true if the command is complete; false otherwise
      */
-    protected boolean isFinished() { return true; }
+    protected boolean isFinished() { return configured.isDone(); }
 }
@@ -1,8 +1,12 @@
 package frc.robot.commands.elevator;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
 import frc.robot.RobotMap;
+import frc.robot.util.SensorSnapshot;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
@@ -18,26 +22,34 @@ public class ZeroElevator extends Command {
 	public static final double STALL_CURRENT = 7;
 	public static final double DOWN_SPEED = -0.3 - 0.1;
 	public static final int END_HEIGHT = -616;
+	
+	// completes once the new position has been sent, or null until the elevator has stalled
+	private CompletableFuture<ErrorCode> zeroed;
+	
 	public ZeroElevator () {
 		requires (Robot.el);
 	}
 	
 	public void initialize() {
-		Robot.el.getBottomRightTalon().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX);
+		zeroed = null;
+		Robot.el.getMaster().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
 		
-		Robot.el.getBottomRightTalon().set(ControlMode.PercentOutput, DOWN_SPEED);
+		Robot.el.getMaster().set(ControlMode.PercentOutput, DOWN_SPEED);
 	}
 	
 	public void execute() {
-		Robot.el.getBottomRightTalon().set(ControlMode.PercentOutput, DOWN_SPEED);
+		Robot.el.getMaster().set(ControlMode.PercentOutput, DOWN_SPEED);
+		if (zeroed == null && SensorSnapshot.getInstance().get(SensorSnapshot.Signal.ELEVATOR_CURRENT) > STALL_CURRENT) {
+			Robot.el.getMaster().setSelectedSensorPosition(END_HEIGHT, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+			zeroed = Robot.el.getConfigCompletion();
+		}
 	}
+	
+	// the position is set in the background, so the command holds the elevator against the stop
+	// until it has been sent, and the next command never reads the position from before
 	@Override
 	protected boolean isFinished() {
-		return Robot.el.getBottomRightTalon().getOutputCurrent() > STALL_CURRENT;
-	}
-	
-	protected void end () {
-		Robot.el.getBottomRightTalon().setSelectedSensorPosition(END_HEIGHT, RobotMap.PRIMARY_PID_INDEX);
+		return zeroed != null && zeroed.isDone();
 	}
 	
 	
@@ -1,9 +1,9 @@
 package frc.robot.commands.intake;
 
-import edu.wpi.first.wpilibj.command.TimedCommand;
 import frc.robot.Robot;
 import frc.robot.subsystems.Intake;
 import frc.robot.subsystems.Intake.IntakeType;
+import frc.robot.util.Clock;
 
 import edu.wpi.first.wpilibj.command.Command;
 
@@ -12,7 +12,7 @@ import edu.wpi.first.wpilibj.command.Command;
  * @author Finn Frankis
  * @version 6/21/18
  */
-public class IntakeOuttakeTimed extends TimedCommand
+public class IntakeOuttakeTimed extends Command
 {
     /**
      * Whether to intake or outtake (true for intake, false for outtake).
@@ -32,7 +32,6 @@ public class IntakeOuttakeTimed extends TimedCommand
      */
     public IntakeOuttakeTimed(double timeout, IntakeType intake)
     {
-        super(timeout);
         requires(Robot.intake);
         this.intake = intake;
         this.timeout = timeout;
@@ -44,6 +43,14 @@ public class IntakeOuttakeTimed extends TimedCommand
         this.speed = speed;
     }
     
+    /**
+     * Initializes the command, starting the timeout from the time at which it is run.
+     */
+    public void initialize()
+    {
+        startTime = Clock.getTimestamp();
+    }
+
     /**
      * Executes the command periodically.
      */
@@ -58,4 +65,14 @@ public class IntakeOuttakeTimed extends TimedCommand
         else
             Robot.intake.intakeOuttakeCube(0);
     }
+
+    /**
+     * Determines whether the command has finished.
+     * @return true if timeout seconds have elapsed since the command began; false otherwise
+     */
+    @Override
+    protected boolean isFinished()
+    {
+        return Clock.getTimestamp() - startTime >= timeout;
+    }
 }
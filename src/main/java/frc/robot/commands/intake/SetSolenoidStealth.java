@@ -1,14 +1,18 @@
 package frc.robot.commands.intake;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.Robot;
-import frc.robot.RobotMap;
 import frc.robot.commands.elevator.MoveElevatorMotionMagic;
 import frc.robot.subsystems.Elevator;
 import frc.robot.subsystems.Intake;
 import frc.robot.subsystems.Pneumatics.SolenoidDirection;
+import frc.robot.util.SensorSnapshot;
+
+import com.ctre.phoenix.ErrorCode;
 
 import edu.wpi.first.wpilibj.DoubleSolenoid;
-import edu.wpi.first.wpilibj.command.InstantCommand;
+import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Represents a command to set the solenoid to a given state.
@@ -16,12 +20,23 @@ import edu.wpi.first.wpilibj.command.InstantCommand;
  * @author Finn Frankis
  * @version 6/14/18
  */
-public class SetSolenoidStealth extends InstantCommand {
+public class SetSolenoidStealth extends Command {
 	/**
 	 * The intended state for the solenoid.
 	 */
 	private SolenoidDirection solenoidState;
 
+	/**
+	 * Completes once the elevator has been configured (and zeroed, if it was being), before
+	 * which its position cannot be relied on.
+	 */
+	private CompletableFuture<ErrorCode> configured;
+
+	/**
+	 * Whether or not the solenoid has been set.
+	 */
+	private boolean isSet;
+
 	/**
 	 * Sets up the solenoid command, requiring the intake.
 	 * 
@@ -34,12 +49,28 @@ public class SetSolenoidStealth extends InstantCommand {
 	}
 
 	/**
-	 * Sets a given solenoid to a given state.
+	 * Finds the elevator configuration to wait for.
 	 */
 	public void initialize() {
+		configured = Robot.el.getConfigCompletion();
+		isSet = false;
+	}
+
+	/**
+	 * Sets a given solenoid to a given state, once the elevator's position can be relied on.
+	 */
+	public void execute() {
+		if (isSet || !configured.isDone())
+			return;
 		if (solenoidState == SolenoidDirection.DOWN
-				&& Robot.el.getBottomRightTalon().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX) <= Elevator.INTAKE_HEIGHT)
+				&& SensorSnapshot.getInstance().get(SensorSnapshot.Signal.ELEVATOR_POSITION) <= Elevator.INTAKE_HEIGHT)
 				new MoveElevatorMotionMagic(Elevator.INTAKE_HEIGHT).start();
 			Intake.pn.setSolenoid(solenoidState);
+		isSet = true;
+	}
+
+	@Override
+	protected boolean isFinished() {
+		return isSet;
 	}
 }
@@ -1,6 +1,7 @@
 package frc.robot.commands.util;
 
-import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.Clock;
+
 import edu.wpi.first.wpilibj.command.InstantCommand;
 
 /**
@@ -12,6 +13,6 @@ public class PrintTimeToConsole extends InstantCommand
 {
     public void initialize()
     {
-        System.out.println(Timer.getFPGATimestamp());
+        System.out.println(Clock.getTimestamp());
     }
 }
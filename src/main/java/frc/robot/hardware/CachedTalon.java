@@ -0,0 +1,991 @@
+package frc.robot.hardware;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import frc.robot.RobotMap;
+import frc.robot.util.Telemetry;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.SensorTerm;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+
+import harkerrobolib.wrappers.HSTalon;
+
+/**
+ * An HSTalon which remembers the last value written to each configuration parameter (per slot)
+ * and skips any write which would not change it. Each write otherwise costs a blocking CAN round
+ * trip, and the commands reconfigure the same loops every time they start.
+ * <p>
+ * The writes which are not skipped are sent through the ConfigQueue rather than on the calling
+ * thread, so every configuration method (and setting the sensor position, returning to the factory
+ * defaults or clearing an underrun, which are queued in order with them) returns immediately with
+ * ErrorCode.OK. A command which depends on the new configuration should wait on
+ * getConfigCompletion() before relying on it.
+ * <p>
+ * The cache holds the value most recently queued for each parameter and slot in a primitive
+ * array, so looking a value up allocates nothing. It is cleared whenever the Talon is returned to
+ * its factory defaults or reports that it has reset, and a parameter is forgotten if a write to it
+ * fails. The writes queued between two changes of control mode prepare for the second, and are
+ * attributed to that transition when they are queued, however long after it they are sent. On
+ * every change, the number of writes sent and skipped for the transition just completed is
+ * published through Telemetry, along with the time the skipped writes would have taken at the
+ * average measured for those sent; the values are updated as its remaining writes are sent.
+ * <p>
+ * The calls which set the output (or stream a trajectory point), write the configuration and read
+ * a status signal are counted, for the CanBusMonitor to report per robot loop. Reading a signal
+ * only reads the value last received, so the reads count against the status frames which carry
+ * them rather than adding traffic of their own.
+ * @author agent
+ * @version 10/18/26
+ */
+public class CachedTalon extends HSTalon
+{
+    /**
+     * The kinds of call counted.
+     */
+    public enum Call
+    {
+        SET, CONFIG, GET
+    }
+
+    /**
+     * The number of gain slots, sensor terms and status frames whose values are cached.
+     */
+    private static final int GAIN_SLOTS = 4;
+    private static final int PID_LOOPS = 2;
+    private static final int SENSOR_TERMS = 4;
+    private static final int STATUS_FRAMES = 64;
+
+    /**
+     * The arbitration ID of the first status frame, and the spacing between those of the frames.
+     */
+    private static final int FIRST_STATUS_FRAME = 0x1400;
+    private static final int STATUS_FRAME_SPACING = 0x40;
+
+    /**
+     * The value held by a parameter whose value is not known, which equals no value written.
+     */
+    private static final double UNKNOWN = Double.NaN;
+
+    /**
+     * The configuration parameters whose values are cached, each with the number of slots in
+     * which it has its own value.
+     */
+    private enum Param
+    {
+        KP(GAIN_SLOTS), KI(GAIN_SLOTS), KD(GAIN_SLOTS), KF(GAIN_SLOTS), INTEGRAL_ZONE(GAIN_SLOTS),
+        ALLOWABLE_ERROR(GAIN_SLOTS), MAX_INTEGRAL(GAIN_SLOTS), CLOSED_LOOP_PEAK(GAIN_SLOTS),
+        CLOSED_LOOP_PERIOD(GAIN_SLOTS), AUX_POLARITY(1), CRUISE_VELOCITY(1), ACCELERATION(1),
+        TRAJECTORY_PERIOD(1), FEEDBACK_SENSOR(PID_LOOPS), FEEDBACK_COEFFICIENT(PID_LOOPS),
+        REMOTE_FILTER(PID_LOOPS), SENSOR_TERM(SENSOR_TERMS), OPEN_LOOP_RAMP(1), CLOSED_LOOP_RAMP(1),
+        PEAK_FORWARD(1), PEAK_REVERSE(1), NOMINAL_FORWARD(1), NOMINAL_REVERSE(1), NEUTRAL_DEADBAND(1),
+        VOLTAGE_COMP(1), PEAK_CURRENT(1), PEAK_DURATION(1), CONTINUOUS_CURRENT(1),
+        FORWARD_SOFT_THRESHOLD(1), REVERSE_SOFT_THRESHOLD(1), FORWARD_SOFT_ENABLE(1),
+        REVERSE_SOFT_ENABLE(1), STATUS_FRAME(STATUS_FRAMES);
+
+        private final int slots;
+
+        Param (int slots)
+        {
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * The index of each parameter's first slot in the cache, by ordinal.
+     */
+    private static final int[] OFFSETS = new int[Param.values().length];
+
+    /**
+     * The number of values in the cache.
+     */
+    private static final int CACHE_SIZE;
+
+    /**
+     * The key identifying each value's pending write in the ConfigQueue, by index, created once
+     * so that queueing a write does not box one.
+     */
+    private static final Integer[] KEYS;
+
+    static
+    {
+        int size = 0;
+        for (Param param : Param.values())
+        {
+            OFFSETS[param.ordinal()] = size;
+            size += param.slots;
+        }
+        CACHE_SIZE = size;
+        KEYS = new Integer[size];
+        for (int i = 0; i < size; i++)
+            KEYS[i] = i;
+    }
+
+    /**
+     * The writes queued while preparing for a control mode, guarded by the Talon's lock.
+     */
+    private static class Transition
+    {
+        private ControlMode to;
+        private int writes;
+        private int skipped;
+        private long writeNanos;
+    }
+
+    /**
+     * The value most recently queued for each parameter and slot, or UNKNOWN.
+     */
+    private final double[] values = new double[CACHE_SIZE];
+
+    /**
+     * The mode most recently set, read without locking on every set(); it is only changed
+     * under the Talon's lock.
+     */
+    private volatile ControlMode lastMode;
+
+    /**
+     * The transition to which writes are currently attributed, and the last one completed.
+     */
+    private Transition transition = new Transition();
+    private Transition lastTransition;
+
+    private Telemetry.Slot transitionModeSlot;
+    private Telemetry.Slot transitionWritesSlot;
+    private Telemetry.Slot transitionSkippedSlot;
+    private Telemetry.Slot transitionWriteMsSlot;
+    private Telemetry.Slot transitionSavedMsSlot;
+
+    private int totalWrites;
+    private int totalSkipped;
+    private long totalWriteNanos;
+
+    private final AtomicIntegerArray calls = new AtomicIntegerArray(Call.values().length);
+    private volatile int motionControlFramePeriod = RobotMap.TIME_PER_TRAJECTORY_POINT_MS;
+
+    /**
+     * Constructs a new CachedTalon.
+     * @param deviceNumber the CAN ID of the Talon
+     */
+    public CachedTalon (int deviceNumber)
+    {
+        super(deviceNumber);
+        Arrays.fill(values, UNKNOWN);
+        createSlots();
+    }
+
+    /**
+     * Constructs a new CachedTalon.
+     * @param deviceNumber the CAN ID of the Talon
+     * @param defaultTimeout the timeout used by the configuration methods which take none
+     */
+    public CachedTalon (int deviceNumber, int defaultTimeout)
+    {
+        super(deviceNumber, defaultTimeout);
+        Arrays.fill(values, UNKNOWN);
+        createSlots();
+    }
+
+    /**
+     * Creates the dashboard values for the last transition between control modes.
+     */
+    private void createSlots()
+    {
+        String prefix = "Talon " + getDeviceID() + " ";
+        transitionModeSlot = Telemetry.getSlot(prefix + "Last Mode Change");
+        transitionWritesSlot = Telemetry.getSlot(prefix + "Config Writes Sent");
+        transitionSkippedSlot = Telemetry.getSlot(prefix + "Config Writes Skipped");
+        transitionWriteMsSlot = Telemetry.getSlot(prefix + "Config Write ms");
+        transitionSavedMsSlot = Telemetry.getSlot(prefix + "Config Saved ms");
+    }
+
+    /**
+     * Gets the index in the cache of a parameter's value in a slot.
+     * @return the index, or -1 if the slot is not one in which the parameter is cached
+     */
+    private static int getIndex (Param param, int slot)
+    {
+        return slot >= 0 && slot < param.slots ? OFFSETS[param.ordinal()] + slot : -1;
+    }
+
+    /**
+     * Gets the slot in which a status frame's period is cached.
+     * @param frameValue the arbitration ID of the frame
+     * @return the slot, or -1 if the value is not that of a status frame
+     */
+    private static int getFrameSlot (int frameValue)
+    {
+        int offset = frameValue - FIRST_STATUS_FRAME;
+        return offset >= 0 && offset % STATUS_FRAME_SPACING == 0 ? offset / STATUS_FRAME_SPACING : -1;
+    }
+
+    /**
+     * Queues a write to a parameter unless it already holds the value, counting the write as
+     * skipped if so. A write to a slot which is not cached is always queued.
+     * @return ErrorCode.OK, as the result of the write is not yet known
+     */
+    private ErrorCode enqueue (Param param, int slot, final double value, final ConfigQueue.Write write)
+    {
+        count(Call.CONFIG);
+        final int index = getIndex(param, slot);
+        final Transition queuedIn;
+        synchronized (this)
+        {
+            if (hasResetOccurred())
+                Arrays.fill(values, UNKNOWN);
+            if (index >= 0 && values[index] == value)
+            {
+                transition.skipped++;
+                totalSkipped++;
+                return ErrorCode.OK;
+            }
+            if (index >= 0)
+                values[index] = value;
+            queuedIn = transition;
+        }
+        // a write which is not cached is never coalesced with another
+        Object key = index >= 0 ? KEYS[index] : new Object();
+        ConfigQueue.getInstance().submit(this, key, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                long start = System.nanoTime();
+                return wrote(index, value, queuedIn, start, write.apply());
+            }
+        });
+        return ErrorCode.OK;
+    }
+
+    /**
+     * Records the result of a write against the transition in which it was queued, forgetting the
+     * parameter if the write failed and no other value has been queued for it since.
+     * @param index the index of the parameter in the cache, or -1 if it is not cached
+     * @param queuedIn the transition during which the write was queued
+     * @param start the time at which the write began (ns)
+     * @return the error code
+     */
+    private synchronized ErrorCode wrote (int index, double value, Transition queuedIn, long start, ErrorCode error)
+    {
+        long elapsed = System.nanoTime() - start;
+        queuedIn.writes++;
+        queuedIn.writeNanos += elapsed;
+        totalWrites++;
+        totalWriteNanos += elapsed;
+        // a write sent after its transition completed updates the values already published
+        if (queuedIn == lastTransition)
+            publish(queuedIn);
+        if (error != ErrorCode.OK && index >= 0 && values[index] == value)
+            values[index] = UNKNOWN;
+        return error;
+    }
+
+    /**
+     * Gets a future which completes once every write queued so far for this Talon has been sent.
+     * @return the future
+     */
+    public CompletableFuture<ErrorCode> getConfigCompletion()
+    {
+        return ConfigQueue.getInstance().getCompletion(this);
+    }
+
+    /**
+     * Determines whether every write queued so far for this Talon has been sent.
+     * @return true if nothing is left to send; false otherwise
+     */
+    public boolean isConfigured()
+    {
+        return getConfigCompletion().isDone();
+    }
+
+    /**
+     * Forgets every cached value, so that the next write to each parameter is sent.
+     */
+    public synchronized void invalidate()
+    {
+        Arrays.fill(values, UNKNOWN);
+    }
+
+    /**
+     * Gets the number of writes sent since the Talon was constructed.
+     * @return the number of writes
+     */
+    public synchronized int getTotalWrites()
+    {
+        return totalWrites;
+    }
+
+    /**
+     * Gets the number of writes skipped since the Talon was constructed.
+     * @return the number of writes
+     */
+    public synchronized int getTotalSkipped()
+    {
+        return totalSkipped;
+    }
+
+    /**
+     * Gets the time the skipped writes would have taken, at the average measured for those sent.
+     * @return the time (ms)
+     */
+    public synchronized double getTotalSavedMs()
+    {
+        return totalWrites == 0 ? 0 : totalSkipped * (totalWriteNanos / 1e6 / totalWrites);
+    }
+
+    /**
+     * Counts a call.
+     */
+    private void count (Call call)
+    {
+        calls.incrementAndGet(call.ordinal());
+    }
+
+    /**
+     * Gets the number of calls of a kind made since the previous time they were taken, and
+     * restarts the count.
+     * @param call the kind of call
+     * @return the number of calls
+     */
+    public int takeCalls (Call call)
+    {
+        return calls.getAndSet(call.ordinal(), 0);
+    }
+
+    /**
+     * Gets the period at which trajectory points are sent while a motion profile is streaming.
+     * @return the period (ms)
+     */
+    public int getMotionControlFramePeriod()
+    {
+        return motionControlFramePeriod;
+    }
+
+    @Override
+    public ErrorCode changeMotionControlFramePeriod (int periodMs)
+    {
+        count(Call.CONFIG);
+        motionControlFramePeriod = periodMs;
+        return super.changeMotionControlFramePeriod(periodMs);
+    }
+
+    @Override
+    public void processMotionProfileBuffer()
+    {
+        count(Call.SET);
+        super.processMotionProfileBuffer();
+    }
+
+    @Override
+    public int getSelectedSensorPosition (int pidIdx)
+    {
+        count(Call.GET);
+        return super.getSelectedSensorPosition(pidIdx);
+    }
+
+    @Override
+    public int getSelectedSensorVelocity (int pidIdx)
+    {
+        count(Call.GET);
+        return super.getSelectedSensorVelocity(pidIdx);
+    }
+
+    @Override
+    public int getClosedLoopError (int pidIdx)
+    {
+        count(Call.GET);
+        return super.getClosedLoopError(pidIdx);
+    }
+
+    @Override
+    public int getClosedLoopTarget (int pidIdx)
+    {
+        count(Call.GET);
+        return super.getClosedLoopTarget(pidIdx);
+    }
+
+    @Override
+    public double getMotorOutputPercent()
+    {
+        count(Call.GET);
+        return super.getMotorOutputPercent();
+    }
+
+    @Override
+    public double getOutputCurrent()
+    {
+        count(Call.GET);
+        return super.getOutputCurrent();
+    }
+
+    @Override
+    public double getBusVoltage()
+    {
+        count(Call.GET);
+        return super.getBusVoltage();
+    }
+
+    @Override
+    public int getActiveTrajectoryPosition()
+    {
+        count(Call.GET);
+        return super.getActiveTrajectoryPosition();
+    }
+
+    @Override
+    public int getActiveTrajectoryVelocity()
+    {
+        count(Call.GET);
+        return super.getActiveTrajectoryVelocity();
+    }
+
+    @Override
+    public double getActiveTrajectoryHeading()
+    {
+        count(Call.GET);
+        return super.getActiveTrajectoryHeading();
+    }
+
+    @Override
+    public ErrorCode getMotionProfileStatus (MotionProfileStatus statusToFill)
+    {
+        count(Call.GET);
+        return super.getMotionProfileStatus(statusToFill);
+    }
+
+    @Override
+    public void set (ControlMode mode, double demand0, DemandType demand1Type, double demand1)
+    {
+        count(Call.SET);
+        if (mode != lastMode)
+            reportTransition(mode);
+        super.set(mode, demand0, demand1Type, demand1);
+    }
+
+    /**
+     * Completes the transition into a new control mode, publishing the writes queued for it, and
+     * begins attributing writes to the next.
+     */
+    private synchronized void reportTransition (ControlMode mode)
+    {
+        if (mode == lastMode)
+            return;
+        transition.to = mode;
+        lastTransition = transition;
+        publish(transition);
+        lastMode = mode;
+        transition = new Transition();
+    }
+
+    /**
+     * Publishes the writes sent and skipped for a transition.
+     */
+    private void publish (Transition t)
+    {
+        transitionModeSlot.set(t.to.value);
+        transitionWritesSlot.set(t.writes);
+        transitionSkippedSlot.set(t.skipped);
+        transitionWriteMsSlot.set(t.writeNanos / 1e6);
+        transitionSavedMsSlot.set(t.writes == 0 ? 0 : t.skipped * (t.writeNanos / 1e6 / t.writes));
+    }
+
+    @Override
+    public ErrorCode configFactoryDefault (final int timeoutMs)
+    {
+        count(Call.CONFIG);
+        invalidate();
+        // the pending writes would be overwritten by the defaults, so they are dropped
+        ConfigQueue.getInstance().submitReset(this, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configFactoryDefault(timeoutMs);
+            }
+        });
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        invalidate();
+    }
+
+    @Override
+    public ErrorCode setSelectedSensorPosition (final int sensorPos, final int pidIdx, final int timeoutMs)
+    {
+        count(Call.CONFIG);
+        ConfigQueue.getInstance().submitBarrier(this, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.setSelectedSensorPosition(sensorPos, pidIdx, timeoutMs);
+            }
+        });
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode clearMotionProfileHasUnderrun (final int timeoutMs)
+    {
+        count(Call.CONFIG);
+        ConfigQueue.getInstance().submitBarrier(this, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.clearMotionProfileHasUnderrun(timeoutMs);
+            }
+        });
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode config_kP (final int slotIdx, final double value, final int timeoutMs)
+    {
+        return enqueue(Param.KP, slotIdx, value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.config_kP(slotIdx, value, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode config_kI (final int slotIdx, final double value, final int timeoutMs)
+    {
+        return enqueue(Param.KI, slotIdx, value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.config_kI(slotIdx, value, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode config_kD (final int slotIdx, final double value, final int timeoutMs)
+    {
+        return enqueue(Param.KD, slotIdx, value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.config_kD(slotIdx, value, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode config_kF (final int slotIdx, final double value, final int timeoutMs)
+    {
+        return enqueue(Param.KF, slotIdx, value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.config_kF(slotIdx, value, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode config_IntegralZone (final int slotIdx, final int izone, final int timeoutMs)
+    {
+        return enqueue(Param.INTEGRAL_ZONE, slotIdx, izone, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.config_IntegralZone(slotIdx, izone, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configAllowableClosedloopError (final int slotIdx, final int allowableCloseLoopError,
+            final int timeoutMs)
+    {
+        return enqueue(Param.ALLOWABLE_ERROR, slotIdx, allowableCloseLoopError, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configAllowableClosedloopError(slotIdx, allowableCloseLoopError, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configMaxIntegralAccumulator (final int slotIdx, final double iaccum, final int timeoutMs)
+    {
+        return enqueue(Param.MAX_INTEGRAL, slotIdx, iaccum, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configMaxIntegralAccumulator(slotIdx, iaccum, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configClosedLoopPeakOutput (final int slotIdx, final double percentOut, final int timeoutMs)
+    {
+        return enqueue(Param.CLOSED_LOOP_PEAK, slotIdx, percentOut, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configClosedLoopPeakOutput(slotIdx, percentOut, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configClosedLoopPeriod (final int slotIdx, final int loopTimeMs, final int timeoutMs)
+    {
+        return enqueue(Param.CLOSED_LOOP_PERIOD, slotIdx, loopTimeMs, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configClosedLoopPeriod(slotIdx, loopTimeMs, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configAuxPIDPolarity (final boolean invert, final int timeoutMs)
+    {
+        return enqueue(Param.AUX_POLARITY, 0, invert ? 1 : 0, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configAuxPIDPolarity(invert, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configMotionCruiseVelocity (final int sensorUnitsPer100ms, final int timeoutMs)
+    {
+        return enqueue(Param.CRUISE_VELOCITY, 0, sensorUnitsPer100ms, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configMotionAcceleration (final int sensorUnitsPer100msPerSec, final int timeoutMs)
+    {
+        return enqueue(Param.ACCELERATION, 0, sensorUnitsPer100msPerSec, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configMotionProfileTrajectoryPeriod (final int baseTrajDurationMs, final int timeoutMs)
+    {
+        return enqueue(Param.TRAJECTORY_PERIOD, 0, baseTrajDurationMs, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configMotionProfileTrajectoryPeriod(baseTrajDurationMs, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configSelectedFeedbackSensor (final FeedbackDevice feedbackDevice, final int pidIdx,
+            final int timeoutMs)
+    {
+        return enqueue(Param.FEEDBACK_SENSOR, pidIdx, feedbackDevice.value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configSelectedFeedbackSensor (final RemoteFeedbackDevice feedbackDevice, final int pidIdx,
+            final int timeoutMs)
+    {
+        // the remote devices share their values with the matching FeedbackDevice
+        return enqueue(Param.FEEDBACK_SENSOR, pidIdx, feedbackDevice.value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configSelectedFeedbackCoefficient (final double coefficient, final int pidIdx, final int timeoutMs)
+    {
+        return enqueue(Param.FEEDBACK_COEFFICIENT, pidIdx, coefficient, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configSelectedFeedbackCoefficient(coefficient, pidIdx, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configRemoteFeedbackFilter (final int deviceID, final RemoteSensorSource remoteSensorSource,
+            final int remoteOrdinal, final int timeoutMs)
+    {
+        // both settings of the filter are packed into one value
+        double value = deviceID * 256.0 + remoteSensorSource.value;
+        return enqueue(Param.REMOTE_FILTER, remoteOrdinal, value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configRemoteFeedbackFilter(deviceID, remoteSensorSource, remoteOrdinal,
+                        timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configSensorTerm (final SensorTerm sensorTerm, final FeedbackDevice feedbackDevice,
+            final int timeoutMs)
+    {
+        return enqueue(Param.SENSOR_TERM, sensorTerm.value, feedbackDevice.value, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configSensorTerm(sensorTerm, feedbackDevice, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configOpenloopRamp (final double secondsFromNeutralToFull, final int timeoutMs)
+    {
+        return enqueue(Param.OPEN_LOOP_RAMP, 0, secondsFromNeutralToFull, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configOpenloopRamp(secondsFromNeutralToFull, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configClosedloopRamp (final double secondsFromNeutralToFull, final int timeoutMs)
+    {
+        return enqueue(Param.CLOSED_LOOP_RAMP, 0, secondsFromNeutralToFull, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configClosedloopRamp(secondsFromNeutralToFull, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configPeakOutputForward (final double percentOut, final int timeoutMs)
+    {
+        return enqueue(Param.PEAK_FORWARD, 0, percentOut, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configPeakOutputForward(percentOut, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configPeakOutputReverse (final double percentOut, final int timeoutMs)
+    {
+        return enqueue(Param.PEAK_REVERSE, 0, percentOut, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configPeakOutputReverse(percentOut, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configNominalOutputForward (final double percentOut, final int timeoutMs)
+    {
+        return enqueue(Param.NOMINAL_FORWARD, 0, percentOut, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configNominalOutputForward(percentOut, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configNominalOutputReverse (final double percentOut, final int timeoutMs)
+    {
+        return enqueue(Param.NOMINAL_REVERSE, 0, percentOut, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configNominalOutputReverse(percentOut, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configNeutralDeadband (final double percentDeadband, final int timeoutMs)
+    {
+        return enqueue(Param.NEUTRAL_DEADBAND, 0, percentDeadband, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configNeutralDeadband(percentDeadband, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configVoltageCompSaturation (final double voltage, final int timeoutMs)
+    {
+        return enqueue(Param.VOLTAGE_COMP, 0, voltage, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configVoltageCompSaturation(voltage, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configPeakCurrentLimit (final int amps, final int timeoutMs)
+    {
+        return enqueue(Param.PEAK_CURRENT, 0, amps, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configPeakCurrentLimit(amps, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configPeakCurrentDuration (final int milliseconds, final int timeoutMs)
+    {
+        return enqueue(Param.PEAK_DURATION, 0, milliseconds, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configPeakCurrentDuration(milliseconds, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configContinuousCurrentLimit (final int amps, final int timeoutMs)
+    {
+        return enqueue(Param.CONTINUOUS_CURRENT, 0, amps, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configContinuousCurrentLimit(amps, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configForwardSoftLimitThreshold (final int forwardSensorLimit, final int timeoutMs)
+    {
+        return enqueue(Param.FORWARD_SOFT_THRESHOLD, 0, forwardSensorLimit, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configForwardSoftLimitThreshold(forwardSensorLimit, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configReverseSoftLimitThreshold (final int reverseSensorLimit, final int timeoutMs)
+    {
+        return enqueue(Param.REVERSE_SOFT_THRESHOLD, 0, reverseSensorLimit, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configReverseSoftLimitThreshold(reverseSensorLimit, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configForwardSoftLimitEnable (final boolean enable, final int timeoutMs)
+    {
+        return enqueue(Param.FORWARD_SOFT_ENABLE, 0, enable ? 1 : 0, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configForwardSoftLimitEnable(enable, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode configReverseSoftLimitEnable (final boolean enable, final int timeoutMs)
+    {
+        return enqueue(Param.REVERSE_SOFT_ENABLE, 0, enable ? 1 : 0, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.configReverseSoftLimitEnable(enable, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode setStatusFramePeriod (final StatusFrame frame, final int periodMs, final int timeoutMs)
+    {
+        // the frames share their values with the matching StatusFrameEnhanced
+        return enqueue(Param.STATUS_FRAME, getFrameSlot(frame.value), periodMs, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.setStatusFramePeriod(frame, periodMs, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode setStatusFramePeriod (final StatusFrameEnhanced frame, final int periodMs, final int timeoutMs)
+    {
+        return enqueue(Param.STATUS_FRAME, getFrameSlot(frame.value), periodMs, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.setStatusFramePeriod(frame, periodMs, timeoutMs);
+            }
+        });
+    }
+
+    @Override
+    public ErrorCode setStatusFramePeriod (final int frameValue, final int periodMs, final int timeoutMs)
+    {
+        return enqueue(Param.STATUS_FRAME, getFrameSlot(frameValue), periodMs, new ConfigQueue.Write()
+        {
+            public ErrorCode apply()
+            {
+                return CachedTalon.super.setStatusFramePeriod(frameValue, periodMs, timeoutMs);
+            }
+        });
+    }
+}
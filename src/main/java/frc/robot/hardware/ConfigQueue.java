@@ -0,0 +1,269 @@
+package frc.robot.hardware;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import com.ctre.phoenix.ErrorCode;
+
+/**
+ * Applies configuration writes to motor controllers on a background thread, so that the thread
+ * which requests them never waits on a CAN round trip. Writes are kept in order per device, and
+ * the worker takes every write pending for a device as one batch before moving to the next
+ * device with writes waiting.
+ * <p>
+ * A write to a parameter which already has a write pending replaces the pending value rather than
+ * queueing a second write, unless a barrier (such as setting a sensor position) has been queued
+ * between them, since the barrier may depend on the earlier value. Each write returns a future
+ * which completes with its error code once it has been sent; getCompletion() returns one which
+ * completes once everything queued so far for a device has been sent, for a command to wait on.
+ * @author agent
+ * @version 10/18/26
+ */
+public class ConfigQueue
+{
+    private static ConfigQueue instance;
+
+    /**
+     * A single configuration write, applied on the worker thread.
+     */
+    public static abstract class Write
+    {
+        /**
+         * Sends the write, blocking until the device responds or times out.
+         * @return the error code
+         */
+        public abstract ErrorCode apply();
+    }
+
+    /**
+     * A queued write and the future completed once it has been sent.
+     */
+    private static class Op
+    {
+        private Write write;
+        private final boolean barrier;
+        private final CompletableFuture<ErrorCode> future = new CompletableFuture<ErrorCode>();
+
+        Op (Write write, boolean barrier)
+        {
+            this.write = write;
+            this.barrier = barrier;
+        }
+    }
+
+    /**
+     * The writes waiting to be sent to one device.
+     */
+    private static class Device
+    {
+        private final List<Op> pending = new ArrayList<Op>();
+        private final Map<Object, Op> coalescable = new HashMap<Object, Op>();
+        private CompletableFuture<ErrorCode> tail = CompletableFuture.completedFuture(ErrorCode.OK);
+        private boolean ready;
+    }
+
+    private final Map<Object, Device> devices = new IdentityHashMap<Object, Device>();
+    private final Queue<Device> ready = new ArrayDeque<Device>();
+
+    /**
+     * Constructs a new ConfigQueue and starts its worker thread.
+     */
+    private ConfigQueue()
+    {
+        Thread worker = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                while (true)
+                    applyBatch();
+            }
+        }, "ConfigQueue");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues a write to a parameter, replacing the value of a pending write to the same parameter
+     * if no barrier has been queued since.
+     * @param device the device to which to write
+     * @param key identifies the parameter (and slot) written, unique within the device
+     * @param write the write
+     * @return the future completed once the write (or the write which replaced it) has been sent
+     */
+    public synchronized CompletableFuture<ErrorCode> submit (Object device, Object key, Write write)
+    {
+        Device queue = getDevice(device);
+        Op op = queue.coalescable.get(key);
+        if (op != null)
+        {
+            op.write = write;
+            return op.future;
+        }
+        op = enqueue(queue, write, false);
+        queue.coalescable.put(key, op);
+        return op.future;
+    }
+
+    /**
+     * Queues a write which must be sent after every write queued before it and before every write
+     * queued after it, such as setting a sensor position or clearing a fault.
+     * @param device the device to which to write
+     * @param write the write
+     * @return the future completed once the write has been sent
+     */
+    public synchronized CompletableFuture<ErrorCode> submitBarrier (Object device, Write write)
+    {
+        Device queue = getDevice(device);
+        queue.coalescable.clear();
+        return enqueue(queue, write, true).future;
+    }
+
+    /**
+     * Drops every parameter write pending for a device and queues one which supersedes them all,
+     * such as returning the device to its factory defaults. Pending barriers are kept. The futures
+     * of the dropped writes complete with the result of the new one.
+     * @param device the device to which to write
+     * @param write the write
+     * @return the future completed once the write has been sent
+     */
+    public synchronized CompletableFuture<ErrorCode> submitReset (Object device, Write write)
+    {
+        Device queue = getDevice(device);
+        List<Op> dropped = new ArrayList<Op>(queue.coalescable.size());
+        for (int i = queue.pending.size() - 1; i >= 0; i--)
+        {
+            if (!queue.pending.get(i).barrier)
+                dropped.add(queue.pending.remove(i));
+        }
+        queue.coalescable.clear();
+        Op op = enqueue(queue, write, true);
+        for (Op old : dropped)
+            forward(op.future, old.future);
+        return op.future;
+    }
+
+    /**
+     * Gets a future which completes once every write queued so far for a device has been sent.
+     * @param device the device
+     * @return the future, already complete if nothing is pending
+     */
+    public synchronized CompletableFuture<ErrorCode> getCompletion (Object device)
+    {
+        Device queue = devices.get(device);
+        return queue == null ? CompletableFuture.completedFuture(ErrorCode.OK) : queue.tail;
+    }
+
+    /**
+     * Gets the number of writes waiting to be sent to a device.
+     * @param device the device
+     * @return the number of writes, not counting any batch being sent
+     */
+    public synchronized int getPendingCount (Object device)
+    {
+        Device queue = devices.get(device);
+        return queue == null ? 0 : queue.pending.size();
+    }
+
+    private Device getDevice (Object device)
+    {
+        Device queue = devices.get(device);
+        if (queue == null)
+        {
+            queue = new Device();
+            devices.put(device, queue);
+        }
+        return queue;
+    }
+
+    private Op enqueue (Device queue, Write write, boolean barrier)
+    {
+        Op op = new Op(write, barrier);
+        queue.pending.add(op);
+        queue.tail = op.future;
+        if (!queue.ready)
+        {
+            queue.ready = true;
+            ready.add(queue);
+            notifyAll();
+        }
+        return op;
+    }
+
+    /**
+     * Waits for a device with pending writes, then sends all of them in order.
+     */
+    private void applyBatch()
+    {
+        List<Op> batch;
+        synchronized (this)
+        {
+            while (ready.isEmpty())
+            {
+                try
+                {
+                    wait();
+                }
+                catch (InterruptedException e)
+                {
+                    return;
+                }
+            }
+            Device queue = ready.remove();
+            queue.ready = false;
+            batch = new ArrayList<Op>(queue.pending);
+            queue.pending.clear();
+            queue.coalescable.clear();
+        }
+        for (Op op : batch)
+        {
+            Write write;
+            synchronized (this)
+            {
+                write = op.write;
+            }
+            try
+            {
+                op.future.complete(write.apply());
+            }
+            catch (RuntimeException e)
+            {
+                op.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Completes one future with the result of another once it completes.
+     */
+    private static void forward (CompletableFuture<ErrorCode> from, final CompletableFuture<ErrorCode> to)
+    {
+        from.whenComplete(new BiConsumer<ErrorCode, Throwable>()
+        {
+            public void accept (ErrorCode error, Throwable thrown)
+            {
+                if (thrown != null)
+                    to.completeExceptionally(thrown);
+                else
+                    to.complete(error);
+            }
+        });
+    }
+
+    /**
+     * Gets the instance of the singleton ConfigQueue, starting its worker if necessary.
+     * @return the instance
+     */
+    public static synchronized ConfigQueue getInstance()
+    {
+        if (instance == null)
+            instance = new ConfigQueue();
+        return instance;
+    }
+}
@@ -0,0 +1,306 @@
+package frc.robot.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.FollowerType;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.SensorTerm;
+import com.ctre.phoenix.motorcontrol.can.BaseMotorController;
+
+/**
+ * Exposes a CTRE motor controller (a Talon or a Victor) as a MotorController. Two
+ * CtreMotorControllers are equal when they wrap the same device, so either can be used to look up
+ * the other in a map or a registry.
+ * @author agent
+ * @version 10/18/26
+ */
+public class CtreMotorController implements MotorController
+{
+    private final BaseMotorController controller;
+
+    public CtreMotorController (BaseMotorController controller)
+    {
+        this.controller = controller;
+    }
+
+    /**
+     * Gets the CTRE controller behind a MotorController, which must itself be a CtreMotorController
+     * since a CTRE controller can only follow another CTRE controller.
+     */
+    private static BaseMotorController unwrap (MotorController controller)
+    {
+        if (!(controller instanceof CtreMotorController))
+            throw new IllegalArgumentException("Cannot follow " + controller + ", which is not a CTRE controller");
+        return ((CtreMotorController) controller).controller;
+    }
+
+    public BaseMotorController getController()
+    {
+        return controller;
+    }
+
+    @Override
+    public boolean equals (Object other)
+    {
+        return other instanceof CtreMotorController && ((CtreMotorController) other).controller == controller;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode(controller);
+    }
+
+    @Override
+    public String toString()
+    {
+        return controller.toString();
+    }
+
+    public void set (ControlMode mode, double value)
+    {
+        controller.set(mode, value);
+    }
+
+    public void set (ControlMode mode, double demand0, DemandType demand1Type, double demand1)
+    {
+        controller.set(mode, demand0, demand1Type, demand1);
+    }
+
+    public void neutralOutput()
+    {
+        controller.neutralOutput();
+    }
+
+    public void follow (MotorController master)
+    {
+        controller.follow(unwrap(master));
+    }
+
+    public void follow (MotorController master, FollowerType followerType)
+    {
+        controller.follow(unwrap(master), followerType);
+    }
+
+    public void setNeutralMode (NeutralMode neutralMode)
+    {
+        controller.setNeutralMode(neutralMode);
+    }
+
+    public void setInverted (boolean invert)
+    {
+        controller.setInverted(invert);
+    }
+
+    public void setSensorPhase (boolean phaseSensor)
+    {
+        controller.setSensorPhase(phaseSensor);
+    }
+
+    public double getMotorOutputPercent()
+    {
+        return controller.getMotorOutputPercent();
+    }
+
+    public double getOutputCurrent()
+    {
+        return controller.getOutputCurrent();
+    }
+
+    public ErrorCode configFactoryDefault (int timeoutMs)
+    {
+        return controller.configFactoryDefault(timeoutMs);
+    }
+
+    public ErrorCode configOpenloopRamp (double secondsFromNeutralToFull, int timeoutMs)
+    {
+        return controller.configOpenloopRamp(secondsFromNeutralToFull, timeoutMs);
+    }
+
+    public ErrorCode configNominalOutputForward (double percentOut, int timeoutMs)
+    {
+        return controller.configNominalOutputForward(percentOut, timeoutMs);
+    }
+
+    public ErrorCode configNominalOutputReverse (double percentOut, int timeoutMs)
+    {
+        return controller.configNominalOutputReverse(percentOut, timeoutMs);
+    }
+
+    public ErrorCode configPeakOutputForward (double percentOut, int timeoutMs)
+    {
+        return controller.configPeakOutputForward(percentOut, timeoutMs);
+    }
+
+    public ErrorCode configPeakOutputReverse (double percentOut, int timeoutMs)
+    {
+        return controller.configPeakOutputReverse(percentOut, timeoutMs);
+    }
+
+    public ErrorCode configNeutralDeadband (double percentDeadband, int timeoutMs)
+    {
+        return controller.configNeutralDeadband(percentDeadband, timeoutMs);
+    }
+
+    public ErrorCode configVoltageCompSaturation (double voltage, int timeoutMs)
+    {
+        return controller.configVoltageCompSaturation(voltage, timeoutMs);
+    }
+
+    public void enableVoltageCompensation (boolean enable)
+    {
+        controller.enableVoltageCompensation(enable);
+    }
+
+    public ErrorCode configSelectedFeedbackSensor (FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs)
+    {
+        return controller.configSelectedFeedbackSensor(feedbackDevice, pidIdx, timeoutMs);
+    }
+
+    public ErrorCode configSelectedFeedbackSensor (RemoteFeedbackDevice feedbackDevice, int pidIdx, int timeoutMs)
+    {
+        return controller.configSelectedFeedbackSensor(feedbackDevice, pidIdx, timeoutMs);
+    }
+
+    public ErrorCode configSelectedFeedbackCoefficient (double coefficient, int pidIdx, int timeoutMs)
+    {
+        return controller.configSelectedFeedbackCoefficient(coefficient, pidIdx, timeoutMs);
+    }
+
+    public ErrorCode configRemoteFeedbackFilter (int deviceID, RemoteSensorSource remoteSensorSource, int remoteOrdinal,
+            int timeoutMs)
+    {
+        return controller.configRemoteFeedbackFilter(deviceID, remoteSensorSource, remoteOrdinal, timeoutMs);
+    }
+
+    public ErrorCode configSensorTerm (SensorTerm sensorTerm, FeedbackDevice feedbackDevice, int timeoutMs)
+    {
+        return controller.configSensorTerm(sensorTerm, feedbackDevice, timeoutMs);
+    }
+
+    public int getSelectedSensorPosition (int pidIdx)
+    {
+        return controller.getSelectedSensorPosition(pidIdx);
+    }
+
+    public int getSelectedSensorVelocity (int pidIdx)
+    {
+        return controller.getSelectedSensorVelocity(pidIdx);
+    }
+
+    public ErrorCode setSelectedSensorPosition (int sensorPos, int pidIdx, int timeoutMs)
+    {
+        return controller.setSelectedSensorPosition(sensorPos, pidIdx, timeoutMs);
+    }
+
+    public int getClosedLoopError (int pidIdx)
+    {
+        return controller.getClosedLoopError(pidIdx);
+    }
+
+    public void selectProfileSlot (int slotIdx, int pidIdx)
+    {
+        controller.selectProfileSlot(slotIdx, pidIdx);
+    }
+
+    public ErrorCode config_kP (int slotIdx, double value, int timeoutMs)
+    {
+        return controller.config_kP(slotIdx, value, timeoutMs);
+    }
+
+    public ErrorCode config_kI (int slotIdx, double value, int timeoutMs)
+    {
+        return controller.config_kI(slotIdx, value, timeoutMs);
+    }
+
+    public ErrorCode config_kD (int slotIdx, double value, int timeoutMs)
+    {
+        return controller.config_kD(slotIdx, value, timeoutMs);
+    }
+
+    public ErrorCode config_kF (int slotIdx, double value, int timeoutMs)
+    {
+        return controller.config_kF(slotIdx, value, timeoutMs);
+    }
+
+    public ErrorCode config_IntegralZone (int slotIdx, int izone, int timeoutMs)
+    {
+        return controller.config_IntegralZone(slotIdx, izone, timeoutMs);
+    }
+
+    public ErrorCode configAllowableClosedloopError (int slotIdx, int allowableCloseLoopError, int timeoutMs)
+    {
+        return controller.configAllowableClosedloopError(slotIdx, allowableCloseLoopError, timeoutMs);
+    }
+
+    public ErrorCode configAuxPIDPolarity (boolean invert, int timeoutMs)
+    {
+        return controller.configAuxPIDPolarity(invert, timeoutMs);
+    }
+
+    public ErrorCode configMotionCruiseVelocity (int sensorUnitsPer100ms, int timeoutMs)
+    {
+        return controller.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs);
+    }
+
+    public ErrorCode configMotionAcceleration (int sensorUnitsPer100msPerSec, int timeoutMs)
+    {
+        return controller.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs);
+    }
+
+    public ErrorCode configMotionProfileTrajectoryPeriod (int baseTrajDurationMs, int timeoutMs)
+    {
+        return controller.configMotionProfileTrajectoryPeriod(baseTrajDurationMs, timeoutMs);
+    }
+
+    public ErrorCode changeMotionControlFramePeriod (int periodMs)
+    {
+        return controller.changeMotionControlFramePeriod(periodMs);
+    }
+
+    public ErrorCode pushMotionProfileTrajectory (TrajectoryPoint trajPt)
+    {
+        return controller.pushMotionProfileTrajectory(trajPt);
+    }
+
+    public void processMotionProfileBuffer()
+    {
+        controller.processMotionProfileBuffer();
+    }
+
+    public ErrorCode getMotionProfileStatus (MotionProfileStatus statusToFill)
+    {
+        return controller.getMotionProfileStatus(statusToFill);
+    }
+
+    public int getMotionProfileTopLevelBufferCount()
+    {
+        return controller.getMotionProfileTopLevelBufferCount();
+    }
+
+    public boolean isMotionProfileTopLevelBufferFull()
+    {
+        return controller.isMotionProfileTopLevelBufferFull();
+    }
+
+    public ErrorCode clearMotionProfileTrajectories()
+    {
+        return controller.clearMotionProfileTrajectories();
+    }
+
+    public ErrorCode clearMotionProfileHasUnderrun (int timeoutMs)
+    {
+        return controller.clearMotionProfileHasUnderrun(timeoutMs);
+    }
+
+    public int getDeviceID()
+    {
+        return controller.getDeviceID();
+    }
+}
@@ -0,0 +1,78 @@
+package frc.robot.hardware;
+
+/**
+ * Holds the controllers and IMU of a drivetrain, whether real or simulated.
+ * @author agent
+ * @version 10/18/26
+ */
+public class DriveHardware
+{
+    private final MotorController left;
+    private final MotorController right;
+    private final MotorController leftFollower;
+    private final MotorController rightFollower;
+    private final Imu imu;
+
+    /**
+     * Constructs a new DriveHardware with no followers, as for a simulated drivetrain in which
+     * each master drives its whole side.
+     * @param left the left master controller
+     * @param right the right master controller
+     * @param imu the IMU
+     */
+    public DriveHardware (MotorController left, MotorController right, Imu imu)
+    {
+        this(left, right, null, null, imu);
+    }
+
+    /**
+     * Constructs a new DriveHardware.
+     * @param left the left master controller
+     * @param right the right master controller
+     * @param leftFollower the controller which follows the left master, or null for none
+     * @param rightFollower the controller which follows the right master, or null for none
+     * @param imu the IMU
+     */
+    public DriveHardware (MotorController left, MotorController right, MotorController leftFollower,
+            MotorController rightFollower, Imu imu)
+    {
+        this.left = left;
+        this.right = right;
+        this.leftFollower = leftFollower;
+        this.rightFollower = rightFollower;
+        this.imu = imu;
+    }
+
+    public MotorController getLeft()
+    {
+        return left;
+    }
+
+    public MotorController getRight()
+    {
+        return right;
+    }
+
+    /**
+     * Gets the controller which follows the left master.
+     * @return the follower, or null if there is none
+     */
+    public MotorController getLeftFollower()
+    {
+        return leftFollower;
+    }
+
+    /**
+     * Gets the controller which follows the right master.
+     * @return the follower, or null if there is none
+     */
+    public MotorController getRightFollower()
+    {
+        return rightFollower;
+    }
+
+    public Imu getImu()
+    {
+        return imu;
+    }
+}
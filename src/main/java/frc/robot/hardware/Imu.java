@@ -0,0 +1,23 @@
+package frc.robot.hardware;
+
+/**
+ * Represents the IMU calls used by the drivetrain control code.
+ * @author agent
+ * @version 10/18/26
+ */
+public interface Imu
+{
+    /**
+     * Gets the current yaw, increasing counterclockwise.
+     * @return the yaw (degrees)
+     */
+    double getYaw();
+
+    /**
+     * Sets the current yaw.
+     * @param yaw the new yaw (degrees)
+     */
+    void setYaw (double yaw);
+
+    int getDeviceID();
+}
@@ -0,0 +1,122 @@
+package frc.robot.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.FollowerType;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.SensorTerm;
+
+/**
+ * Represents the motor controller calls used by the subsystems and commands. Every method has the
+ * same signature as its counterpart on a Talon, except that a master to follow is given as another
+ * MotorController, so a Talon or Victor can be used through CtreMotorController and a simulated
+ * controller can stand in for one off the robot. Calls which only a Talon supports, such as the
+ * current limits and status frame periods, are left to the subsystems which own the Talons.
+ * @author agent
+ * @version 10/18/26
+ */
+public interface MotorController
+{
+    void set (ControlMode mode, double value);
+
+    void set (ControlMode mode, double demand0, DemandType demand1Type, double demand1);
+
+    void neutralOutput();
+
+    void follow (MotorController master);
+
+    void follow (MotorController master, FollowerType followerType);
+
+    void setNeutralMode (NeutralMode neutralMode);
+
+    void setInverted (boolean invert);
+
+    void setSensorPhase (boolean phaseSensor);
+
+    double getMotorOutputPercent();
+
+    double getOutputCurrent();
+
+    ErrorCode configFactoryDefault (int timeoutMs);
+
+    ErrorCode configOpenloopRamp (double secondsFromNeutralToFull, int timeoutMs);
+
+    ErrorCode configNominalOutputForward (double percentOut, int timeoutMs);
+
+    ErrorCode configNominalOutputReverse (double percentOut, int timeoutMs);
+
+    ErrorCode configPeakOutputForward (double percentOut, int timeoutMs);
+
+    ErrorCode configPeakOutputReverse (double percentOut, int timeoutMs);
+
+    ErrorCode configNeutralDeadband (double percentDeadband, int timeoutMs);
+
+    ErrorCode configVoltageCompSaturation (double voltage, int timeoutMs);
+
+    void enableVoltageCompensation (boolean enable);
+
+    ErrorCode configSelectedFeedbackSensor (FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs);
+
+    ErrorCode configSelectedFeedbackSensor (RemoteFeedbackDevice feedbackDevice, int pidIdx, int timeoutMs);
+
+    ErrorCode configSelectedFeedbackCoefficient (double coefficient, int pidIdx, int timeoutMs);
+
+    ErrorCode configRemoteFeedbackFilter (int deviceID, RemoteSensorSource remoteSensorSource, int remoteOrdinal,
+            int timeoutMs);
+
+    ErrorCode configSensorTerm (SensorTerm sensorTerm, FeedbackDevice feedbackDevice, int timeoutMs);
+
+    int getSelectedSensorPosition (int pidIdx);
+
+    int getSelectedSensorVelocity (int pidIdx);
+
+    ErrorCode setSelectedSensorPosition (int sensorPos, int pidIdx, int timeoutMs);
+
+    int getClosedLoopError (int pidIdx);
+
+    void selectProfileSlot (int slotIdx, int pidIdx);
+
+    ErrorCode config_kP (int slotIdx, double value, int timeoutMs);
+
+    ErrorCode config_kI (int slotIdx, double value, int timeoutMs);
+
+    ErrorCode config_kD (int slotIdx, double value, int timeoutMs);
+
+    ErrorCode config_kF (int slotIdx, double value, int timeoutMs);
+
+    ErrorCode config_IntegralZone (int slotIdx, int izone, int timeoutMs);
+
+    ErrorCode configAllowableClosedloopError (int slotIdx, int allowableCloseLoopError, int timeoutMs);
+
+    ErrorCode configAuxPIDPolarity (boolean invert, int timeoutMs);
+
+    ErrorCode configMotionCruiseVelocity (int sensorUnitsPer100ms, int timeoutMs);
+
+    ErrorCode configMotionAcceleration (int sensorUnitsPer100msPerSec, int timeoutMs);
+
+    ErrorCode configMotionProfileTrajectoryPeriod (int baseTrajDurationMs, int timeoutMs);
+
+    ErrorCode changeMotionControlFramePeriod (int periodMs);
+
+    ErrorCode pushMotionProfileTrajectory (TrajectoryPoint trajPt);
+
+    void processMotionProfileBuffer();
+
+    ErrorCode getMotionProfileStatus (MotionProfileStatus statusToFill);
+
+    int getMotionProfileTopLevelBufferCount();
+
+    boolean isMotionProfileTopLevelBufferFull();
+
+    ErrorCode clearMotionProfileTrajectories();
+
+    ErrorCode clearMotionProfileHasUnderrun (int timeoutMs);
+
+    int getDeviceID();
+}
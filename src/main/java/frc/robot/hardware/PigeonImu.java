@@ -0,0 +1,36 @@
+package frc.robot.hardware;
+
+import harkerrobolib.wrappers.HSPigeon;
+
+/**
+ * Exposes a Pigeon as an Imu. The yaw is read into an array held by this object rather than a new
+ * one on each call, so reads are synchronized.
+ * @author agent
+ * @version 10/18/26
+ */
+public class PigeonImu implements Imu
+{
+    private final HSPigeon pigeon;
+    private final double[] yawPitchRoll = new double[3];
+
+    public PigeonImu (HSPigeon pigeon)
+    {
+        this.pigeon = pigeon;
+    }
+
+    public synchronized double getYaw()
+    {
+        pigeon.getYawPitchRoll(yawPitchRoll);
+        return yawPitchRoll[0];
+    }
+
+    public void setYaw (double yaw)
+    {
+        pigeon.setYaw(yaw);
+    }
+
+    public int getDeviceID()
+    {
+        return pigeon.getDeviceID();
+    }
+}
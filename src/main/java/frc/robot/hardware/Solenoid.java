@@ -0,0 +1,24 @@
+package frc.robot.hardware;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+
+/**
+ * Represents the double solenoid calls used by the pneumatics, so that they can be driven by a
+ * simulated valve.
+ * @author agent
+ * @version 10/18/26
+ */
+public interface Solenoid
+{
+    /**
+     * Sets the position of the valve.
+     * @param value the position
+     */
+    void set (DoubleSolenoid.Value value);
+
+    /**
+     * Gets the position of the valve.
+     * @return the position
+     */
+    DoubleSolenoid.Value get();
+}
@@ -0,0 +1,28 @@
+package frc.robot.hardware;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+
+/**
+ * Exposes a WPILib DoubleSolenoid as a Solenoid.
+ * @author agent
+ * @version 10/18/26
+ */
+public class WpiSolenoid implements Solenoid
+{
+    private final DoubleSolenoid solenoid;
+
+    public WpiSolenoid (DoubleSolenoid solenoid)
+    {
+        this.solenoid = solenoid;
+    }
+
+    public void set (DoubleSolenoid.Value value)
+    {
+        solenoid.set(value);
+    }
+
+    public DoubleSolenoid.Value get()
+    {
+        return solenoid.get();
+    }
+}
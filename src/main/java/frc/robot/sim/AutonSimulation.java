@@ -0,0 +1,202 @@
+package frc.robot.sim;
+
+import java.util.concurrent.Callable;
+
+import frc.robot.Robot;
+import frc.robot.RobotMap;
+import frc.robot.auto.modes.Baseline;
+import frc.robot.auto.modes.BaselineMotionProfile;
+import frc.robot.auto.modes.CompatibleScale;
+import frc.robot.auto.paths.BaselinePath;
+import frc.robot.commands.auton.AutonomousCommand;
+import frc.robot.commands.auton.FollowPathRio;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Elevator;
+import frc.robot.subsystems.Intake;
+import frc.robot.subsystems.Pneumatics;
+import frc.robot.util.SensorSnapshot;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.Subsystem;
+import harkerrobolib.auto.AutoMode.Location;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.PositionUnit;
+
+/**
+ * Runs one autonomous mode, as the robot would, on simulated subsystems and a virtual clock. The
+ * Drivetrain, Elevator, Intake and Pneumatics are constructed on the simulated mechanisms and put
+ * where the commands find them, and the mode's command group is run by a SchedulerStepper, which
+ * also steps the mechanisms every millisecond and runs the path followers' control loops at their
+ * own periods.
+ * <p>
+ * The subsystems, the scheduler and the clock are all static, so a run must have its classes to
+ * itself: SimulatedAuton loads each run in its own SimulationClassLoader, which lets any number of
+ * runs proceed in parallel.
+ * @author agent
+ * @version 10/18/26
+ */
+public class AutonSimulation implements Callable<AutonSimulation.Result>
+{
+    /**
+     * The time after which a mode which has not finished is abandoned (s).
+     */
+    public static final double TIMEOUT = 60;
+
+    /**
+     * The autonomous modes which can be run, each with the command group the robot would run.
+     */
+    public enum Mode
+    {
+        AUTONOMOUS, COMPATIBLE_SCALE, BASELINE_MOTION_PROFILE, BASELINE;
+
+        /**
+         * Creates the command group for this mode, starting from the left.
+         * @return the command
+         */
+        Command createCommand()
+        {
+            switch (this)
+            {
+                case AUTONOMOUS:
+                    return new AutonomousCommand(Location.LEFT,
+                            new Subsystem[] {Robot.dt, Robot.el, Robot.intake, Intake.pn}, "LLL");
+                case COMPATIBLE_SCALE:
+                    return new CompatibleScale(Location.LEFT);
+                case BASELINE_MOTION_PROFILE:
+                    return new BaselineMotionProfile(Location.LEFT);
+                default:
+                    return new Baseline(Location.LEFT);
+            }
+        }
+    }
+
+    /**
+     * Represents the outcome of a run. It is shared by the runs' class loaders, so it holds only
+     * values.
+     * @author agent
+     * @version 10/18/26
+     */
+    public static class Result
+    {
+        public String name;
+        public boolean completed;
+        public double totalTime;
+        public double rmsError;
+        public double maxError;
+        public double finalX;
+        public double finalY;
+        public double finalHeading;
+        public double wallTime;
+
+        /**
+         * Gets the column headings matching toString().
+         * @return the headings
+         */
+        public static String getHeader()
+        {
+            return String.format("%-24s %7s %7s %7s %17s %8s", "mode", "done", "rms ft", "max ft", "final pose",
+                    "wall ms");
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%-24s %7s %7.3f %7.3f (%5.1f,%5.1f,%4.0f) %8.1f", name,
+                    completed ? String.format("%.2f", totalTime) : "timeout", rmsError, maxError,
+                    finalX, finalY, finalHeading, wallTime * 1000);
+        }
+    }
+
+    private final Mode mode;
+
+    private SimulatedDrivetrain drive;
+    private double sumSquaredError;
+    private double maxError;
+    private int samples;
+
+    /**
+     * Constructs a new AutonSimulation.
+     * @param mode the name of the mode to run
+     */
+    public AutonSimulation (String mode)
+    {
+        this.mode = Mode.valueOf(mode);
+    }
+
+    public Result call()
+    {
+        long start = System.nanoTime();
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+        drive = new SimulatedDrivetrain();
+        final SimulatedElevator elevator = new SimulatedElevator();
+        final SimulatedIntake intake = new SimulatedIntake();
+
+        SchedulerStepper stepper = new SchedulerStepper();
+        // the mechanisms are added before any loop starts, so each is stepped before a loop reads it
+        stepper.addPeriodic(drive, SimulatedDrivetrain.STEP);
+        stepper.addPeriodic(elevator, SimulatedElevator.STEP);
+        stepper.addPeriodic(intake, SimulatedIntake.STEP);
+        stepper.addPeriodic(new Runnable()
+        {
+            public void run()
+            {
+                recordError();
+            }
+        }, SimulatedDrivetrain.STEP);
+
+        Robot.dt = new Drivetrain(drive.getHardware());
+        Robot.el = new Elevator(elevator.getTalon());
+        Intake.pn = new Pneumatics(new SimulatedSolenoid(), new SimulatedSolenoid());
+        Robot.intake = new Intake(intake.getLeft(), intake.getRight());
+        FollowPathRio.setDefaultLeftTalon(Robot.dt.getHardware().getLeft());
+        FollowPathRio.setDefaultRightTalon(Robot.dt.getHardware().getRight());
+        Robot.baseline = new BaselinePath();
+        Robot.dt.talonInitAutonomous();
+        Robot.el.talonInitAutonomous();
+        Robot.intake.talonInit();
+
+        stepper.addPeriodic(new Runnable()
+        {
+            public void run()
+            {
+                SensorSnapshot.getInstance().sample();
+            }
+        });
+
+        Result result = new Result();
+        result.name = mode.name();
+        result.completed = stepper.runUntilFinished(mode.createCommand(), TIMEOUT);
+        result.totalTime = stepper.getTime();
+        stepper.close();
+
+        DifferentialDrivePlant plant = drive.getPlant();
+        result.rmsError = samples == 0 ? 0 : Math.sqrt(sumSquaredError / samples);
+        result.maxError = maxError;
+        result.finalX = plant.getX();
+        result.finalY = plant.getY();
+        result.finalHeading = Math.toDegrees(plant.getHeading());
+        result.wallTime = (System.nanoTime() - start) / 1e9;
+        return result;
+    }
+
+    /**
+     * Records the distance of each side from its setpoint while a path is being followed, which is
+     * while the masters close a position loop with a feed-forward added.
+     */
+    private void recordError()
+    {
+        SimulatedTalon left = drive.getLeft();
+        SimulatedTalon right = drive.getRight();
+        if (left.getControlMode() != ControlMode.Position || !left.hasArbitraryFeedForward())
+            return;
+        double leftError = Conversions.convertPosition(PositionUnit.ENCODER_UNITS,
+                left.getClosedLoopError(RobotMap.PRIMARY_PID_INDEX), PositionUnit.FEET);
+        double rightError = Conversions.convertPosition(PositionUnit.ENCODER_UNITS,
+                right.getClosedLoopError(RobotMap.PRIMARY_PID_INDEX), PositionUnit.FEET);
+        sumSquaredError += (leftError * leftError + rightError * rightError) / 2;
+        maxError = Math.max(maxError, Math.max(Math.abs(leftError), Math.abs(rightError)));
+        samples++;
+    }
+}
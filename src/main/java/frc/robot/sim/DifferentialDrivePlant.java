@@ -0,0 +1,130 @@
+package frc.robot.sim;
+
+/**
+ * Models the physics of a differential drivetrain. Each side responds to its output as a first-order
+ * system, approaching the speed it would reach at that output with a fixed time constant; the
+ * robot's heading and position follow from the speeds of the two sides.
+ * @author agent
+ * @version 10/18/26
+ */
+public class DifferentialDrivePlant
+{
+    private final double freeSpeed;
+    private final double timeConstant;
+    private final double wheelBase;
+
+    private double leftPosition;
+    private double rightPosition;
+    private double leftVelocity;
+    private double rightVelocity;
+    private double heading;
+    private double x;
+    private double y;
+
+    /**
+     * Constructs a new DifferentialDrivePlant.
+     * @param freeSpeed the speed each side reaches at full output (ft/s)
+     * @param timeConstant the time each side takes to reach 63% of a new speed (s)
+     * @param wheelBase the distance between the left and right wheels (ft)
+     */
+    public DifferentialDrivePlant (double freeSpeed, double timeConstant, double wheelBase)
+    {
+        this.freeSpeed = freeSpeed;
+        this.timeConstant = timeConstant;
+        this.wheelBase = wheelBase;
+    }
+
+    /**
+     * Advances the model.
+     * @param leftOutput the output of the left side (from -1 to 1)
+     * @param rightOutput the output of the right side (from -1 to 1)
+     * @param dt the time to advance (s)
+     */
+    public void step (double leftOutput, double rightOutput, double dt)
+    {
+        double response = 1 - Math.exp(-dt / timeConstant);
+        double prevLeft = leftVelocity;
+        double prevRight = rightVelocity;
+        leftVelocity += (clamp(leftOutput) * freeSpeed - leftVelocity) * response;
+        rightVelocity += (clamp(rightOutput) * freeSpeed - rightVelocity) * response;
+
+        // integrate with the average velocity over the step
+        double left = (prevLeft + leftVelocity) / 2 * dt;
+        double right = (prevRight + rightVelocity) / 2 * dt;
+        leftPosition += left;
+        rightPosition += right;
+        double midHeading = heading + (right - left) / wheelBase / 2;
+        x += (left + right) / 2 * Math.cos(midHeading);
+        y += (left + right) / 2 * Math.sin(midHeading);
+        heading += (right - left) / wheelBase;
+    }
+
+    private static double clamp (double output)
+    {
+        return Math.max(-1, Math.min(1, output));
+    }
+
+    /**
+     * Places the robot at the origin, at rest and facing along the x axis.
+     */
+    public void reset()
+    {
+        leftPosition = rightPosition = 0;
+        leftVelocity = rightVelocity = 0;
+        heading = x = y = 0;
+    }
+
+    /**
+     * Gets the distance travelled by the left side.
+     * @return the left position (ft)
+     */
+    public double getLeftPosition() { return leftPosition; }
+
+    /**
+     * Gets the distance travelled by the right side.
+     * @return the right position (ft)
+     */
+    public double getRightPosition() { return rightPosition; }
+
+    /**
+     * Gets the velocity of the left side.
+     * @return the left velocity (ft/s)
+     */
+    public double getLeftVelocity() { return leftVelocity; }
+
+    /**
+     * Gets the velocity of the right side.
+     * @return the right velocity (ft/s)
+     */
+    public double getRightVelocity() { return rightVelocity; }
+
+    /**
+     * Gets the heading of the robot, increasing counterclockwise.
+     * @return the heading (rad)
+     */
+    public double getHeading() { return heading; }
+
+    /**
+     * Gets the rate at which the heading of the robot is changing.
+     * @return the angular velocity (rad/s)
+     */
+    public double getAngularVelocity() { return (rightVelocity - leftVelocity) / wheelBase; }
+
+    /**
+     * Sets the heading of the robot.
+     * @param heading the new heading (rad)
+     */
+    public void setHeading (double heading) { this.heading = heading; }
+
+    /**
+     * Gets the position of the robot along the x axis.
+     * @return the x position (ft)
+     */
+    public double getX() { return x; }
+
+    /**
+     * Gets the position of the robot along the y axis.
+     * @return the y position (ft)
+     */
+    public double getY() { return y; }
+}
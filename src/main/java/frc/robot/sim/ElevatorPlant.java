@@ -0,0 +1,69 @@
+package frc.robot.sim;
+
+/**
+ * Models the physics of the elevator. The carriage responds to its output as a first-order system,
+ * approaching the speed it would reach at that output less the output needed to hold it against
+ * gravity, and rests on a hard stop at the bottom.
+ * @author agent
+ * @version 10/18/26
+ */
+public class ElevatorPlant
+{
+    private final double freeSpeed;
+    private final double timeConstant;
+    private final double gravityOutput;
+
+    private double position;
+    private double velocity;
+
+    /**
+     * Constructs a new ElevatorPlant.
+     * @param freeSpeed the speed the carriage would reach at full output without gravity (encoder units/s)
+     * @param timeConstant the time the carriage takes to reach 63% of a new speed (s)
+     * @param gravityOutput the output which holds the carriage still (from 0 to 1)
+     */
+    public ElevatorPlant (double freeSpeed, double timeConstant, double gravityOutput)
+    {
+        this.freeSpeed = freeSpeed;
+        this.timeConstant = timeConstant;
+        this.gravityOutput = gravityOutput;
+    }
+
+    /**
+     * Advances the model.
+     * @param output the output of the motors (from -1 to 1)
+     * @param dt the time to advance (s)
+     */
+    public void step (double output, double dt)
+    {
+        double response = 1 - Math.exp(-dt / timeConstant);
+        double prevVelocity = velocity;
+        velocity += ((Math.max(-1, Math.min(1, output)) - gravityOutput) * freeSpeed - velocity) * response;
+        position += (prevVelocity + velocity) / 2 * dt;
+        if (position < 0)
+        {
+            position = 0;
+            velocity = Math.max(velocity, 0);
+        }
+    }
+
+    /**
+     * Places the carriage at rest on the bottom.
+     */
+    public void reset()
+    {
+        position = velocity = 0;
+    }
+
+    /**
+     * Gets the height of the carriage above the bottom.
+     * @return the position (encoder units)
+     */
+    public double getPosition() { return position; }
+
+    /**
+     * Gets the velocity of the carriage, increasing upward.
+     * @return the velocity (encoder units/s)
+     */
+    public double getVelocity() { return velocity; }
+}
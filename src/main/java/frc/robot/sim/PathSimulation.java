@@ -0,0 +1,312 @@
+package frc.robot.sim;
+
+import java.util.concurrent.Callable;
+
+import frc.robot.RobotMap;
+import frc.robot.auto.control.RioPathController;
+import frc.robot.auto.trajectory.MotionProfileBufferService;
+import frc.robot.auto.trajectory.MotionProfileFeeder;
+import frc.robot.auto.trajectory.TalonTrajectory;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+import frc.robot.commands.auton.FollowPath;
+import frc.robot.hardware.MotorController;
+import frc.robot.subsystems.Drivetrain;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+
+/**
+ * Follows a single path on its own simulated drivetrain, on a virtual clock. Everything that runs
+ * periodically on the robot (the scheduler, the feeder, the buffer service and the control loop)
+ * is called at its own period of the simulated time, so a run takes as long as the computation
+ * does, and any number of runs can proceed in parallel.
+ * @author agent
+ * @version 10/18/26
+ */
+public class PathSimulation implements Callable<PathSimulation.Result>
+{
+    /**
+     * The period of the scheduler, at which the profile state is checked (ms).
+     */
+    public static final int SCHEDULER_PERIOD_MS = 20;
+
+    /**
+     * The period at which the buffer service moves points into the Talon (ms).
+     */
+    public static final int BUFFER_PERIOD_MS = (int) (MotionProfileBufferService.PERIOD_NANOS / 1000000);
+
+    /**
+     * The time allowed after the end of the path for the robot to settle (s).
+     */
+    public static final double SETTLE_TIME = 1;
+
+    /**
+     * The time, beyond twice the length of the path, after which a run is abandoned (s).
+     */
+    public static final double TIMEOUT = 5;
+
+    private final String name;
+    private final TrajectoryBuffer left;
+    private final TrajectoryBuffer right;
+    private final boolean rio;
+
+    private SimulatedDrivetrain sim;
+    private double pathStart;
+    private double timeScale;
+    private double sumSquaredError;
+    private double maxError;
+    private int samples;
+
+    /**
+     * Represents the outcome of a run.
+     * @author agent
+     * @version 10/18/26
+     */
+    public static class Result
+    {
+        public String name;
+        public boolean rio;
+        public boolean completed;
+        public double pathDuration;
+        public double startLatency;
+        public double completionTime;
+        public double rmsError;
+        public double maxError;
+        public double finalX;
+        public double finalY;
+        public double finalHeading;
+        public double finalLeftError;
+        public double finalRightError;
+        public double finalHeadingError;
+        public int underruns;
+        public double wallTime;
+
+        /**
+         * Gets the column headings matching toString().
+         * @return the headings
+         */
+        public static String getHeader()
+        {
+            return String.format("%-40s %-7s %7s %7s %7s %7s %7s %17s %7s %7s %7s %4s %8s", "path", "mode", "length",
+                    "start", "done", "rms ft", "max ft", "final pose", "left", "right", "heading", "urun", "wall ms");
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%-40s %-7s %7.2f %7.3f %7s %7.3f %7.3f (%5.1f,%5.1f,%4.0f) %7.3f %7.3f %7.1f %4d %8.1f",
+                    name, rio ? "rio" : "profile", pathDuration, startLatency,
+                    completed ? String.format("%.2f", completionTime) : "timeout", rmsError, maxError,
+                    finalX, finalY, finalHeading, finalLeftError, finalRightError, finalHeadingError, underruns, wallTime * 1000);
+        }
+    }
+
+    /**
+     * Constructs a new PathSimulation.
+     * @param name the name under which to report the run
+     * @param left the left trajectory
+     * @param right the right trajectory
+     * @param rio true to follow the path as FollowPathRio does; false to follow it as a
+     * MotionProfileArc, as FollowPath does
+     */
+    public PathSimulation (String name, TrajectoryBuffer left, TrajectoryBuffer right, boolean rio)
+    {
+        this.name = name;
+        this.left = left;
+        this.right = right;
+        this.rio = rio;
+    }
+
+    public Result call()
+    {
+        long start = System.nanoTime();
+        sim = new SimulatedDrivetrain();
+        configure(sim);
+        sim.getPlant().setHeading(left.getHeading(0));
+
+        Result result = new Result();
+        result.name = name;
+        result.rio = rio;
+        result.pathDuration = Math.min(left.getDuration(), right.getDuration());
+        timeScale = 1;
+        if (rio)
+            followOnRio(result);
+        else
+            followProfile(result);
+
+        DifferentialDrivePlant plant = sim.getPlant();
+        result.rmsError = samples == 0 ? 0 : Math.sqrt(sumSquaredError / samples);
+        result.maxError = maxError;
+        result.finalX = plant.getX();
+        result.finalY = plant.getY();
+        result.finalHeading = Math.toDegrees(plant.getHeading());
+        result.finalLeftError = left.getPosition(left.length() - 1) - plant.getLeftPosition();
+        result.finalRightError = right.getPosition(right.length() - 1) - plant.getRightPosition();
+        double headingError = left.getHeading(left.length() - 1) - plant.getHeading();
+        result.finalHeadingError = Math.toDegrees(headingError - 2 * Math.PI * Math.rint(headingError / (2 * Math.PI)));
+        result.wallTime = (System.nanoTime() - start) / 1e9;
+        return result;
+    }
+
+    /**
+     * Configures the simulated Talons with the gains used on the robot. May be overridden to try
+     * other gains.
+     * @param sim the drivetrain on which the path will be followed
+     */
+    protected void configure (SimulatedDrivetrain sim)
+    {
+        MotorController[] masters = {sim.getLeft(), sim.getRight()};
+        double[] kP = {Drivetrain.MOTION_PROF_KP_LEFT, Drivetrain.MOTION_PROF_KP_RIGHT};
+        double[] kI = {Drivetrain.MOTION_PROF_KI_LEFT, Drivetrain.MOTION_PROF_KI_RIGHT};
+        double[] kD = {Drivetrain.MOTION_PROF_KD_LEFT, Drivetrain.MOTION_PROF_KD_RIGHT};
+        int[] iZone = {Drivetrain.MOTION_PROF_IZONE_LEFT, Drivetrain.MOTION_PROF_IZONE_RIGHT};
+        for (int i = 0; i < masters.length; i++)
+        {
+            MotorController mc = masters[i];
+            mc.config_kP(Drivetrain.MOTION_PROFILE_PID, kP[i], RobotMap.TIMEOUT);
+            mc.config_kI(Drivetrain.MOTION_PROFILE_PID, kI[i], RobotMap.TIMEOUT);
+            mc.config_kD(Drivetrain.MOTION_PROFILE_PID, kD[i], RobotMap.TIMEOUT);
+            mc.config_IntegralZone(Drivetrain.MOTION_PROFILE_PID, iZone[i], RobotMap.TIMEOUT);
+            mc.config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KP, RobotMap.TIMEOUT);
+            mc.config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KI, RobotMap.TIMEOUT);
+            mc.config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KD, RobotMap.TIMEOUT);
+            mc.selectProfileSlot(Drivetrain.MOTION_PROFILE_PID, RobotMap.PRIMARY_PID_INDEX);
+        }
+    }
+
+    /**
+     * Follows the path as a MotionProfileArc on the right Talon, as FollowPath does, with the
+     * points streamed by the feeder.
+     */
+    private void followProfile (Result result)
+    {
+        SimulatedTalon master = sim.getRight();
+        master.setAuxFollower(sim.getLeft());
+        // the profile slot's feed-forward is not configured in code, so use the velocity loop's
+        master.config_kF(Drivetrain.MOTION_PROFILE_PID, Drivetrain.VEL_KF_RIGHT, RobotMap.TIMEOUT);
+        master.configMotionProfileTrajectoryPeriod(RobotMap.TIME_PER_TRAJECTORY_POINT_MS, RobotMap.TIMEOUT);
+        TalonTrajectory compiled = TalonTrajectory.compile(right, left, Drivetrain.MOTION_PROFILE_PID, Drivetrain.ANGLE_PID);
+        MotionProfileFeeder feeder = new MotionProfileFeeder(compiled, master);
+        MotionProfileStatus status = new MotionProfileStatus();
+        // the Talon plays every point for the same period, whatever the dt of the path
+        double pointPeriod = RobotMap.TIME_PER_TRAJECTORY_POINT_MS / 1000.0;
+        timeScale = left.getDt(0) / pointPeriod;
+        result.pathDuration = compiled.length() * pointPeriod;
+
+        int state = 0;
+        double finishTime = 0;
+        long limitMs = (long) ((2 * result.pathDuration + TIMEOUT) * 1000);
+        for (long ms = 0; ms < limitMs; ms++)
+        {
+            if (ms % MotionProfileFeeder.FILL_PERIOD_MS == 0 && !feeder.isComplete())
+                feeder.run();
+            if (ms % BUFFER_PERIOD_MS == 0)
+                master.processMotionProfileBuffer();
+            if (ms % SCHEDULER_PERIOD_MS == 0)
+            {
+                master.getMotionProfileStatus(status);
+                if (status.hasUnderrun)
+                {
+                    result.underruns++;
+                    master.clearMotionProfileHasUnderrun(RobotMap.TIMEOUT);
+                }
+                if (state == 0)
+                {
+                    master.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Disable.value);
+                    state = 1;
+                }
+                else if (state == 1 && status.btmBufferCnt >= Math.min(compiled.length(), FollowPath.MIN_START_POINTS))
+                {
+                    master.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Enable.value);
+                    pathStart = sim.getTime();
+                    result.startLatency = pathStart;
+                    state = 2;
+                }
+                else if (state == 2 && status.isLast)
+                {
+                    master.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Hold.value);
+                    finishTime = sim.getTime();
+                    result.completionTime = finishTime;
+                    result.completed = true;
+                    state = 3;
+                }
+                else if (state == 3 && sim.getTime() - finishTime >= SETTLE_TIME)
+                    break;
+            }
+            sim.run();
+            if (state >= 2)
+                recordError();
+        }
+    }
+
+    /**
+     * Follows the path with position setpoints calculated on the RoboRio, as FollowPathRio does.
+     */
+    private void followOnRio (Result result)
+    {
+        SimulatedTalon leftTalon = sim.getLeft();
+        SimulatedTalon rightTalon = sim.getRight();
+        RioPathController controller = createController();
+        long periodMs = Math.max(1, Math.round(left.getDt(0) * 1000));
+        double period = periodMs / 1000.0;
+        double duration = result.pathDuration;
+        long endMs = Math.round((duration + SETTLE_TIME) * 1000);
+        pathStart = 0;
+        for (long ms = 0; ms < endMs; ms++)
+        {
+            if (ms % periodMs == 0)
+            {
+                double elapsed = sim.getTime();
+                double t = Math.min(elapsed, duration);
+                int li = left.getIndexAtTime(t);
+                double lf = left.getFraction(li, t);
+                int ri = right.getIndexAtTime(t);
+                double rf = right.getFraction(ri, t);
+                controller.calculate(left.interpolate(Column.POSITION, li, lf), left.interpolate(Column.VELOCITY, li, lf),
+                        right.interpolate(Column.POSITION, ri, rf), right.interpolate(Column.VELOCITY, ri, rf),
+                        left.interpolateHeading(li, lf), leftTalon.getSelectedSensorPosition(RobotMap.AUXILIARY_PID_INDEX), period);
+                // past the end of the path, hold the final setpoint as FollowPathRio does
+                double leftFeedForward = elapsed < duration ? controller.getLeftFeedForward() : 0;
+                double rightFeedForward = elapsed < duration ? controller.getRightFeedForward() : 0;
+                leftTalon.set(ControlMode.Position, controller.getLeftSetpoint(), DemandType.ArbitraryFeedForward, leftFeedForward);
+                rightTalon.set(ControlMode.Position, controller.getRightSetpoint(), DemandType.ArbitraryFeedForward, rightFeedForward);
+                if (!result.completed && elapsed >= duration)
+                {
+                    result.completed = true;
+                    result.completionTime = elapsed;
+                }
+            }
+            sim.run();
+            recordError();
+        }
+    }
+
+    /**
+     * Creates the controller which calculates the setpoints when following on the RoboRio. May be
+     * overridden to try other heading gains.
+     * @return the controller
+     */
+    protected RioPathController createController()
+    {
+        return new RioPathController();
+    }
+
+    /**
+     * Records the distance of each side from where the path says it should be at this time.
+     */
+    private void recordError()
+    {
+        double t = (sim.getTime() - pathStart) * timeScale;
+        DifferentialDrivePlant plant = sim.getPlant();
+        int li = left.getIndexAtTime(t);
+        int ri = right.getIndexAtTime(t);
+        double leftError = left.interpolate(Column.POSITION, li, left.getFraction(li, t)) - plant.getLeftPosition();
+        double rightError = right.interpolate(Column.POSITION, ri, right.getFraction(ri, t)) - plant.getRightPosition();
+        sumSquaredError += (leftError * leftError + rightError * rightError) / 2;
+        maxError = Math.max(maxError, Math.max(Math.abs(leftError), Math.abs(rightError)));
+        samples++;
+    }
+}
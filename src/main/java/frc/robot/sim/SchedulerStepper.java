@@ -0,0 +1,245 @@
+package frc.robot.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.robot.util.Clock;
+import frc.robot.util.RealTimeLoop;
+
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.Scheduler;
+
+/**
+ * Runs the command scheduler on a virtual clock, advancing the time by one robot period after
+ * every run instead of waiting for it, so that a timeline of commands which wait on the Clock
+ * takes only as long as the commands take to compute. Before each run, any periodic tasks added
+ * (such as sampling the sensors) are run in the order they were added, as the robot samples its
+ * sensors before running the scheduler.
+ * <p>
+ * Within each period, the clock stops at every time a timed task is due: a task added with its own
+ * period (such as stepping a simulated mechanism), or a RealTimeLoop started while the stepper is
+ * open (such as FollowPathRio's control loop), which the stepper runs in place of its thread. Tasks
+ * due at the same time run in the order they were added, so a mechanism added before the loops
+ * are started has always been stepped up to the time at which a loop reads it.
+ * <p>
+ * The scheduler, the Clock and the RealTimeLoop driver are each one per class loader, so only one
+ * stepper may be open at a time in each; to step several in parallel, load each in its own
+ * class loader, as SimulatedAuton does. Commands which use WPILib's own timeouts (setTimeout(),
+ * isTimedOut() and TimedCommand) still read the FPGA timestamp, so they do not end early under a
+ * stepper.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SchedulerStepper implements RealTimeLoop.Driver
+{
+    /**
+     * The period at which the robot runs the scheduler (s).
+     */
+    public static final double PERIOD = 0.02;
+
+    /**
+     * The resolution with which the times of the timed tasks are kept (s).
+     */
+    public static final double RESOLUTION = 1e-6;
+
+    /**
+     * A task run at its own period, and the time at which it is next due.
+     */
+    private static class TimedTask
+    {
+        private final Runnable task;
+        private final RealTimeLoop loop;
+        private final long period;
+        private long next;
+
+        TimedTask (Runnable task, RealTimeLoop loop, long period, long next)
+        {
+            this.task = task;
+            this.loop = loop;
+            this.period = period;
+            this.next = next;
+        }
+
+        void run()
+        {
+            if (loop != null)
+                loop.iterate();
+            else
+                task.run();
+        }
+    }
+
+    private final VirtualClock clock;
+    private final double period;
+    private final long periodTicks;
+    private final List<Runnable> periodicTasks = new ArrayList<Runnable>();
+    private final List<TimedTask> timedTasks = new ArrayList<TimedTask>();
+
+    /**
+     * The time of the clock, in units of RESOLUTION since the stepper was opened.
+     */
+    private long ticks;
+
+    /**
+     * Constructs a new SchedulerStepper which runs at the robot's period on a new clock starting
+     * at zero, makes that clock the source of the time, and runs the RealTimeLoops started from
+     * now on.
+     */
+    public SchedulerStepper()
+    {
+        this(new VirtualClock(), PERIOD);
+    }
+
+    /**
+     * Constructs a new SchedulerStepper, makes its clock the source of the time, and runs the
+     * RealTimeLoops started from now on.
+     * @param clock the clock to advance
+     * @param period the time by which to advance the clock after each run (s)
+     */
+    public SchedulerStepper (VirtualClock clock, double period)
+    {
+        this.clock = clock;
+        this.period = period;
+        periodTicks = toTicks(period);
+        Clock.setSource(clock);
+        RealTimeLoop.setDriver(this);
+    }
+
+    /**
+     * Adds a task to run before every run of the scheduler.
+     * @param task the task
+     */
+    public void addPeriodic (Runnable task)
+    {
+        periodicTasks.add(task);
+    }
+
+    /**
+     * Adds a task to run at its own period, first one period from now.
+     * @param task the task
+     * @param period the time between runs (s)
+     */
+    public void addPeriodic (Runnable task, double period)
+    {
+        long taskPeriod = toTicks(period);
+        timedTasks.add(new TimedTask(task, null, taskPeriod, ticks + taskPeriod));
+    }
+
+    public void start (RealTimeLoop loop)
+    {
+        timedTasks.add(new TimedTask(null, loop, toTicks(loop.getPeriod()), ticks));
+    }
+
+    public void stop (RealTimeLoop loop)
+    {
+        for (int i = 0; i < timedTasks.size(); i++)
+        {
+            if (timedTasks.get(i).loop == loop)
+            {
+                timedTasks.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the periodic tasks, then the scheduler once, and advances the time by one period,
+     * running each timed task as the time passes when it is due.
+     */
+    public void step()
+    {
+        for (int i = 0; i < periodicTasks.size(); i++)
+            periodicTasks.get(i).run();
+        Scheduler.getInstance().run();
+        long end = ticks + periodTicks;
+        TimedTask due;
+        while ((due = getNextDue(end)) != null)
+        {
+            advanceTo(due.next);
+            due.next += due.period;
+            due.run();
+        }
+        advanceTo(end);
+    }
+
+    /**
+     * Finds the timed task due soonest before a time, the first added among those due together.
+     * @param end the time (ticks)
+     * @return the task, or null if none is due before the time
+     */
+    private TimedTask getNextDue (long end)
+    {
+        TimedTask soonest = null;
+        for (int i = 0; i < timedTasks.size(); i++)
+        {
+            TimedTask task = timedTasks.get(i);
+            if (task.next < end && (soonest == null || task.next < soonest.next))
+                soonest = task;
+        }
+        return soonest;
+    }
+
+    private void advanceTo (long time)
+    {
+        if (time > ticks)
+        {
+            clock.advance((time - ticks) * RESOLUTION);
+            ticks = time;
+        }
+    }
+
+    private static long toTicks (double time)
+    {
+        return Math.max(1, Math.round(time / RESOLUTION));
+    }
+
+    /**
+     * Steps for a length of time.
+     * @param time the time for which to step (s), rounded to a whole number of periods
+     */
+    public void runFor (double time)
+    {
+        long steps = Math.round(time / period);
+        for (long i = 0; i < steps; i++)
+            step();
+    }
+
+    /**
+     * Starts a command and steps until it finishes or a length of time has passed.
+     * @param command the command to run
+     * @param timeout the longest time for which to step (s)
+     * @return true if the command finished; false if it was still running at the timeout
+     */
+    public boolean runUntilFinished (Command command, double timeout)
+    {
+        double end = clock.getTimestamp() + timeout;
+        command.start();
+        // a started command is only added to the scheduler on its next run
+        step();
+        while (command.isRunning() && clock.getTimestamp() < end)
+            step();
+        return !command.isRunning();
+    }
+
+    /**
+     * Cancels every command, returns the time to the FPGA timestamp and gives loops started from
+     * now on threads of their own again.
+     */
+    public void close()
+    {
+        Scheduler.getInstance().removeAll();
+        timedTasks.clear();
+        if (Clock.getSource() == clock)
+            Clock.setSource(null);
+        RealTimeLoop.setDriver(null);
+    }
+
+    /**
+     * Gets the time since the stepper's clock began.
+     * @return the time (s)
+     */
+    public double getTime()
+    {
+        return clock.getTimestamp();
+    }
+}
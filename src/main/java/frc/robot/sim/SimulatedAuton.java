@@ -0,0 +1,237 @@
+package frc.robot.sim;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.commands.auton.AutonomousCommand;
+import frc.robot.subsystems.Drivetrain;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.hal.sim.DriverStationSim;
+import harkerrobolib.util.Conversions;
+
+/**
+ * Runs the autonomous modes on simulated subsystems, headless and on a virtual clock, and reports
+ * how long each took, how closely the robot tracked its paths and where it ended up. Every mode
+ * runs in its own AutonSimulation, loaded by its own SimulationClassLoader, so that each has its
+ * own subsystems, scheduler and clock; the runs share nothing and are spread across all of the
+ * processors.
+ * <p>
+ * Given trajectories instead, it follows each path on its own in a PathSimulation, without the
+ * commands. By default each path is followed as a MotionProfileArc, with the points streamed by
+ * the same feeder as on the robot; with -rio, it is followed as FollowPathRio does.
+ * <pre>
+ * usage: SimulatedAuton [mode]...
+ *        SimulatedAuton [-rio] &lt;left trajectory or directory&gt;...
+ * </pre>
+ * The modes are AUTONOMOUS, COMPATIBLE_SCALE, BASELINE_MOTION_PROFILE and BASELINE, all of which
+ * run if none is given. Each left trajectory (whose name contains "_left") is paired with its
+ * right twin; directories are searched for detailed left trajectories.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedAuton
+{
+    /**
+     * The suffix of the detailed left trajectories found when searching a directory.
+     */
+    public static final String LEFT_SUFFIX = "_left_detailed.csv";
+
+    public static void main (String[] args) throws Exception
+    {
+        if (areModes(args))
+        {
+            runModes(args);
+            return;
+        }
+        boolean rio = args[0].equals("-rio");
+        int first = rio ? 1 : 0;
+        if (args.length - first < 1)
+        {
+            System.out.println("usage: SimulatedAuton [mode]...");
+            System.out.println("       SimulatedAuton [-rio] <left trajectory or directory>...");
+            return;
+        }
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+        List<File> lefts = new ArrayList<File>();
+        for (int i = first; i < args.length; i++)
+        {
+            File file = new File(args[i]);
+            if (file.isDirectory())
+                findPaths(file, lefts);
+            else if (file.getName().contains("_left"))
+                lefts.add(file);
+            else
+                System.out.println("Skipping " + file + ", which is not a left trajectory");
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = createPool("PathSimulation", threads);
+        long start = System.nanoTime();
+        List<Future<PathSimulation.Result>> futures = new ArrayList<Future<PathSimulation.Result>>();
+        for (File left : lefts)
+        {
+            File right = getRightTrajectory(left);
+            if (!right.isFile())
+            {
+                System.out.println("Skipping " + left + ", which has no right trajectory");
+                continue;
+            }
+            TrajectoryBuffer leftBuffer = AutonomousCommand.readTrajectoryBuffer(left.getPath());
+            TrajectoryBuffer rightBuffer = AutonomousCommand.readTrajectoryBuffer(right.getPath());
+            String name = left.getName();
+            int side = name.lastIndexOf("_left");
+            name = (name.substring(0, side) + name.substring(side + "_left".length())).replace(".csv", "");
+            futures.add(pool.submit(new PathSimulation(name, leftBuffer, rightBuffer, rio)));
+        }
+
+        System.out.println(PathSimulation.Result.getHeader());
+        double simulated = 0;
+        for (Future<PathSimulation.Result> future : futures)
+        {
+            PathSimulation.Result result = future.get();
+            simulated += result.completionTime + PathSimulation.SETTLE_TIME;
+            System.out.println(result);
+        }
+        pool.shutdown();
+        double wall = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Simulated %d paths (%.1f s) in %.3f s on %d threads, %.0fx real time%n",
+                futures.size(), simulated, wall, threads, simulated / wall);
+    }
+
+    /**
+     * Determines whether the arguments name autonomous modes rather than trajectories.
+     * @param args the arguments
+     * @return true if there are none or every one is the name of a mode; false otherwise
+     */
+    private static boolean areModes (String[] args)
+    {
+        for (String arg : args)
+        {
+            boolean found = false;
+            for (AutonSimulation.Mode mode : AutonSimulation.Mode.values())
+                found |= mode.name().equals(arg);
+            if (!found)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs autonomous modes in parallel, each in its own class loader, and prints the results.
+     * @param names the modes to run, or none to run them all
+     */
+    private static void runModes (String[] names) throws Exception
+    {
+        if (names.length == 0)
+        {
+            AutonSimulation.Mode[] modes = AutonSimulation.Mode.values();
+            names = new String[modes.length];
+            for (int i = 0; i < modes.length; i++)
+                names[i] = modes[i].name();
+        }
+        // the HAL is shared by every run, and the commands only run while the robot is enabled
+        HAL.initialize(500, 0);
+        DriverStationSim driverStation = new DriverStationSim();
+        driverStation.setDsAttached(true);
+        driverStation.setAutonomous(true);
+        driverStation.setEnabled(true);
+        driverStation.notifyNewData();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = createPool("AutonSimulation", threads);
+        long start = System.nanoTime();
+        List<Future<AutonSimulation.Result>> futures = new ArrayList<Future<AutonSimulation.Result>>();
+        for (final String name : names)
+        {
+            futures.add(pool.submit(new Callable<AutonSimulation.Result>()
+            {
+                @SuppressWarnings("unchecked")
+                public AutonSimulation.Result call() throws Exception
+                {
+                    ClassLoader loader = new SimulationClassLoader();
+                    Thread thread = Thread.currentThread();
+                    ClassLoader previous = thread.getContextClassLoader();
+                    thread.setContextClassLoader(loader);
+                    try
+                    {
+                        Class<?> simulation = loader.loadClass(AutonSimulation.class.getName());
+                        return ((Callable<AutonSimulation.Result>) simulation.getConstructor(String.class)
+                                .newInstance(name)).call();
+                    }
+                    finally
+                    {
+                        thread.setContextClassLoader(previous);
+                    }
+                }
+            }));
+        }
+
+        System.out.println(AutonSimulation.Result.getHeader());
+        double simulated = 0;
+        for (Future<AutonSimulation.Result> future : futures)
+        {
+            AutonSimulation.Result result = future.get();
+            simulated += result.totalTime;
+            System.out.println(result);
+        }
+        pool.shutdown();
+        double wall = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Simulated %d modes (%.1f s) in %.3f s on %d threads, %.0fx real time%n",
+                futures.size(), simulated, wall, threads, simulated / wall);
+    }
+
+    /**
+     * Creates a pool of daemon threads.
+     */
+    private static ExecutorService createPool (final String name, int threads)
+    {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory()
+        {
+            public Thread newThread (Runnable r)
+            {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Gets the right twin of a left trajectory, whose name has the last "_left" replaced by "_right".
+     * @param left the left trajectory
+     * @return the right trajectory, which may not exist
+     */
+    public static File getRightTrajectory (File left)
+    {
+        String name = left.getName();
+        int side = name.lastIndexOf("_left");
+        return new File(left.getParentFile(), name.substring(0, side) + "_right" + name.substring(side + "_left".length()));
+    }
+
+    /**
+     * Adds the detailed left trajectories in a directory and its subdirectories, in name order.
+     */
+    private static void findPaths (File dir, List<File> lefts)
+    {
+        File[] files = dir.listFiles();
+        if (files == null)
+            return;
+        Arrays.sort(files);
+        for (File file : files)
+        {
+            if (file.isDirectory())
+                findPaths(file, lefts);
+            else if (file.getName().endsWith(LEFT_SUFFIX))
+                lefts.add(file);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package frc.robot.sim;
+
+import frc.robot.RobotMap.CAN_IDs;
+import frc.robot.hardware.DriveHardware;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.RealTimeLoop;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.PositionUnit;
+
+/**
+ * Simulates the drivetrain: a Talon on each side driving a differential drive model, and an IMU
+ * reporting its heading. The Talon loops and the model advance together in one millisecond steps,
+ * either in real time on a background thread (start()) or as fast as step() is called.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedDrivetrain implements Runnable
+{
+    /**
+     * The time each side takes to reach 63% of a new speed (s).
+     */
+    public static final double TIME_CONSTANT = 0.1;
+
+    /**
+     * The distance between the left and right wheels (ft), as used to generate the paths.
+     */
+    public static final double WHEEL_BASE = 1.464;
+
+    /**
+     * The time between updates of the Talon loops and the model (s).
+     */
+    public static final double STEP = 0.001;
+
+    /**
+     * The period of the background thread when running in real time (s).
+     */
+    public static final double REAL_TIME_PERIOD = 0.005;
+
+    private final DifferentialDrivePlant plant;
+    private final SimulatedTalon left;
+    private final SimulatedTalon right;
+    private final SimulatedImu imu;
+    private final DriveHardware hardware;
+    private RealTimeLoop loop;
+    private double time;
+
+    /**
+     * Constructs a new SimulatedDrivetrain whose top speed matches the velocity feed-forward,
+     * which is the speed at which the Talons expect full output to drive the robot.
+     */
+    public SimulatedDrivetrain()
+    {
+        this(getFeedForwardSpeed(), TIME_CONSTANT, WHEEL_BASE);
+    }
+
+    /**
+     * Constructs a new SimulatedDrivetrain.
+     * @param freeSpeed the speed each side reaches at full output (ft/s)
+     * @param timeConstant the time each side takes to reach 63% of a new speed (s)
+     * @param wheelBase the distance between the left and right wheels (ft)
+     */
+    public SimulatedDrivetrain (double freeSpeed, double timeConstant, double wheelBase)
+    {
+        plant = new DifferentialDrivePlant(freeSpeed, timeConstant, wheelBase);
+        final double ticksPerFoot = Conversions.convertPosition(PositionUnit.FEET, 1, PositionUnit.ENCODER_UNITS);
+        left = new SimulatedTalon(CAN_IDs.LEFT_CIM_TALON, new SimulatedTalon.Encoder()
+        {
+            public double getPosition() { return plant.getLeftPosition() * ticksPerFoot; }
+
+            public double getVelocity() { return plant.getLeftVelocity() * ticksPerFoot / 10; }
+        }, this);
+        right = new SimulatedTalon(CAN_IDs.RIGHT_CIM_TALON, new SimulatedTalon.Encoder()
+        {
+            public double getPosition() { return plant.getRightPosition() * ticksPerFoot; }
+
+            public double getVelocity() { return plant.getRightVelocity() * ticksPerFoot / 10; }
+        }, this);
+        imu = new SimulatedImu(plant, CAN_IDs.PIGEON);
+        hardware = new DriveHardware(left, right, imu);
+    }
+
+    /**
+     * Gets the speed at which the velocity feed-forward expects full output to drive the robot.
+     * @return the speed (ft/s)
+     */
+    public static double getFeedForwardSpeed()
+    {
+        double ticksPer100ms = 1023 / Drivetrain.VEL_KF_LEFT;
+        return ticksPer100ms * 10 / Conversions.convertPosition(PositionUnit.FEET, 1, PositionUnit.ENCODER_UNITS);
+    }
+
+    /**
+     * Advances the simulation.
+     * @param dt the time to advance (s), rounded to a whole number of steps
+     */
+    public void step (double dt)
+    {
+        long steps = Math.round(dt / STEP);
+        for (long i = 0; i < steps; i++)
+            run();
+    }
+
+    /**
+     * Advances the simulation by a single step.
+     */
+    public synchronized void run()
+    {
+        // the right Talon leads in an arc, so it runs first to drive its follower
+        right.update();
+        left.update();
+        plant.step(left.getMotorOutputPercent(), right.getMotorOutputPercent(), STEP);
+        time += STEP;
+    }
+
+    /**
+     * Begins advancing the simulation in real time on a background thread.
+     */
+    public synchronized void start()
+    {
+        if (loop == null)
+        {
+            loop = new RealTimeLoop("SimulatedDrivetrain", new Runnable()
+            {
+                public void run()
+                {
+                    step(REAL_TIME_PERIOD);
+                }
+            }, REAL_TIME_PERIOD, Thread.MAX_PRIORITY);
+            loop.start();
+        }
+    }
+
+    /**
+     * Stops advancing the simulation in real time.
+     */
+    public synchronized void stop()
+    {
+        if (loop != null)
+        {
+            loop.stop();
+            loop = null;
+        }
+    }
+
+    /**
+     * Gets the time simulated so far.
+     * @return the time (s)
+     */
+    public synchronized double getTime()
+    {
+        return time;
+    }
+
+    public DifferentialDrivePlant getPlant()
+    {
+        return plant;
+    }
+
+    public SimulatedTalon getLeft()
+    {
+        return left;
+    }
+
+    public SimulatedTalon getRight()
+    {
+        return right;
+    }
+
+    public SimulatedImu getImu()
+    {
+        return imu;
+    }
+
+    public DriveHardware getHardware()
+    {
+        return hardware;
+    }
+}
@@ -0,0 +1,93 @@
+package frc.robot.sim;
+
+import frc.robot.RobotMap.CAN_IDs;
+import frc.robot.subsystems.Elevator;
+
+/**
+ * Simulates the elevator: the bottom right Talon driving the carriage. The Talon loop and the
+ * model advance together in one millisecond steps, as fast as step() is called.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedElevator implements Runnable
+{
+    /**
+     * The time the carriage takes to reach 63% of a new speed (s).
+     */
+    public static final double TIME_CONSTANT = 0.08;
+
+    /**
+     * The time between updates of the Talon loop and the model (s).
+     */
+    public static final double STEP = 0.001;
+
+    private final ElevatorPlant plant;
+    private final SimulatedTalon talon;
+    private double time;
+
+    /**
+     * Constructs a new SimulatedElevator whose top speed matches the motion magic feed-forward
+     * and which is held up by the gravity feed-forward.
+     */
+    public SimulatedElevator()
+    {
+        this(1023 / Elevator.MOTION_MAGIC_KF * 10, TIME_CONSTANT, Elevator.POS_FGRAV);
+    }
+
+    /**
+     * Constructs a new SimulatedElevator.
+     * @param freeSpeed the speed the carriage would reach at full output without gravity (encoder units/s)
+     * @param timeConstant the time the carriage takes to reach 63% of a new speed (s)
+     * @param gravityOutput the output which holds the carriage still (from 0 to 1)
+     */
+    public SimulatedElevator (double freeSpeed, double timeConstant, double gravityOutput)
+    {
+        plant = new ElevatorPlant(freeSpeed, timeConstant, gravityOutput);
+        talon = new SimulatedTalon(CAN_IDs.ELEVATOR_TALON, new SimulatedTalon.Encoder()
+        {
+            public double getPosition() { return plant.getPosition(); }
+
+            public double getVelocity() { return plant.getVelocity() / 10; }
+        }, null);
+    }
+
+    /**
+     * Advances the simulation.
+     * @param dt the time to advance (s), rounded to a whole number of steps
+     */
+    public void step (double dt)
+    {
+        long steps = Math.round(dt / STEP);
+        for (long i = 0; i < steps; i++)
+            run();
+    }
+
+    /**
+     * Advances the simulation by a single step.
+     */
+    public void run()
+    {
+        talon.update();
+        plant.step(talon.getMotorOutputPercent(), STEP);
+        time += STEP;
+    }
+
+    /**
+     * Gets the time simulated so far.
+     * @return the time (s)
+     */
+    public double getTime()
+    {
+        return time;
+    }
+
+    public ElevatorPlant getPlant()
+    {
+        return plant;
+    }
+
+    public SimulatedTalon getTalon()
+    {
+        return talon;
+    }
+}
@@ -0,0 +1,36 @@
+package frc.robot.sim;
+
+import frc.robot.hardware.Imu;
+
+/**
+ * Reports the heading of a simulated drivetrain as an IMU would.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedImu implements Imu
+{
+    private final DifferentialDrivePlant plant;
+    private final int deviceID;
+    private volatile double offset;
+
+    SimulatedImu (DifferentialDrivePlant plant, int deviceID)
+    {
+        this.plant = plant;
+        this.deviceID = deviceID;
+    }
+
+    public double getYaw()
+    {
+        return Math.toDegrees(plant.getHeading()) - offset;
+    }
+
+    public void setYaw (double yaw)
+    {
+        offset = Math.toDegrees(plant.getHeading()) - yaw;
+    }
+
+    public int getDeviceID()
+    {
+        return deviceID;
+    }
+}
@@ -0,0 +1,54 @@
+package frc.robot.sim;
+
+import frc.robot.RobotMap.CAN_IDs;
+
+/**
+ * Simulates the intake: a Talon on each side spinning the rollers. The rollers are not modelled,
+ * so the Talons only track the output they are set to, as fast as step() is called.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedIntake implements Runnable
+{
+    /**
+     * The time between updates of the Talons (s).
+     */
+    public static final double STEP = 0.001;
+
+    private final SimulatedTalon left;
+    private final SimulatedTalon right;
+
+    /**
+     * Constructs a new SimulatedIntake.
+     */
+    public SimulatedIntake()
+    {
+        SimulatedTalon.Encoder stationary = new SimulatedTalon.Encoder()
+        {
+            public double getPosition() { return 0; }
+
+            public double getVelocity() { return 0; }
+        };
+        left = new SimulatedTalon(CAN_IDs.INTAKE_TALON_LEFT, stationary, null);
+        right = new SimulatedTalon(CAN_IDs.INTAKE_TALON_RIGHT, stationary, null);
+    }
+
+    /**
+     * Advances the simulation by a single step.
+     */
+    public void run()
+    {
+        left.update();
+        right.update();
+    }
+
+    public SimulatedTalon getLeft()
+    {
+        return left;
+    }
+
+    public SimulatedTalon getRight()
+    {
+        return right;
+    }
+}
@@ -0,0 +1,37 @@
+package frc.robot.sim;
+
+import frc.robot.hardware.Solenoid;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+
+/**
+ * Emulates a double solenoid by remembering the position it was last set to, and counts the
+ * times it was set so that a run can report what the pneumatics did.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedSolenoid implements Solenoid
+{
+    private DoubleSolenoid.Value value = DoubleSolenoid.Value.kOff;
+    private int sets;
+
+    public synchronized void set (DoubleSolenoid.Value value)
+    {
+        this.value = value;
+        sets++;
+    }
+
+    public synchronized DoubleSolenoid.Value get()
+    {
+        return value;
+    }
+
+    /**
+     * Gets the number of times the solenoid has been set.
+     * @return the number of sets
+     */
+    public synchronized int getSets()
+    {
+        return sets;
+    }
+}
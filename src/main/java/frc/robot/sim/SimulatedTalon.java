@@ -0,0 +1,679 @@
+package frc.robot.sim;
+
+import java.util.ArrayDeque;
+
+import frc.robot.hardware.MotorController;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.AngleUnit;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.FollowerType;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.SensorTerm;
+
+/**
+ * Emulates a Talon driving one side of a simulated drivetrain, or another simulated mechanism. The
+ * closed loops run once per millisecond as on a Talon, with the same gain units (output out of 1023
+ * per sensor unit of error):
+ * <ul>
+ * <li>PercentOutput drives the mechanism directly.</li>
+ * <li>Position and Velocity close the loop on the selected sensor.</li>
+ * <li>MotionMagic follows a trapezoidal profile to the target position on the selected sensor.</li>
+ * <li>MotionProfile follows the buffered points on the mechanism's encoder.</li>
+ * <li>MotionProfileArc follows the buffered points on the average of both sides, with an auxiliary
+ * loop on the heading (in Pigeon units) added to this side and subtracted from the aux follower.</li>
+ * </ul>
+ * The selected sensor is the encoder unless a remote sensor (the Pigeon on the robot) is selected
+ * for the primary loop, in which case it is the heading; sensor terms, coefficients and remote
+ * filters are accepted and ignored, and the arc loop always uses the sensors the robot's arc
+ * configuration selects. The auxiliary loop applies no feed-forward. The mechanism is modelled as
+ * wired so that positive output drives it forward with the sensor in phase, so inversion, sensor
+ * phase, neutral mode and the output shaping configs are accepted and ignored as well.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulatedTalon implements MotorController
+{
+    /**
+     * The number of points which fit in the top-level (RoboRio) buffer.
+     */
+    public static final int TOP_BUFFER_CAPACITY = 2048;
+
+    /**
+     * The number of points which fit in the Talon's own (bottom) buffer.
+     */
+    public static final int BOTTOM_BUFFER_CAPACITY = 128;
+
+    /**
+     * The number of closed-loop slots.
+     */
+    public static final int SLOTS = 4;
+
+    private static final double FULL_OUTPUT = 1023;
+
+    /**
+     * The sensors on which the Position, Velocity and MotionMagic loops can close.
+     */
+    public enum Feedback
+    {
+        ENCODER, HEADING, INVERTED_HEADING
+    }
+
+    /**
+     * Reports the encoder readings of the mechanism a SimulatedTalon drives.
+     */
+    interface Encoder
+    {
+        /**
+         * Gets the position of the mechanism.
+         * @return the position (encoder units)
+         */
+        double getPosition();
+
+        /**
+         * Gets the velocity of the mechanism.
+         * @return the velocity (encoder units per 100 ms)
+         */
+        double getVelocity();
+    }
+
+    private final int deviceID;
+    private final Encoder encoder;
+    private final SimulatedDrivetrain drivetrain;
+    private Feedback feedback = Feedback.ENCODER;
+
+    private final double[] kP = new double[SLOTS];
+    private final double[] kI = new double[SLOTS];
+    private final double[] kD = new double[SLOTS];
+    private final double[] kF = new double[SLOTS];
+    private final int[] iZone = new int[SLOTS];
+    private final int[] selectedSlot = new int[2];
+    private final double[] integral = new double[2];
+    private final double[] prevError = new double[2];
+    private final boolean[] hasPrevError = new boolean[2];
+    private final int[] closedLoopError = new int[2];
+
+    private ControlMode mode = ControlMode.PercentOutput;
+    private double demand0;
+    private DemandType demand1Type = DemandType.Neutral;
+    private double demand1;
+    private volatile double output;
+    private double sensorOffset;
+    private SimulatedTalon auxFollower;
+
+    private int cruiseVelocity;
+    private int acceleration;
+    private double magicPosition;
+    private double magicVelocity;
+
+    private final ArrayDeque<TrajectoryPoint> topBuffer = new ArrayDeque<TrajectoryPoint>();
+    private final ArrayDeque<TrajectoryPoint> bottomBuffer = new ArrayDeque<TrajectoryPoint>();
+    private TrajectoryPoint activePoint;
+    private int activePointElapsedMs;
+    private int baseTrajDurationMs;
+    private boolean hasUnderrun;
+    private boolean isUnderrun;
+
+    /**
+     * Constructs a new SimulatedTalon.
+     * @param deviceID the CAN ID to report
+     * @param encoder the encoder on the mechanism this Talon drives
+     * @param drivetrain the drivetrain whose heading this Talon can read, or null if it drives
+     * another mechanism
+     */
+    SimulatedTalon (int deviceID, Encoder encoder, SimulatedDrivetrain drivetrain)
+    {
+        this.deviceID = deviceID;
+        this.encoder = encoder;
+        this.drivetrain = drivetrain;
+    }
+
+    /**
+     * Sets the Talon driven by the auxiliary loop while in MotionProfileArc, as with
+     * follow(master, FollowerType.AuxOutput1) on the robot.
+     * @param follower the follower, or null for none
+     */
+    public synchronized void setAuxFollower (SimulatedTalon follower)
+    {
+        auxFollower = follower;
+    }
+
+    /**
+     * Selects the sensor on which the Position, Velocity and MotionMagic loops close, as
+     * configSelectedFeedbackSensor does on the robot. The inverted heading stands in for the
+     * sensor phase with which a side which turns the robot clockwise reads the Pigeon.
+     * @param feedback the sensor
+     */
+    public synchronized void setFeedback (Feedback feedback)
+    {
+        this.feedback = feedback;
+    }
+
+    private double getOwnPosition()
+    {
+        return encoder.getPosition() - sensorOffset;
+    }
+
+    private double getOwnVelocity()
+    {
+        return encoder.getVelocity();
+    }
+
+    private double getFeedbackPosition()
+    {
+        if (feedback == Feedback.ENCODER)
+            return getOwnPosition();
+        return feedback == Feedback.HEADING ? getHeading() : -getHeading();
+    }
+
+    private double getFeedbackVelocity()
+    {
+        if (feedback == Feedback.ENCODER)
+            return getOwnVelocity();
+        double velocity = Conversions.convertAngle(AngleUnit.RADIANS, drivetrain.getPlant().getAngularVelocity(),
+                AngleUnit.PIGEON_UNITS) / 10;
+        return feedback == Feedback.HEADING ? velocity : -velocity;
+    }
+
+    private double getPrimaryPosition()
+    {
+        if (mode == ControlMode.MotionProfileArc && auxFollower != null)
+            return (getOwnPosition() + auxFollower.getOwnPosition()) / 2;
+        return getOwnPosition();
+    }
+
+    private double getHeading()
+    {
+        if (drivetrain == null)
+            return 0;
+        return Conversions.convertAngle(AngleUnit.DEGREES, drivetrain.getImu().getYaw(), AngleUnit.PIGEON_UNITS);
+    }
+
+    /**
+     * Runs one millisecond of the closed loop and motion profile executor.
+     */
+    synchronized void update()
+    {
+        double out;
+        switch (mode)
+        {
+            case PercentOutput:
+                out = demand0;
+                break;
+            case Position:
+                out = closedLoop(0, selectedSlot[0], demand0 - getFeedbackPosition(), demand0);
+                break;
+            case Velocity:
+                out = closedLoop(0, selectedSlot[0], demand0 - getFeedbackVelocity(), demand0);
+                break;
+            case MotionMagic:
+                updateMotionMagic();
+                out = closedLoop(0, selectedSlot[0], magicPosition - getFeedbackPosition(), magicVelocity / 10);
+                break;
+            case MotionProfile:
+            case MotionProfileArc:
+                out = updateMotionProfile();
+                break;
+            case Follower:
+                return;
+            default:
+                out = 0;
+                break;
+        }
+        if (demand1Type == DemandType.ArbitraryFeedForward)
+            out += demand1;
+        output = clamp(out);
+    }
+
+    /**
+     * Runs one iteration of a PID loop.
+     * @return the output (from -1 to 1)
+     */
+    private double closedLoop (int pidIdx, int slot, double error, double feedForwardTarget)
+    {
+        closedLoopError[pidIdx] = (int) error;
+        if (iZone[slot] != 0 && Math.abs(error) > iZone[slot])
+            integral[pidIdx] = 0;
+        else
+            integral[pidIdx] += error;
+        double derivative = hasPrevError[pidIdx] ? error - prevError[pidIdx] : 0;
+        prevError[pidIdx] = error;
+        hasPrevError[pidIdx] = true;
+        return (kP[slot] * error + kI[slot] * integral[pidIdx] + kD[slot] * derivative + kF[slot] * feedForwardTarget) / FULL_OUTPUT;
+    }
+
+    private void updateMotionMagic()
+    {
+        double maxVelocity = cruiseVelocity * 10.0; // ticks/s
+        double maxAcceleration = Math.max(1, acceleration * 10.0); // ticks/s^2
+        double dt = 0.001;
+        double remaining = demand0 - magicPosition;
+        double stoppingDistance = magicVelocity * magicVelocity / (2 * maxAcceleration);
+        double direction = Math.signum(remaining);
+        if (Math.abs(remaining) <= stoppingDistance || Math.signum(magicVelocity) == -direction)
+            magicVelocity -= Math.signum(magicVelocity) * Math.min(Math.abs(magicVelocity), maxAcceleration * dt);
+        else
+            magicVelocity = direction * Math.min(maxVelocity, Math.abs(magicVelocity) + maxAcceleration * dt);
+        magicPosition += magicVelocity * dt;
+        if (Math.abs(demand0 - magicPosition) < 1 && Math.abs(magicVelocity) < maxAcceleration * dt)
+        {
+            magicPosition = demand0;
+            magicVelocity = 0;
+        }
+    }
+
+    private double updateMotionProfile()
+    {
+        SetValueMotionProfile setValue = SetValueMotionProfile.valueOf((int) demand0);
+        if (setValue == SetValueMotionProfile.Disable || setValue == SetValueMotionProfile.Invalid)
+        {
+            if (auxFollower != null)
+                auxFollower.setFollowedOutput(0);
+            return 0;
+        }
+        if (setValue == SetValueMotionProfile.Enable)
+            advanceProfile();
+        if (activePoint == null)
+        {
+            if (auxFollower != null)
+                auxFollower.setFollowedOutput(0);
+            return 0;
+        }
+
+        TrajectoryPoint point = activePoint;
+        double primary = closedLoop(0, point.profileSlotSelect0, point.position - getPrimaryPosition(), point.velocity);
+        if (mode != ControlMode.MotionProfileArc)
+            return primary;
+        double aux = closedLoop(1, point.profileSlotSelect1, point.auxiliaryPos - getHeading(), 0);
+        if (auxFollower != null)
+            auxFollower.setFollowedOutput(primary - aux);
+        return primary + aux;
+    }
+
+    /**
+     * Moves on to the next buffered point once the active one has run for its duration.
+     */
+    private void advanceProfile()
+    {
+        if (activePoint != null)
+        {
+            activePointElapsedMs++;
+            if (activePointElapsedMs < baseTrajDurationMs + activePoint.timeDur.value || activePoint.isLastPoint)
+                return;
+        }
+        TrajectoryPoint next = bottomBuffer.poll();
+        if (next == null)
+        {
+            if (activePoint != null)
+                hasUnderrun = isUnderrun = true;
+            return;
+        }
+        isUnderrun = false;
+        activePoint = next;
+        activePointElapsedMs = 0;
+        if (next.zeroPos)
+            sensorOffset += getOwnPosition();
+    }
+
+    private synchronized void setFollowedOutput (double followedOutput)
+    {
+        mode = ControlMode.Follower;
+        output = clamp(followedOutput);
+    }
+
+    private static double clamp (double output)
+    {
+        return Math.max(-1, Math.min(1, output));
+    }
+
+    public synchronized void set (ControlMode mode, double value)
+    {
+        set(mode, value, DemandType.Neutral, 0);
+    }
+
+    public synchronized void set (ControlMode mode, double demand0, DemandType demand1Type, double demand1)
+    {
+        if (mode != this.mode)
+        {
+            integral[0] = integral[1] = 0;
+            hasPrevError[0] = hasPrevError[1] = false;
+            if (mode == ControlMode.MotionMagic)
+            {
+                magicPosition = getFeedbackPosition();
+                magicVelocity = getFeedbackVelocity() * 10;
+            }
+        }
+        this.mode = mode;
+        this.demand0 = demand0;
+        this.demand1Type = demand1Type;
+        this.demand1 = demand1;
+    }
+
+    public synchronized void neutralOutput()
+    {
+        set(ControlMode.PercentOutput, 0);
+    }
+
+    /**
+     * Follows another controller. Only a SimulatedTalon can be followed, and only by its auxiliary
+     * output, which makes this its aux follower; the Victors which follow the masters on the robot
+     * are not simulated.
+     * @param master the controller to follow
+     */
+    public void follow (MotorController master)
+    {
+        follow(master, FollowerType.PercentOutput);
+    }
+
+    /**
+     * Follows another controller. Only a SimulatedTalon can be followed, and only by its auxiliary
+     * output, which makes this its aux follower; the Victors which follow the masters on the robot
+     * are not simulated.
+     * @param master the controller to follow
+     * @param followerType the type of following, which must be FollowerType.AuxOutput1
+     */
+    public void follow (MotorController master, FollowerType followerType)
+    {
+        if (!(master instanceof SimulatedTalon) || followerType != FollowerType.AuxOutput1)
+            throw new UnsupportedOperationException(this + " can only follow the auxiliary output of a SimulatedTalon");
+        ((SimulatedTalon) master).setAuxFollower(this);
+    }
+
+    public void setNeutralMode (NeutralMode neutralMode) {}
+
+    public void setInverted (boolean invert) {}
+
+    public void setSensorPhase (boolean phaseSensor) {}
+
+    public double getMotorOutputPercent()
+    {
+        return output;
+    }
+
+    public double getOutputCurrent()
+    {
+        return 0;
+    }
+
+    public ErrorCode configFactoryDefault (int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configOpenloopRamp (double secondsFromNeutralToFull, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configNominalOutputForward (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configNominalOutputReverse (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configPeakOutputForward (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configPeakOutputReverse (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configNeutralDeadband (double percentDeadband, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configVoltageCompSaturation (double voltage, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public void enableVoltageCompensation (boolean enable) {}
+
+    /**
+     * Selects the sensor of a loop. For the primary loop, a remote sensor selects the heading
+     * (keeping it inverted if it already was) and any other device the encoder; the auxiliary
+     * loop always reads the heading.
+     */
+    public synchronized ErrorCode configSelectedFeedbackSensor (FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs)
+    {
+        if (pidIdx == 0)
+        {
+            boolean remote = feedbackDevice == FeedbackDevice.RemoteSensor0 || feedbackDevice == FeedbackDevice.RemoteSensor1;
+            if (!remote)
+                feedback = Feedback.ENCODER;
+            else if (feedback == Feedback.ENCODER)
+                feedback = Feedback.HEADING;
+        }
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configSelectedFeedbackSensor (RemoteFeedbackDevice feedbackDevice, int pidIdx, int timeoutMs)
+    {
+        return configSelectedFeedbackSensor(feedbackDevice == RemoteFeedbackDevice.RemoteSensor1
+                ? FeedbackDevice.RemoteSensor1 : FeedbackDevice.RemoteSensor0, pidIdx, timeoutMs);
+    }
+
+    public ErrorCode configSelectedFeedbackCoefficient (double coefficient, int pidIdx, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configRemoteFeedbackFilter (int deviceID, RemoteSensorSource remoteSensorSource, int remoteOrdinal,
+            int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configSensorTerm (SensorTerm sensorTerm, FeedbackDevice feedbackDevice, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public synchronized int getSelectedSensorPosition (int pidIdx)
+    {
+        if (pidIdx != 0)
+            return (int) getHeading();
+        return (int) (mode == ControlMode.MotionProfileArc ? getPrimaryPosition() : getFeedbackPosition());
+    }
+
+    public synchronized int getSelectedSensorVelocity (int pidIdx)
+    {
+        if (pidIdx != 0)
+            return 0;
+        if (mode == ControlMode.MotionProfileArc && auxFollower != null)
+            return (int) ((getOwnVelocity() + auxFollower.getOwnVelocity()) / 2);
+        return (int) getFeedbackVelocity();
+    }
+
+    public synchronized ErrorCode setSelectedSensorPosition (int sensorPos, int pidIdx, int timeoutMs)
+    {
+        if (pidIdx == 0)
+            sensorOffset += getOwnPosition() - sensorPos;
+        else if (drivetrain != null)
+            drivetrain.getImu().setYaw(Conversions.convertAngle(AngleUnit.PIGEON_UNITS, sensorPos, AngleUnit.DEGREES));
+        return ErrorCode.OK;
+    }
+
+    public synchronized int getClosedLoopError (int pidIdx)
+    {
+        return closedLoopError[pidIdx];
+    }
+
+    /**
+     * Gets the mode set most recently.
+     * @return the mode
+     */
+    public synchronized ControlMode getControlMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Determines whether an arbitrary feed-forward is being added to the output, as it is while
+     * FollowPathRio follows a path but not while it holds the final setpoint.
+     * @return true if the feed-forward is added; false otherwise
+     */
+    public synchronized boolean hasArbitraryFeedForward()
+    {
+        return demand1Type == DemandType.ArbitraryFeedForward;
+    }
+
+    public synchronized void selectProfileSlot (int slotIdx, int pidIdx)
+    {
+        selectedSlot[pidIdx] = slotIdx;
+    }
+
+    public synchronized ErrorCode config_kP (int slotIdx, double value, int timeoutMs)
+    {
+        kP[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode config_kI (int slotIdx, double value, int timeoutMs)
+    {
+        kI[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode config_kD (int slotIdx, double value, int timeoutMs)
+    {
+        kD[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode config_kF (int slotIdx, double value, int timeoutMs)
+    {
+        kF[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode config_IntegralZone (int slotIdx, int izone, int timeoutMs)
+    {
+        iZone[slotIdx] = izone;
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configAllowableClosedloopError (int slotIdx, int allowableCloseLoopError, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configAuxPIDPolarity (boolean invert, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode configMotionCruiseVelocity (int sensorUnitsPer100ms, int timeoutMs)
+    {
+        cruiseVelocity = sensorUnitsPer100ms;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode configMotionAcceleration (int sensorUnitsPer100msPerSec, int timeoutMs)
+    {
+        acceleration = sensorUnitsPer100msPerSec;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode configMotionProfileTrajectoryPeriod (int baseTrajDurationMs, int timeoutMs)
+    {
+        this.baseTrajDurationMs = baseTrajDurationMs;
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode changeMotionControlFramePeriod (int periodMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode pushMotionProfileTrajectory (TrajectoryPoint trajPt)
+    {
+        if (topBuffer.size() >= TOP_BUFFER_CAPACITY)
+            return ErrorCode.GeneralError;
+        TrajectoryPoint copy = new TrajectoryPoint();
+        copy.position = trajPt.position;
+        copy.velocity = trajPt.velocity;
+        copy.auxiliaryPos = trajPt.auxiliaryPos;
+        copy.profileSlotSelect0 = trajPt.profileSlotSelect0;
+        copy.profileSlotSelect1 = trajPt.profileSlotSelect1;
+        copy.isLastPoint = trajPt.isLastPoint;
+        copy.zeroPos = trajPt.zeroPos;
+        copy.timeDur = trajPt.timeDur;
+        topBuffer.add(copy);
+        return ErrorCode.OK;
+    }
+
+    public synchronized void processMotionProfileBuffer()
+    {
+        while (bottomBuffer.size() < BOTTOM_BUFFER_CAPACITY && !topBuffer.isEmpty())
+            bottomBuffer.add(topBuffer.poll());
+    }
+
+    public synchronized ErrorCode getMotionProfileStatus (MotionProfileStatus statusToFill)
+    {
+        statusToFill.topBufferRem = TOP_BUFFER_CAPACITY - topBuffer.size();
+        statusToFill.topBufferCnt = topBuffer.size();
+        statusToFill.btmBufferCnt = bottomBuffer.size();
+        statusToFill.hasUnderrun = hasUnderrun;
+        statusToFill.isUnderrun = isUnderrun;
+        statusToFill.activePointValid = activePoint != null;
+        statusToFill.isLast = activePoint != null && activePoint.isLastPoint;
+        statusToFill.profileSlotSelect0 = activePoint == null ? 0 : activePoint.profileSlotSelect0;
+        statusToFill.profileSlotSelect1 = activePoint == null ? 0 : activePoint.profileSlotSelect1;
+        statusToFill.outputEnable = mode == ControlMode.MotionProfile || mode == ControlMode.MotionProfileArc
+                ? SetValueMotionProfile.valueOf((int) demand0) : SetValueMotionProfile.Disable;
+        statusToFill.timeDurMs = baseTrajDurationMs + (activePoint == null ? 0 : activePoint.timeDur.value);
+        return ErrorCode.OK;
+    }
+
+    public synchronized int getMotionProfileTopLevelBufferCount()
+    {
+        return topBuffer.size();
+    }
+
+    public synchronized boolean isMotionProfileTopLevelBufferFull()
+    {
+        return topBuffer.size() >= TOP_BUFFER_CAPACITY;
+    }
+
+    public synchronized ErrorCode clearMotionProfileTrajectories()
+    {
+        topBuffer.clear();
+        bottomBuffer.clear();
+        activePoint = null;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode clearMotionProfileHasUnderrun (int timeoutMs)
+    {
+        hasUnderrun = false;
+        return ErrorCode.OK;
+    }
+
+    public int getDeviceID()
+    {
+        return deviceID;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SimulatedTalon " + deviceID;
+    }
+}
@@ -0,0 +1,84 @@
+package frc.robot.sim;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Loads its own copy of the robot code, the command framework and HarkerRoboLib, so that their
+ * static state (the subsystems, the scheduler, the clock and every other singleton) belongs to a
+ * single simulation. Everything else, in particular the libraries which load native code and may
+ * only be loaded once, is shared with the application class loader, as is AutonSimulation.Result,
+ * through which the runs report back.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SimulationClassLoader extends URLClassLoader
+{
+    /**
+     * The prefixes of the classes of which each loader has its own copy.
+     */
+    private static final String[] ISOLATED = {"frc.robot.", "edu.wpi.first.wpilibj.command.",
+            "edu.wpi.first.wpilibj.buttons.", "harkerrobolib."};
+
+    /**
+     * The classes which are always shared.
+     */
+    private static final String[] SHARED = {AutonSimulation.Result.class.getName()};
+
+    /**
+     * Constructs a new SimulationClassLoader over the application's class path.
+     */
+    public SimulationClassLoader()
+    {
+        super(getClassPath(), SimulationClassLoader.class.getClassLoader());
+    }
+
+    @Override
+    protected Class<?> loadClass (String name, boolean resolve) throws ClassNotFoundException
+    {
+        if (!isIsolated(name))
+            return super.loadClass(name, resolve);
+        synchronized (getClassLoadingLock(name))
+        {
+            Class<?> c = findLoadedClass(name);
+            if (c == null)
+                c = findClass(name);
+            if (resolve)
+                resolveClass(c);
+            return c;
+        }
+    }
+
+    private static boolean isIsolated (String name)
+    {
+        for (String shared : SHARED)
+        {
+            if (name.equals(shared))
+                return false;
+        }
+        for (String prefix : ISOLATED)
+        {
+            if (name.startsWith(prefix))
+                return true;
+        }
+        return false;
+    }
+
+    private static URL[] getClassPath()
+    {
+        String[] entries = System.getProperty("java.class.path").split(File.pathSeparator);
+        URL[] urls = new URL[entries.length];
+        try
+        {
+            for (int i = 0; i < entries.length; i++)
+                urls[i] = new File(entries[i]).toURI().toURL();
+        }
+        catch (MalformedURLException e)
+        {
+            throw new IllegalStateException("Invalid class path entry", e);
+        }
+        return urls;
+    }
+}
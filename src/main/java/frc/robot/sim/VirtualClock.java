@@ -0,0 +1,47 @@
+package frc.robot.sim;
+
+import frc.robot.util.Clock;
+
+/**
+ * A source of time which stands still until it is advanced, so that code which waits on the
+ * Clock can be run faster than real time and with the same result every run.
+ * @author agent
+ * @version 10/18/26
+ */
+public class VirtualClock implements Clock.Source
+{
+    private volatile double time;
+
+    /**
+     * Constructs a new VirtualClock starting at zero.
+     */
+    public VirtualClock()
+    {
+        this(0);
+    }
+
+    /**
+     * Constructs a new VirtualClock.
+     * @param start the time at which to start (s)
+     */
+    public VirtualClock (double start)
+    {
+        time = start;
+    }
+
+    public double getTimestamp()
+    {
+        return time;
+    }
+
+    /**
+     * Moves the time forward.
+     * @param dt the time to advance (s)
+     */
+    public synchronized void advance (double dt)
+    {
+        if (dt < 0)
+            throw new IllegalArgumentException("Cannot advance a clock by " + dt + " s");
+        time += dt;
+    }
+}
@@ -0,0 +1,61 @@
+package frc.robot.sim.tuning;
+
+import frc.robot.RobotMap;
+import frc.robot.sim.SimulatedDrivetrain;
+import frc.robot.sim.SimulatedTalon;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.PositionUnit;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+
+/**
+ * Tunes the position loop used by DriveToPosition, driving both sides forward together. The same
+ * gains are tried on both sides, starting from those on the left.
+ * @author agent
+ * @version 10/18/26
+ */
+public class DriveToPositionScenario extends TuningScenario
+{
+    /**
+     * The distance to drive (ft).
+     */
+    public static final double DISTANCE = 10;
+
+    /**
+     * Constructs a new DriveToPositionScenario.
+     */
+    public DriveToPositionScenario()
+    {
+        super("DriveToPosition", new String[] {"POS_KP", "POS_KI", "POS_KD"},
+                new double[] {Drivetrain.POS_KP_LEFT, Drivetrain.POS_KI_LEFT, Drivetrain.POS_KD_LEFT},
+                new double[] {0.2, 0.0001, 20});
+    }
+
+    public Score evaluate (double[] gains)
+    {
+        SimulatedDrivetrain sim = new SimulatedDrivetrain();
+        double target = Conversions.convertPosition(PositionUnit.FEET, DISTANCE, PositionUnit.ENCODER_UNITS);
+        SimulatedTalon[] talons = {sim.getLeft(), sim.getRight()};
+        for (SimulatedTalon talon : talons)
+        {
+            talon.config_kF(Drivetrain.POS_PID, Drivetrain.POS_KF_LEFT, RobotMap.TIMEOUT);
+            talon.config_kP(Drivetrain.POS_PID, gains[0], RobotMap.TIMEOUT);
+            talon.config_kI(Drivetrain.POS_PID, gains[1], RobotMap.TIMEOUT);
+            talon.config_kD(Drivetrain.POS_PID, gains[2], RobotMap.TIMEOUT);
+            talon.config_IntegralZone(Drivetrain.POS_PID, Drivetrain.POS_IZONE_LEFT, RobotMap.TIMEOUT);
+            talon.selectProfileSlot(Drivetrain.POS_PID, RobotMap.PRIMARY_PID_INDEX);
+            talon.set(ControlMode.Position, target);
+        }
+
+        StepResponse response = new StepResponse(0, target, Drivetrain.POS_ALLOWABLE_ERROR);
+        while (sim.getTime() < TRIAL_LENGTH && response.getTimeSettled() < HOLD_TIME)
+        {
+            sim.run();
+            double position = (sim.getLeft().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX)
+                    + sim.getRight().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX)) / 2.0;
+            response.sample(sim.getTime(), position);
+        }
+        return response.getScore();
+    }
+}
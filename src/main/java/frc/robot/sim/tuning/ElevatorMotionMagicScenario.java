@@ -0,0 +1,53 @@
+package frc.robot.sim.tuning;
+
+import frc.robot.RobotMap;
+import frc.robot.sim.SimulatedElevator;
+import frc.robot.sim.SimulatedTalon;
+import frc.robot.subsystems.Elevator;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+
+/**
+ * Tunes the motion magic loop used by MoveElevatorMotionMagic, raising the elevator from the
+ * bottom to switch height. The simulated elevator's top speed is set by the current feed-forward,
+ * so the feed-forward tried is judged against the elevator as it is now.
+ * @author agent
+ * @version 10/18/26
+ */
+public class ElevatorMotionMagicScenario extends TuningScenario
+{
+    /**
+     * Constructs a new ElevatorMotionMagicScenario.
+     */
+    public ElevatorMotionMagicScenario()
+    {
+        super("MoveElevatorMotionMagic",
+                new String[] {"MOTION_MAGIC_KF", "MOTION_MAGIC_KP", "MOTION_MAGIC_KD", "MOTION_MAGIC_VEL", "MOTION_MAGIC_ACCEL"},
+                new double[] {Elevator.MOTION_MAGIC_KF, Elevator.MOTION_MAGIC_KP, Elevator.MOTION_MAGIC_KD,
+                        Elevator.MOTION_MAGIC_VEL, Elevator.MOTION_MAGIC_ACCEL},
+                new double[] {0.4, 0.1, 10, 2000, 2000});
+    }
+
+    public Score evaluate (double[] gains)
+    {
+        SimulatedElevator sim = new SimulatedElevator();
+        SimulatedTalon talon = sim.getTalon();
+        talon.config_kF(Elevator.MOTION_MAGIC_PID, gains[0], RobotMap.TIMEOUT);
+        talon.config_kP(Elevator.MOTION_MAGIC_PID, gains[1], RobotMap.TIMEOUT);
+        talon.config_kI(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KI, RobotMap.TIMEOUT);
+        talon.config_kD(Elevator.MOTION_MAGIC_PID, gains[2], RobotMap.TIMEOUT);
+        talon.configMotionCruiseVelocity((int) Math.round(gains[3]), RobotMap.TIMEOUT);
+        talon.configMotionAcceleration((int) Math.round(gains[4]), RobotMap.TIMEOUT);
+        talon.selectProfileSlot(Elevator.MOTION_MAGIC_PID, RobotMap.PRIMARY_PID_INDEX);
+        talon.set(ControlMode.MotionMagic, Elevator.SWITCH_HEIGHT_AUTON, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+
+        StepResponse response = new StepResponse(0, Elevator.SWITCH_HEIGHT_AUTON, Elevator.MOTION_MAGIC_ALLOWABLE_ERROR);
+        while (sim.getTime() < TRIAL_LENGTH && response.getTimeSettled() < HOLD_TIME)
+        {
+            sim.run();
+            response.sample(sim.getTime(), talon.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX));
+        }
+        return response.getScore();
+    }
+}
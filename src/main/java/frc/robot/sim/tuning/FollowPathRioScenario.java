@@ -0,0 +1,68 @@
+package frc.robot.sim.tuning;
+
+import frc.robot.RobotMap;
+import frc.robot.auto.control.RioPathController;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.sim.PathSimulation;
+import frc.robot.sim.SimulatedDrivetrain;
+import frc.robot.sim.SimulatedTalon;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.PositionUnit;
+
+/**
+ * Tunes the loops used by FollowPathRio: the Talon position loop which tracks each side's
+ * setpoint and the heading loop on the RoboRio which corrects them. A path's length is fixed, so
+ * its settling time is the time at which it ends, and its overshoot is the largest tracking error.
+ * @author agent
+ * @version 10/18/26
+ */
+public class FollowPathRioScenario extends TuningScenario
+{
+    private final TrajectoryBuffer left;
+    private final TrajectoryBuffer right;
+
+    /**
+     * Constructs a new FollowPathRioScenario.
+     * @param left the left trajectory of the path to follow
+     * @param right the right trajectory of the path to follow
+     */
+    public FollowPathRioScenario (TrajectoryBuffer left, TrajectoryBuffer right)
+    {
+        super("FollowPathRio", new String[] {"MOTION_PROF_KP", "MOTION_PROF_KD", "Pigeon.MOT_PROF_KP", "Pigeon.MOT_PROF_KD"},
+                new double[] {Drivetrain.MOTION_PROF_KP_LEFT, Drivetrain.MOTION_PROF_KD_LEFT,
+                        Drivetrain.Pigeon.MOT_PROF_KP, Drivetrain.Pigeon.MOT_PROF_KD},
+                new double[] {0.2, 20, 0.01, 0.001});
+        this.left = left;
+        this.right = right;
+    }
+
+    public Score evaluate (final double[] gains)
+    {
+        PathSimulation simulation = new PathSimulation(getName(), left, right, true)
+        {
+            @Override
+            protected void configure (SimulatedDrivetrain sim)
+            {
+                super.configure(sim);
+                SimulatedTalon[] talons = {sim.getLeft(), sim.getRight()};
+                for (SimulatedTalon talon : talons)
+                {
+                    talon.config_kP(Drivetrain.MOTION_PROFILE_PID, gains[0], RobotMap.TIMEOUT);
+                    talon.config_kD(Drivetrain.MOTION_PROFILE_PID, gains[1], RobotMap.TIMEOUT);
+                }
+            }
+
+            @Override
+            protected RioPathController createController()
+            {
+                return new RioPathController(gains[2], Drivetrain.Pigeon.MOT_PROF_KI, gains[3], Drivetrain.Pigeon.MOT_PROF_KF);
+            }
+        };
+        PathSimulation.Result result = simulation.call();
+        double ticksPerFoot = Conversions.convertPosition(PositionUnit.FEET, 1, PositionUnit.ENCODER_UNITS);
+        double finalError = (result.finalLeftError + result.finalRightError) / 2 * ticksPerFoot;
+        return new Score(result.completionTime, Math.abs(finalError) <= Drivetrain.POS_ALLOWABLE_ERROR,
+                result.maxError * ticksPerFoot, finalError, Drivetrain.POS_ALLOWABLE_ERROR);
+    }
+}
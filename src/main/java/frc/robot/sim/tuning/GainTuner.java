@@ -0,0 +1,196 @@
+package frc.robot.sim.tuning;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import frc.robot.commands.auton.AutonomousCommand;
+import frc.robot.sim.SimulatedAuton;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+
+/**
+ * Searches for better gains for the robot's closed loops by scoring every combination of the
+ * values each TuningScenario proposes against the simulated mechanisms, in parallel on a fork-join
+ * pool, and printing the best gain sets ranked by cost alongside the score of the current gains.
+ * <pre>
+ * usage: GainTuner [-top &lt;count&gt;] [-path &lt;left trajectory&gt;] [position|turn|path|elevator]...
+ * </pre>
+ * With no scenarios named, all are tuned.
+ * @author agent
+ * @version 10/18/26
+ */
+public class GainTuner
+{
+    /**
+     * The number of gain sets printed for each scenario, unless another is given.
+     */
+    public static final int DEFAULT_TOP = 10;
+
+    /**
+     * The path followed by the FollowPathRio scenario, unless another is given.
+     */
+    public static final String DEFAULT_PATH = "paths/1_cube/center_left_headon(switch_1)/center_left_headon(switch_1)_left_detailed.csv";
+
+    /**
+     * The largest number of gain sets scored by a single task before it splits.
+     */
+    public static final int THRESHOLD = 8;
+
+    /**
+     * Scores a range of the gain sets for a scenario, splitting it in half until it is small.
+     */
+    private static class EvaluateTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final TuningScenario scenario;
+        private final double[][] candidates;
+        private final TuningScenario.Score[] scores;
+        private final int start;
+        private final int end;
+
+        EvaluateTask (TuningScenario scenario, double[][] candidates, TuningScenario.Score[] scores, int start, int end)
+        {
+            this.scenario = scenario;
+            this.candidates = candidates;
+            this.scores = scores;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start <= THRESHOLD)
+            {
+                for (int i = start; i < end; i++)
+                    scores[i] = scenario.evaluate(getGains(candidates, i));
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new EvaluateTask(scenario, candidates, scores, start, middle),
+                    new EvaluateTask(scenario, candidates, scores, middle, end));
+        }
+    }
+
+    public static void main (String[] args) throws Exception
+    {
+        int top = DEFAULT_TOP;
+        String path = DEFAULT_PATH;
+        List<String> names = new ArrayList<String>();
+        for (int i = 0; i < args.length; i++)
+        {
+            if (args[i].equals("-top") && i + 1 < args.length)
+                top = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-path") && i + 1 < args.length)
+                path = args[++i];
+            else
+                names.add(args[i]);
+        }
+        if (names.isEmpty())
+            names.addAll(Arrays.asList("position", "turn", "path", "elevator"));
+
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+        List<TuningScenario> scenarios = new ArrayList<TuningScenario>();
+        for (String name : names)
+        {
+            if (name.equals("position"))
+                scenarios.add(new DriveToPositionScenario());
+            else if (name.equals("turn"))
+                scenarios.add(new TurnToAngleScenario());
+            else if (name.equals("path"))
+            {
+                File left = new File(path);
+                scenarios.add(new FollowPathRioScenario(AutonomousCommand.readTrajectoryBuffer(left.getPath()),
+                        AutonomousCommand.readTrajectoryBuffer(SimulatedAuton.getRightTrajectory(left).getPath())));
+            }
+            else if (name.equals("elevator"))
+                scenarios.add(new ElevatorMotionMagicScenario());
+            else
+            {
+                System.out.println("usage: GainTuner [-top <count>] [-path <left trajectory>] [position|turn|path|elevator]...");
+                return;
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        for (TuningScenario scenario : scenarios)
+            tune(pool, scenario, top);
+        pool.shutdown();
+    }
+
+    /**
+     * Scores every gain set for a scenario and prints the best.
+     */
+    private static void tune (ForkJoinPool pool, TuningScenario scenario, int top)
+    {
+        String[] gainNames = scenario.getGainNames();
+        double[][] candidates = new double[gainNames.length][];
+        int count = 1;
+        for (int i = 0; i < candidates.length; i++)
+        {
+            candidates[i] = scenario.getCandidates(i);
+            count *= candidates[i].length;
+        }
+
+        long start = System.nanoTime();
+        final TuningScenario.Score[] scores = new TuningScenario.Score[count];
+        pool.invoke(new EvaluateTask(scenario, candidates, scores, 0, count));
+        double[] currentGains = scenario.getCurrentGains();
+        TuningScenario.Score current = scenario.evaluate(currentGains);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Integer[] ranking = new Integer[count];
+        for (int i = 0; i < count; i++)
+            ranking[i] = i;
+        Arrays.sort(ranking, new Comparator<Integer>()
+        {
+            public int compare (Integer a, Integer b)
+            {
+                return Double.compare(scores[a].getCost(), scores[b].getCost());
+            }
+        });
+
+        System.out.printf("%s: %d gain sets in %.2f s on %d threads%n", scenario.getName(), count, elapsed,
+                pool.getParallelism());
+        System.out.printf("  current  %s  %s%n", current, format(gainNames, currentGains));
+        for (int i = 0; i < Math.min(top, count); i++)
+        {
+            int index = ranking[i];
+            System.out.printf("  %4d.    %s  %s%n", i + 1, scores[index], format(gainNames, getGains(candidates, index)));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Gets the gain set at an index into every combination of the candidates, the last gain
+     * varying fastest.
+     */
+    private static double[] getGains (double[][] candidates, int index)
+    {
+        double[] gains = new double[candidates.length];
+        for (int i = candidates.length - 1; i >= 0; i--)
+        {
+            gains[i] = candidates[i][index % candidates[i].length];
+            index /= candidates[i].length;
+        }
+        return gains;
+    }
+
+    private static String format (String[] gainNames, double[] gains)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < gains.length; i++)
+        {
+            if (i > 0)
+                sb.append(' ');
+            sb.append(gainNames[i]).append('=').append(String.format("%.4g", gains[i]));
+        }
+        return sb.toString();
+    }
+}
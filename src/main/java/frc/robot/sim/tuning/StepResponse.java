@@ -0,0 +1,69 @@
+package frc.robot.sim.tuning;
+
+/**
+ * Measures the response of a closed loop to a step in its target, one sample at a time: when the
+ * error last left the tolerance, how far the loop overshot, and where it finished.
+ * @author agent
+ * @version 10/18/26
+ */
+public class StepResponse
+{
+    private final double start;
+    private final double target;
+    private final double tolerance;
+
+    private double overshoot;
+    private double lastOutside;
+    private double lastTime;
+    private double lastError;
+    private boolean inside;
+
+    /**
+     * Constructs a new StepResponse.
+     * @param start the position at which the loop began (sensor units)
+     * @param target the target of the loop (sensor units)
+     * @param tolerance the allowable error of the loop (sensor units)
+     */
+    public StepResponse (double start, double target, double tolerance)
+    {
+        this.start = start;
+        this.target = target;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Records a sample.
+     * @param time the time since the step (s)
+     * @param position the position of the loop (sensor units)
+     */
+    public void sample (double time, double position)
+    {
+        double error = target - position;
+        // past the target is the side of it away from the start
+        double past = target > start ? -error : error;
+        overshoot = Math.max(overshoot, past);
+        inside = Math.abs(error) <= tolerance;
+        if (!inside)
+            lastOutside = time;
+        lastTime = time;
+        lastError = error;
+    }
+
+    /**
+     * Gets how long the error has stayed within tolerance.
+     * @return the time (s), or 0 if it is outside
+     */
+    public double getTimeSettled()
+    {
+        return inside ? lastTime - lastOutside : 0;
+    }
+
+    /**
+     * Scores the response so far.
+     * @return the score
+     */
+    public TuningScenario.Score getScore()
+    {
+        return new TuningScenario.Score(inside ? lastOutside : lastTime, inside, overshoot, lastError, tolerance);
+    }
+}
@@ -0,0 +1,150 @@
+package frc.robot.sim.tuning;
+
+/**
+ * Represents a closed loop whose gains can be tuned: a set of named gains, the values currently
+ * used on the robot, and a way to score any set of values against a simulated mechanism. Each call
+ * to evaluate() must build its own simulation, so that gain sets can be scored in parallel.
+ * @author agent
+ * @version 10/18/26
+ */
+public abstract class TuningScenario
+{
+    /**
+     * The factors by which each gain is multiplied to form the values tried.
+     */
+    public static final double[] FACTORS = {0.5, 1 / Math.sqrt(2), 1, Math.sqrt(2), 2};
+
+    /**
+     * The longest a single trial may run (s).
+     */
+    public static final double TRIAL_LENGTH = 5;
+
+    /**
+     * The time for which the error must stay within tolerance to end a trial early (s).
+     */
+    public static final double HOLD_TIME = 0.5;
+
+    private final String name;
+    private final String[] gainNames;
+    private final double[] currentGains;
+    private final double[] zeroScales;
+
+    /**
+     * Represents how well a gain set performed.
+     * @author agent
+     * @version 10/18/26
+     */
+    public static class Score
+    {
+        /**
+         * The cost of each tolerance of overshoot or final error, in seconds of settling time.
+         */
+        public static final double ERROR_WEIGHT = 0.1;
+
+        private final double settlingTime;
+        private final boolean settled;
+        private final double overshoot;
+        private final double finalError;
+        private final double tolerance;
+
+        /**
+         * Constructs a new Score.
+         * @param settlingTime the time after which the error stayed within tolerance (s), or the
+         * length of the trial if it never did
+         * @param settled true if the error came within tolerance and stayed there
+         * @param overshoot the largest distance past the target (sensor units)
+         * @param finalError the error at the end of the trial (sensor units)
+         * @param tolerance the allowable error of the loop (sensor units)
+         */
+        public Score (double settlingTime, boolean settled, double overshoot, double finalError, double tolerance)
+        {
+            this.settlingTime = settlingTime;
+            this.settled = settled;
+            this.overshoot = overshoot;
+            this.finalError = finalError;
+            this.tolerance = tolerance;
+        }
+
+        /**
+         * Gets the cost of this score, lower being better: the settling time, plus a penalty for the
+         * overshoot and final error relative to the tolerance, doubled if the loop never settled.
+         * @return the cost (s)
+         */
+        public double getCost()
+        {
+            double cost = settlingTime + ERROR_WEIGHT * (overshoot + Math.abs(finalError)) / tolerance;
+            return settled ? cost : 2 * cost;
+        }
+
+        public double getSettlingTime() { return settlingTime; }
+
+        public boolean isSettled() { return settled; }
+
+        public double getOvershoot() { return overshoot; }
+
+        public double getFinalError() { return finalError; }
+
+        @Override
+        public String toString()
+        {
+            return String.format("cost %7.3f  settle %6s  overshoot %8.1f  error %8.1f", getCost(),
+                    settled ? String.format("%.3f", settlingTime) : "never", overshoot, finalError);
+        }
+    }
+
+    /**
+     * Constructs a new TuningScenario.
+     * @param name the name of the scenario
+     * @param gainNames the names of the gains, as in the constants which hold them
+     * @param currentGains the values of the gains currently used
+     * @param zeroScales for each gain, the value about which to search if it is currently zero
+     */
+    protected TuningScenario (String name, String[] gainNames, double[] currentGains, double[] zeroScales)
+    {
+        this.name = name;
+        this.gainNames = gainNames;
+        this.currentGains = currentGains;
+        this.zeroScales = zeroScales;
+    }
+
+    /**
+     * Scores a set of gains.
+     * @param gains the values of the gains, in the order of getGainNames()
+     * @return the score
+     */
+    public abstract Score evaluate (double[] gains);
+
+    /**
+     * Gets the values to try for a gain: the current value multiplied by each of FACTORS, or zero
+     * and the zero scale multiplied by each factor if the gain is currently zero.
+     * @param gain the index of the gain
+     * @return the values
+     */
+    public double[] getCandidates (int gain)
+    {
+        double current = currentGains[gain];
+        double base = current == 0 ? zeroScales[gain] : current;
+        if (base == 0)
+            return new double[] {0};
+        int offset = current == 0 ? 1 : 0;
+        double[] candidates = new double[FACTORS.length + offset];
+        for (int i = 0; i < FACTORS.length; i++)
+            candidates[i + offset] = base * FACTORS[i];
+        return candidates;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public String[] getGainNames()
+    {
+        return gainNames;
+    }
+
+    public double[] getCurrentGains()
+    {
+        return currentGains.clone();
+    }
+}
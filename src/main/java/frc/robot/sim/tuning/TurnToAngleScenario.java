@@ -0,0 +1,66 @@
+package frc.robot.sim.tuning;
+
+import frc.robot.RobotMap;
+import frc.robot.sim.SimulatedDrivetrain;
+import frc.robot.sim.SimulatedTalon;
+import frc.robot.sim.SimulatedTalon.Feedback;
+import frc.robot.subsystems.Drivetrain;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.AngleUnit;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+
+/**
+ * Tunes the motion magic loop on the Pigeon used by TurnToAngle, turning in place. The cruise
+ * velocity, acceleration and feed-forward are held at their current values.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TurnToAngleScenario extends TuningScenario
+{
+    /**
+     * The angle through which to turn (degrees).
+     */
+    public static final double ANGLE = 90;
+
+    /**
+     * Constructs a new TurnToAngleScenario.
+     */
+    public TurnToAngleScenario()
+    {
+        super("TurnToAngle", new String[] {"TURN_KP", "TURN_KI", "TURN_KD"},
+                new double[] {Drivetrain.Pigeon.TURN_KP, Drivetrain.Pigeon.TURN_KI, Drivetrain.Pigeon.TURN_KD},
+                new double[] {2, 0.002, 1});
+    }
+
+    public Score evaluate (double[] gains)
+    {
+        SimulatedDrivetrain sim = new SimulatedDrivetrain();
+        double angle = Conversions.convertAngle(AngleUnit.DEGREES, ANGLE, AngleUnit.PIGEON_UNITS);
+        SimulatedTalon[] talons = {sim.getLeft(), sim.getRight()};
+        for (SimulatedTalon talon : talons)
+        {
+            talon.config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KF, RobotMap.TIMEOUT);
+            talon.config_kP(Drivetrain.ANGLE_PID, gains[0], RobotMap.TIMEOUT);
+            talon.config_kI(Drivetrain.ANGLE_PID, gains[1], RobotMap.TIMEOUT);
+            talon.config_kD(Drivetrain.ANGLE_PID, gains[2], RobotMap.TIMEOUT);
+            talon.config_IntegralZone(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_IZONE, RobotMap.TIMEOUT);
+            talon.configMotionCruiseVelocity(Drivetrain.Pigeon.TURN_VEL, RobotMap.TIMEOUT);
+            talon.configMotionAcceleration(Drivetrain.Pigeon.TURN_ACCEL, RobotMap.TIMEOUT);
+            talon.selectProfileSlot(Drivetrain.ANGLE_PID, RobotMap.PRIMARY_PID_INDEX);
+        }
+        // as in TurnToAngle, the left side closes on the negated heading
+        sim.getLeft().setFeedback(Feedback.INVERTED_HEADING);
+        sim.getRight().setFeedback(Feedback.HEADING);
+        sim.getLeft().set(ControlMode.MotionMagic, -angle);
+        sim.getRight().set(ControlMode.MotionMagic, angle);
+
+        StepResponse response = new StepResponse(0, angle, Drivetrain.Pigeon.ANGLE_ALLOWABLE_ERROR);
+        while (sim.getTime() < TRIAL_LENGTH && response.getTimeSettled() < HOLD_TIME)
+        {
+            sim.run();
+            response.sample(sim.getTime(), sim.getRight().getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX));
+        }
+        return response.getScore();
+    }
+}
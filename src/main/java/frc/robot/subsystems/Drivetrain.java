@@ -1,22 +1,29 @@
 package frc.robot.subsystems;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.OI;
 import frc.robot.RobotMap;
 import frc.robot.RobotMap.CAN_IDs;
 import frc.robot.commands.drivetrain.DriveWithVelocity;
+import frc.robot.hardware.CachedTalon;
+import frc.robot.hardware.CtreMotorController;
+import frc.robot.hardware.DriveHardware;
+import frc.robot.hardware.PigeonImu;
+import frc.robot.util.CanBusMonitor;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
-import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 import com.ctre.phoenix.motorcontrol.can.VictorSPX;
 import com.ctre.phoenix.sensors.PigeonIMU;
-import com.ctre.phoenix.sensors.PigeonIMU_StatusFrame;
 
 import harkerrobolib.subsystems.HSDrivetrain;
 import harkerrobolib.wrappers.HSPigeon;
-import harkerrobolib.wrappers.HSTalon;
 
 /**
  * Represents a drive train with two Talons and two Victors.
@@ -37,6 +44,13 @@ public class Drivetrain extends HSDrivetrain
 
     private static final NeutralMode NEUTRAL_MODE = NeutralMode.Brake;
     
+    /**
+     * The controllers and Pigeon through which the drivetrain is driven; the Talons themselves are
+     * used directly only for what a Talon alone supports (status frames, current limits and the
+     * configuration queue), and are null if the drivetrain is driven by other controllers.
+     */
+    private final DriveHardware hardware;
+    
     
     /**
      * Initializes this subsystem.
@@ -44,9 +58,34 @@ public class Drivetrain extends HSDrivetrain
     private Drivetrain()
     {
         // initialize talons
-        super(new HSTalon (CAN_IDs.LEFT_CIM_TALON, RobotMap.TIMEOUT), 
-        		new HSTalon (CAN_IDs.RIGHT_CIM_TALON, RobotMap.TIMEOUT), new VictorSPX (CAN_IDs.LEFT_CIM_VICTOR), new VictorSPX (CAN_IDs.RIGHT_CIM_VICTOR)
+        super(new CachedTalon (CAN_IDs.LEFT_CIM_TALON, RobotMap.TIMEOUT), 
+        		new CachedTalon (CAN_IDs.RIGHT_CIM_TALON, RobotMap.TIMEOUT), new VictorSPX (CAN_IDs.LEFT_CIM_VICTOR), new VictorSPX (CAN_IDs.RIGHT_CIM_VICTOR)
         		, new HSPigeon(CAN_IDs.PIGEON));
+        hardware = new DriveHardware(new CtreMotorController(getLeftMaster()), new CtreMotorController(getRightMaster()),
+                new CtreMotorController((VictorSPX) getLeftFollower()),
+                new CtreMotorController((VictorSPX) getRightFollower()), new PigeonImu(getPigeon()));
+        StatusFrameManager.getInstance().register(this, StatusFrameProfile.OPEN_LOOP, StatusFrameProfile.FIXED,
+                getPigeon(), getLeftMaster(), getRightMaster());
+        CanBusMonitor monitor = CanBusMonitor.getInstance();
+        monitor.registerTalon("Left Drive Talon", this, (CachedTalon) getLeftMaster());
+        monitor.registerTalon("Right Drive Talon", this, (CachedTalon) getRightMaster());
+        monitor.registerVictor("Left Drive Victor");
+        monitor.registerVictor("Right Drive Victor");
+        monitor.registerPigeon("Pigeon", this);
+        victorInit();
+    }
+
+    /**
+     * Constructs a new Drivetrain driven by the given controllers and IMU, as for a simulation.
+     * Only the Talons have current limits and configuration queues, so none are set and every
+     * configuration is taken to be complete as soon as it is called.
+     * @param hardware the controllers and IMU
+     */
+    public Drivetrain (DriveHardware hardware)
+    {
+        super(null, null);
+        this.hardware = hardware;
+        victorInit();
     }
   
     /**
@@ -66,8 +105,8 @@ public class Drivetrain extends HSDrivetrain
     public void arcadeDriveVelocity(double speed, double turn)
     {
         // victor follows talon
-        getRightMaster().set(ControlMode.Velocity, speed + turn);  
-        getLeftMaster().set(ControlMode.Velocity, speed - turn);  
+        hardware.getRight().set(ControlMode.Velocity, speed + turn);  
+        hardware.getLeft().set(ControlMode.Velocity, speed - turn);  
     }
     
     /**
@@ -76,7 +115,7 @@ public class Drivetrain extends HSDrivetrain
      */
     public void arcadeDrivePosition (double target)
     {
-        getRightMaster().set(ControlMode.Position, target);
+        hardware.getRight().set(ControlMode.Position, target);
     }
     
     /**
@@ -86,8 +125,8 @@ public class Drivetrain extends HSDrivetrain
      */
     public void arcadeDrivePosition (double leftTarget, double rightTarget)
     {        
-        getLeftMaster().set(ControlMode.Position, leftTarget);
-        getRightMaster().set(ControlMode.Position, rightTarget);
+        hardware.getLeft().set(ControlMode.Position, leftTarget);
+        hardware.getRight().set(ControlMode.Position, rightTarget);
     }
     
     /**
@@ -115,8 +154,8 @@ public class Drivetrain extends HSDrivetrain
      */
     public void talonInit()
     {
-        getLeftMaster().configFactoryDefault();
-        getRightMaster().configFactoryDefault();
+        hardware.getLeft().configFactoryDefault(RobotMap.TIMEOUT);
+        hardware.getRight().configFactoryDefault(RobotMap.TIMEOUT);
 
         zeroAllSensors();
         //getPigeon().zero();
@@ -128,23 +167,27 @@ public class Drivetrain extends HSDrivetrain
         victorInit();
         
         invertControllers();
-        getLeftMaster().setNeutralMode(NEUTRAL_MODE);
-        getLeftFollower().setNeutralMode(NEUTRAL_MODE);
-        getRightMaster().setNeutralMode(NEUTRAL_MODE);
-        getRightFollower().setNeutralMode(NEUTRAL_MODE);
+        hardware.getLeft().setNeutralMode(NEUTRAL_MODE);
+        hardware.getRight().setNeutralMode(NEUTRAL_MODE);
+        if (hardware.getLeftFollower() != null)
+        {
+            hardware.getLeftFollower().setNeutralMode(NEUTRAL_MODE);
+            hardware.getRightFollower().setNeutralMode(NEUTRAL_MODE);
+        }
         
         ;
         scaleVoltage(RobotMap.NOMINAL_BATTERY_VOLTAGE);
         configureNominalPeakOutputs();
         
         ;
-        dtsetTalonFramePeriods();
+        StatusFrameManager.getInstance().reapply(this);
         
         configurePositionClosedLoop();
         configureMotionProfileDriveClosedLoop();
 
-        setCurrentLimit(Drivetrain.PEAK_CURRENT_LIMIT, Drivetrain.PEAK_TIME_MS,
-                Drivetrain.CONTINUOUS_CURRENT_LIMIT);
+        if (getLeftMaster() != null)
+            setCurrentLimit(Drivetrain.PEAK_CURRENT_LIMIT, Drivetrain.PEAK_TIME_MS,
+                    Drivetrain.CONTINUOUS_CURRENT_LIMIT);
 
     }
     
@@ -153,8 +196,8 @@ public class Drivetrain extends HSDrivetrain
      */
     private void setTalonDeadbands()
     {
-        getLeftMaster().configNeutralDeadband(Drivetrain.TALON_DEADBAND);
-        getRightMaster().configNeutralDeadband(Drivetrain.TALON_DEADBAND);
+        hardware.getLeft().configNeutralDeadband(Drivetrain.TALON_DEADBAND, RobotMap.TIMEOUT);
+        hardware.getRight().configNeutralDeadband(Drivetrain.TALON_DEADBAND, RobotMap.TIMEOUT);
     }
     
     /**
@@ -165,7 +208,7 @@ public class Drivetrain extends HSDrivetrain
      */
     public void setLeft (ControlMode cm, double value)
     {
-        getLeftMaster().set(cm, value);
+        hardware.getLeft().set(cm, value);
     }
     
     /**
@@ -176,9 +219,61 @@ public class Drivetrain extends HSDrivetrain
      */
     public void setRight (ControlMode cm, double value)
     {
-        getRightMaster().set(cm, value);
+        hardware.getRight().set(cm, value);
     }
-    
+
+    /**
+     * Sets both talons to a given value.
+     * @param cm the ControlMode to which both talons will be set
+     * @param value the value to which both talons will be set
+     */
+    @Override
+    public void setBoth (ControlMode cm, double value)
+    {
+        setLeft(cm, value);
+        setRight(cm, value);
+    }
+
+    /**
+     * Selects the feedback sensor of both talons in a given PID loop.
+     * @param device the sensor
+     * @param pidLoop the loop index (primary/auxiliary) [0,1]
+     */
+    @Override
+    public void configBothFeedbackSensors (FeedbackDevice device, int pidLoop)
+    {
+        hardware.getLeft().configSelectedFeedbackSensor(device, pidLoop, RobotMap.TIMEOUT);
+        hardware.getRight().configSelectedFeedbackSensor(device, pidLoop, RobotMap.TIMEOUT);
+    }
+
+    /**
+     * Determines whether the closed loop error of both talons is within a tolerance.
+     * @param pidLoop the loop index (primary/auxiliary) [0,1]
+     * @param tolerance the largest error allowed (encoder units)
+     * @return true if both errors are strictly within the tolerance; false otherwise
+     */
+    @Override
+    public boolean isClosedLoopErrorWithin (int pidLoop, double tolerance)
+    {
+        return Math.abs(hardware.getLeft().getClosedLoopError(pidLoop)) < tolerance
+                && Math.abs(hardware.getRight().getClosedLoopError(pidLoop)) < tolerance;
+    }
+
+    /**
+     * Zeroes the quadrature encoders of both talons directly, whichever sensor each has selected.
+     */
+    public void zeroQuadraturePositions()
+    {
+        // other controllers have only the one encoder
+        if (getLeftMaster() == null)
+        {
+            setBothSensorPositions(0, RobotMap.PRIMARY_PID_INDEX);
+            return;
+        }
+        getLeftMaster().getSensorCollection().setQuadraturePosition(0, RobotMap.TIMEOUT);
+        getRightMaster().getSensorCollection().setQuadraturePosition(0, RobotMap.TIMEOUT);
+    }
+
     /**
      * Sets both talon sensor positions to a given value in a given PID loop.
      * @param value the value to which both will be set
@@ -186,8 +281,8 @@ public class Drivetrain extends HSDrivetrain
      */
     public void setBothSensorPositions (int value, int pidLoop)
     {
-        getLeftMaster().setSelectedSensorPosition(value, pidLoop);
-        getRightMaster().setSelectedSensorPosition(value, pidLoop);
+        hardware.getLeft().setSelectedSensorPosition(value, pidLoop, RobotMap.TIMEOUT);
+        hardware.getRight().setSelectedSensorPosition(value, pidLoop, RobotMap.TIMEOUT);
     }
     
     /**
@@ -195,8 +290,21 @@ public class Drivetrain extends HSDrivetrain
      */
     public void clearTrajectoryPoints()
     {
-        getLeftMaster().clearMotionProfileTrajectories();
-        getRightMaster().clearMotionProfileTrajectories();
+        hardware.getLeft().clearMotionProfileTrajectories();
+        hardware.getRight().clearMotionProfileTrajectories();
+    }
+    
+    /**
+     * Gets a future which completes once every configuration write queued so far for both master
+     * Talons has been sent.
+     * @return the future, already complete if the drivetrain is driven by other controllers
+     */
+    public CompletableFuture<Void> getConfigCompletion()
+    {
+        if (getLeftMaster() == null)
+            return CompletableFuture.completedFuture(null);
+        return CompletableFuture.allOf(((CachedTalon) getLeftMaster()).getConfigCompletion(),
+                ((CachedTalon) getRightMaster()).getConfigCompletion());
     }
     
     /**
@@ -205,7 +313,8 @@ public class Drivetrain extends HSDrivetrain
      */
     public void initTalonOutput(double output)
     {
-        setBoth(ControlMode.PercentOutput, output);
+        hardware.getLeft().set(ControlMode.PercentOutput, output);
+        hardware.getRight().set(ControlMode.PercentOutput, output);
     }
 
     /**
@@ -213,8 +322,22 @@ public class Drivetrain extends HSDrivetrain
      */
     private void victorInit()
     {
-        getLeftFollower().follow(getLeftMaster());
-        getRightFollower().follow(getRightMaster());
+        if (hardware.getLeftFollower() == null)
+            return;
+        hardware.getLeftFollower().follow(hardware.getLeft());
+        hardware.getRightFollower().follow(hardware.getRight());
+    }
+
+    /**
+     * Slaves the Victors to their parent talons through the hardware. HSDrivetrain calls this from
+     * its constructor, before the hardware has been set, so each constructor calls victorInit()
+     * once it has been.
+     */
+    @Override
+    public void followMasters()
+    {
+        if (hardware != null)
+            victorInit();
     }
     
     /**
@@ -235,10 +358,10 @@ public class Drivetrain extends HSDrivetrain
      */
     public void resetTalonCoefficients (int pid_slot)
     {
-        getLeftMaster().configSelectedFeedbackCoefficient(1,
-                pid_slot); 
-        getRightMaster().configSelectedFeedbackCoefficient(1,
-                pid_slot); 
+        hardware.getLeft().configSelectedFeedbackCoefficient(1,
+                pid_slot, RobotMap.TIMEOUT); 
+        hardware.getRight().configSelectedFeedbackCoefficient(1,
+                pid_slot, RobotMap.TIMEOUT); 
     }
     
     /**
@@ -246,8 +369,8 @@ public class Drivetrain extends HSDrivetrain
      */
     private void zeroAllSensors()
     {
-        getLeftMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
-        getRightMaster().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
+        hardware.getLeft().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        hardware.getRight().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
     }
    
 
@@ -257,8 +380,9 @@ public class Drivetrain extends HSDrivetrain
      */
     private void invertControllers()
     {
-        getLeftMaster().setInverted(Drivetrain.LEFT_TALON_INVERT);
-        getLeftFollower().setInverted(Drivetrain.LEFT_VICTOR_INVERT);
+        hardware.getLeft().setInverted(Drivetrain.LEFT_TALON_INVERT);
+        if (hardware.getLeftFollower() != null)
+            hardware.getLeftFollower().setInverted(Drivetrain.LEFT_VICTOR_INVERT);
         
         // Invert the following direction (left Talons and Victors were wired
         // oppositely)
@@ -273,8 +397,8 @@ public class Drivetrain extends HSDrivetrain
      */
     private void setRampTime(double t)
     {
-        getLeftMaster().configOpenloopRamp(t);
-        getRightMaster().configOpenloopRamp(t);
+        hardware.getLeft().configOpenloopRamp(t, RobotMap.TIMEOUT);
+        hardware.getRight().configOpenloopRamp(t, RobotMap.TIMEOUT);
     }
 
     /**
@@ -287,10 +411,10 @@ public class Drivetrain extends HSDrivetrain
      */
     private void scaleVoltage(double nomVoltage)
     {
-        getLeftMaster().configVoltageCompSaturation(nomVoltage);
-        getRightMaster().configVoltageCompSaturation(nomVoltage);
-        getLeftMaster().enableVoltageCompensation(true);
-        getRightMaster().enableVoltageCompensation(true);
+        hardware.getLeft().configVoltageCompSaturation(nomVoltage, RobotMap.TIMEOUT);
+        hardware.getRight().configVoltageCompSaturation(nomVoltage, RobotMap.TIMEOUT);
+        hardware.getLeft().enableVoltageCompensation(true);
+        hardware.getRight().enableVoltageCompensation(true);
     }
 
 
@@ -301,8 +425,8 @@ public class Drivetrain extends HSDrivetrain
      */
     public void setTalonSensorPhase(boolean leftPhase, boolean rightPhase)
     {
-        getLeftMaster().setSensorPhase(leftPhase);
-        getRightMaster().setSensorPhase(rightPhase);
+        hardware.getLeft().setSensorPhase(leftPhase);
+        hardware.getRight().setSensorPhase(rightPhase);
     }
 
     /**
@@ -312,17 +436,17 @@ public class Drivetrain extends HSDrivetrain
      */
     public void configureVelocityClosedLoop()
     {
-        getLeftMaster().config_kF(Drivetrain.VEL_PID, Drivetrain.VEL_KF_LEFT);
-        getRightMaster().config_kF(Drivetrain.VEL_PID, Drivetrain.VEL_KF_RIGHT);
+        hardware.getLeft().config_kF(Drivetrain.VEL_PID, Drivetrain.VEL_KF_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kF(Drivetrain.VEL_PID, Drivetrain.VEL_KF_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kP(Drivetrain.VEL_PID, Drivetrain.VEL_KP_LEFT);
-        getRightMaster().config_kP(Drivetrain.VEL_PID, Drivetrain.VEL_KP_RIGHT);
+        hardware.getLeft().config_kP(Drivetrain.VEL_PID, Drivetrain.VEL_KP_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kP(Drivetrain.VEL_PID, Drivetrain.VEL_KP_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kI(Drivetrain.VEL_PID, Drivetrain.VEL_KI_LEFT);
-        getRightMaster().config_kI(Drivetrain.VEL_PID, Drivetrain.VEL_KI_RIGHT);
+        hardware.getLeft().config_kI(Drivetrain.VEL_PID, Drivetrain.VEL_KI_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kI(Drivetrain.VEL_PID, Drivetrain.VEL_KI_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kD(Drivetrain.VEL_PID, Drivetrain.VEL_KD_LEFT);
-        getRightMaster().config_kD(Drivetrain.VEL_PID, Drivetrain.VEL_KD_RIGHT);
+        hardware.getLeft().config_kD(Drivetrain.VEL_PID, Drivetrain.VEL_KD_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kD(Drivetrain.VEL_PID, Drivetrain.VEL_KD_RIGHT, RobotMap.TIMEOUT);
       
     }
 
@@ -332,17 +456,17 @@ public class Drivetrain extends HSDrivetrain
      */
     public void configureNominalPeakOutputs()
     {
-        getLeftMaster().configNominalOutputForward(Drivetrain.NOMINAL_OUTPUT_LEFT);
-        getRightMaster().configNominalOutputForward(Drivetrain.NOMINAL_OUTPUT_RIGHT);
+        hardware.getLeft().configNominalOutputForward(Drivetrain.NOMINAL_OUTPUT_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().configNominalOutputForward(Drivetrain.NOMINAL_OUTPUT_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().configNominalOutputReverse(-1 * Drivetrain.NOMINAL_OUTPUT_LEFT);
-        getRightMaster().configNominalOutputReverse(-1 * Drivetrain.NOMINAL_OUTPUT_RIGHT);
+        hardware.getLeft().configNominalOutputReverse(-1 * Drivetrain.NOMINAL_OUTPUT_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().configNominalOutputReverse(-1 * Drivetrain.NOMINAL_OUTPUT_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().configPeakOutputForward(Drivetrain.PEAK_OUTPUT_LEFT);
-        getRightMaster().configPeakOutputForward(Drivetrain.PEAK_OUTPUT_RIGHT);
+        hardware.getLeft().configPeakOutputForward(Drivetrain.PEAK_OUTPUT_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().configPeakOutputForward(Drivetrain.PEAK_OUTPUT_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().configPeakOutputReverse(-1 * Drivetrain.PEAK_OUTPUT_LEFT);
-        getRightMaster().configPeakOutputReverse(-1 * Drivetrain.PEAK_OUTPUT_RIGHT);
+        hardware.getLeft().configPeakOutputReverse(-1 * Drivetrain.PEAK_OUTPUT_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().configPeakOutputReverse(-1 * Drivetrain.PEAK_OUTPUT_RIGHT, RobotMap.TIMEOUT);
     }
     /**
      * Configures the drivetrain position closed loop.
@@ -353,23 +477,23 @@ public class Drivetrain extends HSDrivetrain
      */
     private void configurePositionClosedLoop()
     {
-        getLeftMaster().configAllowableClosedloopError(Drivetrain.POS_PID, Drivetrain.POS_ALLOWABLE_ERROR);
-        getRightMaster().configAllowableClosedloopError(Drivetrain.POS_PID, Drivetrain.POS_ALLOWABLE_ERROR);
+        hardware.getLeft().configAllowableClosedloopError(Drivetrain.POS_PID, Drivetrain.POS_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
+        hardware.getRight().configAllowableClosedloopError(Drivetrain.POS_PID, Drivetrain.POS_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kF(Drivetrain.POS_PID, Drivetrain.POS_KF_LEFT);
-        getRightMaster().config_kF(Drivetrain.POS_PID, Drivetrain.POS_KF_RIGHT);
+        hardware.getLeft().config_kF(Drivetrain.POS_PID, Drivetrain.POS_KF_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kF(Drivetrain.POS_PID, Drivetrain.POS_KF_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kP(Drivetrain.POS_PID, Drivetrain.POS_KP_LEFT);
-        getRightMaster().config_kP(Drivetrain.POS_PID, Drivetrain.POS_KP_RIGHT);
+        hardware.getLeft().config_kP(Drivetrain.POS_PID, Drivetrain.POS_KP_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kP(Drivetrain.POS_PID, Drivetrain.POS_KP_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kI(Drivetrain.POS_PID, Drivetrain.POS_KI_LEFT);
-        getRightMaster().config_kI(Drivetrain.POS_PID, Drivetrain.POS_KI_RIGHT);
+        hardware.getLeft().config_kI(Drivetrain.POS_PID, Drivetrain.POS_KI_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kI(Drivetrain.POS_PID, Drivetrain.POS_KI_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kD(Drivetrain.POS_PID, Drivetrain.POS_KD_LEFT);
-        getRightMaster().config_kD(Drivetrain.POS_PID, Drivetrain.POS_KD_RIGHT);
+        hardware.getLeft().config_kD(Drivetrain.POS_PID, Drivetrain.POS_KD_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kD(Drivetrain.POS_PID, Drivetrain.POS_KD_RIGHT, RobotMap.TIMEOUT);
         
-        getLeftMaster().config_IntegralZone(Drivetrain.POS_PID, Drivetrain.POS_IZONE_LEFT);
-        getRightMaster().config_IntegralZone(Drivetrain.POS_PID, Drivetrain.POS_IZONE_RIGHT);
+        hardware.getLeft().config_IntegralZone(Drivetrain.POS_PID, Drivetrain.POS_IZONE_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_IntegralZone(Drivetrain.POS_PID, Drivetrain.POS_IZONE_RIGHT, RobotMap.TIMEOUT);
     }
     
     /**
@@ -379,8 +503,8 @@ public class Drivetrain extends HSDrivetrain
      */
     public void selectProfileSlots(int pidSlot, int pidIndex)
     {
-        getLeftMaster().selectProfileSlot(pidSlot, pidIndex);
-        getRightMaster().selectProfileSlot(pidSlot, pidIndex);
+        hardware.getLeft().selectProfileSlot(pidSlot, pidIndex);
+        hardware.getRight().selectProfileSlot(pidSlot, pidIndex);
     }
     
     /**
@@ -388,48 +512,44 @@ public class Drivetrain extends HSDrivetrain
      */
     public void configureAngleClosedLoop()
     {
-        getPigeon().setStatusFramePeriod(PigeonIMU_StatusFrame.CondStatus_9_SixDeg_YPR, Drivetrain.Pigeon.PERIOD_MS, RobotMap.TIMEOUT);
+        hardware.getRight().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KF, RobotMap.TIMEOUT);
+        hardware.getRight().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KP, RobotMap.TIMEOUT);
+        hardware.getRight().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KI, RobotMap.TIMEOUT);
+        hardware.getRight().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KD, RobotMap.TIMEOUT);
         
-        getRightMaster().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KF);
-        getRightMaster().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KP);
-        getRightMaster().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KI);
-        getRightMaster().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KD);
+        hardware.getRight().configMotionCruiseVelocity(Drivetrain.Pigeon.TURN_VEL, RobotMap.TIMEOUT);
+        hardware.getRight().configMotionAcceleration(Drivetrain.Pigeon.TURN_ACCEL, RobotMap.TIMEOUT);
         
-        getRightMaster().configMotionCruiseVelocity(Drivetrain.Pigeon.TURN_VEL);
-        getRightMaster().configMotionAcceleration(Drivetrain.Pigeon.TURN_ACCEL);
+        hardware.getRight().config_IntegralZone(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_IZONE, RobotMap.TIMEOUT);
         
-        getRightMaster().config_IntegralZone(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_IZONE);
         
+        hardware.getLeft().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KF, RobotMap.TIMEOUT);
+        hardware.getLeft().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KP, RobotMap.TIMEOUT);
+        hardware.getLeft().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KI, RobotMap.TIMEOUT);
+        hardware.getLeft().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KD, RobotMap.TIMEOUT);
         
-        getLeftMaster().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KF);
-        getLeftMaster().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KP);
-        getLeftMaster().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KI);
-        getLeftMaster().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_KD);
+        hardware.getLeft().configMotionCruiseVelocity(Drivetrain.Pigeon.TURN_VEL, RobotMap.TIMEOUT);
+        hardware.getLeft().configMotionAcceleration(Drivetrain.Pigeon.TURN_ACCEL, RobotMap.TIMEOUT);
         
-        getLeftMaster().configMotionCruiseVelocity(Drivetrain.Pigeon.TURN_VEL);
-        getLeftMaster().configMotionAcceleration(Drivetrain.Pigeon.TURN_ACCEL);
-        
-        getLeftMaster().config_IntegralZone(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_IZONE);
+        hardware.getLeft().config_IntegralZone(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.TURN_IZONE, RobotMap.TIMEOUT);
     }
     
     /**
      * Configures the angle closed loop for motion profiling.
      * 
-     * @postcondition P, I, and D have been set for both sides; the pigeon zeroed; the frame period set
+     * @postcondition P, I, and D have been set for both sides; the pigeon zeroed
      */
     public void configureMotionProfileAngleClosedLoop()
     {
-        getPigeon().setStatusFramePeriod(PigeonIMU_StatusFrame.CondStatus_9_SixDeg_YPR, Drivetrain.Pigeon.PERIOD_MS, RobotMap.TIMEOUT);
-        
-        getRightMaster().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KF);
-        getRightMaster().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KP);
-        getRightMaster().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KI);
-        getRightMaster().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KD);
+        hardware.getRight().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KF, RobotMap.TIMEOUT);
+        hardware.getRight().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KP, RobotMap.TIMEOUT);
+        hardware.getRight().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KI, RobotMap.TIMEOUT);
+        hardware.getRight().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KD, RobotMap.TIMEOUT);
         
-        getLeftMaster().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KF);
-        getLeftMaster().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KP);
-        getLeftMaster().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KI);
-        getLeftMaster().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KD);
+        hardware.getLeft().config_kF(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KF, RobotMap.TIMEOUT);
+        hardware.getLeft().config_kP(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KP, RobotMap.TIMEOUT);
+        hardware.getLeft().config_kI(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KI, RobotMap.TIMEOUT);
+        hardware.getLeft().config_kD(Drivetrain.ANGLE_PID, Drivetrain.Pigeon.MOT_PROF_KD, RobotMap.TIMEOUT);
 
     }
 
@@ -440,45 +560,23 @@ public class Drivetrain extends HSDrivetrain
      */
     public void configureMotionProfileDriveClosedLoop()
     {
-        getLeftMaster().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.POS_ALLOWABLE_ERROR);
-        getRightMaster().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.POS_ALLOWABLE_ERROR);
+        hardware.getLeft().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.POS_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
+        hardware.getRight().configAllowableClosedloopError(Drivetrain.MOTION_PROFILE_PID, Drivetrain.POS_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kP(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KP_LEFT);
-        getRightMaster().config_kP(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KP_RIGHT);
+        hardware.getLeft().config_kP(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KP_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kP(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KP_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kI(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KI_LEFT);
-        getRightMaster().config_kI(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KI_RIGHT);
+        hardware.getLeft().config_kI(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KI_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kI(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KI_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_kD(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KD_LEFT);
-        getRightMaster().config_kD(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KD_RIGHT);
+        hardware.getLeft().config_kD(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KD_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_kD(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_KD_RIGHT, RobotMap.TIMEOUT);
 
-        getLeftMaster().config_IntegralZone(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_IZONE_LEFT);
-        getRightMaster().config_IntegralZone(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_IZONE_RIGHT);
+        hardware.getLeft().config_IntegralZone(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_IZONE_LEFT, RobotMap.TIMEOUT);
+        hardware.getRight().config_IntegralZone(Drivetrain.MOTION_PROFILE_PID, Drivetrain.MOTION_PROF_IZONE_RIGHT, RobotMap.TIMEOUT);
     }
     
     
-    /**
-     * Resets the Talon frame periods (the frequency at which the Talons will broadcast certain status frames along the CAN bus).
-     */
-    private void dtsetTalonFramePeriods()
-    {
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 20);
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 3);
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, RobotMap.MAX_TALON_FRAME_PERIOD_MS);
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_9_MotProfBuffer, RobotMap.MAX_TALON_FRAME_PERIOD_MS);
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_10_MotionMagic, 20);
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 20);
-        getLeftMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 20);
-        
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 20);
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 3);
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_9_MotProfBuffer, 20);
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_11_UartGadgeteer, RobotMap.MAX_TALON_FRAME_PERIOD_MS);
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_10_MotionMagic, RobotMap.TIME_PER_TRAJECTORY_POINT_MS);
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 20);
-        getRightMaster().setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 20);   
-    }
-
     /**
      * Gets the instance of this Drivetrain, creating a new one if necessary.
      * @return the instance of this singleton class
@@ -489,6 +587,15 @@ public class Drivetrain extends HSDrivetrain
         return instance;
     }
     
+    /**
+     * Gets the controllers and Pigeon of the drivetrain, through which the commands drive it.
+     * @return the drivetrain hardware
+     */
+    public DriveHardware getHardware()
+    {
+        return hardware;
+    }
+    
      /**
      * The F constant for the motion profile closed loop on the left.
      */
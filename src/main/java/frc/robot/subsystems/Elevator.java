@@ -1,9 +1,20 @@
 package frc.robot.subsystems;
 
+import java.util.concurrent.CompletableFuture;
+
 import frc.robot.RobotMap;
 import frc.robot.RobotMap.CAN_IDs;
 import frc.robot.commands.elevator.MoveElevatorVelocity;
+import frc.robot.hardware.CachedTalon;
+import frc.robot.hardware.CtreMotorController;
+import frc.robot.hardware.MotorController;
+import frc.robot.util.CanBusMonitor;
+import frc.robot.util.SignalLogger;
+import frc.robot.util.SignalLogger.Signal;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
@@ -28,32 +39,56 @@ public class Elevator extends Subsystem
     /**
      * The top right Victor on the elevator.
      */
-    private VictorSPX topRightVictor;
+    private MotorController topRightVictor;
     
     /**
      * The bottom left Victor on the elevator.
      */
-    private VictorSPX bottomLeftVictor;
+    private MotorController bottomLeftVictor;
     
     /**
      * The top left Victor on the elevator.
      */
-    private VictorSPX topLeftVictor;
+    private MotorController topLeftVictor;
+    
+    /**
+     * The bottom right (and only) Talon on the elevator, or null if the elevator is driven by
+     * another controller.
+     */
+    private CachedTalon bottomRightTalon; 
     
     /**
-     * The bottom right (and only) Talon on the elevator.
+     * The bottom right Talon, through which the elevator is driven.
      */
-    private HSTalon bottomRightTalon; 
+    private MotorController master;
     
     /**
      * Initializes the command using the four ports in RobotMap.
      */
     public Elevator()
     {
-        topRightVictor = new VictorSPX(CAN_IDs.ELEVATOR_VICTOR_TOPRIGHT);
-        topLeftVictor = new VictorSPX (CAN_IDs.ELEVATOR_VICTOR_TOPLEFT);
-        bottomLeftVictor = new VictorSPX(CAN_IDs.ELEVATOR_VICTOR_BOTTOMLEFT);
-        bottomRightTalon = new HSTalon(CAN_IDs.ELEVATOR_TALON, RobotMap.TIMEOUT);
+        topRightVictor = new CtreMotorController(new VictorSPX(CAN_IDs.ELEVATOR_VICTOR_TOPRIGHT));
+        topLeftVictor = new CtreMotorController(new VictorSPX (CAN_IDs.ELEVATOR_VICTOR_TOPLEFT));
+        bottomLeftVictor = new CtreMotorController(new VictorSPX(CAN_IDs.ELEVATOR_VICTOR_BOTTOMLEFT));
+        bottomRightTalon = new CachedTalon(CAN_IDs.ELEVATOR_TALON, RobotMap.TIMEOUT);
+        master = new CtreMotorController(bottomRightTalon);
+        StatusFrameManager.getInstance().register(this, StatusFrameProfile.OPEN_LOOP, StatusFrameProfile.DEFAULT,
+                null, bottomRightTalon);
+        CanBusMonitor monitor = CanBusMonitor.getInstance();
+        monitor.registerTalon("Elevator Talon", this, bottomRightTalon);
+        monitor.registerVictor("Elevator Top Right Victor");
+        monitor.registerVictor("Elevator Top Left Victor");
+        monitor.registerVictor("Elevator Bottom Left Victor");
+    }
+
+    /**
+     * Constructs a new Elevator driven by a single controller with no followers, as for a
+     * simulation. Only the Talon has current and soft limits, so none are set.
+     * @param master the controller which drives the elevator and reads its position
+     */
+    public Elevator (MotorController master)
+    {
+        this.master = master;
     }
 
     protected void initDefaultCommand()
@@ -68,7 +103,8 @@ public class Elevator extends Subsystem
     public void moveElevatorVelocity(double speed)
     {
         // feed forward counterracts gravity
-        bottomRightTalon.set(ControlMode.PercentOutput, speed, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+        master.set(ControlMode.PercentOutput, speed, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+        logSetpoint(ControlMode.PercentOutput, speed);
     }
     
     /**
@@ -77,7 +113,8 @@ public class Elevator extends Subsystem
      */
     public void moveElevatorPosition(double position)
     {
-        bottomRightTalon.set(ControlMode.Position, position, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+        master.set(ControlMode.Position, position, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+        logSetpoint(ControlMode.Position, position);
     }
     
     /**
@@ -86,7 +123,20 @@ public class Elevator extends Subsystem
      */
     public void moveElevatorMotionMagic(double targetPos)
     {
-        bottomRightTalon.set(ControlMode.MotionMagic, targetPos, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+        master.set(ControlMode.MotionMagic, targetPos, DemandType.ArbitraryFeedForward, Elevator.POS_FGRAV);
+        logSetpoint(ControlMode.MotionMagic, targetPos);
+    }
+    
+    /**
+     * Stages the commanded mode and setpoint for the signal log, so that the logged position can
+     * be compared against what was asked for.
+     * @param mode the control mode
+     * @param setpoint the output or position commanded
+     */
+    private static void logSetpoint(ControlMode mode, double setpoint)
+    {
+        SignalLogger.set(Signal.ELEVATOR_MODE, mode.value);
+        SignalLogger.set(Signal.ELEVATOR_SETPOINT, setpoint);
     }
     
     /**
@@ -109,11 +159,13 @@ public class Elevator extends Subsystem
         elConfigurePositionClosedLoop();
     }
     /**
-     * Initializes the talons and victors on the elevator.
+     * Initializes the talons and victors on the elevator. The configuration and the zeroing of the
+     * sensor are sent in the background, so anything which depends on the position must wait on
+     * getConfigCompletion() first.
      */
     public void talonInit()
     {
-        getBottomRightTalon().configFactoryDefault();
+        master.configFactoryDefault(RobotMap.TIMEOUT);
         elSlaveVictors();
         elSetNeutralMode(NeutralMode.Brake);
 
@@ -122,7 +174,8 @@ public class Elevator extends Subsystem
         elScaleVoltage(RobotMap.NOMINAL_BATTERY_VOLTAGE);
         
         elConfigureMotionMagic();
-        getBottomRightTalon().setSelectedSensorPosition(0);
+        master.setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
+        StatusFrameManager.getInstance().reapply(this);
 
 
     }
@@ -134,16 +187,18 @@ public class Elevator extends Subsystem
      */
     private void elSetRampRate (double rampRate)
     {
-        getBottomRightTalon().configOpenloopRamp(rampRate);
+        master.configOpenloopRamp(rampRate, RobotMap.TIMEOUT);
     }
     /**
      * Slaves the three elevator Victors to the one Talon.
      */
     private void elSlaveVictors()
     {
-        getBottomLeftVictor().follow(getBottomRightTalon());
-        getTopLeftVictor().follow(getBottomRightTalon());
-        getTopRightVictor().follow(getBottomRightTalon());
+        if (bottomLeftVictor == null)
+            return;
+        bottomLeftVictor.follow(master);
+        topLeftVictor.follow(master);
+        topRightVictor.follow(master);
     }
 
     /**
@@ -151,7 +206,7 @@ public class Elevator extends Subsystem
      */
     private void elInvertControllers()
     {
-        //getBottomLeftVictor().setInverted(ElevatorConstants.BOTTOM_LEFT_VICTOR_INVERT);
+        //bottomLeftVictor.setInverted(ElevatorConstants.BOTTOM_LEFT_VICTOR_INVERT);
     }
 
     /**
@@ -161,10 +216,12 @@ public class Elevator extends Subsystem
      */
     private void elSetNeutralMode(NeutralMode n)
     {
-        getBottomRightTalon().setNeutralMode(n);
-        getTopRightVictor().setNeutralMode(n);
-        getBottomLeftVictor().setNeutralMode(n);
-        getTopLeftVictor().setNeutralMode(n);
+        master.setNeutralMode(n);
+        if (topRightVictor == null)
+            return;
+        topRightVictor.setNeutralMode(n);
+        bottomLeftVictor.setNeutralMode(n);
+        topLeftVictor.setNeutralMode(n);
     }
 
     /**
@@ -175,7 +232,7 @@ public class Elevator extends Subsystem
      */
     private void elScaleVoltage(double nomVoltage)
     {
-        getBottomRightTalon().configVoltageCompSaturation(nomVoltage);
+        master.configVoltageCompSaturation(nomVoltage, RobotMap.TIMEOUT);
     }
 
     /**
@@ -186,6 +243,8 @@ public class Elevator extends Subsystem
      */
     private void elSetSoftLimit(int forwardSoftLimit, int reverseSoftLimit)
     {
+        if (bottomRightTalon == null)
+            return;
         getBottomRightTalon().configForwardSoftLimitThreshold(forwardSoftLimit);
         getBottomRightTalon().configForwardSoftLimitEnable(true);
         
@@ -203,25 +262,26 @@ public class Elevator extends Subsystem
      */
     private void elConfigurePositionClosedLoop()
     {
-        getBottomRightTalon().configNominalOutputForward(Elevator.NOMINAL_OUTPUT);
+        master.configNominalOutputForward(Elevator.NOMINAL_OUTPUT, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().configNominalOutputReverse(-1 * Elevator.NOMINAL_OUTPUT);
+        master.configNominalOutputReverse(-1 * Elevator.NOMINAL_OUTPUT, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().configPeakOutputForward(Elevator.PEAK_OUTPUT);
+        master.configPeakOutputForward(Elevator.PEAK_OUTPUT, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().configPeakOutputReverse(-1 * Elevator.PEAK_OUTPUT);
+        master.configPeakOutputReverse(-1 * Elevator.PEAK_OUTPUT, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().config_kF(Elevator.POS_PID, Elevator.POS_KF);
+        master.config_kF(Elevator.POS_PID, Elevator.POS_KF, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().config_kP(Elevator.POS_PID, Elevator.POS_KP);
+        master.config_kP(Elevator.POS_PID, Elevator.POS_KP, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().config_kI(Elevator.POS_PID, Elevator.POS_KI);
+        master.config_kI(Elevator.POS_PID, Elevator.POS_KI, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().config_kD(Elevator.POS_PID, Elevator.POS_KD);
+        master.config_kD(Elevator.POS_PID, Elevator.POS_KD, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().configAllowableClosedloopError(Drivetrain.POS_PID, Elevator.POS_ALLOWABLE_ERROR);
+        master.configAllowableClosedloopError(Drivetrain.POS_PID, Elevator.POS_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
 
-        getBottomRightTalon().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative);
+        master.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX,
+                RobotMap.TIMEOUT);
     }
     
     /**
@@ -229,17 +289,18 @@ public class Elevator extends Subsystem
      */
     private void elConfigureMotionMagic()
     {
-        getBottomRightTalon().configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative);
-        getBottomRightTalon().selectProfileSlot(Elevator.MOTION_MAGIC_PID, RobotMap.PRIMARY_PID_INDEX);
-        getBottomRightTalon().config_kF(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KF);
-        getBottomRightTalon().config_kP(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KP);
-        getBottomRightTalon().config_kI(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KI);
-        getBottomRightTalon().config_kD(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KD);
+        master.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, RobotMap.PRIMARY_PID_INDEX,
+                RobotMap.TIMEOUT);
+        master.selectProfileSlot(Elevator.MOTION_MAGIC_PID, RobotMap.PRIMARY_PID_INDEX);
+        master.config_kF(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KF, RobotMap.TIMEOUT);
+        master.config_kP(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KP, RobotMap.TIMEOUT);
+        master.config_kI(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KI, RobotMap.TIMEOUT);
+        master.config_kD(Elevator.MOTION_MAGIC_PID, Elevator.MOTION_MAGIC_KD, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().configMotionCruiseVelocity(Elevator.MOTION_MAGIC_VEL);
-        getBottomRightTalon().configMotionAcceleration(Elevator.MOTION_MAGIC_ACCEL);
+        master.configMotionCruiseVelocity(Elevator.MOTION_MAGIC_VEL, RobotMap.TIMEOUT);
+        master.configMotionAcceleration(Elevator.MOTION_MAGIC_ACCEL, RobotMap.TIMEOUT);
         
-        getBottomRightTalon().configAllowableClosedloopError(Drivetrain.VEL_PID, Elevator.MOTION_MAGIC_ALLOWABLE_ERROR);
+        master.configAllowableClosedloopError(Drivetrain.VEL_PID, Elevator.MOTION_MAGIC_ALLOWABLE_ERROR, RobotMap.TIMEOUT);
         
     }
 
@@ -255,6 +316,8 @@ public class Elevator extends Subsystem
      */
     private void elSetCurrentLimit(int peakCurrentLimit, int peakTime, int continuousLimit)
     {
+        if (bottomRightTalon == null)
+            return;
         getBottomRightTalon().configPeakCurrentLimit(peakCurrentLimit);
         getBottomRightTalon().configPeakCurrentDuration(peakTime);
         getBottomRightTalon().configContinuousCurrentLimit(continuousLimit);
@@ -266,32 +329,52 @@ public class Elevator extends Subsystem
      */
     private void elZeroSensors()
     {
-        getBottomRightTalon().setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX);
+        master.setSelectedSensorPosition(0, RobotMap.PRIMARY_PID_INDEX, RobotMap.TIMEOUT);
     }
     /**
      * Gets the top right Victor on the elevator.
      * @return the top right Victor
      */
-    public VictorSPX getTopRightVictor() { return topRightVictor; }
+    public MotorController getTopRightVictor() { return topRightVictor; }
 
     /**
      * Gets the bottom left Victor on the elevator.
      * @return the bottom left Victor
      */
-    public VictorSPX getBottomLeftVictor() { return bottomLeftVictor; }
+    public MotorController getBottomLeftVictor() { return bottomLeftVictor; }
 
     /**
      * Gets the top left Victor on the elevator.
      * @return the top left Victor
      */
-    public VictorSPX getTopLeftVictor() { return topLeftVictor; }
+    public MotorController getTopLeftVictor() { return topLeftVictor; }
 
     /**
-     * Gets the bottom right Talon on the elevator.
-     * @return the bottom right Talon
+     * Gets the bottom right Talon on the elevator, for what only a Talon supports (such as the
+     * current and soft limits).
+     * @return the bottom right Talon, or null if the elevator is driven by another controller
      */
     public HSTalon getBottomRightTalon() { return bottomRightTalon; }
 
+    /**
+     * Gets the controller through which the elevator is driven and its position read.
+     * @return the bottom right Talon as a MotorController
+     */
+    public MotorController getMaster() { return master; }
+
+    /**
+     * Gets a future which completes once every configuration write queued so far for the elevator
+     * Talon has been sent. Any other controller is configured as it is called, so its future is
+     * already complete.
+     * @return the future
+     */
+    public CompletableFuture<ErrorCode> getConfigCompletion()
+    {
+        if (bottomRightTalon == null)
+            return CompletableFuture.completedFuture(ErrorCode.OK);
+        return bottomRightTalon.getConfigCompletion();
+    }
+
     /**
      * Gets the instance of the singleton Elevator, creating a new one if necessary.
      * @return the instance of Elevator
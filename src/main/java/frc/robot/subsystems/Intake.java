@@ -3,6 +3,12 @@ package frc.robot.subsystems;
 import frc.robot.RobotMap;
 import frc.robot.RobotMap.CAN_IDs;
 import frc.robot.commands.intake.IntakeOuttakeCube;
+import frc.robot.hardware.CachedTalon;
+import frc.robot.hardware.CtreMotorController;
+import frc.robot.hardware.MotorController;
+import frc.robot.util.CanBusMonitor;
+import frc.robot.util.StatusFrameManager;
+import frc.robot.util.StatusFrameProfile;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
@@ -25,19 +31,25 @@ public class Intake extends Subsystem
     public static Intake intake = null;
     
     /**
-     * The instance of the pneumatics subsystem.
+     * The instance of the pneumatics subsystem, created along with the Intake instance.
      */
-    public static Pneumatics pn = Pneumatics.getInstance();
+    public static Pneumatics pn;
     
     /**
-     * The left Talon on the intake.
+     * The left Talon on the intake, or null if the intake is driven by other controllers.
      */
-    private HSTalon leftTalon;
+    private CachedTalon leftTalon;
     
     /**
-     * The right Talon on the intake.
+     * The right Talon on the intake, or null if the intake is driven by other controllers.
      */
-    private HSTalon rightTalon;
+    private CachedTalon rightTalon;
+    
+    /**
+     * The left and right Talons, through which the intake is driven.
+     */
+    private MotorController left;
+    private MotorController right;
     
     /**
      * Represents the possible directions for the intake.
@@ -66,12 +78,30 @@ public class Intake extends Subsystem
      */
     public Intake()
     {
-        leftTalon = new HSTalon(CAN_IDs.INTAKE_TALON_LEFT, RobotMap.TIMEOUT);
-        rightTalon = new HSTalon(CAN_IDs.INTAKE_TALON_RIGHT, RobotMap.TIMEOUT);
+        leftTalon = new CachedTalon(CAN_IDs.INTAKE_TALON_LEFT, RobotMap.TIMEOUT);
+        rightTalon = new CachedTalon(CAN_IDs.INTAKE_TALON_RIGHT, RobotMap.TIMEOUT);
+        left = new CtreMotorController(leftTalon);
+        right = new CtreMotorController(rightTalon);
+        StatusFrameManager.getInstance().register(this, StatusFrameProfile.OPEN_LOOP_NO_FEEDBACK,
+                StatusFrameProfile.DEFAULT, null, leftTalon, rightTalon);
+        CanBusMonitor.getInstance().registerTalon("Left Intake Talon", this, leftTalon);
+        CanBusMonitor.getInstance().registerTalon("Right Intake Talon", this, rightTalon);
+    }
+
+    /**
+     * Constructs a new Intake driven by the given controllers, as for a simulation. Only the
+     * Talons have current limits, so none are set.
+     * @param left the left controller
+     * @param right the right controller
+     */
+    public Intake (MotorController left, MotorController right)
+    {
+        this.left = left;
+        this.right = right;
     }
 
     protected void invertTalons () {
-        rightTalon.setInverted(Intake.RIGHT_TALON_INVERTED);
+        right.setInverted(Intake.RIGHT_TALON_INVERTED);
     }
     /**
      * Initializes the command using the ports for the left and right Talons.
@@ -88,8 +118,8 @@ public class Intake extends Subsystem
      */
     public void intakeOuttakeCube(double speedLeft, double speedRight)
     {
-        leftTalon.set(ControlMode.PercentOutput, speedLeft);
-        rightTalon.set(ControlMode.PercentOutput, speedRight);
+        left.set(ControlMode.PercentOutput, speedLeft);
+        right.set(ControlMode.PercentOutput, speedRight);
     }
     
     /**
@@ -100,8 +130,8 @@ public class Intake extends Subsystem
     {
         if(RobotMap.SAFETY_MODE == RobotMap.SafetyMode.SAFE)
             speed *= INTAKE_SPEED_SAFETY_MULTIPLIER;
-        leftTalon.set(ControlMode.PercentOutput, speed);
-        rightTalon.set(ControlMode.PercentOutput, speed);
+        left.set(ControlMode.PercentOutput, speed);
+        right.set(ControlMode.PercentOutput, speed);
     }
     
     /**
@@ -113,6 +143,7 @@ public class Intake extends Subsystem
         intakeSetNeutralMode(NeutralMode.Brake);
         intakeSetCurrentLimit(Intake.PEAK_CURRENT_LIMIT, Intake.PEAK_TIME_MS,
                 Intake.CONTINUOUS_CURRENT_LIMIT);
+        StatusFrameManager.getInstance().reapply(this);
     }
 
     /**
@@ -122,8 +153,8 @@ public class Intake extends Subsystem
      */
     private void intakeSetNeutralMode(NeutralMode nm)
     {
-        getLeftTalon().setNeutralMode(nm);
-        getRightTalon().setNeutralMode(nm);
+        left.setNeutralMode(nm);
+        right.setNeutralMode(nm);
     }
 
     /**
@@ -138,6 +169,8 @@ public class Intake extends Subsystem
      */
     private void intakeSetCurrentLimit(int peakCurrentLimit, int peakTime, int continuousLimit)
     {
+        if (leftTalon == null)
+            return;
         getLeftTalon().configPeakCurrentLimit(peakCurrentLimit);
         getRightTalon().configPeakCurrentLimit(peakCurrentLimit);
 
@@ -153,13 +186,13 @@ public class Intake extends Subsystem
     
     /**
      * Gets the left Talon on the 
-     * @return the left Talon
+     * @return the left Talon, or null if the intake is driven by other controllers
      */
     public HSTalon getLeftTalon() { return leftTalon; }
 
     /**
      * Gets the right Talon on the 
-     * @return the right Talon
+     * @return the right Talon, or null if the intake is driven by other controllers
      */
     public HSTalon getRightTalon() { return rightTalon; }
 
@@ -169,7 +202,11 @@ public class Intake extends Subsystem
      */
     public static Intake getInstance()
     {
-        if (intake == null) intake = new Intake();
+        if (intake == null)
+        {
+            pn = Pneumatics.getInstance();
+            intake = new Intake();
+        }
         return intake;
     }
     
@@ -179,7 +216,7 @@ public class Intake extends Subsystem
      */
     public void setLeft (double speed)
     {
-        getLeftTalon().set(ControlMode.PercentOutput, speed);
+        left.set(ControlMode.PercentOutput, speed);
     }
     
     /**
@@ -188,7 +225,7 @@ public class Intake extends Subsystem
      */
     public void setRight (double speed)
     {
-        getRightTalon().set(ControlMode.PercentOutput, speed);
+        right.set(ControlMode.PercentOutput, speed);
     }
 
     /**
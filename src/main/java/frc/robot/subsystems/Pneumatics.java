@@ -1,6 +1,9 @@
 package frc.robot.subsystems;
 
 import frc.robot.commands.intake.SetCompressor;
+import frc.robot.hardware.Solenoid;
+import frc.robot.hardware.WpiSolenoid;
+import frc.robot.util.CanBusMonitor;
 
 import edu.wpi.first.wpilibj.Compressor;
 import edu.wpi.first.wpilibj.DoubleSolenoid;
@@ -14,7 +17,7 @@ import edu.wpi.first.wpilibj.command.Subsystem;
 public class Pneumatics extends Subsystem
 {
     /**
-     * The compressor for use in the pneumatic subsystem.
+     * The compressor for use in the pneumatic subsystem, or null if there is none.
      */
     private Compressor c;
     
@@ -26,12 +29,12 @@ public class Pneumatics extends Subsystem
     /**
      * The solenoid to raise and lower the intake.
      */
-    private static DoubleSolenoid intake_updown;
+    private Solenoid intake_updown;
     
     /**
      * The solenoid to compress and decompress the intake.
      */
-    private static DoubleSolenoid intake_compressdecompress;
+    private Solenoid intake_compressdecompress;
 
 	/**
 	 * The CAN ID of the compressor.
@@ -40,21 +43,21 @@ public class Pneumatics extends Subsystem
     
     
     public enum SolenoidDirection {
-    	UP(intake_updown, Pneumatics.UP), 
-    	DOWN(intake_updown, Pneumatics.DOWN), 
-    	COMPRESS(intake_compressdecompress, Pneumatics.COMPRESS), 
-    	DECOMPRESS(intake_compressdecompress, Pneumatics.DECOMPRESS);
+    	UP(SolenoidType.UPDOWN, Pneumatics.UP), 
+    	DOWN(SolenoidType.UPDOWN, Pneumatics.DOWN), 
+    	COMPRESS(SolenoidType.COMPRESSDECOMPRESS, Pneumatics.COMPRESS), 
+    	DECOMPRESS(SolenoidType.COMPRESSDECOMPRESS, Pneumatics.DECOMPRESS);
     	
     	
-    	private final DoubleSolenoid solenoid;
+    	private final SolenoidType type;
     	private final DoubleSolenoid.Value state;
     	
-    	SolenoidDirection(DoubleSolenoid solenoid, DoubleSolenoid.Value state) {
-    		this.solenoid = solenoid;
+    	SolenoidDirection(SolenoidType type, DoubleSolenoid.Value state) {
+    		this.type = type;
     		this.state = state;
     	}
     	
-    	public DoubleSolenoid getSolenoid() {return solenoid;}
+    	public SolenoidType getType() {return type;}
     	public DoubleSolenoid.Value getState() {return state;}
     }
     
@@ -67,17 +70,32 @@ public class Pneumatics extends Subsystem
     public Pneumatics ()
     {
         c = new Compressor(Pneumatics.COMPRESSOR_PORT);
-        intake_updown = new DoubleSolenoid(/*RobotMap.FIRST_PCM_ID, */
-                Pneumatics.INTAKE_UP_SOL, Pneumatics.INTAKE_DOWN_SOL);
-        intake_compressdecompress = new DoubleSolenoid (/*RobotMap.FIRST_PCM_ID,*/
-                Pneumatics.INTAKE_COMPRESS_SOL, Pneumatics.INTAKE_DECOMPRESS_SOL); 
+        intake_updown = new WpiSolenoid(new DoubleSolenoid(/*RobotMap.FIRST_PCM_ID, */
+                Pneumatics.INTAKE_UP_SOL, Pneumatics.INTAKE_DOWN_SOL));
+        intake_compressdecompress = new WpiSolenoid(new DoubleSolenoid (/*RobotMap.FIRST_PCM_ID,*/
+                Pneumatics.INTAKE_COMPRESS_SOL, Pneumatics.INTAKE_DECOMPRESS_SOL)); 
+        CanBusMonitor.getInstance().registerPcm("PCM");
     }
+    
+    /**
+     * Constructs a new Pneumatics on the given solenoids, with no compressor, as for a simulation.
+     * @param upDown the solenoid which raises and lowers the intake
+     * @param compressDecompress the solenoid which compresses and decompresses the intake
+     */
+    public Pneumatics (Solenoid upDown, Solenoid compressDecompress)
+    {
+        intake_updown = upDown;
+        intake_compressdecompress = compressDecompress;
+    }
+    
     /**
      * Initializes the command, setting up all the objects and the map of solenoids.
      */
     protected void initDefaultCommand()
     {
-        setDefaultCommand(new SetCompressor(true));
+        // without a compressor there is nothing for the default command to run
+        if (c != null)
+            setDefaultCommand(new SetCompressor(true));
     }
     
     /**
@@ -85,18 +103,18 @@ public class Pneumatics extends Subsystem
      * @param key the key in the map
      * @return the solenoid stored by the given key
      */
-    public DoubleSolenoid getSolenoid(SolenoidType type)
+    public Solenoid getSolenoid(SolenoidType type)
     {
     	return (type == SolenoidType.UPDOWN) ? intake_updown : intake_compressdecompress; 
     }
 
     public void setSolenoid(SolenoidDirection direction)
     {
-    	direction.getSolenoid().set(direction.getState());
+    	getSolenoid(direction.getType()).set(direction.getState());
     }
     
     public void toggleSolenoid (SolenoidType type) {
-    	DoubleSolenoid solenoid = getSolenoid(type);
+    	Solenoid solenoid = getSolenoid(type);
     	solenoid.set(solenoid.get() == DoubleSolenoid.Value.kForward ? DoubleSolenoid.Value.kReverse : DoubleSolenoid.Value.kForward);
     }
     
@@ -106,12 +124,13 @@ public class Pneumatics extends Subsystem
      */
     public void setCompressor(boolean state)
     {
-        c.setClosedLoopControl(state);
+        if (c != null)
+            c.setClosedLoopControl(state);
     }
     
     /**
      * Gets the compressor.
-     * @return the compressor
+     * @return the compressor, or null if there is none
      */
     public Compressor getCompressor()
     {
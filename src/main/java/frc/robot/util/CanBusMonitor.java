@@ -0,0 +1,307 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.robot.RobotMap;
+import frc.robot.auto.trajectory.MotionProfileBufferService;
+import frc.robot.hardware.CachedTalon;
+import frc.robot.hardware.CtreMotorController;
+import frc.robot.hardware.MotorController;
+
+import edu.wpi.first.wpilibj.command.Subsystem;
+
+/**
+ * Models the traffic on the CAN bus from every device on it, to show how close the bus is to
+ * saturation and how much room is left for another sensor or a faster frame.
+ * <p>
+ * The expected frame rate of each device is calculated from the periods it is configured with:
+ * a Talon's status frames from the profile the StatusFrameManager has applied to its subsystem,
+ * its output at RobotMap.CONTROL_FRAME_PERIOD_MS and, while it is registered with the
+ * MotionProfileBufferService, one trajectory point per motion control frame. The Victors, the
+ * PCM and the Pigeon's frames other than its yaw are left at their defaults, so they are modelled
+ * at those. The configuration writes actually sent by the CachedTalons are added on top, as a
+ * request and a response each.
+ * <p>
+ * Once per robot loop, the expected frame rate, the share of the bus it takes, the highest share
+ * seen and the frames per second left before RobotMap.MAX_CAN_UTILIZATION are published, along
+ * with each device's rate and the set, config and get calls made on each Talon during the loop.
+ * The Victors and the Pigeon are not wrapped, so their calls are not counted.
+ * @author agent
+ * @version 10/18/26
+ */
+public class CanBusMonitor
+{
+    private static CanBusMonitor instance;
+
+    /**
+     * The status frames a Talon sends which no profile sets: the analog input, temperature and
+     * battery voltage, at the default period (frames/s).
+     */
+    public static final double TALON_UNPROFILED_FRAMES_PER_SECOND = 1000.0 / RobotMap.MAX_TALON_FRAME_PERIOD_MS;
+
+    /**
+     * The status frames a Victor sends at its default periods: the output every 10 ms, the
+     * sensor every loop and the temperature and battery voltage at the slowest period (frames/s).
+     */
+    public static final double VICTOR_STATUS_FRAMES_PER_SECOND = 1000.0 / 10 + 1000.0 / RobotMap.LOOP_FRAME_PERIOD_MS
+            + 1000.0 / RobotMap.MAX_TALON_FRAME_PERIOD_MS;
+
+    /**
+     * The Pigeon's frames other than its yaw, pitch and roll, at their default periods, which
+     * together come to about one every 10 ms (frames/s).
+     */
+    public static final double PIGEON_OTHER_FRAMES_PER_SECOND = 1000.0 / 10;
+
+    /**
+     * The PCM's status and the roboRIO's control frame to it, each about every 50 ms (frames/s).
+     */
+    public static final double PCM_FRAMES_PER_SECOND = 2 * 1000.0 / 50;
+
+    /**
+     * The frames taken by one configuration write: the request and the response.
+     */
+    public static final int FRAMES_PER_CONFIG_WRITE = 2;
+
+    /**
+     * The kinds of device on the bus.
+     */
+    private enum Type
+    {
+        TALON, VICTOR, PIGEON, PCM
+    }
+
+    /**
+     * A device on the bus and the dashboard values published for it.
+     */
+    private static class Device
+    {
+        private final Type type;
+        private final Subsystem subsystem;
+        private final CachedTalon talon;
+        private final MotorController controller;
+        private final Telemetry.Slot frameRateSlot;
+        private final Telemetry.Slot setsSlot;
+        private final Telemetry.Slot configsSlot;
+        private final Telemetry.Slot getsSlot;
+        private int lastWrites;
+
+        Device (String name, Type type, Subsystem subsystem, CachedTalon talon)
+        {
+            this.type = type;
+            this.subsystem = subsystem;
+            this.talon = talon;
+            controller = talon == null ? null : new CtreMotorController(talon);
+            frameRateSlot = Telemetry.getSlot("CAN " + name + " Frames/s");
+            if (talon != null)
+            {
+                setsSlot = Telemetry.getSlot("CAN " + name + " Sets/Loop");
+                configsSlot = Telemetry.getSlot("CAN " + name + " Configs/Loop");
+                getsSlot = Telemetry.getSlot("CAN " + name + " Gets/Loop");
+                lastWrites = talon.getTotalWrites();
+            }
+            else
+                setsSlot = configsSlot = getsSlot = null;
+        }
+    }
+
+    private final List<Device> devices = new ArrayList<Device>();
+
+    private final Telemetry.Slot frameRateSlot = Telemetry.getSlot("CAN Expected Frames/s");
+    private final Telemetry.Slot configRateSlot = Telemetry.getSlot("CAN Config Frames/s");
+    private final Telemetry.Slot utilizationSlot = Telemetry.getSlot("CAN Utilization %");
+    private final Telemetry.Slot peakUtilizationSlot = Telemetry.getSlot("CAN Peak Utilization %");
+    private final Telemetry.Slot headroomSlot = Telemetry.getSlot("CAN Headroom Frames/s");
+
+    private double lastUpdate = -1;
+    private double frameRate;
+    private double peakFrameRate;
+    private boolean saturated;
+
+    private CanBusMonitor() {}
+
+    /**
+     * Registers a Talon, whose status frames follow the profile applied to its subsystem.
+     * @param name the name under which it is published
+     * @param subsystem the subsystem with which the Talon is registered in the StatusFrameManager
+     * @param talon the Talon
+     */
+    public synchronized void registerTalon (String name, Subsystem subsystem, CachedTalon talon)
+    {
+        devices.add(new Device(name, Type.TALON, subsystem, talon));
+    }
+
+    /**
+     * Registers a Victor, which is modelled at its default periods.
+     * @param name the name under which it is published
+     */
+    public synchronized void registerVictor (String name)
+    {
+        devices.add(new Device(name, Type.VICTOR, null, null));
+    }
+
+    /**
+     * Registers a Pigeon, whose yaw period follows the profile applied to its subsystem.
+     * @param name the name under which it is published
+     * @param subsystem the subsystem with which the Pigeon is registered in the StatusFrameManager
+     */
+    public synchronized void registerPigeon (String name, Subsystem subsystem)
+    {
+        devices.add(new Device(name, Type.PIGEON, subsystem, null));
+    }
+
+    /**
+     * Registers a PCM, which is modelled at its default periods.
+     * @param name the name under which it is published
+     */
+    public synchronized void registerPcm (String name)
+    {
+        devices.add(new Device(name, Type.PCM, null, null));
+    }
+
+    /**
+     * Recalculates the traffic on the bus and publishes it, along with the calls made on each
+     * Talon since the previous update. To be called once per robot loop, after the
+     * StatusFrameManager has been updated.
+     */
+    public synchronized void update()
+    {
+        double now = Clock.getTimestamp();
+        double expected = 0;
+        int writes = 0;
+        for (Device device : devices)
+        {
+            double rate = getFrameRate(device);
+            device.frameRateSlot.set(rate);
+            expected += rate;
+            if (device.talon != null)
+            {
+                device.setsSlot.set(device.talon.takeCalls(CachedTalon.Call.SET));
+                device.configsSlot.set(device.talon.takeCalls(CachedTalon.Call.CONFIG));
+                device.getsSlot.set(device.talon.takeCalls(CachedTalon.Call.GET));
+                int totalWrites = device.talon.getTotalWrites();
+                writes += totalWrites - device.lastWrites;
+                device.lastWrites = totalWrites;
+            }
+        }
+        double configRate = lastUpdate >= 0 && now > lastUpdate
+                ? FRAMES_PER_CONFIG_WRITE * writes / (now - lastUpdate) : 0;
+        lastUpdate = now;
+
+        frameRate = expected + configRate;
+        peakFrameRate = Math.max(peakFrameRate, frameRate);
+        boolean wasSaturated = saturated;
+        saturated = getUtilization() > RobotMap.MAX_CAN_UTILIZATION;
+        if (saturated && !wasSaturated)
+            System.out.printf("CAN bus at %.1f%% (%.0f frames/s), above the %.0f%% limit%n",
+                    100 * getUtilization(), frameRate, 100 * RobotMap.MAX_CAN_UTILIZATION);
+
+        frameRateSlot.set(expected);
+        configRateSlot.set(configRate);
+        utilizationSlot.set(100 * getUtilization());
+        peakUtilizationSlot.set(100 * StatusFrameProfile.getBusLoad(peakFrameRate));
+        headroomSlot.set(getHeadroom());
+    }
+
+    /**
+     * Calculates the frames sent each second by a device with its current configuration.
+     */
+    private double getFrameRate (Device device)
+    {
+        switch (device.type)
+        {
+            case TALON:
+            {
+                double rate = getProfile(device.subsystem).getFrameRate(1, false) + TALON_UNPROFILED_FRAMES_PER_SECOND
+                        + 1000.0 / RobotMap.CONTROL_FRAME_PERIOD_MS;
+                if (MotionProfileBufferService.getInstance().find(device.controller) != null)
+                    rate += 1000.0 / device.talon.getMotionControlFramePeriod();
+                return rate;
+            }
+            case VICTOR:
+                return VICTOR_STATUS_FRAMES_PER_SECOND + 1000.0 / RobotMap.CONTROL_FRAME_PERIOD_MS;
+            case PIGEON:
+                return 1000.0 / getProfile(device.subsystem).getPigeonPeriod() + PIGEON_OTHER_FRAMES_PER_SECOND;
+            default:
+                return PCM_FRAMES_PER_SECOND;
+        }
+    }
+
+    /**
+     * Gets the profile applied to a subsystem, or the defaults if none has been applied yet.
+     */
+    private static StatusFrameProfile getProfile (Subsystem subsystem)
+    {
+        StatusFrameProfile profile = StatusFrameManager.getInstance().getProfile(subsystem);
+        return profile == null ? StatusFrameProfile.DEFAULT : profile;
+    }
+
+    /**
+     * Gets the number of frames the bus can carry each second.
+     * @return the capacity (frames/s)
+     */
+    public static double getCapacity()
+    {
+        return StatusFrameProfile.BUS_BITS_PER_SECOND / StatusFrameProfile.BITS_PER_FRAME;
+    }
+
+    /**
+     * Gets the frames sent each second as of the last update, including configuration writes.
+     * @return the frame rate (frames/s)
+     */
+    public synchronized double getFrameRate()
+    {
+        return frameRate;
+    }
+
+    /**
+     * Gets the share of the bus taken as of the last update.
+     * @return the utilization [0, 1]
+     */
+    public synchronized double getUtilization()
+    {
+        return StatusFrameProfile.getBusLoad(frameRate);
+    }
+
+    /**
+     * Gets the highest share of the bus taken at any update, such as while a profile was streaming.
+     * @return the utilization [0, 1]
+     */
+    public synchronized double getPeakUtilization()
+    {
+        return StatusFrameProfile.getBusLoad(peakFrameRate);
+    }
+
+    /**
+     * Gets the frames per second which could be added before the bus passes
+     * RobotMap.MAX_CAN_UTILIZATION, as of the last update.
+     * @return the headroom (frames/s), negative if the limit has already been passed
+     */
+    public synchronized double getHeadroom()
+    {
+        return RobotMap.MAX_CAN_UTILIZATION * getCapacity() - frameRate;
+    }
+
+    /**
+     * Determines whether a device or a faster frame would fit on the bus even at the busiest
+     * moment seen so far. Run the busiest routine (such as a motion profile) first for the answer
+     * to cover it.
+     * @param framesPerSecond the frames the addition would send each second
+     * @return true if the bus would stay within RobotMap.MAX_CAN_UTILIZATION; false otherwise
+     */
+    public synchronized boolean canAdd (double framesPerSecond)
+    {
+        return StatusFrameProfile.getBusLoad(peakFrameRate + framesPerSecond) <= RobotMap.MAX_CAN_UTILIZATION;
+    }
+
+    /**
+     * Gets the instance of the singleton CanBusMonitor, creating a new one if necessary.
+     * @return the instance
+     */
+    public static synchronized CanBusMonitor getInstance()
+    {
+        if (instance == null)
+            instance = new CanBusMonitor();
+        return instance;
+    }
+}
@@ -0,0 +1,66 @@
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Supplies the time to the commands which wait on it. On the robot the time comes from the FPGA;
+ * a simulation or test can substitute its own source and advance it as fast as it likes.
+ * @author agent
+ * @version 10/18/26
+ */
+public class Clock
+{
+    /**
+     * Reports the current time.
+     */
+    public interface Source
+    {
+        /**
+         * Gets the current time.
+         * @return the time (s), from an arbitrary origin
+         */
+        double getTimestamp();
+    }
+
+    /**
+     * The FPGA timestamp, used unless another source is set.
+     */
+    public static final Source FPGA = new Source()
+    {
+        public double getTimestamp()
+        {
+            return Timer.getFPGATimestamp();
+        }
+    };
+
+    private static volatile Source source = FPGA;
+
+    private Clock() {}
+
+    /**
+     * Gets the current time from the current source.
+     * @return the time (s)
+     */
+    public static double getTimestamp()
+    {
+        return source.getTimestamp();
+    }
+
+    /**
+     * Sets the source of the time.
+     * @param newSource the source, or null to return to the FPGA timestamp
+     */
+    public static void setSource (Source newSource)
+    {
+        source = newSource == null ? FPGA : newSource;
+    }
+
+    /**
+     * Gets the source of the time.
+     * @return the source
+     */
+    public static Source getSource()
+    {
+        return source;
+    }
+}
@@ -0,0 +1,300 @@
+package frc.robot.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+import edu.wpi.first.wpilibj.Threads;
+
+/**
+ * Runs a task at a fixed rate on its own thread, scheduling each iteration from the intended
+ * start of the previous one so that the period does not drift. Records the period between
+ * iterations and the time taken by each in histograms.
+ * <p>
+ * A real-time loop's thread is given a real-time scheduling priority through the HAL, since the
+ * JVM on the roboRIO ignores Java thread priorities; any other loop's thread is given a Java
+ * priority, which only orders it among the robot's own threads.
+ * <p>
+ * While a Driver is set, loops started are handed to it instead of getting threads of their own,
+ * so that a simulation can run them at their periods on a virtual clock.
+ * @author agent
+ * @version 10/18/26
+ */
+public class RealTimeLoop implements Runnable
+{
+    /**
+     * The width of each histogram bucket (s).
+     */
+    public static final double HISTOGRAM_BUCKET_WIDTH = 0.00025;
+
+    /**
+     * The real-time priority of a loop for which none is given, from 1 to 99 (highest).
+     */
+    public static final int DEFAULT_REAL_TIME_PRIORITY = 40;
+
+    /**
+     * Runs loops in place of their threads.
+     */
+    public interface Driver
+    {
+        /**
+         * Begins calling iterate() on a loop once per period, starting now.
+         * @param loop the loop
+         */
+        void start (RealTimeLoop loop);
+
+        /**
+         * Stops calling iterate() on a loop.
+         * @param loop the loop
+         */
+        void stop (RealTimeLoop loop);
+    }
+
+    private static volatile Driver driver;
+
+    private final String name;
+    private final Runnable task;
+    private final double period;
+    private final long periodNanos;
+    private final boolean realTime;
+    private final int priority;
+
+    private final TimingHistogram periodHistogram;
+    private final TimingHistogram executionHistogram;
+
+    /**
+     * The thread currently running the loop; any other thread left over from an earlier start exits.
+     */
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    /**
+     * The driver running the loop in place of a thread, if any.
+     */
+    private Driver drivenBy;
+
+    /**
+     * The number of iterations which started a full period or more late.
+     */
+    private volatile long overruns;
+
+    /**
+     * Whether the HAL granted the thread its real-time priority.
+     */
+    private volatile boolean realTimeGranted;
+
+    /**
+     * Constructs a new real-time RealTimeLoop at the default real-time priority.
+     * @param name the name of the thread
+     * @param task the task to be run every period
+     * @param period the time between iterations (s)
+     */
+    public RealTimeLoop (String name, Runnable task, double period)
+    {
+        this(name, task, period, true, DEFAULT_REAL_TIME_PRIORITY);
+    }
+
+    /**
+     * Constructs a new RealTimeLoop which is not real-time.
+     * @param name the name of the thread
+     * @param task the task to be run every period
+     * @param period the time between iterations (s)
+     * @param priority the Java priority of the thread
+     */
+    public RealTimeLoop (String name, Runnable task, double period, int priority)
+    {
+        this(name, task, period, false, priority);
+    }
+
+    /**
+     * Constructs a new RealTimeLoop.
+     * @param name the name of the thread
+     * @param task the task to be run every period
+     * @param period the time between iterations (s)
+     * @param realTime whether the thread is given a real-time priority
+     * @param priority the real-time priority of the thread, from 1 to 99 (highest), if it is
+     * real-time; otherwise its Java priority
+     */
+    public RealTimeLoop (String name, Runnable task, double period, boolean realTime, int priority)
+    {
+        if (realTime && (priority < 1 || priority > 99))
+            throw new IllegalArgumentException("Real-time priority " + priority + " is not from 1 to 99");
+        this.name = name;
+        this.realTime = realTime;
+        this.priority = priority;
+        this.task = task;
+        this.period = period;
+        periodNanos = (long) (period * 1e9);
+        // record up to four periods in individual buckets
+        periodHistogram = new TimingHistogram(HISTOGRAM_BUCKET_WIDTH, 4 * period);
+        executionHistogram = new TimingHistogram(HISTOGRAM_BUCKET_WIDTH, 4 * period);
+    }
+
+    /**
+     * Sets the driver to which loops started from now on are handed instead of getting threads.
+     * @param newDriver the driver, or null to give loops threads of their own
+     */
+    public static void setDriver (Driver newDriver)
+    {
+        driver = newDriver;
+    }
+
+    /**
+     * Starts running the task; does nothing if already running.
+     */
+    public synchronized void start()
+    {
+        if (running)
+            return;
+        running = true;
+        drivenBy = driver;
+        if (drivenBy != null)
+        {
+            drivenBy.start(this);
+            return;
+        }
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        if (!realTime)
+            thread.setPriority(priority);
+        thread.start();
+    }
+
+    /**
+     * Stops running the task once the current iteration (if any) has finished.
+     */
+    public synchronized void stop()
+    {
+        running = false;
+        if (drivenBy != null)
+        {
+            drivenBy.stop(this);
+            drivenBy = null;
+        }
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+            thread = null;
+        }
+    }
+
+    public void run()
+    {
+        // only the loop's own thread runs this; a Driver calls iterate() on its own thread instead
+        if (realTime)
+            realTimeGranted = Threads.setCurrentThreadPriority(true, priority);
+        Thread current = Thread.currentThread();
+        long next = System.nanoTime();
+        long prevStart = -1;
+        while (running && thread == current)
+        {
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0 && running)
+                LockSupport.parkNanos(wait);
+            if (!running || thread != current)
+                break;
+
+            long start = System.nanoTime();
+            if (prevStart >= 0)
+                periodHistogram.record(start - prevStart);
+            prevStart = start;
+            long end = runTask(start);
+
+            next += periodNanos;
+            // if a whole period has been missed, start again from now instead of running repeatedly to catch up
+            if (end - next > periodNanos)
+            {
+                overruns++;
+                next = end;
+            }
+        }
+    }
+
+    /**
+     * Runs one iteration of the task, as a Driver does once per period. The period histogram is
+     * not recorded, since the driver keeps to the period exactly.
+     */
+    public void iterate()
+    {
+        runTask(System.nanoTime());
+    }
+
+    /**
+     * Runs the task and records the time it took.
+     * @param start the time at which the iteration started (ns)
+     * @return the time at which the iteration ended (ns)
+     */
+    private long runTask (long start)
+    {
+        try
+        {
+            task.run();
+        }
+        catch (RuntimeException e)
+        {
+            e.printStackTrace();
+        }
+        long end = System.nanoTime();
+        executionHistogram.record(end - start);
+        return end;
+    }
+
+    /**
+     * Gets the time between iterations.
+     * @return the period (s)
+     */
+    public double getPeriod()
+    {
+        return period;
+    }
+
+    /**
+     * Determines whether the loop is running.
+     * @return true if running; false otherwise
+     */
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    /**
+     * Determines whether the loop's thread is running at a real-time priority, which the HAL
+     * refuses when the robot program lacks the privilege (as on the desktop).
+     * @return true if the thread was granted its real-time priority; false otherwise
+     */
+    public boolean hasRealTimePriority()
+    {
+        return realTimeGranted;
+    }
+
+    /**
+     * Gets the histogram of the time between the starts of consecutive iterations.
+     * @return the period histogram
+     */
+    public TimingHistogram getPeriodHistogram()
+    {
+        return periodHistogram;
+    }
+
+    /**
+     * Gets the histogram of the time taken by each iteration.
+     * @return the execution time histogram
+     */
+    public TimingHistogram getExecutionHistogram()
+    {
+        return executionHistogram;
+    }
+
+    /**
+     * Gets the number of iterations which started a full period or more late.
+     * @return the number of overruns
+     */
+    public long getOverruns()
+    {
+        return overruns;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + " period: " + periodHistogram + ", execution: " + executionHistogram + ", overruns: " + overruns;
+    }
+}
@@ -0,0 +1,169 @@
+package frc.robot.util;
+
+import frc.robot.Robot;
+import frc.robot.RobotMap;
+import frc.robot.hardware.MotorController;
+
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+
+import edu.wpi.first.wpilibj.command.Subsystem;
+
+/**
+ * Holds the Talon signals read by the commands and the dashboard, sampled once at the top of each
+ * robot loop before the scheduler runs. Every command in the loop then sees the same values, and
+ * each signal costs one read through the CTRE library per loop however many times it is used.
+ * <p>
+ * A sampled value was already up to one status frame old when it was read, and grows older until
+ * the next sample. getFramesBehind() gives the time since the sample in units of the frame
+ * period the signal currently has, so a command which needs the newest value can tell when a
+ * fresher frame has arrived. Loops which run faster than the robot loop (the path followers and
+ * the signal logger) read the Talons themselves. The snapshot is only to be used from the main
+ * robot thread.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SensorSnapshot
+{
+    private static SensorSnapshot instance;
+
+    /**
+     * The signals sampled, each with the status frame which carries it.
+     */
+    public enum Signal
+    {
+        LEFT_POSITION(StatusFrameEnhanced.Status_2_Feedback0, false),
+        RIGHT_POSITION(StatusFrameEnhanced.Status_2_Feedback0, false),
+        LEFT_ERROR(StatusFrameEnhanced.Status_13_Base_PIDF0, false),
+        RIGHT_ERROR(StatusFrameEnhanced.Status_13_Base_PIDF0, false),
+        LEFT_OUTPUT(StatusFrameEnhanced.Status_1_General, false),
+        RIGHT_OUTPUT(StatusFrameEnhanced.Status_1_General, false),
+        ELEVATOR_POSITION(StatusFrameEnhanced.Status_2_Feedback0, true),
+        ELEVATOR_VELOCITY(StatusFrameEnhanced.Status_2_Feedback0, true),
+        ELEVATOR_CURRENT(StatusFrameEnhanced.Status_2_Feedback0, true);
+
+        /**
+         * Every signal, in order.
+         */
+        public static final Signal[] VALUES = values();
+
+        /**
+         * The number of signals.
+         */
+        public static final int COUNT = VALUES.length;
+
+        private final StatusFrameEnhanced frame;
+        private final boolean elevator;
+
+        private Signal (StatusFrameEnhanced frame, boolean elevator)
+        {
+            this.frame = frame;
+            this.elevator = elevator;
+        }
+
+        /**
+         * Gets the status frame which carries this signal.
+         * @return the frame
+         */
+        public StatusFrameEnhanced getFrame()
+        {
+            return frame;
+        }
+
+        private Subsystem getSubsystem()
+        {
+            return elevator ? Robot.el : Robot.dt;
+        }
+    }
+
+    private final double[] values = new double[Signal.COUNT];
+    private double sampleTime = -1;
+
+    private SensorSnapshot() {}
+
+    /**
+     * Reads every signal from the Talons. To be called once per loop, before the scheduler runs.
+     */
+    public void sample()
+    {
+        sampleTime = Clock.getTimestamp();
+        if (Robot.dt != null)
+        {
+            MotorController left = Robot.dt.getHardware().getLeft();
+            MotorController right = Robot.dt.getHardware().getRight();
+            values[Signal.LEFT_POSITION.ordinal()] = left.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
+            values[Signal.RIGHT_POSITION.ordinal()] = right.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
+            values[Signal.LEFT_ERROR.ordinal()] = left.getClosedLoopError(RobotMap.PRIMARY_PID_INDEX);
+            values[Signal.RIGHT_ERROR.ordinal()] = right.getClosedLoopError(RobotMap.PRIMARY_PID_INDEX);
+            values[Signal.LEFT_OUTPUT.ordinal()] = left.getMotorOutputPercent();
+            values[Signal.RIGHT_OUTPUT.ordinal()] = right.getMotorOutputPercent();
+        }
+        if (Robot.el != null)
+        {
+            MotorController elevator = Robot.el.getMaster();
+            values[Signal.ELEVATOR_POSITION.ordinal()] = elevator.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX);
+            values[Signal.ELEVATOR_VELOCITY.ordinal()] = elevator.getSelectedSensorVelocity(RobotMap.PRIMARY_PID_INDEX);
+            values[Signal.ELEVATOR_CURRENT.ordinal()] = elevator.getOutputCurrent();
+        }
+    }
+
+    /**
+     * Gets the value of a signal as of the last sample.
+     * @param signal the signal
+     * @return the value, or zero if it has not been sampled
+     */
+    public double get (Signal signal)
+    {
+        return values[signal.ordinal()];
+    }
+
+    /**
+     * Gets the average position of the two drivetrain masters as of the last sample.
+     * @return the position (encoder units)
+     */
+    public double getDrivePosition()
+    {
+        return (get(Signal.LEFT_POSITION) + get(Signal.RIGHT_POSITION)) / 2;
+    }
+
+    /**
+     * Gets the time since the signals were last sampled.
+     * @return the time (s), or positive infinity if they have never been sampled
+     */
+    public double getAge()
+    {
+        return sampleTime < 0 ? Double.POSITIVE_INFINITY : Clock.getTimestamp() - sampleTime;
+    }
+
+    /**
+     * Gets the period at which a signal's status frame is currently sent.
+     * @param signal the signal
+     * @return the period (ms)
+     */
+    public int getFramePeriod (Signal signal)
+    {
+        StatusFrameProfile profile = StatusFrameManager.getInstance().getProfile(signal.getSubsystem());
+        return (profile == null ? StatusFrameProfile.DEFAULT : profile).getPeriod(signal.getFrame());
+    }
+
+    /**
+     * Gets the number of status frames carrying a signal which have arrived since it was sampled.
+     * @param signal the signal
+     * @return the time since the sample divided by the frame period; one or more if a read from
+     *         the Talon would give a newer value
+     */
+    public double getFramesBehind (Signal signal)
+    {
+        return 1000 * getAge() / getFramePeriod(signal);
+    }
+
+    /**
+     * Gets the instance of the singleton SensorSnapshot, creating a new one if necessary.
+     * @return the instance
+     */
+    public static synchronized SensorSnapshot getInstance()
+    {
+        if (instance == null)
+            instance = new SensorSnapshot();
+        return instance;
+    }
+}
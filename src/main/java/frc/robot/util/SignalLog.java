@@ -0,0 +1,169 @@
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a log written by SignalLogger into one primitive array per signal, in the order the
+ * records were written (starting from the oldest record still in the ring).
+ * @author agent
+ * @version 10/18/26
+ */
+public class SignalLog
+{
+    /**
+     * The last version written without a path table, whose header ends at the signal names.
+     */
+    private static final int VERSION_WITHOUT_PATHS = 1;
+
+    private final String[] names;
+    private final String[] paths;
+    private final int rate;
+    private final int length;
+    private final long[] times;
+    private final float[][] values;
+
+    private SignalLog (String[] names, String[] paths, int rate, int length)
+    {
+        this.names = names;
+        this.paths = paths;
+        this.rate = rate;
+        this.length = length;
+        times = new long[length];
+        values = new float[names.length][length];
+    }
+
+    /**
+     * Reads a log file.
+     * @param file the file to be read
+     * @return the log
+     * @throws IOException if the file could not be read or is not a signal log
+     */
+    public static SignalLog read (File file) throws IOException
+    {
+        ByteBuffer buf;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+        {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(SignalLogger.ORDER);
+        }
+        if (buf.capacity() < SignalLogger.HEADER_BYTES || buf.getInt(0) != SignalLogger.MAGIC)
+            throw new IOException(file + " is not a signal log");
+        int version = buf.getInt(4);
+        if (version != SignalLogger.VERSION && version != VERSION_WITHOUT_PATHS)
+            throw new IOException(file + " has version " + version + ", expected " + SignalLogger.VERSION);
+        int headerBytes = version == VERSION_WITHOUT_PATHS ? SignalLogger.PATHS_OFFSET : SignalLogger.HEADER_BYTES;
+        int recordBytes = buf.getInt(8);
+        int capacity = buf.getInt(12);
+        int signalCount = buf.getInt(16);
+        int rate = buf.getInt(20);
+        long written = buf.getLong(SignalLogger.RECORDS_WRITTEN_OFFSET);
+        if (headerBytes + (long) capacity * recordBytes > buf.capacity())
+            throw new IOException(file + " is truncated");
+
+        String[] names = readString(buf, SignalLogger.RECORDS_WRITTEN_OFFSET + 8, SignalLogger.PATHS_OFFSET).split(",");
+        if (names.length != signalCount)
+            throw new IOException(file + " names " + names.length + " signals but has " + signalCount);
+        String[] paths = new String[0];
+        if (version != VERSION_WITHOUT_PATHS)
+        {
+            String table = readString(buf, SignalLogger.PATHS_OFFSET, SignalLogger.HEADER_BYTES);
+            if (!table.isEmpty())
+                paths = table.split("\n");
+        }
+
+        int length = (int) Math.min(written, capacity);
+        SignalLog log = new SignalLog(names, paths, rate, length);
+        long first = written - length;
+        for (int r = 0; r < length; r++)
+        {
+            int base = headerBytes + (int) ((first + r) % capacity) * recordBytes;
+            log.times[r] = buf.getLong(base);
+            int offset = base + SignalLogger.RECORD_HEADER_BYTES;
+            for (int s = 0; s < signalCount; s++, offset += Float.BYTES)
+                log.values[s][r] = buf.getFloat(offset);
+        }
+        return log;
+    }
+
+    /**
+     * Reads a NUL-terminated ASCII string from the header.
+     */
+    private static String readString (ByteBuffer buf, int start, int limit)
+    {
+        int end = start;
+        while (end < limit && buf.get(end) != 0)
+            end++;
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = buf.get(start + i);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Gets the identity of a path followed while the log was written.
+     * @param id the index of the path, as recorded in PATH_ID
+     * @return the identity given to SignalLogger.setPath(), or null if the log has no such path
+     */
+    public String getPath (int id)
+    {
+        return id >= 0 && id < paths.length ? paths[id] : null;
+    }
+
+    /**
+     * Gets the number of records in the log.
+     * @return the number of records
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Gets the rate at which the log was recorded.
+     * @return the number of samples per second
+     */
+    public int getRate()
+    {
+        return rate;
+    }
+
+    /**
+     * Gets the FPGA time at which a record was written.
+     * @param i the index of the record
+     * @return the time (s)
+     */
+    public double getTime (int i)
+    {
+        return times[i] / 1e6;
+    }
+
+    /**
+     * Gets every value of a signal, looked up by name so that logs written with a different
+     * set of signals can still be read.
+     * @param name the name of the signal
+     * @return the values, or null if the log does not contain the signal
+     */
+    public float[] getSignal (String name)
+    {
+        for (int i = 0; i < names.length; i++)
+        {
+            if (names[i].equals(name))
+                return values[i];
+        }
+        return null;
+    }
+
+    /**
+     * Gets every value of a signal.
+     * @param signal the signal
+     * @return the values, or null if the log does not contain the signal
+     */
+    public float[] getSignal (SignalLogger.Signal signal)
+    {
+        return getSignal(signal.name());
+    }
+}
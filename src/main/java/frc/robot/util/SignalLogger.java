@@ -0,0 +1,352 @@
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import frc.robot.Robot;
+import frc.robot.RobotMap;
+import frc.robot.hardware.MotorController;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Records robot signals at a fixed rate into a memory-mapped ring buffer file, one fixed-size
+ * record per sample. Sensors are read on the logger's own thread; setpoints and command states
+ * are staged by the code that produces them with set(), which never blocks or allocates.
+ * <pre>
+ * header:  int magic, int version, int record bytes, int capacity, int signal count, int rate (Hz),
+ *          long records written, then the signal names (comma-separated ASCII) padded to PATHS_OFFSET,
+ *          then the path table (newline-separated ASCII) padded to HEADER_BYTES
+ * record:  long FPGA time (us), long sequence number, float[signal count] values
+ * </pre>
+ * Record n (counting from 0) is stored in slot n % capacity, so once the ring has wrapped the
+ * oldest record is the one after the most recently written. All values are little-endian.
+ * <p>
+ * The path table holds the identity of every path followed since the robot started, as given to
+ * setPath(), and the PATH_ID signal of each record is the index of the path being followed in it
+ * (or -1 before any path has been), so a replay can tell which trajectory each record belongs to.
+ * @author agent
+ * @version 10/18/26
+ */
+public class SignalLogger implements Runnable
+{
+    /**
+     * The identifier written at the start of every log ("HSIG").
+     */
+    public static final int MAGIC = 0x48534947;
+
+    public static final int VERSION = 2;
+
+    public static final String EXTENSION = ".sig";
+
+    /**
+     * The size of the header, including the signal names and the path table (in bytes).
+     */
+    public static final int HEADER_BYTES = 1024;
+
+    /**
+     * The offset of the path table within the header, at which the signal names must end.
+     */
+    public static final int PATHS_OFFSET = 512;
+
+    /**
+     * The offset of the number of records written within the header.
+     */
+    public static final int RECORDS_WRITTEN_OFFSET = 24;
+
+    public static final int RECORD_HEADER_BYTES = 16;
+
+    public static final int RECORD_BYTES = RECORD_HEADER_BYTES + Signal.COUNT * Float.BYTES;
+
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * The default number of samples per second.
+     */
+    public static final int DEFAULT_RATE = 100;
+
+    /**
+     * The default number of records held before the ring wraps (about eleven minutes at 100 Hz).
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Represents every signal recorded, in record order.
+     * @author agent
+     * @version 10/18/26
+     */
+    public enum Signal
+    {
+        LEFT_POSITION, RIGHT_POSITION, LEFT_VELOCITY, RIGHT_VELOCITY,
+        LEFT_ERROR, RIGHT_ERROR, LEFT_OUTPUT, RIGHT_OUTPUT, LEFT_CURRENT, RIGHT_CURRENT,
+        PIGEON_YAW, LEFT_SETPOINT, RIGHT_SETPOINT, LEFT_FEED_FORWARD, RIGHT_FEED_FORWARD,
+        ANGLE_SETPOINT, PATH_STATE, PATH_POINT, MEASURED_ANGLE, PATH_TIME, PATH_ID,
+        ELEVATOR_POSITION, ELEVATOR_VELOCITY, ELEVATOR_OUTPUT, ELEVATOR_CURRENT, ELEVATOR_MODE, ELEVATOR_SETPOINT;
+
+        /**
+         * The number of signals in each record.
+         */
+        public static final int COUNT = values().length;
+
+        private static final Signal[] VALUES = values();
+    }
+
+    /**
+     * The values staged for the next record, stored as raw double bits so that they can be
+     * written from any thread.
+     */
+    private static final AtomicLongArray staged = new AtomicLongArray(Signal.COUNT);
+
+    /**
+     * The identity of every path given to setPath(), in the order first given.
+     */
+    private static final List<String> paths = new ArrayList<String>();
+
+    static
+    {
+        set(Signal.PATH_ID, -1);
+    }
+
+    private static SignalLogger logger;
+
+    private final File file;
+    private final int capacity;
+    private final RealTimeLoop loop;
+    private MappedByteBuffer buffer;
+    private RandomAccessFile raf;
+    private long written;
+    private boolean closed;
+
+    private SignalLogger (File file, int capacity, int rate) throws IOException
+    {
+        this.file = file;
+        this.capacity = capacity;
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null)
+            parent.mkdirs();
+        raf = new RandomAccessFile(file, "rw");
+        raf.setLength(0);
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * RECORD_BYTES);
+        buffer.order(ORDER);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_BYTES).putInt(12, capacity)
+                .putInt(16, Signal.COUNT).putInt(20, rate).putLong(RECORDS_WRITTEN_OFFSET, 0);
+        byte[] names = getSignalNames().getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < names.length && RECORDS_WRITTEN_OFFSET + 8 + i < PATHS_OFFSET; i++)
+            buffer.put(RECORDS_WRITTEN_OFFSET + 8 + i, names[i]);
+        writePaths();
+        loop = new RealTimeLoop("SignalLogger", this, 1.0 / rate, Thread.NORM_PRIORITY + 1);
+    }
+
+    /**
+     * Starts logging to a new file in the log directory, named after the current match and time,
+     * at the default rate and capacity. Any log already running is closed first.
+     */
+    public static void start()
+    {
+        DriverStation ds = DriverStation.getInstance();
+        String name = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        if (ds.getMatchNumber() > 0)
+            name = ds.getEventName() + "_" + ds.getMatchType() + ds.getMatchNumber() + "_" + name;
+        start(new File(RobotMap.LOG_DIRECTORY, name + EXTENSION), DEFAULT_CAPACITY, DEFAULT_RATE);
+    }
+
+    /**
+     * Starts logging to a given file. Any log already running is closed first.
+     * @param file the file to be written
+     * @param capacity the number of records held before the ring wraps
+     * @param rate the number of samples per second
+     */
+    public static synchronized void start (File file, int capacity, int rate)
+    {
+        stop();
+        try
+        {
+            logger = new SignalLogger(file, capacity, rate);
+            logger.loop.start();
+            System.out.println("Logging signals to " + file);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Could not open signal log: " + e.getMessage());
+            logger = null;
+        }
+    }
+
+    /**
+     * Stops logging and flushes the file to disk.
+     */
+    public static synchronized void stop()
+    {
+        if (logger != null)
+        {
+            logger.close();
+            logger = null;
+        }
+    }
+
+    /**
+     * Determines whether a log is being written.
+     * @return true if logging; false otherwise
+     */
+    public static synchronized boolean isLogging()
+    {
+        return logger != null;
+    }
+
+    /**
+     * Stages a value to be written with the next record. Safe to call from any thread.
+     * @param signal the signal
+     * @param value the value
+     */
+    public static void set (Signal signal, double value)
+    {
+        staged.lazySet(signal.ordinal(), Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Records that a path is being followed, adding its identity to the path table of this and
+     * every later log and staging its index as PATH_ID. To be called as the path starts, not from
+     * a control loop, since a new path rewrites the header.
+     * @param identity the identity of the path, from which a replay can find its trajectories
+     * @return the index of the path in the table, or -1 if the table is full
+     */
+    public static synchronized int setPath (String identity)
+    {
+        int index = paths.indexOf(identity);
+        if (index < 0)
+        {
+            if (getPathTable().length() + identity.length() + 1 >= HEADER_BYTES - PATHS_OFFSET)
+            {
+                System.out.println("Signal log path table is full; not recording " + identity);
+                set(Signal.PATH_ID, -1);
+                return -1;
+            }
+            paths.add(identity);
+            index = paths.size() - 1;
+            if (logger != null)
+                logger.writePaths();
+        }
+        set(Signal.PATH_ID, index);
+        return index;
+    }
+
+    /**
+     * Gets the identity of every path, newline-separated in index order.
+     */
+    private static String getPathTable()
+    {
+        StringBuilder table = new StringBuilder();
+        for (String path : paths)
+        {
+            if (table.length() > 0)
+                table.append('\n');
+            table.append(path);
+        }
+        return table.toString();
+    }
+
+    /**
+     * Writes the path table into the header.
+     */
+    private synchronized void writePaths()
+    {
+        if (closed)
+            return;
+        byte[] table = getPathTable().getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < table.length; i++)
+            buffer.put(PATHS_OFFSET + i, table[i]);
+        buffer.put(PATHS_OFFSET + table.length, (byte) 0);
+    }
+
+    /**
+     * Gets the names of every signal, comma-separated in record order.
+     * @return the signal names
+     */
+    public static String getSignalNames()
+    {
+        StringBuilder names = new StringBuilder();
+        for (Signal s : Signal.VALUES)
+        {
+            if (names.length() > 0)
+                names.append(',');
+            names.append(s.name());
+        }
+        return names.toString();
+    }
+
+    /**
+     * Samples the sensors and writes one record. Called periodically by the logger thread.
+     */
+    public synchronized void run()
+    {
+        if (closed)
+            return;
+        readSensors();
+        int base = HEADER_BYTES + (int) (written % capacity) * RECORD_BYTES;
+        MappedByteBuffer buf = buffer;
+        buf.putLong(base, (long) (Clock.getTimestamp() * 1e6));
+        buf.putLong(base + 8, written);
+        int offset = base + RECORD_HEADER_BYTES;
+        for (int i = 0; i < Signal.COUNT; i++, offset += Float.BYTES)
+            buf.putFloat(offset, (float) Double.longBitsToDouble(staged.get(i)));
+        written++;
+        buf.putLong(RECORDS_WRITTEN_OFFSET, written);
+    }
+
+    private void readSensors()
+    {
+        if (Robot.el != null)
+        {
+            MotorController elevator = Robot.el.getMaster();
+            set(Signal.ELEVATOR_POSITION, elevator.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX));
+            set(Signal.ELEVATOR_VELOCITY, elevator.getSelectedSensorVelocity(RobotMap.PRIMARY_PID_INDEX));
+            set(Signal.ELEVATOR_OUTPUT, elevator.getMotorOutputPercent());
+            set(Signal.ELEVATOR_CURRENT, elevator.getOutputCurrent());
+        }
+        if (Robot.dt == null)
+            return;
+        MotorController left = Robot.dt.getHardware().getLeft();
+        MotorController right = Robot.dt.getHardware().getRight();
+        set(Signal.LEFT_POSITION, left.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX));
+        set(Signal.RIGHT_POSITION, right.getSelectedSensorPosition(RobotMap.PRIMARY_PID_INDEX));
+        set(Signal.LEFT_VELOCITY, left.getSelectedSensorVelocity(RobotMap.PRIMARY_PID_INDEX));
+        set(Signal.RIGHT_VELOCITY, right.getSelectedSensorVelocity(RobotMap.PRIMARY_PID_INDEX));
+        set(Signal.LEFT_ERROR, left.getClosedLoopError(RobotMap.PRIMARY_PID_INDEX));
+        set(Signal.RIGHT_ERROR, right.getClosedLoopError(RobotMap.PRIMARY_PID_INDEX));
+        set(Signal.LEFT_OUTPUT, left.getMotorOutputPercent());
+        set(Signal.RIGHT_OUTPUT, right.getMotorOutputPercent());
+        set(Signal.LEFT_CURRENT, left.getOutputCurrent());
+        set(Signal.RIGHT_CURRENT, right.getOutputCurrent());
+        set(Signal.PIGEON_YAW, Robot.dt.getHardware().getImu().getYaw());
+    }
+
+    private void close()
+    {
+        loop.stop();
+        // wait for any record in progress
+        synchronized (this)
+        {
+            closed = true;
+            buffer.force();
+            try
+            {
+                raf.close();
+            }
+            catch (IOException e)
+            {
+                System.out.println("Could not close signal log: " + e.getMessage());
+            }
+        }
+        System.out.println("Wrote " + written + " records to " + file + " (" + loop + ")");
+    }
+}
@@ -0,0 +1,223 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.robot.RobotMap;
+import frc.robot.hardware.ConfigQueue;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+import com.ctre.phoenix.sensors.PigeonIMU;
+import com.ctre.phoenix.sensors.PigeonIMU_StatusFrame;
+
+import edu.wpi.first.wpilibj.command.Subsystem;
+
+/**
+ * Switches the status frame periods of each subsystem's devices to match what is running on it.
+ * A command requests a profile for its subsystem when it initializes and releases it when it ends;
+ * a subsystem with no profile requested uses its idle profile, and every subsystem uses
+ * StatusFrameProfile.DISABLED while the robot is disabled. The periods are written through the
+ * ConfigQueue (CachedTalons queue their own), and only the frames whose period changes are written.
+ * <p>
+ * On every change of profile, the frame rate of the subsystem's devices is printed along with the
+ * rate it would have had under its baseline profile (the periods it used before it had profiles).
+ * The total rate, its share of the bus and the rate saved are published to the dashboard.
+ * @author agent
+ * @version 10/18/26
+ */
+public class StatusFrameManager
+{
+    private static StatusFrameManager instance;
+
+    /**
+     * The devices of one subsystem and the profiles chosen for them.
+     */
+    private static class Group
+    {
+        private final Subsystem subsystem;
+        private final StatusFrameProfile idle;
+        private final StatusFrameProfile baseline;
+        private final PigeonIMU pigeon;
+        private final TalonSRX[] talons;
+        private StatusFrameProfile requested;
+        private StatusFrameProfile applied;
+
+        Group (Subsystem subsystem, StatusFrameProfile idle, StatusFrameProfile baseline, PigeonIMU pigeon,
+                TalonSRX[] talons)
+        {
+            this.subsystem = subsystem;
+            this.idle = idle;
+            this.baseline = baseline;
+            this.pigeon = pigeon;
+            this.talons = talons;
+        }
+
+        double getFrameRate (StatusFrameProfile profile)
+        {
+            return profile.getFrameRate(talons.length, pigeon != null);
+        }
+    }
+
+    private final List<Group> groups = new ArrayList<Group>();
+
+    private final Telemetry.Slot frameRateSlot = Telemetry.getSlot("Status Frames/s");
+    private final Telemetry.Slot busLoadSlot = Telemetry.getSlot("Status Frame Bus Load %");
+    private final Telemetry.Slot savedRateSlot = Telemetry.getSlot("Status Frames Saved/s");
+
+    private double lastUpdate = -1;
+    private double framesSaved;
+
+    private StatusFrameManager() {}
+
+    /**
+     * Registers the devices of a subsystem. Their periods are first written on the next update.
+     * @param subsystem the subsystem, by which commands request profiles
+     * @param idle the profile used while no command has requested one
+     * @param baseline the profile against which savings are estimated
+     * @param pigeon the Pigeon whose yaw period is set, or null if none
+     * @param talons the Talons whose periods are set
+     */
+    public synchronized void register (Subsystem subsystem, StatusFrameProfile idle, StatusFrameProfile baseline,
+            PigeonIMU pigeon, TalonSRX... talons)
+    {
+        groups.add(new Group(subsystem, idle, baseline, pigeon, talons));
+    }
+
+    /**
+     * Requests a profile for a subsystem, to be used until it is released.
+     * @param subsystem the subsystem
+     * @param profile the profile
+     */
+    public synchronized void request (Subsystem subsystem, StatusFrameProfile profile)
+    {
+        Group group = getGroup(subsystem);
+        if (group != null)
+            group.requested = profile;
+    }
+
+    /**
+     * Releases a profile requested for a subsystem, returning it to its idle profile unless
+     * another profile has been requested since.
+     * @param subsystem the subsystem
+     * @param profile the profile which was requested
+     */
+    public synchronized void release (Subsystem subsystem, StatusFrameProfile profile)
+    {
+        Group group = getGroup(subsystem);
+        if (group != null && group.requested == profile)
+            group.requested = null;
+    }
+
+    /**
+     * Rewrites every period of a subsystem's devices on the next update, as after they have been
+     * reset.
+     * @param subsystem the subsystem
+     */
+    public synchronized void reapply (Subsystem subsystem)
+    {
+        Group group = getGroup(subsystem);
+        if (group != null)
+            group.applied = null;
+    }
+
+    /**
+     * Applies the profile each subsystem should now use and publishes the frame rates. To be
+     * called once per robot loop, after the scheduler has run.
+     * @param disabled whether the robot is disabled
+     */
+    public synchronized void update (boolean disabled)
+    {
+        double now = Clock.getTimestamp();
+        double frameRate = 0;
+        double savedRate = 0;
+        for (Group group : groups)
+        {
+            StatusFrameProfile target = disabled ? StatusFrameProfile.DISABLED
+                    : group.requested != null ? group.requested : group.idle;
+            if (target != group.applied)
+                apply(group, target);
+            double rate = group.getFrameRate(target);
+            frameRate += rate;
+            savedRate += group.getFrameRate(group.baseline) - rate;
+        }
+        if (lastUpdate >= 0)
+            framesSaved += savedRate * (now - lastUpdate);
+        lastUpdate = now;
+        frameRateSlot.set(frameRate);
+        busLoadSlot.set(100 * StatusFrameProfile.getBusLoad(frameRate));
+        savedRateSlot.set(savedRate);
+    }
+
+    /**
+     * Gets the total number of status frames which the profiles have kept off the bus, compared
+     * with each subsystem's baseline.
+     * @return the number of frames
+     */
+    public synchronized double getFramesSaved()
+    {
+        return framesSaved;
+    }
+
+    /**
+     * Gets the profile currently applied to a subsystem.
+     * @param subsystem the subsystem
+     * @return the profile, or null if none has been applied
+     */
+    public synchronized StatusFrameProfile getProfile (Subsystem subsystem)
+    {
+        Group group = getGroup(subsystem);
+        return group == null ? null : group.applied;
+    }
+
+    private Group getGroup (Subsystem subsystem)
+    {
+        for (Group group : groups)
+        {
+            if (group.subsystem == subsystem)
+                return group;
+        }
+        return null;
+    }
+
+    /**
+     * Writes the periods which differ between the applied profile and a new one.
+     */
+    private void apply (Group group, StatusFrameProfile profile)
+    {
+        StatusFrameProfile previous = group.applied;
+        for (TalonSRX talon : group.talons)
+        {
+            for (int i = 0; i < StatusFrameProfile.FRAMES.length; i++)
+            {
+                if (previous == null || previous.getPeriod(i) != profile.getPeriod(i))
+                    talon.setStatusFramePeriod(StatusFrameProfile.FRAMES[i], profile.getPeriod(i), RobotMap.TIMEOUT);
+            }
+        }
+        if (group.pigeon != null && (previous == null || previous.getPigeonPeriod() != profile.getPigeonPeriod()))
+        {
+            final PigeonIMU pigeon = group.pigeon;
+            final int period = profile.getPigeonPeriod();
+            ConfigQueue.getInstance().submit(pigeon, PigeonIMU_StatusFrame.CondStatus_9_SixDeg_YPR, new ConfigQueue.Write()
+            {
+                public ErrorCode apply()
+                {
+                    return pigeon.setStatusFramePeriod(PigeonIMU_StatusFrame.CondStatus_9_SixDeg_YPR, period,
+                            RobotMap.TIMEOUT);
+                }
+            });
+        }
+        group.applied = profile;
+    }
+
+    /**
+     * Gets the instance of the singleton StatusFrameManager, creating a new one if necessary.
+     * @return the instance
+     */
+    public static synchronized StatusFrameManager getInstance()
+    {
+        if (instance == null)
+            instance = new StatusFrameManager();
+        return instance;
+    }
+}
@@ -0,0 +1,200 @@
+package frc.robot.util;
+
+import frc.robot.RobotMap;
+import frc.robot.subsystems.Drivetrain;
+
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+
+/**
+ * The status frame periods for the Talons (and Pigeon) of a subsystem in one mode of operation.
+ * Each frame is sent only as often as something in that mode reads it: the sensor feedback is fast
+ * only while a closed loop depends on it, the motion profile buffer is sent only while a profile
+ * is streaming, and the PID and target frames only while the loops they describe are running.
+ * Every frame a mode does not read is slowed to RobotMap.MAX_TALON_FRAME_PERIOD_MS.
+ * @author agent
+ * @version 10/18/26
+ */
+public enum StatusFrameProfile
+{
+    /**
+     * While the robot is disabled, when only the dashboard reads the sensors.
+     */
+    DISABLED(RobotMap.DISABLED_FRAME_PERIOD_MS, RobotMap.DISABLED_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF,
+            Periods.OFF, Periods.OFF, RobotMap.DISABLED_FRAME_PERIOD_MS),
+
+    /**
+     * Percent output with the sensors read once per loop, as by the elevator's manual control.
+     */
+    OPEN_LOOP(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF,
+            Periods.OFF, Periods.OFF, RobotMap.LOOP_FRAME_PERIOD_MS),
+
+    /**
+     * Percent output with no sensors read, as by the intake.
+     */
+    OPEN_LOOP_NO_FEEDBACK(RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF, Periods.OFF, Periods.OFF,
+            Periods.OFF, Periods.OFF),
+
+    /**
+     * The teleoperated velocity loop, which runs on the Talons and needs no fast feedback.
+     */
+    VELOCITY(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF,
+            RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, RobotMap.LOOP_FRAME_PERIOD_MS),
+
+    /**
+     * A position loop whose error is checked to end the command.
+     */
+    POSITION(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.FAST_FEEDBACK_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF,
+            RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, RobotMap.LOOP_FRAME_PERIOD_MS),
+
+    /**
+     * A position loop with an auxiliary angle loop on the Pigeon.
+     */
+    POSITION_ARC(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.FAST_FEEDBACK_FRAME_PERIOD_MS, RobotMap.LOOP_FRAME_PERIOD_MS,
+            Periods.OFF, Periods.OFF, RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.LOOP_FRAME_PERIOD_MS,
+            Drivetrain.Pigeon.PERIOD_MS),
+
+    /**
+     * A motion magic turn on the Pigeon.
+     */
+    TURN(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.FAST_FEEDBACK_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF,
+            RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, Drivetrain.Pigeon.PERIOD_MS),
+
+    /**
+     * A motion profile arc streamed into the Talons, as by FollowPath.
+     */
+    MOTION_PROFILE(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.FAST_FEEDBACK_FRAME_PERIOD_MS, RobotMap.LOOP_FRAME_PERIOD_MS,
+            RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.TIME_PER_TRAJECTORY_POINT_MS, RobotMap.LOOP_FRAME_PERIOD_MS,
+            RobotMap.LOOP_FRAME_PERIOD_MS, Drivetrain.Pigeon.PERIOD_MS),
+
+    /**
+     * Position setpoints calculated on the RoboRio, as by FollowPathRio.
+     */
+    RIO_PROFILE(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.FAST_FEEDBACK_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF,
+            RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, Drivetrain.Pigeon.PERIOD_MS),
+
+    /**
+     * The periods the drivetrain set once at initialization before it had profiles. No mode uses
+     * it; it is the baseline against which the drivetrain's savings are estimated.
+     */
+    FIXED(RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.FAST_FEEDBACK_FRAME_PERIOD_MS, Periods.OFF,
+            RobotMap.LOOP_FRAME_PERIOD_MS, RobotMap.TIME_PER_TRAJECTORY_POINT_MS, RobotMap.LOOP_FRAME_PERIOD_MS,
+            RobotMap.LOOP_FRAME_PERIOD_MS, Drivetrain.Pigeon.PERIOD_MS),
+
+    /**
+     * The periods a Talon uses unless told otherwise. No mode uses it; it is the baseline against
+     * which the savings of the subsystems which never set their periods are estimated.
+     */
+    DEFAULT(10, RobotMap.LOOP_FRAME_PERIOD_MS, Periods.OFF, Periods.OFF, Periods.OFF, Periods.OFF, Periods.OFF, 10);
+
+    /**
+     * Holds the period of the frames a profile does not read, which cannot be declared in the
+     * enum itself before the constants which use it.
+     */
+    private static class Periods
+    {
+        private static final int OFF = RobotMap.MAX_TALON_FRAME_PERIOD_MS;
+    }
+
+    /**
+     * The Talon status frames set by every profile, in the order of the periods.
+     */
+    public static final StatusFrameEnhanced[] FRAMES = {
+        StatusFrameEnhanced.Status_1_General, StatusFrameEnhanced.Status_2_Feedback0,
+        StatusFrameEnhanced.Status_12_Feedback1, StatusFrameEnhanced.Status_9_MotProfBuffer,
+        StatusFrameEnhanced.Status_10_MotionMagic, StatusFrameEnhanced.Status_13_Base_PIDF0,
+        StatusFrameEnhanced.Status_14_Turn_PIDF1, StatusFrameEnhanced.Status_3_Quadrature,
+        StatusFrameEnhanced.Status_8_PulseWidth, StatusFrameEnhanced.Status_11_UartGadgeteer
+    };
+
+    /**
+     * The approximate length of a status frame on the bus: an extended frame with eight data
+     * bytes, with typical bit stuffing and the gap between frames (bits).
+     */
+    public static final int BITS_PER_FRAME = 140;
+
+    /**
+     * The bit rate of the CAN bus (bits/s).
+     */
+    public static final double BUS_BITS_PER_SECOND = 1e6;
+
+    private final int[] periods;
+    private final int pigeonPeriod;
+
+    /**
+     * Constructs a new StatusFrameProfile. Quadrature, pulse width and UART frames are never read,
+     * so they are always slowed.
+     * @param general the period of the output and faults (ms)
+     * @param feedback0 the period of the primary sensor position and velocity (ms)
+     * @param feedback1 the period of the auxiliary sensor (ms)
+     * @param buffer the period of the motion profile buffer status (ms)
+     * @param targets the period of the motion magic and profile targets (ms)
+     * @param pidf0 the period of the primary loop's error and output (ms)
+     * @param pidf1 the period of the auxiliary loop's error and output (ms)
+     * @param pigeon the period of the Pigeon's yaw, pitch and roll (ms)
+     */
+    private StatusFrameProfile (int general, int feedback0, int feedback1, int buffer, int targets, int pidf0, int pidf1,
+            int pigeon)
+    {
+        periods = new int[] {general, feedback0, feedback1, buffer, targets, pidf0, pidf1,
+                Periods.OFF, Periods.OFF, Periods.OFF};
+        pigeonPeriod = pigeon;
+    }
+
+    /**
+     * Gets the period of a frame, by its index in FRAMES.
+     * @param index the index of the frame
+     * @return the period (ms)
+     */
+    public int getPeriod (int index)
+    {
+        return periods[index];
+    }
+
+    /**
+     * Gets the period of a frame.
+     * @param frame the frame, one of FRAMES
+     * @return the period (ms), or RobotMap.MAX_TALON_FRAME_PERIOD_MS if the frame is not in FRAMES
+     */
+    public int getPeriod (StatusFrameEnhanced frame)
+    {
+        for (int i = 0; i < FRAMES.length; i++)
+        {
+            if (FRAMES[i] == frame)
+                return periods[i];
+        }
+        return Periods.OFF;
+    }
+
+    /**
+     * Gets the period of the Pigeon's yaw, pitch and roll.
+     * @return the period (ms)
+     */
+    public int getPigeonPeriod()
+    {
+        return pigeonPeriod;
+    }
+
+    /**
+     * Gets the number of status frames sent each second by a set of devices under this profile.
+     * @param talons the number of Talons
+     * @param pigeon whether a Pigeon is included
+     * @return the frame rate (frames/s)
+     */
+    public double getFrameRate (int talons, boolean pigeon)
+    {
+        double perTalon = 0;
+        for (int period : periods)
+            perTalon += 1000.0 / period;
+        return talons * perTalon + (pigeon ? 1000.0 / pigeonPeriod : 0);
+    }
+
+    /**
+     * Gets the fraction of the bus taken by a frame rate.
+     * @param frameRate the frame rate (frames/s)
+     * @return the bus load [0, 1]
+     */
+    public static double getBusLoad (double frameRate)
+    {
+        return frameRate * BITS_PER_FRAME / BUS_BITS_PER_SECOND;
+    }
+}
@@ -0,0 +1,161 @@
+package frc.robot.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Collects dashboard values into preallocated slots and publishes them to SmartDashboard from a
+ * background thread at a fixed rate, skipping any value that has not changed since it was last
+ * sent. Writing a value is a single field write, so it is safe to do from control loops.
+ * @author agent
+ * @version 10/18/26
+ */
+public class Telemetry implements Runnable
+{
+    /**
+     * The default number of times per second that values are published.
+     */
+    public static final double DEFAULT_PUBLISH_RATE = 10;
+
+    private static final ConcurrentHashMap<String, Slot> slotsByKey = new ConcurrentHashMap<String, Slot>();
+    private static final CopyOnWriteArrayList<Slot> slots = new CopyOnWriteArrayList<Slot>();
+
+    private static RealTimeLoop publisher;
+
+    /**
+     * Represents a single dashboard value.
+     * @author agent
+     * @version 10/18/26
+     */
+    public static class Slot
+    {
+        private final String key;
+        private volatile double value;
+        private long publishedBits;
+        private boolean published;
+
+        private Slot (String key)
+        {
+            this.key = key;
+        }
+
+        /**
+         * Sets the value to be published.
+         * @param value the new value
+         */
+        public void set (double value)
+        {
+            this.value = value;
+        }
+
+        /**
+         * Gets the value most recently set.
+         * @return the value
+         */
+        public double get()
+        {
+            return value;
+        }
+
+        public String getKey()
+        {
+            return key;
+        }
+
+        private void publish()
+        {
+            double current = value;
+            long bits = Double.doubleToLongBits(current);
+            if (!published || bits != publishedBits)
+            {
+                SmartDashboard.putNumber(key, current);
+                publishedBits = bits;
+                published = true;
+            }
+        }
+    }
+
+    private Telemetry() {}
+
+    /**
+     * Gets the slot for a key, creating it if this is the first time the key has been used.
+     * Callers on hot paths should hold on to the returned slot.
+     * @param key the dashboard key
+     * @return the slot for the key
+     */
+    public static Slot getSlot (String key)
+    {
+        Slot slot = slotsByKey.get(key);
+        if (slot == null)
+        {
+            synchronized (slotsByKey)
+            {
+                slot = slotsByKey.get(key);
+                if (slot == null)
+                {
+                    slot = new Slot(key);
+                    slotsByKey.put(key, slot);
+                    slots.add(slot);
+                }
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Sets a dashboard value, to be published with the next update.
+     * @param key the dashboard key
+     * @param value the new value
+     */
+    public static void putNumber (String key, double value)
+    {
+        getSlot(key).set(value);
+    }
+
+    /**
+     * Starts publishing values at the default rate.
+     */
+    public static void start()
+    {
+        start(DEFAULT_PUBLISH_RATE);
+    }
+
+    /**
+     * Starts publishing values, replacing any publisher already running.
+     * @param rate the number of times per second that values are published
+     */
+    public static synchronized void start (double rate)
+    {
+        stop();
+        publisher = new RealTimeLoop("Telemetry", new Telemetry(), 1 / rate, Thread.MIN_PRIORITY);
+        publisher.start();
+    }
+
+    /**
+     * Stops publishing values.
+     */
+    public static synchronized void stop()
+    {
+        if (publisher != null)
+        {
+            publisher.stop();
+            publisher = null;
+        }
+    }
+
+    /**
+     * Publishes every value which has changed since it was last published.
+     */
+    public static synchronized void flush()
+    {
+        for (Slot slot : slots)
+            slot.publish();
+    }
+
+    public void run()
+    {
+        flush();
+    }
+}
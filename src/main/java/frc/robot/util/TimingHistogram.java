@@ -0,0 +1,139 @@
+package frc.robot.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations into fixed-width buckets without allocating, so that it can be updated from
+ * a control loop every iteration. Only one thread may record into a histogram, but any thread
+ * may read it.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TimingHistogram
+{
+    private final long bucketWidthNanos;
+
+    /**
+     * The count in each bucket; the last bucket holds every duration past the end of the range.
+     */
+    private final AtomicLongArray buckets;
+
+    private volatile long count;
+    private volatile long totalNanos;
+    private volatile long maxNanos;
+
+    /**
+     * Constructs a new TimingHistogram.
+     * @param bucketWidth the width of each bucket (s)
+     * @param range the longest duration which is counted in its own bucket (s)
+     */
+    public TimingHistogram (double bucketWidth, double range)
+    {
+        bucketWidthNanos = Math.max(1, (long) (bucketWidth * 1e9));
+        buckets = new AtomicLongArray((int) Math.ceil(range / bucketWidth) + 1);
+    }
+
+    /**
+     * Records a single duration.
+     * @param nanos the duration (ns)
+     */
+    public void record (long nanos)
+    {
+        int bucket = (int) Math.min(Math.max(0, nanos) / bucketWidthNanos, buckets.length() - 1);
+        buckets.lazySet(bucket, buckets.get(bucket) + 1);
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos)
+            maxNanos = nanos;
+    }
+
+    /**
+     * Gets the number of durations recorded.
+     * @return the count
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the mean of every recorded duration.
+     * @return the mean (s)
+     */
+    public double getMean()
+    {
+        long n = count;
+        return n == 0 ? 0 : totalNanos / 1e9 / n;
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     * @return the maximum (s)
+     */
+    public double getMax()
+    {
+        return maxNanos / 1e9;
+    }
+
+    /**
+     * Gets the duration below which a given fraction of recorded durations fall, to the
+     * resolution of a bucket.
+     * @param fraction the fraction of durations (for example, 0.99 for the 99th percentile)
+     * @return the upper edge of the bucket containing the percentile (s)
+     */
+    public double getPercentile (double fraction)
+    {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++)
+            total += buckets.get(i);
+        if (total == 0)
+            return 0;
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length() - 1; i++)
+        {
+            seen += buckets.get(i);
+            if (seen >= target)
+                return (i + 1) * bucketWidthNanos / 1e9;
+        }
+        return getMax();
+    }
+
+    /**
+     * Gets the number of durations recorded in a bucket.
+     * @param bucket the index of the bucket
+     * @return the count in the bucket
+     */
+    public long getBucketCount (int bucket)
+    {
+        return buckets.get(bucket);
+    }
+
+    /**
+     * Gets the number of buckets, including the last bucket for durations past the end of the range.
+     * @return the number of buckets
+     */
+    public int getBucketCount()
+    {
+        return buckets.length();
+    }
+
+    /**
+     * Clears every recorded duration. Should be called from the recording thread.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < buckets.length(); i++)
+            buckets.set(i, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("n=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms", count, getMean() * 1e3,
+                getPercentile(0.5) * 1e3, getPercentile(0.99) * 1e3, getMax() * 1e3);
+    }
+}
@@ -0,0 +1,121 @@
+package frc.robot.commands.auton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import frc.robot.Robot;
+import frc.robot.RobotMap.CAN_IDs;
+import frc.robot.auto.trajectory.TrajectoryBuffer;
+import frc.robot.auto.trajectory.TrajectoryFile.Column;
+import frc.robot.hardware.DriveHardware;
+import frc.robot.hardware.StubImu;
+import frc.robot.hardware.StubMotorController;
+import frc.robot.subsystems.Drivetrain;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.wpi.first.hal.HAL;
+import harkerrobolib.util.Conversions;
+
+/**
+ * Checks that FollowPath's per-loop work allocates nothing once a path is running, so that
+ * following a path adds no garbage for the collector to pause the robot loop over.
+ * @author agent
+ * @version 10/18/26
+ */
+public class FollowPathAllocationTest
+{
+    /**
+     * The number of points in the test path.
+     */
+    private static final int POINTS = 200;
+
+    /**
+     * The number of loops run before measuring, long enough for the loop to be compiled.
+     */
+    private static final int WARMUP_LOOPS = 20000;
+
+    /**
+     * The number of loops measured.
+     */
+    private static final int LOOPS = 10000;
+
+    @BeforeClass
+    public static void setUpClass()
+    {
+        HAL.initialize(500, 0);
+        Conversions.setWheelDiameter(Drivetrain.WHEELDIAMETER);
+    }
+
+    @Test
+    public void executeAllocatesNothingInSteadyState()
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        StubMotorController left = new StubMotorController(CAN_IDs.LEFT_CIM_TALON);
+        StubMotorController right = new StubMotorController(CAN_IDs.RIGHT_CIM_TALON);
+        Drivetrain previousDrivetrain = Robot.dt;
+        Robot.dt = new Drivetrain(new DriveHardware(left, right, new StubImu(CAN_IDs.PIGEON)));
+
+        FollowPath follower = new FollowPath();
+        follower.addProfile(createStraightPath(), left, false, 0);
+        follower.addProfile(createStraightPath(), right, false, 0);
+        follower.compileProfiles();
+        // streaming the points is the feeder's work, not the loop's, so they are taken to have
+        // arrived in the Talons already
+        follower.setControllerTrajectoryLoaded(left, true);
+        follower.setControllerTrajectoryLoaded(right, true);
+        right.setBottomBufferCount(POINTS);
+
+        try
+        {
+            follower.initialize();
+            for (int i = 0; i < 10 && !follower.isSetupComplete(); i++)
+                follower.execute();
+            assertTrue("the profile was never enabled", follower.isSetupComplete());
+
+            for (int i = 0; i < WARMUP_LOOPS; i++)
+                follower.execute();
+
+            // reading the counter may itself allocate, so its cost is measured around an empty region
+            long id = Thread.currentThread().getId();
+            long probeStart = threads.getThreadAllocatedBytes(id);
+            long probeEnd = threads.getThreadAllocatedBytes(id);
+            long probeCost = probeEnd - probeStart;
+
+            long before = threads.getThreadAllocatedBytes(id);
+            for (int i = 0; i < LOOPS; i++)
+                follower.execute();
+            long after = threads.getThreadAllocatedBytes(id);
+
+            assertEquals("bytes allocated by " + LOOPS + " calls to execute()", 0, after - before - probeCost);
+        }
+        finally
+        {
+            follower.disable();
+            Robot.dt = previousDrivetrain;
+        }
+    }
+
+    /**
+     * Creates a path of POINTS points, 10 ms apart, which drives straight ahead at 5 ft/s.
+     */
+    private static TrajectoryBuffer createStraightPath()
+    {
+        TrajectoryBuffer path = new TrajectoryBuffer(POINTS);
+        for (int i = 0; i < POINTS; i++)
+        {
+            path.set(Column.DT, i, 0.01);
+            path.set(Column.X, i, 0.05 * i);
+            path.set(Column.POSITION, i, 0.05 * i);
+            path.set(Column.VELOCITY, i, 5);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,185 @@
+package frc.robot.commands.auton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.robot.Robot;
+import frc.robot.RobotMap.CAN_IDs;
+import frc.robot.commands.drivetrain.PositionCommand;
+import frc.robot.commands.intake.IntakeOuttakeTimed;
+import frc.robot.hardware.DriveHardware;
+import frc.robot.hardware.StubImu;
+import frc.robot.hardware.StubMotorController;
+import frc.robot.sim.SchedulerStepper;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Intake;
+import frc.robot.subsystems.Intake.IntakeType;
+import frc.robot.util.Clock;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.CommandGroup;
+
+/**
+ * Steps the commands which wait on the Clock through a 15 s timeline on a virtual clock, checking
+ * that each ends when it should and that the timeline takes a small fraction of that to run.
+ * @author agent
+ * @version 10/18/26
+ */
+public class TimedCommandsTest
+{
+    /**
+     * The latest a command may end after it should, as it is only checked once a period (s).
+     */
+    private static final double LATENESS = 5 * SchedulerStepper.PERIOD;
+
+    /**
+     * The longest the timeline may take to run (s).
+     */
+    private static final double MAX_WALL_TIME = 2;
+
+    private static Drivetrain previousDrivetrain;
+    private static Intake previousIntake;
+
+    private final List<Double> marks = new ArrayList<Double>();
+    private SchedulerStepper stepper;
+
+    @BeforeClass
+    public static void setUpClass()
+    {
+        HAL.initialize(500, 0);
+        previousDrivetrain = Robot.dt;
+        previousIntake = Robot.intake;
+        Robot.dt = new Drivetrain(new DriveHardware(new StubMotorController(CAN_IDs.LEFT_CIM_TALON),
+                new StubMotorController(CAN_IDs.RIGHT_CIM_TALON), new StubImu(CAN_IDs.PIGEON)));
+        Robot.intake = new Intake(new StubMotorController(CAN_IDs.INTAKE_TALON_LEFT),
+                new StubMotorController(CAN_IDs.INTAKE_TALON_RIGHT));
+    }
+
+    @AfterClass
+    public static void tearDownClass()
+    {
+        Robot.dt = previousDrivetrain;
+        Robot.intake = previousIntake;
+    }
+
+    @Before
+    public void setUp()
+    {
+        stepper = new SchedulerStepper();
+    }
+
+    @After
+    public void tearDown()
+    {
+        stepper.close();
+    }
+
+    @Test
+    public void timelineEndsOnTime()
+    {
+        // a path whose setup completes 9 s into the timeline, standing in for one being loaded
+        FollowPath path = new FollowPath()
+        {
+            @Override
+            public boolean isSetupComplete()
+            {
+                return !marks.isEmpty() && Clock.getTimestamp() - marks.get(0) >= 9;
+            }
+        };
+        // a drive to 10 ft at 2 ft/s, which passes halfway 2.5 s after it begins and ends 5 s after
+        PositionCommand drive = new PositionCommand(5, 10)
+        {
+            private double startTime;
+
+            @Override
+            protected void initialize()
+            {
+                startTime = Clock.getTimestamp();
+            }
+
+            @Override
+            protected void execute()
+            {
+                incrementNumExecutes();
+            }
+
+            @Override
+            public double getCurrentPosition()
+            {
+                return 2 * (Clock.getTimestamp() - startTime);
+            }
+
+            @Override
+            protected boolean isFinished()
+            {
+                return getCurrentPosition() >= getDesiredPosition();
+            }
+        };
+        Command anchor = new Delay(3);
+
+        CommandGroup timeline = new CommandGroup();
+        timeline.addSequential(new Mark());
+        timeline.addSequential(new Delay(2));
+        timeline.addSequential(new Mark());
+        timeline.addSequential(new IntakeOuttakeTimed(3, IntakeType.INTAKE, 1));
+        timeline.addSequential(new Mark());
+        timeline.addParallel(anchor);
+        timeline.addSequential(new PauseUntilCommandBegins(anchor, 2));
+        timeline.addSequential(new Mark());
+        timeline.addSequential(new PauseUntilPathBegins(path, PauseUntilPathBegins.PauseType.START_OF_PATH, 1, 0));
+        timeline.addSequential(new Mark());
+        timeline.addParallel(drive);
+        timeline.addSequential(new PauseUntilReachingPosition(drive, 0.5));
+        timeline.addSequential(new Mark());
+
+        long start = System.nanoTime();
+        boolean finished = stepper.runUntilFinished(timeline, 20);
+        double wallTime = (System.nanoTime() - start) / 1e9;
+
+        assertTrue("the timeline did not finish", finished);
+        double[] expected = {0, 2, 5, 7, 10, 12.5};
+        assertEquals(expected.length, marks.size());
+        for (int i = 1; i < expected.length; i++)
+        {
+            double markTime = marks.get(i) - marks.get(0);
+            assertTrue("stage " + i + " ended at " + markTime + " s, before " + expected[i] + " s",
+                    markTime >= expected[i]);
+            assertEquals("stage " + i + " end", expected[i], markTime, LATENESS);
+        }
+        // the group ends with the drive, which is still running after the last mark
+        double end = stepper.getTime() - marks.get(0);
+        assertTrue("the timeline ended at " + end + " s, before 15 s", end >= 15);
+        assertEquals("timeline end", 15, end, LATENESS);
+        assertTrue("15 s of commands took " + wallTime + " s to run", wallTime < MAX_WALL_TIME);
+    }
+
+    /**
+     * Records the time at which it runs and ends at once.
+     * @author agent
+     * @version 10/18/26
+     */
+    private class Mark extends Command
+    {
+        @Override
+        protected void initialize()
+        {
+            marks.add(Clock.getTimestamp());
+        }
+
+        @Override
+        protected boolean isFinished()
+        {
+            return true;
+        }
+    }
+}
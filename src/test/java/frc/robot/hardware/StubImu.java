@@ -0,0 +1,36 @@
+package frc.robot.hardware;
+
+/**
+ * Holds whatever yaw it was last given, so that the code reading an IMU can be run off the robot.
+ * @author agent
+ * @version 10/18/26
+ */
+public class StubImu implements Imu
+{
+    private final int deviceID;
+    private volatile double yaw;
+
+    /**
+     * Constructs a new StubImu.
+     * @param deviceID the CAN ID to report
+     */
+    public StubImu (int deviceID)
+    {
+        this.deviceID = deviceID;
+    }
+
+    public double getYaw()
+    {
+        return yaw;
+    }
+
+    public void setYaw (double yaw)
+    {
+        this.yaw = yaw;
+    }
+
+    public int getDeviceID()
+    {
+        return deviceID;
+    }
+}
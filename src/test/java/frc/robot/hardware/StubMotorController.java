@@ -0,0 +1,254 @@
+package frc.robot.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.FollowerType;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.SensorTerm;
+
+/**
+ * Accepts every call without touching CAN or allocating, so that the code driving a controller
+ * can be run off the robot. Reports a settable number of points in the bottom buffer and zero or
+ * ErrorCode.OK for everything else.
+ * @author agent
+ * @version 10/18/26
+ */
+public class StubMotorController implements MotorController
+{
+    private final int deviceID;
+    private volatile int bottomBufferCount;
+
+    /**
+     * Constructs a new StubMotorController.
+     * @param deviceID the CAN ID to report
+     */
+    public StubMotorController (int deviceID)
+    {
+        this.deviceID = deviceID;
+    }
+
+    /**
+     * Sets the number of points reported in the bottom buffer.
+     * @param count the number of points
+     */
+    public void setBottomBufferCount (int count)
+    {
+        bottomBufferCount = count;
+    }
+
+    public void set (ControlMode mode, double value) {}
+
+    public void set (ControlMode mode, double demand0, DemandType demand1Type, double demand1) {}
+
+    public void neutralOutput() {}
+
+    public void follow (MotorController master) {}
+
+    public void follow (MotorController master, FollowerType followerType) {}
+
+    public void setNeutralMode (NeutralMode neutralMode) {}
+
+    public void setInverted (boolean invert) {}
+
+    public void setSensorPhase (boolean phaseSensor) {}
+
+    public double getMotorOutputPercent()
+    {
+        return 0;
+    }
+
+    public double getOutputCurrent()
+    {
+        return 0;
+    }
+
+    public ErrorCode configFactoryDefault (int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configOpenloopRamp (double secondsFromNeutralToFull, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configNominalOutputForward (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configNominalOutputReverse (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configPeakOutputForward (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configPeakOutputReverse (double percentOut, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configNeutralDeadband (double percentDeadband, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configVoltageCompSaturation (double voltage, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public void enableVoltageCompensation (boolean enable) {}
+
+    public ErrorCode configSelectedFeedbackSensor (FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configSelectedFeedbackSensor (RemoteFeedbackDevice feedbackDevice, int pidIdx,
+            int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configSelectedFeedbackCoefficient (double coefficient, int pidIdx, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configRemoteFeedbackFilter (int deviceID, RemoteSensorSource remoteSensorSource,
+            int remoteOrdinal, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configSensorTerm (SensorTerm sensorTerm, FeedbackDevice feedbackDevice, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public int getSelectedSensorPosition (int pidIdx)
+    {
+        return 0;
+    }
+
+    public int getSelectedSensorVelocity (int pidIdx)
+    {
+        return 0;
+    }
+
+    public ErrorCode setSelectedSensorPosition (int sensorPos, int pidIdx, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public int getClosedLoopError (int pidIdx)
+    {
+        return 0;
+    }
+
+    public void selectProfileSlot (int slotIdx, int pidIdx) {}
+
+    public ErrorCode config_kP (int slotIdx, double value, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode config_kI (int slotIdx, double value, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode config_kD (int slotIdx, double value, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode config_kF (int slotIdx, double value, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode config_IntegralZone (int slotIdx, int izone, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configAllowableClosedloopError (int slotIdx, int allowableCloseLoopError, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configAuxPIDPolarity (boolean invert, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configMotionCruiseVelocity (int sensorUnitsPer100ms, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configMotionAcceleration (int sensorUnitsPer100msPerSec, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode configMotionProfileTrajectoryPeriod (int baseTrajDurationMs, int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode changeMotionControlFramePeriod (int periodMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode pushMotionProfileTrajectory (TrajectoryPoint trajPt)
+    {
+        return ErrorCode.OK;
+    }
+
+    public void processMotionProfileBuffer() {}
+
+    public ErrorCode getMotionProfileStatus (MotionProfileStatus statusToFill)
+    {
+        statusToFill.btmBufferCnt = bottomBufferCount;
+        return ErrorCode.OK;
+    }
+
+    public int getMotionProfileTopLevelBufferCount()
+    {
+        return 0;
+    }
+
+    public boolean isMotionProfileTopLevelBufferFull()
+    {
+        return false;
+    }
+
+    public ErrorCode clearMotionProfileTrajectories()
+    {
+        return ErrorCode.OK;
+    }
+
+    public ErrorCode clearMotionProfileHasUnderrun (int timeoutMs)
+    {
+        return ErrorCode.OK;
+    }
+
+    public int getDeviceID()
+    {
+        return deviceID;
+    }
+}